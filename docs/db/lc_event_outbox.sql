@@ -0,0 +1,22 @@
+/* =========================================================
+   lc_event_outbox (LogCollector DB)
+   - 운영은 spring.jpa.hibernate.ddl-auto=validate → 배포 전에 생성 필요 (없으면 schema 검증 실패로 기동 불가)
+   - logcollector.lc-outbox.enabled=true(기본값)면 LC→KB 이벤트가 모두 이 테이블을 거침
+   - 컬럼 / 인덱스는 domain.lc.LcEventOutbox 와 동일하게 유지
+   ========================================================= */
+USE logcollector;
+
+CREATE TABLE IF NOT EXISTS lc_event_outbox (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    event_type     ENUM('LOG_SAVED', 'LOG_RESOLVED') NOT NULL,
+    log_hash       VARCHAR(64)  NOT NULL,
+    payload        MEDIUMTEXT   NOT NULL,
+    status         ENUM('PENDING', 'DONE', 'FAILED') NOT NULL,
+    attempt_count  INT          NOT NULL,
+    next_retry_at  DATETIME(6)  NULL,
+    last_error     TEXT         NULL,
+    created_at     DATETIME(6)  NOT NULL,
+    processed_at   DATETIME(6)  NULL,
+    PRIMARY KEY (id),
+    INDEX ix_lc_event_outbox_status_id (status, id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,65 @@
+package com.soyunju.logcollector.service.lc.processor;
+
+import com.soyunju.logcollector.config.LogCollectorFingerprintCacheProperties;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 해시 / fingerprint 벤치마크
+ * - sha256Hex: 정규화된 signature 기준 SHA-256 + hex 인코딩
+ * - fingerprint: FingerprintCache on(반복 에러 hit 경로) / off(매번 계산)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HashBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private String[] messages;
+    private String[] signatures;
+    private String stackTrace200;
+    private LogProcessor logProcessor;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        messages = LogCorpus.shortMessages();
+        stackTrace200 = LogCorpus.stackTrace(200);
+
+        LogCollectorFingerprintCacheProperties cacheProperties = new LogCollectorFingerprintCacheProperties();
+        cacheProperties.setEnabled(cacheEnabled);
+        FingerprintCache cache = new FingerprintCache(cacheProperties, new LcMetrics(new SimpleMeterRegistry()));
+        cache.init();
+        logProcessor = new LogProcessor(cache);
+
+        signatures = new String[messages.length];
+        for (int i = 0; i < messages.length; i++) {
+            signatures[i] = "ORDER-API:" + LogNormalization.normalizeSignature(LogNormalization.normalizeMessage(messages[i])
+                    + " | " + LogNormalization.normalizeStackTop(stackTrace200, 8));
+        }
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (cursor + 1) % messages.length;
+        return i;
+    }
+
+    @Benchmark
+    public String sha256Hex() {
+        return logProcessor.sha256Hex(signatures[next()]);
+    }
+
+    @Benchmark
+    public LogFingerprint fingerprint() {
+        return logProcessor.fingerprint("ORDER-API", messages[next()], stackTrace200);
+    }
+}
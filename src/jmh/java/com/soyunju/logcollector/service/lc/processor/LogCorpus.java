@@ -0,0 +1,138 @@
+package com.soyunju.logcollector.service.lc.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 로그 corpus (seed 고정 → 실행 간 동일 입력)
+ * - short: 식별자 없는 짧은 메시지 (반복 에러 대부분)
+ * - sql: SQLSTATE / ORA / Duplicate entry 등 DB 에러
+ * - ids: UUID / IP / URL / traceId / timestamp 가 섞인 메시지 (IPv6, EMAIL, HTTP status 포함 → 정규식 경로)
+ * - tokens: 공백으로 구분된 구조 토큰(UUID / IP:port / TS / URL / 경로 / ID key=value) 메시지 → 토큰 스캔 경로
+ */
+final class LogCorpus {
+
+    private LogCorpus() {
+    }
+
+    private static final long SEED = 42L;
+    private static final int SIZE = 256;
+
+    static String[] messages(String kind) {
+        return switch (kind) {
+            case "short" -> shortMessages();
+            case "sql" -> sqlMessages();
+            case "ids" -> idMessages();
+            case "tokens" -> tokenMessages();
+            default -> throw new IllegalArgumentException("unknown corpus: " + kind);
+        };
+    }
+
+    static String[] shortMessages() {
+        String[] templates = {
+                "NullPointerException: userId is null",
+                "NullPointerException 발생: userId is null",
+                "Read timed out after %dms",
+                "Connection is not available, request timed out after %dms.",
+                "IllegalStateException: order %d already cancelled",
+                "결제 승인 실패: orderNo %d Exception",
+                "Failed to process message on %d attempts",
+                "OutOfMemoryError: Java heap space",
+        };
+        Random random = new Random(SEED);
+        String[] out = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            out[i] = String.format(templates[i % templates.length], 100 + random.nextInt(100_000));
+        }
+        return out;
+    }
+
+    static String[] sqlMessages() {
+        String[] templates = {
+                "SQLSTATE[23000]: Integrity constraint violation: 1062 Duplicate entry '%d' for key 'PRIMARY'",
+                "ORA-00001: unique constraint (APP.PK_ORDER) violated, value %d",
+                "could not execute statement; SQL [n/a]; constraint [uk_user_email]; errno=1062 id %d",
+                "Deadlock found when trying to get lock; try restarting transaction at %d rows",
+                "Lock wait timeout exceeded; try restarting transaction (waited %d sec)",
+                "Communications link failure: The last packet sent successfully to the server was %d milliseconds ago",
+        };
+        Random random = new Random(SEED + 1);
+        String[] out = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            out[i] = String.format(templates[i % templates.length], random.nextInt(1_000_000));
+        }
+        return out;
+    }
+
+    static String[] idMessages() {
+        Random random = new Random(SEED + 2);
+        String[] out = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            String ip = "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+            String uuid = new UUID(random.nextLong(), random.nextLong()).toString();
+            out[i] = switch (i % 4) {
+                case 0 -> "GET https://api.example.com/v1/users/" + random.nextInt(100_000)
+                        + "?session=" + uuid + " failed: HTTP 503 from " + ip + ":8080";
+                case 1 -> "[traceId=" + Long.toHexString(random.nextLong()) + "] request " + uuid
+                        + " timed out at 2024-06-11T10:" + (10 + random.nextInt(50)) + ":30.123+09:00";
+                case 2 -> "pool=HikariPool-" + random.nextInt(4) + " connId=" + random.nextInt(10_000)
+                        + " upstream fe80::1ff:fe23:" + Integer.toHexString(random.nextInt(0xffff)) + " unreachable";
+                default -> "file not found: /var/log/app/" + random.nextInt(1000) + "/app.log, notify user"
+                        + random.nextInt(1000) + "@example.com status=500";
+            };
+        }
+        return out;
+    }
+
+    static String[] tokenMessages() {
+        Random random = new Random(SEED + 4);
+        String[] out = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            String ip = "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+            String uuid = new UUID(random.nextLong(), random.nextLong()).toString();
+            out[i] = switch (i % 6) {
+                case 0 -> "request " + uuid + " timed out at 2024-06-11T10:" + (10 + random.nextInt(50)) + ":30.123+09:00";
+                case 1 -> "upstream " + ip + ":8080 refused connection after " + random.nextInt(5000) + "ms";
+                case 2 -> "GET https://api.example.com/v1/users/" + random.nextInt(100_000) + " failed on 3 attempts";
+                case 3 -> "file not found: /var/log/app/" + random.nextInt(1000) + "/app.log at 2024-06-11 10:15:30,123";
+                case 4 -> "[traceId=" + Long.toHexString(random.nextLong()) + "] requestId=req" + random.nextInt(1_000_000)
+                        + " rejected, session " + uuid;
+                default -> "pool=HikariPool-" + random.nextInt(4) + " connId=" + random.nextInt(10_000)
+                        + " timed out after 30000ms";
+            };
+        }
+        return out;
+    }
+
+    /**
+     * Spring MVC 요청 처리 형태의 stackTrace (Caused by 포함)
+     */
+    static String stackTrace(int lines) {
+        Random random = new Random(SEED + 3);
+        String[] frames = {
+                "com.example.order.OrderService.place",
+                "com.example.order.OrderController.create",
+                "org.springframework.aop.framework.ReflectiveMethodInvocation.proceed",
+                "org.springframework.transaction.interceptor.TransactionInterceptor.invoke",
+                "org.springframework.web.servlet.FrameworkServlet.service",
+                "jakarta.servlet.http.HttpServlet.service",
+                "org.apache.catalina.core.ApplicationFilterChain.doFilter",
+                "com.example.order.OrderService$$SpringCGLIB$$0.place",
+        };
+
+        List<String> out = new ArrayList<>(lines);
+        out.add("java.lang.IllegalStateException: order " + random.nextInt(100_000) + " already cancelled");
+        for (int i = 1; i < lines; i++) {
+            if (i == lines / 2) {
+                out.add("Caused by: java.sql.SQLException: Lock wait timeout exceeded; SQLSTATE: 40001");
+                continue;
+            }
+            String frame = frames[random.nextInt(frames.length)];
+            String file = frame.substring(frame.lastIndexOf('.', frame.lastIndexOf('.') - 1) + 1, frame.lastIndexOf('.'));
+            out.add("\tat " + frame + "(" + file + ".java:" + (10 + random.nextInt(900)) + ")");
+        }
+        return String.join("\n", out);
+    }
+}
@@ -0,0 +1,83 @@
+package com.soyunju.logcollector.service.lc.processor;
+
+import com.soyunju.logcollector.config.LogCollectorFingerprintCacheProperties;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정규화 hot path 벤치마크
+ * - normalizer: fast(단일 패스) / regex(기존 cascade) 비교
+ * - corpus: short / sql / ids / tokens (LogCorpus)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NormalizationBenchmark {
+
+    @Param({"fast", "regex"})
+    public String normalizer;
+
+    @Param({"short", "sql", "ids", "tokens"})
+    public String corpus;
+
+    private String[] messages;
+    private String stackTrace200;
+    private LogProcessor logProcessor;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        LogNormalization.useRegex("regex".equals(normalizer));
+        messages = LogCorpus.messages(corpus);
+        stackTrace200 = LogCorpus.stackTrace(200);
+
+        // 캐시 off: 매 호출 실제 계산 비용 측정
+        LogCollectorFingerprintCacheProperties cacheProperties = new LogCollectorFingerprintCacheProperties();
+        cacheProperties.setEnabled(false);
+        FingerprintCache cache = new FingerprintCache(cacheProperties, new LcMetrics(new SimpleMeterRegistry()));
+        cache.init();
+        logProcessor = new LogProcessor(cache);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LogNormalization.useRegex(false);
+    }
+
+    private String nextMessage() {
+        String message = messages[cursor];
+        cursor = (cursor + 1) % messages.length;
+        return message;
+    }
+
+    @Benchmark
+    public String normalizeMessage() {
+        return LogNormalization.normalizeMessage(nextMessage());
+    }
+
+    @Benchmark
+    public String normalizeStackTop200Lines() {
+        return LogNormalization.normalizeStackTop(stackTrace200, 8);
+    }
+
+    @Benchmark
+    public String generateErrorCode() {
+        return LogNormalization.generateErrorCode(nextMessage(), stackTrace200);
+    }
+
+    @Benchmark
+    public String extractSummary() {
+        return logProcessor.extractSummary(nextMessage());
+    }
+
+    @Benchmark
+    public String generateIncidentHash() {
+        return logProcessor.generateIncidentHash("ORDER-API", nextMessage(), stackTrace200);
+    }
+}
@@ -0,0 +1,22 @@
+package com.soyunju.logcollector.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * MariaDB 전용 HQL 함수 등록 (META-INF/services 로 로드)
+ * - match_against(col1, col2, query): MATCH(col1, col2) AGAINST (query IN BOOLEAN MODE), 관련도(> 0 이면 일치)
+ *   → QueryDSL 에서는 Expressions.numberTemplate("function('match_against', ...)") 로 사용
+ */
+public class LcFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "match_against",
+                "match(?1, ?2) against (?3 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
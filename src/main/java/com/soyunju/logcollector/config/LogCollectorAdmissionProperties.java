@@ -0,0 +1,34 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.admission")
+public class LogCollectorAdmissionProperties {
+
+    // false 면 제한 없이 적재 (backlog 상한도 해제)
+    private boolean enabled = true;
+
+    // 서비스(serviceName)별 token bucket: 초당 보충량 / 최대 누적량(burst)
+    private double ratePerSecond = 500;
+    private double burst = 2000;
+
+    // 서비스별 초당 보충량 override (예: logcollector.admission.service-rates.payment-api=2000)
+    private Map<String, Double> serviceRates = new HashMap<>();
+
+    // backlog(전 lane 큐 길이 + spool 미처리분) 상한. 이 이상이면 전 서비스 429
+    // 큐 길이 조회 주기는 logcollector.lanes.depth-refresh-ms
+    private long queueHighWatermark = 200_000;
+
+    // backlog 상한 초과 시 Retry-After(초)
+    private int queueFullRetryAfterSeconds = 5;
+
+    // 이 시간 동안 요청이 없던 서비스의 bucket 은 정리 (bucket 수 상한 관리)
+    private long idleBucketExpireSeconds = 600;
+}
@@ -0,0 +1,34 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.fair-queue")
+public class LogCollectorFairQueueProperties {
+
+    // true 면 lane 안에서 서비스(serviceName)별 하위 큐에 적재하고 consumer 는 deficit round-robin 으로 꺼냄
+    // (false 여도 consumer 는 남아 있는 하위 큐를 계속 비움)
+    private boolean enabled = false;
+
+    // 한 round 에 서비스가 받는 기본 몫(건수). 실제 몫 = quantum * weight
+    private int quantum = 10;
+
+    // 서비스별 가중치 (예: logcollector.fair-queue.service-weights.payment-api=3), 없으면 defaultWeight
+    private int defaultWeight = 1;
+    private Map<String, Integer> serviceWeights = new HashMap<>();
+
+    // consumer 의 하위 큐 목록 / 길이 갱신 주기. 비어 있던 하위 큐에 새로 쌓인 건은 최대 이 시간 뒤에 round 에 다시 포함
+    private long refreshMs = 1000;
+
+    // producer 가 하위 큐 key 를 registry 에 다시 등록하는 주기 (그 사이에는 적재만)
+    private long registrationRefreshSeconds = 30;
+
+    // 이 시간 동안 등록이 없고 비어 있는 하위 큐는 registry 에서 제거
+    private long idleExpireSeconds = 3600;
+}
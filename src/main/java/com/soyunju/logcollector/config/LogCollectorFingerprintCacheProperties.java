@@ -0,0 +1,26 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.fingerprint-cache")
+public class LogCollectorFingerprintCacheProperties {
+
+    // false 면 매 건 정규화 + SHA-256 계산
+    private boolean enabled = true;
+
+    // 최대 보관 건수 (segment 수로 균등 분할)
+    private int maxSize = 50_000;
+
+    // lock 분할 수 (2의 거듭제곱으로 내림)
+    private int segments = 16;
+
+    // 제거 정책: lru(최근 조회 기준) | fifo(적재 순)
+    private String eviction = "lru";
+
+    // 적재 후 만료(초). 0 이면 만료 없음 (정규화 규칙 변경 배포 시 재기동으로 초기화)
+    private long ttlSeconds = 0;
+}
@@ -0,0 +1,20 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.ignore-cache")
+public class LogCollectorIgnoreCacheProperties {
+
+    // true 면 ignored logHash 집합을 프로세스 메모리에 두고 조회 (false = 매번 Redis SISMEMBER)
+    private boolean enabled = true;
+
+    // Redis 전체 재동기화 주기 (pub/sub 유실 대비 안전망)
+    private long resyncMs = 60_000;
+
+    // Bloom filter 목표 false positive 비율 (positive 는 로컬 집합으로 다시 확인)
+    private double bloomFpp = 0.01;
+}
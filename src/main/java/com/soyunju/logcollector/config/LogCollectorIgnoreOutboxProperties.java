@@ -0,0 +1,17 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.ignore-outbox")
+public class LogCollectorIgnoreOutboxProperties {
+
+    // 1회 처리 시 선점(SKIP LOCKED)하는 outbox 행 수
+    private int batchSize = 200;
+
+    // LC 반영 실패 시 최대 시도 횟수 (도달 시 FAILED)
+    private int maxAttempts = 10;
+}
@@ -0,0 +1,20 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.ingest")
+public class LogCollectorIngestProperties {
+
+    // POST /api/logs/batch 1회 요청당 최대 건수
+    private int maxBatchSize = 1000;
+
+    // NDJSON 스트리밍 수집 시 Redis 로 넘기는 chunk 크기 (heap 상한)
+    private int streamChunkSize = 500;
+
+    // 스트리밍 수집 응답에 담을 reject 상세 최대 건수
+    private int streamMaxReportedRejects = 100;
+}
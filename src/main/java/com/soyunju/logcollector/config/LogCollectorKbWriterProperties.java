@@ -0,0 +1,26 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.kb-writer")
+public class LogCollectorKbWriterProperties {
+
+    // true 면 LogSavedEvent 를 logHash 별로 모아 주기적으로 incident multi-row upsert (false = 이벤트마다 즉시 반영)
+    private boolean enabled = true;
+
+    // flush 주기. 이 시간 동안 같은 logHash 는 1행(repeat_count + n)으로 합쳐짐
+    private long flushIntervalMs = 200;
+
+    // 버퍼 + 반영 중인 최대 logHash 수 (이미 있는 logHash 는 합쳐지므로 제한 없음). 가득 차면 제출 측(consumer)이 flush 를 기다림
+    private int maxPendingLogHashes = 10_000;
+
+    // 버퍼가 가득 찼을 때 제출 측이 기다리는 최대 시간. 초과 시 KB outbox 에 적재 (유실 없음)
+    private long offerTimeoutMs = 5_000;
+
+    // upsert 문 1개에 담는 최대 행 수 (초과분은 같은 flush 안에서 나눠 실행)
+    private int maxBatchRows = 500;
+}
@@ -0,0 +1,23 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.lanes")
+public class LogCollectorLaneProperties {
+
+    // true 면 FATAL / CRITICAL 을 high lane(queueKey + ":high")에 적재. false 면 전부 기존 큐(normal lane)
+    // (false 여도 consumer 는 high lane 잔여분을 계속 비움)
+    private boolean enabled = true;
+
+    // consumer 배치 안에서 lane 별로 먼저 보장되는 몫의 비율 (high : normal)
+    // 남는 자리는 high 부터 채움 → FATAL 은 적체된 ERROR 를 기다리지 않고, ERROR 도 매 배치 최소 몫은 처리
+    private int highWeight = 4;
+    private int normalWeight = 1;
+
+    // lane 별 큐 길이 조회 주기 (gauge / ingest admission backlog 용, 요청마다 LLEN/XLEN 하지 않음)
+    private long depthRefreshMs = 500;
+}
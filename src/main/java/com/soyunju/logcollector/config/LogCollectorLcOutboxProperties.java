@@ -0,0 +1,33 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.lc-outbox")
+public class LogCollectorLcOutboxProperties {
+
+    // true 면 LC→KB 이벤트를 lc_event_outbox 에 LC 트랜잭션과 함께 기록하고 relay 가 KB 에 반영
+    // (false = 커밋 후 메모리 이벤트 → KbEventListener)
+    private boolean enabled = true;
+
+    // relay 실행 주기 (한 번 실행 시 밀린 만큼 maxBatchesPerRun 까지 연속 처리)
+    private long relayIntervalMs = 200;
+
+    // relay 1회 선점 행 수
+    private int batchSize = 1000;
+
+    // relay 1회 실행에서 처리할 최대 배치 수 (다른 스케줄 작업이 밀리지 않도록)
+    private int maxBatchesPerRun = 20;
+
+    // KB 반영 실패 시 최대 시도 횟수 (도달 시 FAILED)
+    private int maxAttempts = 10;
+
+    // DONE 행 보관 기간 (이후 id 범위 삭제)
+    private long retentionMinutes = 60;
+
+    // 삭제 1회(DELETE ... LIMIT) 행 수
+    private int purgeBatchSize = 5_000;
+}
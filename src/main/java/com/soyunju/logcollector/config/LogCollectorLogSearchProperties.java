@@ -0,0 +1,29 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.log-search")
+public class LogCollectorLogSearchProperties {
+
+    // 필터 없는 목록의 total 재사용 시간 (그 사이 페이지 이동은 count 쿼리 없음)
+    private long totalCacheSeconds = 60;
+
+    // 테이블 통계 추정치가 이 값 미만이면 정확한 COUNT(*) 로 total 계산 (이상이면 추정치 사용)
+    private long exactCountThreshold = 100_000;
+
+    // cursor 조회 1회 최대 행 수
+    private int maxCursorPageSize = 100;
+
+    // keyword 검색을 FULLTEXT(summary, message) 로 처리 (index 가 없으면 LIKE 로 fallback)
+    private boolean fulltextEnabled = true;
+
+    // 기동 시 FULLTEXT index 가 없으면 생성 (운영은 DBA 가 미리 생성하고 false)
+    private boolean fulltextAutoCreate = true;
+
+    // 이보다 짧은 검색어 토큰은 FULLTEXT 에서 무시 (innodb_ft_min_token_size 와 맞춤)
+    private int fulltextMinTokenLength = 3;
+}
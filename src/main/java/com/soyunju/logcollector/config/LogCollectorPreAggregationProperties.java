@@ -0,0 +1,23 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.pre-aggregation")
+public class LogCollectorPreAggregationProperties {
+
+    // true 면 ingest 노드에서 같은 (logHash, host) 로그를 window 동안 1건으로 합쳐 큐에 적재
+    private boolean enabled = false;
+
+    // 합치는 시간 창 (첫 발생 기준). 프로세스 비정상 종료 시 이 시간만큼의 미적재분이 유실될 수 있음
+    private long windowMs = 1000;
+
+    // window 만료 확인 주기
+    private long flushIntervalMs = 200;
+
+    // 동시에 열어 둘 최대 window 수. 초과분은 합치지 않고 바로 적재 (메모리 상한)
+    private int maxWindows = 10_000;
+}
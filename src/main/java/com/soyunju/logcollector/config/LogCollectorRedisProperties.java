@@ -10,21 +10,55 @@ import java.time.Duration;
 @Setter
 @ConfigurationProperties(prefix = "logcollector.redis")
 public class LogCollectorRedisProperties {
+    // 큐 백엔드: list(Redis List) | stream(Redis Streams consumer group)
+    private String queueMode = "list";
+
     private String queueKey = "error-log-queue";
     private String dlqKey = "error-log-queue:dlq";
 
+    // consumer 배치 크기: batchSize(최소) ~ maxBatchSize(최대) 사이에서 큐 적체에 따라 자동 조절
     private int batchSize = 20;
+    private int maxBatchSize = 500;
+    // 큐가 비었을 때 BLPOP 대기 시간
     private int popTimeoutSeconds = 2;
 
-    private int queueTtlMinutes = 30;
+    // 큐 entry 의 stackTrace 가 이 크기(UTF-8 bytes) 이상이면 deflate 압축 (0 = 압축 안 함)
+    private int stackTraceCompressThresholdBytes = 1024;
+
+    // 큐 entry 기록 형식: json | binary-v1 | binary-v2 (읽기는 항상 세 형식 모두 지원)
+    // 기본은 json (어느 버전 consumer 든 해석 가능) → 기본값 배포로 이전 버전 consumer 가 entry 를 못 읽어 유실되는 일이 없도록
+    // 전 인스턴스가 binary 를 읽는 버전으로 교체된 것을 확인한 뒤에만 binary-v2 로 명시 전환
+    private String queueEntryWriteFormat = "json";
+
+    // 큐 key 는 TTL 없음 (길이 상한은 logcollector.admission.queue-high-watermark)
     private int dlqTtlDays = 1;
 
     // consumer 폴링 주기(ms) - 기본 500ms
     private long consumerFixedDelayMs = 500;
 
-    public Duration queueTtl() {
-        return Duration.ofMinutes(queueTtlMinutes);
-    }
+    // consumer 병렬 처리 stripe 수 (logHash 기준 분할, 1 = 순차 처리)
+    private int consumerStripes = 4;
+    // stripe 별 대기 가능한 배치 수 (가득 차면 poll 대기)
+    // stream 모드 전용 (list 모드는 pop 후 미처리분이 메모리에만 있으므로 배치 처리가 끝날 때까지 다음 pop 을 하지 않음)
+    // stream 모드의 대기 entry 는 주기적으로 idle 을 초기화하므로 stream-claim-min-idle 을 넘겨 대기해도 회수되지 않음
+    private int consumerStripeQueueCapacity = 4;
+
+    // stripe 단위 배치를 multi-row upsert 로 저장 (false = 건별 saveLog)
+    private boolean batchPersist = true;
+
+    // stream 모드 전용
+    private String streamGroup = "lc-consumers";
+    // 비어 있으면 HOSTNAME(pod name) → 랜덤 순으로 결정
+    private String streamConsumerName;
+    // 이 시간 이상 ack 되지 않은 pending entry 는 죽은 consumer 의 것으로 보고 회수
+    private int streamClaimMinIdleSeconds = 60;
+    private int streamReclaimIntervalSeconds = 30;
+    // 회수 1회당 XPENDING 을 (max 건씩) 최대 몇 페이지까지 넘겨 보는지 (마지막 위치부터 이어서 조회)
+    private int streamReclaimScanPages = 10;
+    // 이 횟수 이상 전달됐는데도 ack 되지 않은 entry 는 {queueKey}:dead stream 으로 이동 (poison entry)
+    private int streamMaxDeliveries = 5;
+    // pending 이 없고 이 시간 이상 idle 인 consumer 는 group 에서 삭제 (0 = 삭제 안 함)
+    private int streamConsumerIdleDeleteSeconds = 3600;
 
     public Duration popTimeout() {
         return Duration.ofSeconds(popTimeoutSeconds);
@@ -0,0 +1,32 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.spool")
+public class LogCollectorSpoolProperties {
+
+    // false 면 Redis 장애 시 기존처럼 DB direct fallback
+    private boolean enabled = true;
+
+    // segment 파일 저장 디렉토리 (인스턴스별 로컬 디스크)
+    private String dir = "data/spool";
+
+    // segment 1개 크기(MB). 레코드 1건이 이보다 크면 spool 대신 DB fallback
+    private int segmentSizeMb = 64;
+
+    // 최대 segment 수. 가득 차면 DB fallback (디스크 사용 상한 = segmentSizeMb * maxSegments)
+    private int maxSegments = 16;
+
+    // drainer 가 Redis 로 1회 push 하는 건수
+    private int drainBatchSize = 500;
+
+    // drainer 1회 실행당 최대 재적재 건수 (복구 직후 Redis/consumer 폭주 방지)
+    private int drainMaxPerRun = 20_000;
+
+    // drainer 실행 주기
+    private long drainFixedDelayMs = 1000;
+}
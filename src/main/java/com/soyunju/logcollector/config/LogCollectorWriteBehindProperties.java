@@ -0,0 +1,33 @@
+package com.soyunju.logcollector.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logcollector.write-behind")
+public class LogCollectorWriteBehindProperties {
+
+    // true 면 이미 저장된 (logHash, host) 의 반복 발생은 Redis journal 에 누적하고 주기적으로 행당 delta UPDATE 1회
+    // (false = 매 배치 upsert 로 repeat_count 직접 증가)
+    private boolean enabled = false;
+
+    // journal shard 수 (shard 별로 flush lock / 트랜잭션 분리)
+    private int shards = 8;
+
+    // flush 주기
+    private long flushIntervalMs = 1_000;
+
+    // flush 1문(UPDATE ... CASE) 최대 행 수 (shard 전체는 한 트랜잭션)
+    private int maxBatchRows = 500;
+
+    // 저장 확인된 (logHash, host) 를 기억하는 시간 (이후 다시 upsert 경로로 확인)
+    private long knownTtlSeconds = 300;
+
+    // 기억할 (logHash, host) 최대 수 (초과분은 upsert 경로로 처리)
+    private int maxKnownRows = 50_000;
+
+    // shard flush lock 만료 (flush 중에는 1/3 주기로 연장, 인스턴스 장애 시 만료 후 다른 인스턴스가 이어서 flush)
+    private long lockTtlSeconds = 30;
+}
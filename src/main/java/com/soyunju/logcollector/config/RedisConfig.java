@@ -3,10 +3,12 @@ package com.soyunju.logcollector.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.service.lc.redis.queue.QueueEntryCodec;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
@@ -20,24 +22,40 @@ public class RedisConfig {
         return mapper;
     }
 
+    // 큐 entry binary codec (이전 JSON entry 는 legacy serializer 로 해석, 기록 형식은 queue-entry-write-format)
+    @Bean
+    public QueueEntryCodec queueEntryCodec(ObjectMapper redisObjectMapper, LogCollectorRedisProperties redisProperties) {
+        return new QueueEntryCodec(
+                new GenericJackson2JsonRedisSerializer(redisObjectMapper),
+                redisObjectMapper,
+                redisProperties.getStackTraceCompressThresholdBytes(),
+                QueueEntryCodec.WriteFormat.from(redisProperties.getQueueEntryWriteFormat()));
+    }
+
     @Bean
     public RedisTemplate<String, ErrorLogRequest> errorLogRequestRedisTemplate(
             RedisConnectionFactory connectionFactory,
-            ObjectMapper redisObjectMapper
+            QueueEntryCodec queueEntryCodec
     ) {
         RedisTemplate<String, ErrorLogRequest> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        var serializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
-
         template.setKeySerializer(RedisSerializer.string());
-        template.setValueSerializer(serializer);
+        template.setValueSerializer(queueEntryCodec);
         template.setHashKeySerializer(RedisSerializer.string());
-        template.setHashValueSerializer(serializer);
+        template.setHashValueSerializer(queueEntryCodec);
 
         template.afterPropertiesSet();
         return template;
     }
 
+    // Redis pub/sub 구독 (ignored logHash 변경 전파 등)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
 }
 
@@ -1,6 +1,7 @@
 package com.soyunju.logcollector.controller.kb;
 
 import com.soyunju.logcollector.dto.kb.IncidentResponse;
+import com.soyunju.logcollector.repository.kb.IncidentListField;
 import com.soyunju.logcollector.service.kb.crud.IncidentBridgeService;
 import com.soyunju.logcollector.service.kb.crud.IncidentService;
 import com.soyunju.logcollector.service.kb.search.IncidentSearchService;
@@ -27,8 +28,9 @@ public class IncidentController {
     @Hidden
     @GetMapping("/closed")
     public ResponseEntity<org.springframework.data.domain.Page<com.soyunju.logcollector.dto.kb.IncidentResponse>> getClosedIncidents(
-            @org.springframework.data.web.PageableDefault(size = 20) org.springframework.data.domain.Pageable pageable) {
-        return ResponseEntity.ok(incidentService.findClosed(pageable));
+            @org.springframework.data.web.PageableDefault(size = 20) org.springframework.data.domain.Pageable pageable,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(incidentService.findClosed(pageable, IncidentListField.parse(fields)));
     }
 
     // logHash로 단건 조회
@@ -47,8 +49,9 @@ public class IncidentController {
     @Hidden
     @GetMapping
     public ResponseEntity<org.springframework.data.domain.Page<com.soyunju.logcollector.dto.kb.IncidentResponse>> getIncidents(
-            @org.springframework.data.web.PageableDefault(size = 20) org.springframework.data.domain.Pageable pageable) {
-        return ResponseEntity.ok(incidentService.findAll(pageable));
+            @org.springframework.data.web.PageableDefault(size = 20) org.springframework.data.domain.Pageable pageable,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(incidentService.findAll(pageable, IncidentListField.parse(fields)));
     }
 
     @Operation(
@@ -3,6 +3,7 @@ package com.soyunju.logcollector.controller.kb;
 import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
 import com.soyunju.logcollector.dto.kb.IncidentRankResponse;
 import com.soyunju.logcollector.dto.kb.IncidentResponse;
+import com.soyunju.logcollector.repository.kb.IncidentListField;
 import com.soyunju.logcollector.service.kb.search.IncidentSearchService;
 import io.swagger.v3.oas.annotations.Hidden;
 import lombok.RequiredArgsConstructor;
@@ -27,8 +28,9 @@ public class IncidentSearchController {
     @GetMapping("/search")
     public ResponseEntity<Page<IncidentResponse>> search(
             com.soyunju.logcollector.dto.kb.IncidentSearch search,
-            org.springframework.data.domain.Pageable pageable) {
-        return ResponseEntity.ok(incidentSearchService.searchIncidents(search, pageable));
+            org.springframework.data.domain.Pageable pageable,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(incidentSearchService.searchIncidents(search, pageable, IncidentListField.parse(fields)));
     }
 
     @GetMapping("/top")
@@ -1,23 +1,32 @@
 package com.soyunju.logcollector.controller.lc;
 
+import com.soyunju.logcollector.config.LogCollectorIngestProperties;
 import com.soyunju.logcollector.domain.lc.ErrorStatus;
+import com.soyunju.logcollector.dto.lc.ErrorLogBatchResponse;
 import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
 import com.soyunju.logcollector.dto.lc.ErrorResponse;
 import com.soyunju.logcollector.exception.ErrorCode;
 import com.soyunju.logcollector.service.lc.crd.ErrorLogCrdService;
-import com.soyunju.logcollector.service.lc.processor.LogProcessor;
-import com.soyunju.logcollector.service.lc.redis.LogToRedis;
+import com.soyunju.logcollector.service.lc.ingest.IngestAdmission;
+import com.soyunju.logcollector.service.lc.ingest.IngestPreAggregator;
+import com.soyunju.logcollector.service.lc.ingest.LogIngestService;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 /**
  * [Flow: Log Ingest]
@@ -34,8 +43,10 @@ import java.util.List;
 public class ErrorLogCrdController {
 
     private final ErrorLogCrdService errorLogCrdService;
-    private final LogToRedis logToRedis;
-    private final LogProcessor logProcessor;
+    private final IngestPreAggregator ingestPreAggregator;
+    private final LogIngestService logIngestService;
+    private final LogCollectorIngestProperties ingestProperties;
+    private final IngestAdmission ingestAdmission;
 
     // 로그 수집 API (Create)
     @Operation(
@@ -46,24 +57,97 @@ public class ErrorLogCrdController {
     public ResponseEntity<?> collectLog(@Valid @RequestBody ErrorLogRequest request) {
         log.info("로그 수집 요청 - 서비스: {}", request.getServiceName());
 
-        //  로그 레벨 (입력값 우선, 없으면 메시지에서 추론)
-        String level = StringUtils.hasText(request.getLogLevel())
-                ? request.getLogLevel()
-                : logProcessor.inferLogLevel(request.getMessage());
-
-        if (!logProcessor.isTargetLevel(level)) {
+        //  로그 레벨 필터 + fingerprint(logHash / errorCode / effectiveLevel) 1회 계산 → consumer 는 재사용
+        ErrorLogBatchResponse.ItemResult result = logIngestService.admit(0, request);
+        if (!result.isAccepted()) {
+            // 수집 제한(서비스별 허용량 / 대기열 상한) → 429 + Retry-After
+            if (result.getRetryAfterSeconds() != null) {
+                return tooManyRequests(result.getRetryAfterSeconds()).body(ErrorResponse.builder()
+                        .httpStatus(HttpStatus.TOO_MANY_REQUESTS.value())
+                        .code(result.getCode())
+                        .message(result.getReason())
+                        .timestamp(LocalDateTime.now())
+                        .build());
+            }
             return ResponseEntity.badRequest()
-                    .body(ErrorResponse.of(ErrorCode.INVALID_LOG_LEVEL, level));
+                    .body(ErrorResponse.of(ErrorCode.INVALID_LOG_LEVEL, result.getLogLevel()));
         }
-        request.setLogLevel(level.toUpperCase());
 
-        // 검증된 로그만 Redis 큐에 push
-        logToRedis.push(request);
+        // 검증된 로그만 Redis 큐에 push (사전 집계 활성 시 window 합산 후 push)
+        ingestPreAggregator.enqueue(List.of(request));
 
         // 202 Accepted: 비동기 처리(incident 승격/병합은 consumer에서 진행)
         return ResponseEntity.accepted().build();
     }
 
+    // 로그 일괄 수집 API (Create - Batch)
+    @Operation(
+            summary = "POST /api/logs/batch - 로그 일괄 수집(큐 적재)",
+            description = "로그 배열을 건별 검증 후, 유효한 건만 1회 pipeline 으로 Redis 큐에 push합니다. 건별 accept/reject 결과를 반환합니다. "
+                    + "수집 제한으로 1건도 적재되지 않으면 429(Retry-After)를 반환합니다."
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<?> collectLogs(@RequestBody List<ErrorLogRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(ErrorResponse.of(ErrorCode.INVALID_LOG_REQUEST, null));
+        }
+        if (requests.size() > ingestProperties.getMaxBatchSize()) {
+            return ResponseEntity.status(ErrorCode.BATCH_TOO_LARGE.getHttpStatus())
+                    .body(ErrorResponse.of(ErrorCode.BATCH_TOO_LARGE, null));
+        }
+
+        // 대기열 상한 초과면 본문 검증 없이 바로 거절
+        IngestAdmission.Decision backlog = ingestAdmission.checkBacklog();
+        if (!backlog.admitted()) {
+            return tooManyRequests(backlog.retryAfterSeconds()).body(ErrorResponse.of(backlog.errorCode(), null));
+        }
+
+        ErrorLogBatchResponse response = logIngestService.ingestBatch(requests);
+        return batchResult(response, response.getAccepted() == 0);
+    }
+
+    // 로그 스트리밍 수집 API (Create - NDJSON)
+    @Operation(
+            summary = "POST /api/logs/stream - 로그 스트리밍 수집(NDJSON)",
+            description = "application/x-ndjson(1줄 1건, Content-Encoding: gzip 지원) 본문을 1건씩 파싱해 chunk 단위로 Redis 큐에 push합니다. "
+                    + "대용량 재전송(backfill)용이며, 응답에는 reject 건만 일부 포함됩니다."
+    )
+    @PostMapping(value = "/stream", consumes = "application/x-ndjson")
+    public ResponseEntity<?> collectLogStream(HttpServletRequest httpRequest) throws IOException {
+        IngestAdmission.Decision backlog = ingestAdmission.checkBacklog();
+        if (!backlog.admitted()) {
+            return tooManyRequests(backlog.retryAfterSeconds()).body(ErrorResponse.of(backlog.errorCode(), null));
+        }
+
+        InputStream in = httpRequest.getInputStream();
+        String encoding = httpRequest.getHeader("Content-Encoding");
+        if (encoding != null && encoding.toLowerCase().contains("gzip")) {
+            in = new GZIPInputStream(in);
+        }
+
+        ErrorLogBatchResponse response = logIngestService.ingestStream(in);
+        return batchResult(response, response.getTotal() > 0 && response.getAccepted() == 0);
+    }
+
+    /**
+     * 1건도 적재되지 않았으면 400 (수집 제한 거절이 있으면 429 + Retry-After), 그 외 202 (건별 결과는 body 참고)
+     */
+    private ResponseEntity<?> batchResult(ErrorLogBatchResponse response, boolean noneAccepted) {
+        if (!noneAccepted) {
+            return ResponseEntity.accepted().body(response);
+        }
+        if (response.getRetryAfterSeconds() != null) {
+            return tooManyRequests(response.getRetryAfterSeconds()).body(response);
+        }
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    private static ResponseEntity.BodyBuilder tooManyRequests(int retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+
     // 상태 업데이트 API (Update)
    /* @PatchMapping("/{logId}/status")
     public ResponseEntity<Void> updateStatus(
@@ -1,7 +1,9 @@
 package com.soyunju.logcollector.controller.lc;
 
 import com.soyunju.logcollector.domain.lc.ErrorStatus;
+import com.soyunju.logcollector.dto.lc.ErrorLogCursorPage;
 import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
+import com.soyunju.logcollector.service.lc.search.ErrorLogListField;
 import com.soyunju.logcollector.service.lc.search.ErrorLogSearchService;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,7 +26,8 @@ public class ErrorLogSearchController {
 
     @Operation(
             summary = "GET /api/logs - log조회",
-            description = "수집된 error log list 를 조회합니다."
+            description = "수집된 error log list 를 조회합니다. message/stackTrace 는 제외되며 상세 조회(GET /api/logs/{logId})로 확인합니다. "
+                    + "fields(쉼표 구분, 예: serviceName,summary,status)로 조회 컬럼을 줄일 수 있습니다."
     )
     @GetMapping
     public ResponseEntity<Page<ErrorLogResponse>> getLogs(
@@ -32,13 +35,43 @@ public class ErrorLogSearchController {
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) ErrorStatus status,
             @RequestParam(defaultValue = "false") boolean isToday,
+            @RequestParam(required = false) String fields,
             @PageableDefault(
                     page = 0,
                     size = 10,
                     sort = "lastOccurredTime",
                     direction = Sort.Direction.DESC
             ) Pageable pageable) {
-        return ResponseEntity.ok(errorLogSearchService.findLogs(serviceName, keyword, status, isToday, pageable));
+        return ResponseEntity.ok(errorLogSearchService.findLogs(
+                serviceName, keyword, status, isToday, ErrorLogListField.parse(fields), pageable));
+    }
+
+    @Operation(
+            summary = "GET /api/logs/cursor - log조회 (cursor)",
+            description = "lastOccurredTime 최신순 cursor 페이지로 조회합니다. 응답의 nextCursor 를 다음 요청의 cursor 로 전달합니다. (total 미제공)"
+    )
+    @GetMapping("/cursor")
+    public ResponseEntity<ErrorLogCursorPage> getLogsByCursor(
+            @RequestParam(required = false) String serviceName,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) ErrorStatus status,
+            @RequestParam(defaultValue = "false") boolean isToday,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(errorLogSearchService.findLogsByCursor(
+                serviceName, keyword, status, isToday, cursor, size, ErrorLogListField.parse(fields)));
+    }
+
+    @Operation(
+            summary = "GET /api/logs/{logId} - log 상세 조회",
+            description = "message/stackTrace 를 포함한 error log 상세를 조회합니다."
+    )
+    @GetMapping("/{logId}")
+    public ResponseEntity<ErrorLogResponse> getLog(@PathVariable Long logId) {
+        return errorLogSearchService.getLog(logId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     // 상태별 필터링 조회 API
@@ -12,7 +12,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "lc_ignore_outbox")
+@Table(
+        name = "lc_ignore_outbox",
+        indexes = {
+                @Index(name = "ix_lc_ignore_outbox_log_hash_status", columnList = "log_hash,status")
+        }
+)
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -10,7 +10,16 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "error_logs")
+@Table(
+        name = "error_logs",
+        indexes = {
+                // 목록 seek 페이지 (last_occurred_time DESC, id DESC)
+                @Index(name = "ix_error_logs_last_occurred_id", columnList = "last_occurred_time,id"),
+                @Index(name = "ix_error_logs_service_last_occurred", columnList = "service_name,last_occurred_time"),
+                // keyword 검색 errorCode 완전 일치 fast path
+                @Index(name = "ix_error_logs_error_code", columnList = "error_code")
+        }
+)
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 @EntityListeners(AuditingEntityListener.class)
@@ -70,6 +79,11 @@ public class ErrorLog {
     @Builder.Default
     private Integer repeatCount = 1;
 
+    // 영향 host 수 (error_log_hosts 행 수). host upsert 가 새 행을 만들 때만 upsert 에서 +1
+    @Column(name = "host_count", columnDefinition = "INT DEFAULT 0")
+    @Builder.Default
+    private Integer hostCount = 0;
+
     @Column(name = "last_occurred_time")
     private LocalDateTime lastOccurredTime;
 
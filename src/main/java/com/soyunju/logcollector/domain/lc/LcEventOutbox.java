@@ -0,0 +1,61 @@
+package com.soyunju.logcollector.domain.lc;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * LC → KB 전파용 outbox (error_logs upsert 와 같은 LC 트랜잭션에서 기록)
+ * - relay 가 (status, id) 순으로 읽어 KB 에 반영 후 DONE 일괄 처리, 보관 기간이 지난 DONE 은 id 범위로 삭제
+ */
+@Entity
+@Table(
+        name = "lc_event_outbox",
+        indexes = {
+                @Index(name = "ix_lc_event_outbox_status_id", columnList = "status,id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LcEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 20, nullable = false)
+    private LcEventType eventType;
+
+    @Column(name = "log_hash", length = 64, nullable = false)
+    private String logHash;
+
+    // 이벤트 전체 JSON (LogSavedEvent / LogResolvedEvent)
+    @Lob
+    @Column(name = "payload", columnDefinition = "MEDIUMTEXT", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private LcEventOutboxStatus status;
+
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    @Column(name = "next_retry_at")
+    private LocalDateTime nextRetryAt;
+
+    @Lob
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,5 @@
+package com.soyunju.logcollector.domain.lc;
+
+public enum LcEventOutboxStatus {
+    PENDING, DONE, FAILED
+}
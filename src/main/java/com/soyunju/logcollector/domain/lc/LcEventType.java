@@ -0,0 +1,6 @@
+package com.soyunju.logcollector.domain.lc;
+
+// lc_event_outbox 이벤트 종류 (payload 는 dto.event 의 JSON)
+public enum LcEventType {
+    LOG_SAVED, LOG_RESOLVED
+}
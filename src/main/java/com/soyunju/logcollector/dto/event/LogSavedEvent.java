@@ -16,6 +16,7 @@ public class LogSavedEvent {
     private final String errorCode;
     private final String effectiveLevel;
     private final LocalDateTime occurredTime;
+    private final int occurrenceCount;  // 이 이벤트가 나타내는 발생 수 (ingest 사전 집계 시 n, 그 외 1)
     private final int impactedHostCount;
     private final int repeatCount;
     private final Long incidentId;      // Draft 생성 여부 판단용
@@ -0,0 +1,67 @@
+package com.soyunju.logcollector.dto.lc;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.soyunju.logcollector.exception.ErrorCode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@Schema(description = "로그 일괄 수집 결과 (건별 accept/reject)")
+public class ErrorLogBatchResponse {
+
+    private int total;
+    private int accepted;
+    private int rejected;
+    private List<ItemResult> results;
+    // 수집 제한(429 사유)으로 거절된 건이 있을 때 재시도 권장 대기(초) - 거절 건 중 최대값
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer retryAfterSeconds;
+
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;          // 요청 배열 내 위치(0-base)
+        private boolean accepted;
+        private String logLevel;    // 확정된 로그 레벨
+        private String code;        // reject 시 내부 에러 코드 (예: LOG-001)
+        private String reason;      // reject 사유
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Integer retryAfterSeconds; // 수집 제한으로 reject 시 재시도 권장 대기(초)
+
+        public static ItemResult accepted(int index, String logLevel) {
+            return ItemResult.builder()
+                    .index(index)
+                    .accepted(true)
+                    .logLevel(logLevel)
+                    .build();
+        }
+
+        public static ItemResult rejected(int index, String logLevel, String code, String reason) {
+            return ItemResult.builder()
+                    .index(index)
+                    .accepted(false)
+                    .logLevel(logLevel)
+                    .code(code)
+                    .reason(reason)
+                    .build();
+        }
+
+        public static ItemResult throttled(int index, String logLevel, ErrorCode errorCode, int retryAfterSeconds) {
+            return ItemResult.builder()
+                    .index(index)
+                    .accepted(false)
+                    .logLevel(logLevel)
+                    .code(errorCode.getCode())
+                    .reason(errorCode.getMessage())
+                    .retryAfterSeconds(retryAfterSeconds)
+                    .build();
+        }
+    }
+}
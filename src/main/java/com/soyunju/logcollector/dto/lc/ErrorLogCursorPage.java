@@ -0,0 +1,20 @@
+package com.soyunju.logcollector.dto.lc;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * GET /api/logs/cursor 응답 (lastOccurredTime, id 기준 seek 페이지)
+ * - nextCursor 를 다음 요청의 cursor 로 전달, hasNext=false 면 마지막 페이지
+ * - total 은 제공하지 않음 (count 쿼리 없음)
+ */
+@Getter
+@Builder
+public class ErrorLogCursorPage {
+    private List<ErrorLogResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
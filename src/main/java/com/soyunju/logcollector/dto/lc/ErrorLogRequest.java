@@ -1,5 +1,6 @@
 package com.soyunju.logcollector.dto.lc;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
@@ -43,4 +44,29 @@ public class ErrorLogRequest {
 
     @Schema(nullable = true, description = "정규화 후 생성")
     private String logHash;
+
+    // ===== ingest 시 1회 계산되는 fingerprint (클라이언트 입력값은 ingest 에서 덮어씀) =====
+    @Schema(nullable = true, accessMode = Schema.AccessMode.READ_ONLY, description = "ingest 시 생성 (ORA_/SQLSTATE_/HTTP_/EX_ ...)")
+    private String errorCode;
+
+    @Schema(nullable = true, accessMode = Schema.AccessMode.READ_ONLY, description = "ingest 시 확정 (메시지상 CRITICAL/FATAL 우선)")
+    private String effectiveLevel;
+
+    // ===== ingest 사전 집계 (같은 logHash + host 를 window 안에서 1건으로 합침, 클라이언트 입력값은 무시) =====
+    @Schema(nullable = true, accessMode = Schema.AccessMode.READ_ONLY, description = "합쳐진 발생 수 (없으면 1)")
+    private Integer occurrenceCount;
+
+    @Schema(nullable = true, accessMode = Schema.AccessMode.READ_ONLY, description = "합쳐진 발생 중 최초 시각 (occurredTime 은 마지막 시각)")
+    private LocalDateTime firstOccurredTime;
+
+    // ===== 큐 내부용 (API 입출력에 노출하지 않음) =====
+    // ingest 수락 시각(epoch ms). lane 별 수락 → DB 저장 지연(lc.queue.lane.latency) 측정용
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long acceptedAt;
+
+    // 이 entry 가 나타내는 발생 수 (사전 집계 안 된 entry = 1)
+    public int occurrences() {
+        return (occurrenceCount == null || occurrenceCount < 1) ? 1 : occurrenceCount;
+    }
 }
@@ -19,6 +19,7 @@ public class ErrorLogResponse {
     private String hostInfo;    // HostName(PodName)
     private Long impactedHostCount; // 추가: 영향 서버 수(해당 incident(log_hash)가 발생한 host의 개수)
     private long repeatCount;
+    private long batchCount;        // 이번 저장에서 합산된 발생 수 (단건 저장은 entry 의 occurrenceCount)
     private boolean isNew;
     private boolean isNewHost; // 서버 확산 여부
     private String logHash;          // 해시값 추가 테스트시 확인 용이할 용도
@@ -10,6 +10,10 @@ public enum ErrorCode {
     // 로그 관련 에러
     INVALID_LOG_LEVEL(HttpStatus.BAD_REQUEST, "LOG-001", "수집 대상 로그 레벨이 아닙니다."),
     LOG_NOT_FOUND(HttpStatus.NOT_FOUND, "LOG-002", "존재하지 않는 로그 ID입니다."),
+    INVALID_LOG_REQUEST(HttpStatus.BAD_REQUEST, "LOG-003", "로그 요청 형식이 올바르지 않습니다."),
+    BATCH_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "LOG-004", "일괄 수집 최대 건수를 초과했습니다."),
+    INGEST_RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "LOG-005", "서비스별 수집 허용량을 초과했습니다."),
+    INGEST_QUEUE_FULL(HttpStatus.TOO_MANY_REQUESTS, "LOG-006", "수집 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요."),
 
     // 일반 에러
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "SYS-001", "서버 내부 오류가 발생했습니다.");
@@ -7,16 +7,23 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
 @Component
 @RequiredArgsConstructor
 public class LcMetrics {
 
     private final MeterRegistry registry;
 
-    // Redis queue/dlq 길이 gauge
-    public void bindRedisQueueGauges(RedisTemplate<String, ?> redisTemplate, LogCollectorRedisProperties props) {
-        Gauge.builder("lc.redis.queue.size", redisTemplate, rt -> safeListSize(rt, props.getQueueKey()))
-                .description("Redis queue list size")
+    // Redis queue/dlq 길이 gauge (queue 는 전 lane 합계, 주기적으로 조회한 LLEN/XLEN 값)
+    public void bindRedisQueueGauges(RedisTemplate<String, ?> redisTemplate, LogCollectorRedisProperties props,
+                                     Supplier<Number> queueSize) {
+        Gauge.builder("lc.redis.queue.size", queueSize)
+                .description("Redis queue size (all lanes)")
                 .register(registry);
 
         Gauge.builder("lc.redis.dlq.size", redisTemplate, rt -> safeListSize(rt, props.getDlqKey()))
@@ -38,6 +45,10 @@ public class LcMetrics {
         counter("lc.redis.enqueue", "result", "success").increment();
     }
 
+    public void incRedisEnqueueSuccess(int count) {
+        counter("lc.redis.enqueue", "result", "success").increment(count);
+    }
+
     public void incRedisEnqueueFailure(String reason) {
         counter("lc.redis.enqueue", "result", "failure", "reason", reason).increment();
     }
@@ -51,6 +62,10 @@ public class LcMetrics {
         counter("lc.consumer.processed").increment();
     }
 
+    public void incConsumeProcessed(int count) {
+        counter("lc.consumer.processed").increment(count);
+    }
+
     public void incConsumeFailed(String stage) {
         counter("lc.consumer.failed", "stage", stage).increment();
     }
@@ -63,6 +78,69 @@ public class LcMetrics {
         counter("lc.consumer.ignored").increment();
     }
 
+    // stream pending 회수 (result: claimed / dead_letter / consumer_deleted)
+    public void incStreamReclaim(String result, int count) {
+        counter("lc.redis.stream.reclaim", "result", result).increment(count);
+    }
+
+    // ---- Queue lanes (effectiveLevel 기준 우선순위 큐)
+    public void bindQueueLaneDepth(String lane, Supplier<Number> depth) {
+        Gauge.builder("lc.queue.lane.depth", depth)
+                .description("Queue length per priority lane")
+                .tag("lane", lane)
+                .register(registry);
+    }
+
+    // ingest 수락 → consumer 처리 완료
+    public void recordQueueLaneLatency(String lane, long millis) {
+        Timer.builder("lc.queue.lane.latency")
+                .description("Latency from ingest acceptance to consumer completion per priority lane")
+                .tag("lane", lane)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    // ---- Service queues (서비스별 하위 큐, 누가 파이프라인을 포화시키는지)
+    public void bindServiceQueueDepth(String service, Supplier<Number> depth) {
+        Gauge.builder("lc.queue.service.depth", depth)
+                .description("Queued entries per service sub-queue (all lanes)")
+                .tag("service", service)
+                .register(registry);
+    }
+
+    public void recordServiceQueueLatency(String service, long millis) {
+        Timer.builder("lc.queue.service.latency")
+                .description("Latency from ingest acceptance to consumer completion per service")
+                .tag("service", service)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    // ---- Consumer stripes (logHash 기준 병렬 처리)
+    public void bindConsumerStripeGauges(int stripeCount, IntFunction<Number> depth) {
+        Gauge.builder("lc.consumer.stripes", () -> stripeCount)
+                .description("Consumer stripe(worker) count")
+                .register(registry);
+
+        for (int i = 0; i < stripeCount; i++) {
+            int stripe = i;
+            Gauge.builder("lc.consumer.stripe.depth", () -> depth.apply(stripe))
+                    .description("Items queued or in progress per consumer stripe")
+                    .tag("stripe", String.valueOf(stripe))
+                    .register(registry);
+        }
+    }
+
+    public void recordStripeBusy(int stripe, long nanos) {
+        Timer.builder("lc.consumer.stripe.busy")
+                .description("Busy time per consumer stripe per batch")
+                .tag("stripe", String.valueOf(stripe))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
     public Timer.Sample startPersistLagTimer() {
         return Timer.start(registry);
     }
@@ -75,11 +153,151 @@ public class LcMetrics {
                 .register(registry));
     }
 
+    // ---- Fingerprint cache (정규화 + SHA-256 결과 재사용)
+    public void bindFingerprintCache(Supplier<Number> size, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        Gauge.builder("lc.fingerprint.cache.size", size)
+                .description("Fingerprint cache entries")
+                .register(registry);
+
+        FunctionCounter.builder("lc.fingerprint.cache.requests", hits, LongAdder::doubleValue)
+                .description("Fingerprint cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+
+        FunctionCounter.builder("lc.fingerprint.cache.requests", misses, LongAdder::doubleValue)
+                .description("Fingerprint cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+
+        FunctionCounter.builder("lc.fingerprint.cache.evictions", evictions, LongAdder::doubleValue)
+                .description("Fingerprint cache evictions (size limit)")
+                .register(registry);
+
+        Gauge.builder("lc.fingerprint.cache.hit_ratio", () -> {
+                    double h = hits.doubleValue();
+                    double total = h + misses.doubleValue();
+                    return total == 0 ? 0d : h / total;
+                })
+                .description("Fingerprint cache hit ratio since start")
+                .register(registry);
+    }
+
+    // ---- Ignored logHash near-cache (Bloom filter + 로컬 집합)
+    public void bindIgnoreCache(Supplier<Number> size, LongAdder bloomNegatives, LongAdder localHits, LongAdder localMisses) {
+        Gauge.builder("lc.ignore.cache.size", size)
+                .description("Ignored logHash entries cached in process")
+                .register(registry);
+
+        FunctionCounter.builder("lc.ignore.cache.lookups", bloomNegatives, LongAdder::doubleValue)
+                .description("Ignored logHash lookups served from the near-cache")
+                .tag("result", "bloom_negative")
+                .register(registry);
+
+        FunctionCounter.builder("lc.ignore.cache.lookups", localHits, LongAdder::doubleValue)
+                .description("Ignored logHash lookups served from the near-cache")
+                .tag("result", "hit")
+                .register(registry);
+
+        FunctionCounter.builder("lc.ignore.cache.lookups", localMisses, LongAdder::doubleValue)
+                .description("Ignored logHash lookups served from the near-cache")
+                .tag("result", "bloom_false_positive")
+                .register(registry);
+    }
+
+    public void incIgnoreCacheResync(String result) {
+        counter("lc.ignore.cache.resync", "result", result).increment();
+    }
+
+    // ---- KB → LC ignore 동기화 (lc_ignore_outbox)
+    public void incIgnoreSync(String result, int count) {
+        counter("lc.ignore.sync", "result", result).increment(count);
+    }
+
+    // outbox 생성 → LC 반영 완료
+    public void recordIgnoreSyncLag(Duration lag) {
+        Timer.builder("lc.ignore.sync.lag")
+                .description("Lag from ignore/unignore request to LC apply")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    // ---- Ingest admission (서비스별 token bucket + backlog 상한)
+    public void bindAdmissionGauges(Supplier<Number> backlog, Supplier<Number> buckets) {
+        Gauge.builder("lc.ingest.backlog", backlog)
+                .description("Observed ingest backlog (queue length + spooled records)")
+                .register(registry);
+
+        Gauge.builder("lc.ingest.admission.buckets", buckets)
+                .description("Per-service token buckets in use")
+                .register(registry);
+    }
+
+    public void incAdmission(String result) {
+        counter("lc.ingest.admission", "result", result).increment();
+    }
+
+    // ---- Ingest pre-aggregation ((logHash, host) 단위 window 합산)
+    public void bindPreAggregationGauge(Supplier<Number> windows) {
+        Gauge.builder("lc.ingest.preagg.windows", windows)
+                .description("Open pre-aggregation windows")
+                .register(registry);
+    }
+
+    public void incPreAggregationFolded(int count) {
+        counter("lc.ingest.preagg.folded").increment(count);
+    }
+
+    // ---- Spool (Redis 장애 시 로컬 디스크 보관)
+    public void bindSpoolGauges(Supplier<Number> records, Supplier<Number> bytes, Supplier<Number> segments) {
+        Gauge.builder("lc.spool.records", records)
+                .description("Spooled records waiting to be drained to Redis")
+                .register(registry);
+
+        Gauge.builder("lc.spool.bytes", bytes)
+                .description("Spooled bytes waiting to be drained to Redis")
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("lc.spool.segments", segments)
+                .description("Spool segment files")
+                .register(registry);
+    }
+
+    public void incSpoolAppend(String result, int count) {
+        counter("lc.spool.append", "result", result).increment(count);
+    }
+
+    // rate(lc.spool.drained) = drain 속도
+    public void incSpoolDrained(int count) {
+        counter("lc.spool.drained").increment(count);
+    }
+
+    public void incSpoolCorrupt() {
+        counter("lc.spool.corrupt").increment();
+    }
+
     // ---- saveLog
     public void incSaveLog(String result) {
         counter("lc.savelog", "result", result).increment();
     }
 
+    // ---- repeat_count write-behind (Redis journal 누적 → 주기적 delta UPDATE)
+    public void bindWriteBehindKnownRows(Supplier<Number> rows) {
+        Gauge.builder("lc.writebehind.known_rows", rows)
+                .description("(logHash, host) rows confirmed saved and eligible for write-behind")
+                .register(registry);
+    }
+
+    // result: absorbed / fallback / flushed / dropped (발생 수 기준)
+    public void incWriteBehind(String result, int count) {
+        counter("lc.writebehind.occurrences", "result", result).increment(count);
+    }
+
+    public void incWriteBehindFlush(String result) {
+        counter("lc.writebehind.flush", "result", result).increment();
+    }
+
     // ---- Notifications
     public void incSlackNotify(String type) {
         counter("lc.notify.slack", "type", type).increment();
@@ -93,6 +311,52 @@ public class LcMetrics {
     }
 
     // ---- Policy draft
+    public void bindKbWriterPending(Supplier<Number> pending) {
+        Gauge.builder("lc.kb.writer.pending", pending)
+                .description("logHashes buffered or being applied by the KB incident writer")
+                .register(registry);
+    }
+
+    public void incKbWriterCoalesced() {
+        counter("lc.kb.writer.coalesced").increment();
+    }
+
+    public void incKbWriterBackpressure() {
+        counter("lc.kb.writer.backpressure").increment();
+    }
+
+    public void incKbWriterRejected(String reason) {
+        counter("lc.kb.writer.rejected", "reason", reason).increment();
+    }
+
+    public void incKbWriterRows(String result, int count) {
+        counter("lc.kb.writer.rows", "result", result).increment(count);
+    }
+
+    public void recordKbWriterLag(Duration lag) {
+        Timer.builder("lc.kb.writer.lag")
+                .description("Lag from LC commit to KB incident upsert")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public void incLcOutboxRelay(String result, int count) {
+        counter("lc.outbox.relay", "result", result).increment(count);
+    }
+
+    public void recordLcOutboxLag(Duration lag) {
+        Timer.builder("lc.outbox.relay.lag")
+                .description("Lag from LC commit (lc_event_outbox insert) to KB apply")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public void incLcOutboxPurged(int count) {
+        counter("lc.outbox.purged").increment(count);
+    }
+
     public void incAutoDraft(String result) {
         counter("lc.kb.auto_draft", "result", result).increment();
     }
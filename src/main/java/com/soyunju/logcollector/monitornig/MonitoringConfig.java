@@ -1,6 +1,7 @@
 package com.soyunju.logcollector.monitornig;
 
 import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.service.lc.redis.queue.QueueLanes;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
@@ -13,9 +14,10 @@ public class MonitoringConfig {
     private final LcMetrics lcMetrics;
     private final StringRedisTemplate stringRedisTemplate; // ✅ 모호성 제거
     private final LogCollectorRedisProperties redisProperties;
+    private final QueueLanes queueLanes;
 
     @PostConstruct
     public void bindGauges() {
-        lcMetrics.bindRedisQueueGauges(stringRedisTemplate, redisProperties);
+        lcMetrics.bindRedisQueueGauges(stringRedisTemplate, redisProperties, queueLanes::depth);
     }
 }
@@ -0,0 +1,109 @@
+package com.soyunju.logcollector.repository.kb;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.soyunju.logcollector.domain.kb.enums.ErrorLevel;
+import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
+import com.soyunju.logcollector.dto.kb.IncidentResponse;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import static com.soyunju.logcollector.domain.kb.QIncident.incident;
+
+/**
+ * 인시던트 목록 조회 시 SELECT 하는 컬럼 (fields= 파라미터 이름 = IncidentResponse 프로퍼티명)
+ * - stackTrace(LONGTEXT) 는 목록에서 제외 → 단건 조회(GET /api/incidents/{logHash}) 로만 제공
+ * - id 는 fields 와 무관하게 항상 포함
+ * - hostCount 는 incident 컬럼이 아님 (검색 목록에서만 LC 집계로 채움)
+ */
+public enum IncidentListField {
+
+    ID("id", incident.id, (b, v) -> b.id((Long) v)),
+    LOG_HASH("logHash", incident.logHash, (b, v) -> b.logHash((String) v)),
+    SERVICE_NAME("serviceName", incident.serviceName, (b, v) -> b.serviceName((String) v)),
+    STATUS("status", incident.status, (b, v) -> b.status((IncidentStatus) v)),
+    ERROR_LEVEL("errorLevel", incident.errorLevel, (b, v) -> b.errorLevel((ErrorLevel) v)),
+    REPEAT_COUNT("repeatCount", incident.repeatCount, (b, v) -> b.repeatCount((Integer) v)),
+    HOST_COUNT("hostCount", null, (b, v) -> b.hostCount((Long) v)),
+    FIRST_OCCURRED_AT("firstOccurredAt", incident.firstOccurredAt, (b, v) -> b.firstOccurredAt((LocalDateTime) v)),
+    LAST_OCCURRED_AT("lastOccurredAt", incident.lastOccurredAt, (b, v) -> b.lastOccurredAt((LocalDateTime) v)),
+    RESOLVED_AT("resolvedAt", incident.resolvedAt, (b, v) -> b.resolvedAt((LocalDateTime) v)),
+    SUMMARY("summary", incident.summary, (b, v) -> b.summary((String) v)),
+    ERROR_CODE("errorCode", incident.errorCode, (b, v) -> b.errorCode((String) v)),
+    CREATED_BY("createdBy", incident.createdBy, (b, v) -> b.createdBy((String) v)),
+    INCIDENT_TITLE("incidentTitle", incident.incidentTitle, (b, v) -> b.incidentTitle((String) v)),
+    CLOSE_ELIGIBLE_AT("closeEligibleAt", incident.closeEligibleAt, (b, v) -> b.closeEligibleAt((LocalDateTime) v)),
+    CLOSED_AT("closedAt", incident.closedAt, (b, v) -> b.closedAt((LocalDateTime) v)),
+    REOPENED_AT("reopenedAt", incident.reopenedAt, (b, v) -> b.reopenedAt((LocalDateTime) v));
+
+    private final String property;
+    private final Expression<?> expression;
+    private final BiConsumer<IncidentResponse.IncidentResponseBuilder, Object> setter;
+
+    IncidentListField(String property,
+                      Expression<?> expression,
+                      BiConsumer<IncidentResponse.IncidentResponseBuilder, Object> setter) {
+        this.property = property;
+        this.expression = expression;
+        this.setter = setter;
+    }
+
+    // incident 테이블 컬럼이 아니면 null
+    private Expression<?> expression() {
+        return expression;
+    }
+
+    private void apply(IncidentResponse.IncidentResponseBuilder builder, Object value) {
+        setter.accept(builder, value);
+    }
+
+    /**
+     * "serviceName,status,repeatCount" → 해당 컬럼 + id
+     * - 비어 있으면 목록 컬럼 전체
+     * - 알 수 없는 이름 / stackTrace → IllegalArgumentException (400)
+     */
+    public static Set<IncidentListField> parse(String fields) {
+        if (!StringUtils.hasText(fields)) return EnumSet.allOf(IncidentListField.class);
+
+        Set<IncidentListField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) continue;
+            selected.add(Arrays.stream(values())
+                    .filter(f -> f.property.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "목록 조회에서 지원하지 않는 fields 입니다: " + trimmed
+                                    + " (가능: " + names() + ", stackTrace 는 단건 조회 사용)")));
+        }
+        return selected;
+    }
+
+    // SELECT 절 (incident 컬럼만)
+    public static Expression<?>[] columns(Set<IncidentListField> fields) {
+        return fields.stream()
+                .map(IncidentListField::expression)
+                .filter(Objects::nonNull)
+                .toArray(Expression<?>[]::new);
+    }
+
+    // 요청한 fields 만 채움 (hostCount 는 호출측에서 전달, 그 외 조회하지 않은 프로퍼티는 null)
+    public static IncidentResponse toResponse(Tuple row, Set<IncidentListField> fields, Long hostCount) {
+        IncidentResponse.IncidentResponseBuilder builder = IncidentResponse.builder();
+        for (IncidentListField field : fields) {
+            field.apply(builder, field.expression == null ? hostCount : row.get(field.expression));
+        }
+        return builder.build();
+    }
+
+    private static String names() {
+        return Arrays.stream(values()).map(f -> f.property).collect(Collectors.joining(","));
+    }
+}
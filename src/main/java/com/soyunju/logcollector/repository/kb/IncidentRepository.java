@@ -3,8 +3,6 @@ package com.soyunju.logcollector.repository.kb;
 import com.soyunju.logcollector.domain.kb.Incident;
 import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
 import jakarta.persistence.LockModeType;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
@@ -41,10 +39,10 @@ public interface IncidentRepository extends JpaRepository<Incident, Long>, Incid
                                 created_at, updated_at
                             ) VALUES (
                                 :logHash, :serviceName, :incidentTitle, :summary, :stackTrace, :errorCode, -- [확인] 여기 순서에 맞춰 위에도 추가해야 함
-                                :errorLevel, 'OPEN', :ts, :ts, 1,
+                                :errorLevel, 'OPEN', :ts, :ts, :count,
                                 :ts, :ts
                             ) ON DUPLICATE KEY UPDATE
-                                repeat_count = repeat_count + 1,
+                                repeat_count = repeat_count + VALUES(repeat_count),
                                 last_occurred_at = VALUES(last_occurred_at),
                                 updated_at = VALUES(updated_at), -- 업데이트 시 시간 갱신
             
@@ -84,16 +82,12 @@ public interface IncidentRepository extends JpaRepository<Incident, Long>, Incid
                                           ELSE status
                                       END
             """, nativeQuery = true)
-    void upsertIncident(@Param("logHash") String logHash, @Param("serviceName") String serviceName, @Param("incidentTitle") String incidentTitle, @Param("summary") String summary, @Param("stackTrace") String stackTrace, @Param("errorCode") String errorCode, @Param("errorLevel") String errorLevel, @Param("ts") LocalDateTime ts);
+    void upsertIncident(@Param("logHash") String logHash, @Param("serviceName") String serviceName, @Param("incidentTitle") String incidentTitle, @Param("summary") String summary, @Param("stackTrace") String stackTrace, @Param("errorCode") String errorCode, @Param("errorLevel") String errorLevel, @Param("ts") LocalDateTime ts, @Param("count") int count);
 
     // Not RESOLVED incident
     @Query("SELECT i.logHash FROM Incident i WHERE i.status <> :status")
     List<String> findNotResolvedLogHash(@Param("status") IncidentStatus status);
 
-    Page<Incident> findByStatusNot(IncidentStatus status, Pageable pageable);
-
-    Page<Incident> findByStatus(IncidentStatus status, Pageable pageable);
-
     // CLOSE 처리
     @Query("""
             SELECT i FROM Incident i
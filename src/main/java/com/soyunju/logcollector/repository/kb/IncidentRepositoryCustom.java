@@ -1,11 +1,27 @@
 package com.soyunju.logcollector.repository.kb;
 
-import com.soyunju.logcollector.domain.kb.Incident;
+import com.querydsl.core.Tuple;
+import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
 import com.soyunju.logcollector.dto.kb.IncidentSearch;
+import com.soyunju.logcollector.repository.kb.batch.IncidentBatchRow;
+import com.soyunju.logcollector.repository.kb.batch.IncidentStateRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 public interface IncidentRepositoryCustom {
-    // 검색 조건으로 목록 페이징
-    Page<Incident> search(IncidentSearch condition, Pageable pageable);
-}
\ No newline at end of file
+    // 검색 조건으로 목록 페이징 (columns 만 SELECT, stackTrace 제외)
+    Page<Tuple> searchList(IncidentSearch condition, Pageable pageable, Set<IncidentListField> columns);
+
+    // status 기준 목록 페이징 (exclude = true 면 해당 status 제외, pageable 정렬 적용)
+    Page<Tuple> findListByStatus(IncidentStatus status, boolean exclude, Pageable pageable, Set<IncidentListField> columns);
+
+    // multi-row INSERT ... ON DUPLICATE KEY UPDATE repeat_count = repeat_count + n (upsertIncident 의 배치판)
+    int bulkUpsertIncidents(List<IncidentBatchRow> rows);
+
+    // logHash 별 (id, status) 만 IN 조회 1회 (stack_trace 등 엔티티 전체 로딩 없음)
+    List<IncidentStateRow> findStatesByLogHashIn(Collection<String> logHashes);
+}
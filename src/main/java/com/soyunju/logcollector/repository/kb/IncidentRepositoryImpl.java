@@ -1,65 +1,184 @@
 package com.soyunju.logcollector.repository.kb;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.soyunju.logcollector.domain.kb.Incident;
+import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
 import com.soyunju.logcollector.dto.kb.IncidentSearch;
+import com.soyunju.logcollector.repository.kb.batch.IncidentBatchRow;
+import com.soyunju.logcollector.repository.kb.batch.IncidentStateRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import static com.soyunju.logcollector.domain.kb.QIncident.incident;
 
 public class IncidentRepositoryImpl implements IncidentRepositoryCustom {
 
+    private static final int COLUMNS_PER_ROW = 9;
+
     private final JPAQueryFactory queryFactory;
 
+    @PersistenceContext(unitName = "kb")
+    private EntityManager em;
+
     public IncidentRepositoryImpl(@Qualifier("kbQueryFactory") JPAQueryFactory queryFactory) {
         this.queryFactory = queryFactory;
     }
 
     @Override
-    public Page<Incident> search(IncidentSearch condition, Pageable pageable) {
-        List<Incident> content = queryFactory
-                .selectFrom(incident)
-                .where(
-                        serviceNameEq(condition.getServiceName()),
-                        statusEq(condition.getStatus()),
-                        levelEq(condition.getLevel()),
-                        betweenDate(condition.getStartDate(), condition.getEndDate()),
-                        keywordContains(condition.getKeyword())
-                )
+    public Page<Tuple> searchList(IncidentSearch condition, Pageable pageable, Set<IncidentListField> columns) {
+        BooleanExpression[] where = {
+                serviceNameEq(condition.getServiceName()),
+                statusEq(condition.getStatus()),
+                levelEq(condition.getLevel()),
+                betweenDate(condition.getStartDate(), condition.getEndDate()),
+                keywordContains(condition.getKeyword())
+        };
+
+        List<Tuple> content = queryFactory
+                .select(IncidentListField.columns(columns))
+                .from(incident)
+                .where(where)
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .orderBy(incident.lastOccurredAt.desc()) // 최근 발생 순 정렬
                 .fetch();
 
-        Long total = queryFactory
-                .select(incident.count())
+        // 마지막(덜 찬) 페이지면 count 쿼리 생략
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Long total = queryFactory
+                    .select(incident.count())
+                    .from(incident)
+                    .where(where)
+                    .fetchOne();
+            return (total == null) ? 0L : total;
+        });
+    }
+
+    @Override
+    public Page<Tuple> findListByStatus(IncidentStatus status, boolean exclude, Pageable pageable, Set<IncidentListField> columns) {
+        BooleanExpression where = exclude ? incident.status.ne(status) : incident.status.eq(status);
+
+        JPAQuery<Tuple> query = queryFactory
+                .select(IncidentListField.columns(columns))
+                .from(incident)
+                .where(where);
+        // findByStatus(status, pageable) 와 같이 pageable 의 sort/offset/limit 적용
+        List<Tuple> content = new Querydsl(em, new PathBuilder<>(Incident.class, incident.getMetadata()))
+                .applyPagination(pageable, query)
+                .fetch();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Long total = queryFactory
+                    .select(incident.count())
+                    .from(incident)
+                    .where(where)
+                    .fetchOne();
+            return (total == null) ? 0L : total;
+        });
+    }
+
+    /**
+     * rows 는 호출측에서 log_hash 순으로 정렬해서 전달 (동시 flush 간 row lock 순서 고정 → deadlock 방지)
+     * - 갱신 규칙은 IncidentRepository.upsertIncident 와 동일 (RESOLVED/CLOSED 면 OPEN 으로 재오픈)
+     */
+    @Override
+    public int bulkUpsertIncidents(List<IncidentBatchRow> rows) {
+        if (rows == null || rows.isEmpty()) return 0;
+
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO incident (
+                    log_hash, service_name, incident_title, summary, stack_trace, error_code,
+                    error_level, status, first_occurred_at, last_occurred_at, repeat_count,
+                    created_at, updated_at
+                ) VALUES
+                """);
+        for (int i = 0; i < rows.size(); i++) {
+            int p = i * COLUMNS_PER_ROW;
+            if (i > 0) sql.append(",\n");
+            sql.append("(?").append(p + 1)
+                    .append(", ?").append(p + 2)
+                    .append(", ?").append(p + 3)
+                    .append(", ?").append(p + 4)
+                    .append(", ?").append(p + 5)
+                    .append(", ?").append(p + 6)
+                    .append(", ?").append(p + 7)
+                    .append(", 'OPEN', ?").append(p + 8)
+                    .append(", ?").append(p + 8)
+                    .append(", ?").append(p + 9)
+                    .append(", NOW(), NOW())");
+        }
+        sql.append("""
+                
+                ON DUPLICATE KEY UPDATE
+                    repeat_count = repeat_count + VALUES(repeat_count),
+                    last_occurred_at = VALUES(last_occurred_at),
+                    updated_at = NOW(),
+                    incident_title = CASE WHEN incident_title IS NULL OR TRIM(incident_title) = '' THEN VALUES(incident_title) ELSE incident_title END,
+                    summary = CASE WHEN summary IS NULL OR TRIM(summary) = '' THEN VALUES(summary) ELSE summary END,
+                    resolved_at = CASE WHEN status IN ('RESOLVED', 'CLOSED') THEN NULL ELSE resolved_at END,
+                    close_eligible_at = CASE WHEN status IN ('RESOLVED', 'CLOSED') THEN NULL ELSE close_eligible_at END,
+                    closed_at = CASE WHEN status IN ('RESOLVED', 'CLOSED') THEN NULL ELSE closed_at END,
+                    reopened_at = CASE WHEN status IN ('RESOLVED', 'CLOSED') THEN VALUES(last_occurred_at) ELSE reopened_at END,
+                    status = CASE WHEN status IN ('RESOLVED', 'CLOSED') THEN 'OPEN' ELSE status END
+                """);
+
+        Query query = em.createNativeQuery(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            IncidentBatchRow row = rows.get(i);
+            int p = i * COLUMNS_PER_ROW;
+            query.setParameter(p + 1, row.getLogHash());
+            query.setParameter(p + 2, row.getServiceName());
+            query.setParameter(p + 3, row.getIncidentTitle());
+            query.setParameter(p + 4, row.getSummary());
+            query.setParameter(p + 5, row.getStackTrace());
+            query.setParameter(p + 6, row.getErrorCode());
+            query.setParameter(p + 7, row.getErrorLevel());
+            query.setParameter(p + 8, row.getOccurredAt());   // first_occurred_at, last_occurred_at
+            query.setParameter(p + 9, row.getCount());
+        }
+        int updated = query.executeUpdate();
+        em.clear();
+        return updated;
+    }
+
+    @Override
+    public List<IncidentStateRow> findStatesByLogHashIn(Collection<String> logHashes) {
+        if (logHashes == null || logHashes.isEmpty()) return List.of();
+
+        return queryFactory
+                .select(incident.id, incident.logHash, incident.status)
                 .from(incident)
-                .where(
-                        serviceNameEq(condition.getServiceName()),
-                        statusEq(condition.getStatus()),
-                        levelEq(condition.getLevel()),
-                        betweenDate(condition.getStartDate(), condition.getEndDate()),
-                        keywordContains(condition.getKeyword())
-                )
-                .fetchOne();
-
-        long totalCount = (total == null) ? 0L : total;
-
-        return new PageImpl<>(content, pageable, totalCount);
+                .where(incident.logHash.in(logHashes))
+                .fetch()
+                .stream()
+                .map(row -> IncidentStateRow.builder()
+                        .id(row.get(incident.id))
+                        .logHash(row.get(incident.logHash))
+                        .status(row.get(incident.status))
+                        .build())
+                .toList();
     }
 
     private BooleanExpression serviceNameEq(String serviceName) {
         return StringUtils.hasText(serviceName) ? incident.serviceName.containsIgnoreCase(serviceName.trim()) : null;
     }
 
-    private BooleanExpression statusEq(com.soyunju.logcollector.domain.kb.enums.IncidentStatus status) {
+    private BooleanExpression statusEq(IncidentStatus status) {
         return status != null ? incident.status.eq(status) : null;
     }
 
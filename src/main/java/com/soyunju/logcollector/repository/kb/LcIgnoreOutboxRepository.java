@@ -2,12 +2,14 @@ package com.soyunju.logcollector.repository.kb;
 
 import com.soyunju.logcollector.domain.kb.LcIgnoreOutbox;
 import com.soyunju.logcollector.domain.kb.enums.LcIgnoreOutboxStatus;
+import com.soyunju.logcollector.repository.lc.batch.OutboxRetryWait;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,6 +23,59 @@ public interface LcIgnoreOutboxRepository extends JpaRepository<LcIgnoreOutbox,
     """)
     List<LcIgnoreOutbox> findProcessTargets(@Param("now") LocalDateTime now, Pageable pageable);
 
+    /**
+     * 처리 대상 선점 (id 순, 최대 limit 건)
+     * - FOR UPDATE SKIP LOCKED: 다른 인스턴스가 잡은 행은 건너뜀 → 여러 인스턴스가 동시에 돌아도 중복 처리 없음
+     * - 트랜잭션 종료 시까지 행 잠금 유지
+     */
+    @Query(value = """
+        SELECT * FROM lc_ignore_outbox
+        WHERE status = 'PENDING'
+          AND (next_retry_at IS NULL OR next_retry_at <= :now)
+        ORDER BY id ASC
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<LcIgnoreOutbox> claimProcessTargets(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // logHash 별 선점 밖 PENDING 행: [logHash, MIN(id), MAX(nextRetryAt)]
+    @Query("""
+        SELECT o.logHash, MIN(o.id), MAX(o.nextRetryAt) FROM LcIgnoreOutbox o
+        WHERE o.status = com.soyunju.logcollector.domain.kb.enums.LcIgnoreOutboxStatus.PENDING
+          AND o.logHash IN :logHashes
+          AND o.id NOT IN :claimedIds
+        GROUP BY o.logHash
+    """)
+    List<Object[]> findPendingOutside(@Param("logHashes") Collection<String> logHashes,
+                                      @Param("claimedIds") Collection<Long> claimedIds);
+
+    /**
+     * 이번 선점에 없는 같은 logHash 의 PENDING 행 (재시도 대기 중 / 다른 인스턴스가 선점 중)
+     * - logHash 별 가장 앞선 id, 가장 늦은 재시도 시각 → 그 id 보다 뒤의 행은 반영 보류 (logHash 별 요청 순서 유지)
+     */
+    default List<OutboxRetryWait> findEarlierPending(Collection<String> logHashes, Collection<Long> claimedIds) {
+        if (logHashes.isEmpty()) return List.of();
+        return findPendingOutside(logHashes, claimedIds).stream()
+                .map(r -> OutboxRetryWait.builder()
+                        .logHash((String) r[0])
+                        .firstId((Long) r[1])
+                        .retryAt((LocalDateTime) r[2])
+                        .build())
+                .toList();
+    }
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        UPDATE LcIgnoreOutbox o
+        SET o.status = com.soyunju.logcollector.domain.kb.enums.LcIgnoreOutboxStatus.SUCCESS,
+            o.attemptCount = o.attemptCount + 1,
+            o.nextRetryAt = NULL,
+            o.lastError = NULL,
+            o.updatedAt = :now
+        WHERE o.id IN :ids
+    """)
+    int markSucceeded(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
         UPDATE LcIgnoreOutbox o
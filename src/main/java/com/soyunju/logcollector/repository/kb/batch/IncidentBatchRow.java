@@ -0,0 +1,23 @@
+package com.soyunju.logcollector.repository.kb.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * incident multi-row upsert 입력 (KB writer flush 를 log_hash 기준으로 합친 1행)
+ */
+@Getter
+@Builder
+public class IncidentBatchRow {
+    private final String logHash;
+    private final String serviceName;
+    private final String incidentTitle;
+    private final String summary;
+    private final String stackTrace;
+    private final String errorCode;
+    private final String errorLevel;
+    private final LocalDateTime occurredAt;
+    private final int count;
+}
@@ -0,0 +1,16 @@
+package com.soyunju.logcollector.repository.kb.batch;
+
+import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * multi-row upsert 전 이전 상태 확인용 (stack_trace 등 본문 컬럼 제외)
+ */
+@Getter
+@Builder
+public class IncidentStateRow {
+    private final Long id;
+    private final String logHash;
+    private final IncidentStatus status;
+}
@@ -13,9 +13,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ErrorLogHostRepository extends JpaRepository<ErrorLogHost, Long> {
+public interface ErrorLogHostRepository extends JpaRepository<ErrorLogHost, Long>, ErrorLogHostRepositoryCustom {
 
     // host별 upsert (DB 컬럼명: first_occurrence_time, last_occurrence_time 반영)
+    // count: ingest 사전 집계로 합쳐진 발생 수 (집계 안 된 로그 = 1)
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query(value = """
             INSERT INTO error_log_hosts (
@@ -24,10 +25,10 @@ public interface ErrorLogHostRepository extends JpaRepository<ErrorLogHost, Long
             )
             VALUES (
               :logHash, :serviceName, :hostName, :ip,
-              :now, :now, 1
+              :firstTime, :lastTime, :count
             )
             ON DUPLICATE KEY UPDATE
-              repeat_count = repeat_count + 1,
+              repeat_count = repeat_count + VALUES(repeat_count),
               last_occurrence_time = VALUES(last_occurrence_time),
               ip = VALUES(ip)
             """, nativeQuery = true)
@@ -36,7 +37,9 @@ public interface ErrorLogHostRepository extends JpaRepository<ErrorLogHost, Long
             @Param("serviceName") String serviceName,
             @Param("hostName") String hostName,
             @Param("ip") String ip,
-            @Param("now") LocalDateTime now
+            @Param("firstTime") LocalDateTime firstTime,
+            @Param("lastTime") LocalDateTime lastTime,
+            @Param("count") int count
     );
 
   /*  @Query(value = "SELECT COUNT(*) FROM error_log_hosts WHERE log_hash = :logHash", nativeQuery = true)
@@ -96,9 +99,6 @@ public interface ErrorLogHostRepository extends JpaRepository<ErrorLogHost, Long
             """, nativeQuery = true)
     List<com.soyunju.logcollector.repository.lc.agg.HostAgg> findTopHashesByHostCount(@Param("limit") int limit);
 
-    @Query(value = "SELECT COUNT(*) FROM error_log_hosts WHERE log_hash = :logHash", nativeQuery = true)
-    int countHostsByLogHash(@Param("logHash") String logHash);
-
     // 테스트 데이터 삭제용
     @Transactional
     @Modifying
@@ -0,0 +1,24 @@
+package com.soyunju.logcollector.repository.lc;
+
+import com.soyunju.logcollector.repository.lc.batch.ErrorLogHostBatchRow;
+import com.soyunju.logcollector.repository.lc.batch.RepeatCountDelta;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ErrorLogHostRepositoryCustom {
+
+    // multi-row INSERT ... ON DUPLICATE KEY UPDATE repeat_count = repeat_count + n
+    int bulkUpsertHosts(List<ErrorLogHostBatchRow> rows);
+
+    // key: logHash + "|" + hostName → repeat_count
+    Map<String, Integer> findHostRepeatCounts(Collection<String> logHashes, Collection<String> hostNames);
+
+    // write-behind: 기존 (log_hash, host_name) 행에 delta 반영 (UPDATE 1문), 반환 = 갱신된 행 수
+    int applyRepeatDeltas(List<RepeatCountDelta> deltas);
+
+    static String hostKey(String logHash, String hostName) {
+        return logHash + "|" + hostName;
+    }
+}
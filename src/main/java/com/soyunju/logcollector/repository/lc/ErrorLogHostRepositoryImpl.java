@@ -0,0 +1,128 @@
+package com.soyunju.logcollector.repository.lc;
+
+import com.soyunju.logcollector.repository.lc.batch.ErrorLogHostBatchRow;
+import com.soyunju.logcollector.repository.lc.batch.RepeatCountDelta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.soyunju.logcollector.repository.lc.batch.NativeRows.toInt;
+import static com.soyunju.logcollector.repository.lc.batch.NativeRows.toStr;
+
+public class ErrorLogHostRepositoryImpl implements ErrorLogHostRepositoryCustom {
+
+    private static final int COLUMNS_PER_ROW = 6;
+
+    @PersistenceContext(unitName = "lc")
+    private EntityManager em;
+
+    /**
+     * rows 는 호출측에서 (log_hash, host_name) 순으로 정렬해서 전달 (deadlock 방지)
+     */
+    @Override
+    public int bulkUpsertHosts(List<ErrorLogHostBatchRow> rows) {
+        if (rows == null || rows.isEmpty()) return 0;
+
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO error_log_hosts (
+                  log_hash, service_name, host_name, ip,
+                  first_occurrence_time, last_occurrence_time, repeat_count
+                ) VALUES
+                """);
+        for (int i = 0; i < rows.size(); i++) {
+            int p = i * COLUMNS_PER_ROW;
+            if (i > 0) sql.append(",\n");
+            sql.append("(?").append(p + 1)
+                    .append(", ?").append(p + 2)
+                    .append(", ?").append(p + 3)
+                    .append(", NULL, ?").append(p + 4)
+                    .append(", ?").append(p + 5)
+                    .append(", ?").append(p + 6)
+                    .append(")");
+        }
+        sql.append("""
+                
+                ON DUPLICATE KEY UPDATE
+                  repeat_count = repeat_count + VALUES(repeat_count),
+                  last_occurrence_time = VALUES(last_occurrence_time),
+                  ip = VALUES(ip)
+                """);
+
+        Query query = em.createNativeQuery(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            ErrorLogHostBatchRow row = rows.get(i);
+            int p = i * COLUMNS_PER_ROW;
+            query.setParameter(p + 1, row.getLogHash());
+            query.setParameter(p + 2, row.getServiceName());
+            query.setParameter(p + 3, row.getHostName());
+            query.setParameter(p + 4, row.getFirstOccurredTime());
+            query.setParameter(p + 5, row.getLastOccurredTime());
+            query.setParameter(p + 6, row.getCount());
+        }
+        return query.executeUpdate();
+    }
+
+    @Override
+    public Map<String, Integer> findHostRepeatCounts(Collection<String> logHashes, Collection<String> hostNames) {
+        if (logHashes == null || logHashes.isEmpty() || hostNames == null || hostNames.isEmpty()) return Map.of();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery("""
+                        SELECT log_hash, host_name, repeat_count
+                          FROM error_log_hosts
+                         WHERE log_hash IN (:logHashes)
+                           AND host_name IN (:hostNames)
+                        """)
+                .setParameter("logHashes", logHashes)
+                .setParameter("hostNames", hostNames)
+                .getResultList();
+
+        Map<String, Integer> result = new HashMap<>(rows.size() * 2);
+        for (Object[] r : rows) {
+            result.put(ErrorLogHostRepositoryCustom.hostKey(toStr(r[0]), toStr(r[1])), toInt(r[2]));
+        }
+        return result;
+    }
+
+    /**
+     * deltas 는 호출측에서 (log_hash, host_name) 순으로 정렬해서 전달 (deadlock 방지)
+     */
+    @Override
+    public int applyRepeatDeltas(List<RepeatCountDelta> deltas) {
+        if (deltas == null || deltas.isEmpty()) return 0;
+
+        StringBuilder count = new StringBuilder();
+        StringBuilder last = new StringBuilder();
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < deltas.size(); i++) {
+            int p = i * 4;
+            String when = " WHEN log_hash = ?" + (p + 1) + " AND host_name = ?" + (p + 2);
+            count.append(when).append(" THEN ?").append(p + 3);
+            last.append(when).append(" THEN ?").append(p + 4);
+            if (i > 0) in.append(", ");
+            in.append("(?").append(p + 1).append(", ?").append(p + 2).append(")");
+        }
+        String sql = """
+                UPDATE error_log_hosts
+                   SET repeat_count = repeat_count + CASE%s END,
+                       last_occurrence_time = GREATEST(last_occurrence_time, CASE%s END)
+                 WHERE (log_hash, host_name) IN (%s)
+                """.formatted(count, last, in);
+
+        Query query = em.createNativeQuery(sql);
+        for (int i = 0; i < deltas.size(); i++) {
+            RepeatCountDelta delta = deltas.get(i);
+            int p = i * 4;
+            query.setParameter(p + 1, delta.getLogHash());
+            query.setParameter(p + 2, delta.getHostName());
+            query.setParameter(p + 3, delta.getCount());
+            query.setParameter(p + 4, delta.getLastOccurredTime());
+        }
+        return query.executeUpdate();
+    }
+}
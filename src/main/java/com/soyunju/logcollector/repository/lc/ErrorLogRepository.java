@@ -13,10 +13,11 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
-public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long> {
+public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long>, ErrorLogRepositoryCustom {
 
     // 1. 특정 상태인 로그 페이징 조회
     Page<ErrorLog> findByStatus(ErrorStatus status, Pageable pageable);
@@ -48,25 +49,29 @@ public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long> {
 
     Optional<ErrorLog> findByLogHash(String logHash);
 
+    // count: ingest 사전 집계로 합쳐진 발생 수 (집계 안 된 로그 = 1, firstOccurredTime = occurredTime)
+    // newHosts: 직전 host upsert 에서 새로 생긴 host 행 수 (0 또는 1) → host_count 유지
+    // 갱신 규칙은 bulkUpsertErrorLogs / applyRepeatDeltas 와 동일 (resolved_at 은 status 보다 먼저, 발생 시각은 GREATEST)
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query(value = """
         INSERT INTO error_logs (
             service_name, host_name, log_level, message, stack_trace, 
             occurred_time, first_occurred_time, last_occurred_time, 
-            status, error_code, summary, log_hash, repeat_count,
+            status, error_code, summary, log_hash, repeat_count, host_count,
             created_at, updated_at
         ) VALUES (
             :serviceName, :hostName, :logLevel, :message, :stackTrace,
-            :occurredTime, :occurredTime, :occurredTime,
-            'NEW', :errorCode, :summary, :logHash, 1,
+            :occurredTime, :firstOccurredTime, :occurredTime,
+            'NEW', :errorCode, :summary, :logHash, :count, :newHosts,
             NOW(), NOW()
         ) ON DUPLICATE KEY UPDATE
-            repeat_count = repeat_count + 1,
-            last_occurred_time = VALUES(last_occurred_time),
-            occurred_time = VALUES(occurred_time),
+            repeat_count = repeat_count + VALUES(repeat_count),
+            host_count = host_count + VALUES(host_count),
+            last_occurred_time = GREATEST(COALESCE(last_occurred_time, VALUES(last_occurred_time)), VALUES(last_occurred_time)),
+            occurred_time = GREATEST(occurred_time, VALUES(occurred_time)),
             updated_at = NOW(),
-            status = CASE WHEN status = 'RESOLVED' THEN 'NEW' ELSE status END,
-            resolved_at = CASE WHEN status = 'RESOLVED' THEN NULL ELSE resolved_at END
+            resolved_at = CASE WHEN status = 'RESOLVED' THEN NULL ELSE resolved_at END,
+            status = CASE WHEN status = 'RESOLVED' THEN 'NEW' ELSE status END
         """, nativeQuery = true)
     int upsertErrorLog(
             @Param("serviceName") String serviceName,
@@ -75,9 +80,12 @@ public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long> {
             @Param("message") String message,
             @Param("stackTrace") String stackTrace,
             @Param("occurredTime") LocalDateTime occurredTime,
+            @Param("firstOccurredTime") LocalDateTime firstOccurredTime,
             @Param("errorCode") String errorCode,
             @Param("summary") String summary,
-            @Param("logHash") String logHash
+            @Param("logHash") String logHash,
+            @Param("count") int count,
+            @Param("newHosts") int newHosts
     );
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
@@ -88,6 +96,16 @@ public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long> {
     @Query("UPDATE ErrorLog e SET e.status = com.soyunju.logcollector.domain.lc.ErrorStatus.NEW WHERE e.logHash = :logHash")
     int unmarkIgnoredByLogHash(@Param("logHash") String logHash);
 
+    // ignore outbox 일괄 반영 (logHash 여러 건을 UPDATE 1회로)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ErrorLog e SET e.status = com.soyunju.logcollector.domain.lc.ErrorStatus.IGNORED WHERE e.logHash IN :logHashes")
+    int markIgnoredByLogHashes(@Param("logHashes") Collection<String> logHashes);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ErrorLog e SET e.status = com.soyunju.logcollector.domain.lc.ErrorStatus.NEW " +
+            "WHERE e.logHash IN :logHashes AND e.status = com.soyunju.logcollector.domain.lc.ErrorStatus.IGNORED")
+    int unmarkIgnoredByLogHashes(@Param("logHashes") Collection<String> logHashes);
+
     // 테스트 데이터 삭제용
     @Transactional
     @Modifying
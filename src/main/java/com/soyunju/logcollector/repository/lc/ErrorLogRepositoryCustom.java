@@ -0,0 +1,28 @@
+package com.soyunju.logcollector.repository.lc;
+
+import com.soyunju.logcollector.repository.lc.batch.ErrorLogBatchRow;
+import com.soyunju.logcollector.repository.lc.batch.ErrorLogBatchState;
+import com.soyunju.logcollector.repository.lc.batch.RepeatCountDelta;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ErrorLogRepositoryCustom {
+
+    // multi-row INSERT ... ON DUPLICATE KEY UPDATE repeat_count = repeat_count + n
+    int bulkUpsertErrorLogs(List<ErrorLogBatchRow> rows);
+
+    // upsert 결과(repeat_count, host_count 등) set-based 1회 조회 (message / stack_trace 미포함)
+    List<ErrorLogBatchState> findBatchStates(Collection<String> logHashes);
+
+    // error_logs 행 수 추정치 (InnoDB 통계, 정확하지 않음)
+    long estimateRowCount();
+
+    // keyword 검색용 FULLTEXT(summary, message) index 존재 여부 / 생성
+    boolean hasFulltextIndex();
+
+    void createFulltextIndex();
+
+    // write-behind: 기존 행에 delta 반영 (UPDATE 1문, 행당 repeat_count + n), 반환 = 갱신된 행 수
+    int applyRepeatDeltas(List<RepeatCountDelta> deltas);
+}
@@ -0,0 +1,207 @@
+package com.soyunju.logcollector.repository.lc;
+
+import com.soyunju.logcollector.domain.lc.ErrorStatus;
+import com.soyunju.logcollector.repository.lc.batch.ErrorLogBatchRow;
+import com.soyunju.logcollector.repository.lc.batch.ErrorLogBatchState;
+import com.soyunju.logcollector.repository.lc.batch.RepeatCountDelta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.soyunju.logcollector.repository.lc.batch.NativeRows.*;
+
+public class ErrorLogRepositoryImpl implements ErrorLogRepositoryCustom {
+
+    private static final int COLUMNS_PER_ROW = 12;
+    private static final String FULLTEXT_INDEX = "ft_error_logs_summary_message";
+
+    @PersistenceContext(unitName = "lc")
+    private EntityManager em;
+
+    /**
+     * rows 는 호출측에서 log_hash 순으로 정렬해서 전달 (동시 배치 간 row lock 순서 고정 → deadlock 방지)
+     * - ODKU 는 왼쪽부터 차례로 적용 → resolved_at 은 status 를 NEW 로 바꾸기 전에 판단
+     * - 발생 시각은 GREATEST (늦게 도착한 과거 발생이 시각을 되돌리지 않음), 단건 upsertErrorLog 와 같은 규칙
+     */
+    @Override
+    public int bulkUpsertErrorLogs(List<ErrorLogBatchRow> rows) {
+        if (rows == null || rows.isEmpty()) return 0;
+
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO error_logs (
+                    service_name, host_name, log_level, message, stack_trace,
+                    occurred_time, first_occurred_time, last_occurred_time,
+                    status, error_code, summary, log_hash, repeat_count, host_count,
+                    created_at, updated_at
+                ) VALUES
+                """);
+        for (int i = 0; i < rows.size(); i++) {
+            int p = i * COLUMNS_PER_ROW;
+            if (i > 0) sql.append(",\n");
+            sql.append("(?").append(p + 1)
+                    .append(", ?").append(p + 2)
+                    .append(", ?").append(p + 3)
+                    .append(", ?").append(p + 4)
+                    .append(", ?").append(p + 5)
+                    .append(", ?").append(p + 6)
+                    .append(", ?").append(p + 7)
+                    .append(", ?").append(p + 6)
+                    .append(", 'NEW', ?").append(p + 8)
+                    .append(", ?").append(p + 9)
+                    .append(", ?").append(p + 10)
+                    .append(", ?").append(p + 11)
+                    .append(", ?").append(p + 12)
+                    .append(", NOW(), NOW())");
+        }
+        sql.append("""
+                
+                ON DUPLICATE KEY UPDATE
+                    repeat_count = repeat_count + VALUES(repeat_count),
+                    host_count = host_count + VALUES(host_count),
+                    last_occurred_time = GREATEST(COALESCE(last_occurred_time, VALUES(last_occurred_time)), VALUES(last_occurred_time)),
+                    occurred_time = GREATEST(occurred_time, VALUES(occurred_time)),
+                    updated_at = NOW(),
+                    resolved_at = CASE WHEN status = 'RESOLVED' THEN NULL ELSE resolved_at END,
+                    status = CASE WHEN status = 'RESOLVED' THEN 'NEW' ELSE status END
+                """);
+
+        Query query = em.createNativeQuery(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            ErrorLogBatchRow row = rows.get(i);
+            int p = i * COLUMNS_PER_ROW;
+            query.setParameter(p + 1, row.getServiceName());
+            query.setParameter(p + 2, row.getHostName());
+            query.setParameter(p + 3, row.getLogLevel());
+            query.setParameter(p + 4, row.getMessage());
+            query.setParameter(p + 5, row.getStackTrace());
+            query.setParameter(p + 6, row.getLastOccurredTime());   // occurred_time, last_occurred_time
+            query.setParameter(p + 7, row.getFirstOccurredTime());
+            query.setParameter(p + 8, row.getErrorCode());
+            query.setParameter(p + 9, row.getSummary());
+            query.setParameter(p + 10, row.getLogHash());
+            query.setParameter(p + 11, row.getCount());
+            query.setParameter(p + 12, row.getNewHosts());
+        }
+        int updated = query.executeUpdate();
+        em.clear();
+        return updated;
+    }
+
+    @Override
+    public List<ErrorLogBatchState> findBatchStates(Collection<String> logHashes) {
+        if (logHashes == null || logHashes.isEmpty()) return List.of();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery("""
+                        SELECT e.id, e.log_hash, e.service_name, e.host_name, e.log_level,
+                               e.error_code, e.summary, e.status, e.repeat_count,
+                               e.host_count,
+                               e.first_occurred_time, e.last_occurred_time
+                          FROM error_logs e
+                         WHERE e.log_hash IN (:logHashes)
+                        """)
+                .setParameter("logHashes", logHashes)
+                .getResultList();
+
+        List<ErrorLogBatchState> result = new ArrayList<>(rows.size());
+        for (Object[] r : rows) {
+            result.add(ErrorLogBatchState.builder()
+                    .id(toLong(r[0]))
+                    .logHash(toStr(r[1]))
+                    .serviceName(toStr(r[2]))
+                    .hostName(toStr(r[3]))
+                    .logLevel(toStr(r[4]))
+                    .errorCode(toStr(r[5]))
+                    .summary(toStr(r[6]))
+                    .status(r[7] == null ? null : ErrorStatus.valueOf(r[7].toString()))
+                    .repeatCount(toInt(r[8]))
+                    .hostCount(toInt(r[9]))
+                    .firstOccurredTime(toLocalDateTime(r[10]))
+                    .lastOccurredTime(toLocalDateTime(r[11]))
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public long estimateRowCount() {
+        Object estimate = em.createNativeQuery("""
+                        SELECT COALESCE(TABLE_ROWS, 0)
+                          FROM information_schema.TABLES
+                         WHERE TABLE_SCHEMA = DATABASE()
+                           AND TABLE_NAME = 'error_logs'
+                        """)
+                .getResultStream()
+                .findFirst()
+                .orElse(0L);
+        return ((Number) estimate).longValue();
+    }
+
+    @Override
+    public boolean hasFulltextIndex() {
+        Number found = (Number) em.createNativeQuery("""
+                        SELECT COUNT(*)
+                          FROM information_schema.STATISTICS
+                         WHERE TABLE_SCHEMA = DATABASE()
+                           AND TABLE_NAME = 'error_logs'
+                           AND INDEX_NAME = :indexName
+                           AND INDEX_TYPE = 'FULLTEXT'
+                        """)
+                .setParameter("indexName", FULLTEXT_INDEX)
+                .getSingleResult();
+        return found.longValue() > 0;
+    }
+
+    // Hibernate @Index 로는 FULLTEXT 를 만들 수 없어 DDL 직접 실행 (InnoDB online DDL)
+    @Override
+    public void createFulltextIndex() {
+        em.createNativeQuery("ALTER TABLE error_logs ADD FULLTEXT INDEX " + FULLTEXT_INDEX + " (summary, message)")
+                .executeUpdate();
+    }
+
+    /**
+     * deltas 는 호출측에서 log_hash 순으로 정렬해서 전달 (deadlock 방지)
+     * - 갱신 규칙은 bulkUpsertErrorLogs 의 ON DUPLICATE KEY UPDATE 와 동일, 발생 시각은 GREATEST (flush 순서와 무관)
+     */
+    @Override
+    public int applyRepeatDeltas(List<RepeatCountDelta> deltas) {
+        if (deltas == null || deltas.isEmpty()) return 0;
+
+        StringBuilder count = new StringBuilder();
+        StringBuilder last = new StringBuilder();
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < deltas.size(); i++) {
+            int p = i * 3;
+            count.append(" WHEN ?").append(p + 1).append(" THEN ?").append(p + 2);
+            last.append(" WHEN ?").append(p + 1).append(" THEN ?").append(p + 3);
+            if (i > 0) in.append(", ");
+            in.append("?").append(p + 1);
+        }
+        String sql = """
+                UPDATE error_logs
+                   SET repeat_count = repeat_count + CASE log_hash%s END,
+                       last_occurred_time = GREATEST(COALESCE(last_occurred_time, CASE log_hash%s END), CASE log_hash%s END),
+                       occurred_time = GREATEST(occurred_time, CASE log_hash%s END),
+                       updated_at = NOW(),
+                       resolved_at = CASE WHEN status = 'RESOLVED' THEN NULL ELSE resolved_at END,
+                       status = CASE WHEN status = 'RESOLVED' THEN 'NEW' ELSE status END
+                 WHERE log_hash IN (%s)
+                """.formatted(count, last, last, last, in);
+
+        Query query = em.createNativeQuery(sql);
+        for (int i = 0; i < deltas.size(); i++) {
+            RepeatCountDelta delta = deltas.get(i);
+            int p = i * 3;
+            query.setParameter(p + 1, delta.getLogHash());
+            query.setParameter(p + 2, delta.getCount());
+            query.setParameter(p + 3, delta.getLastOccurredTime());
+        }
+        int updated = query.executeUpdate();
+        em.clear();
+        return updated;
+    }
+}
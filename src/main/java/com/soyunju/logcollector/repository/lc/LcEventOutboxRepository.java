@@ -0,0 +1,75 @@
+package com.soyunju.logcollector.repository.lc;
+
+import com.soyunju.logcollector.domain.lc.LcEventOutbox;
+import com.soyunju.logcollector.domain.lc.LcEventOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LcEventOutboxRepository extends JpaRepository<LcEventOutbox, Long>, LcEventOutboxRepositoryCustom {
+
+    /**
+     * relay 대상 선점 (keyset: id > afterId, id 순 최대 limit 건)
+     * - (status, id) 인덱스 range scan → 처리 완료 행이 쌓여도 앞부분을 다시 읽지 않음
+     * - FOR UPDATE SKIP LOCKED: 다른 인스턴스가 잡은 행은 건너뜀
+     *   (READ COMMITTED 로 호출 → gap lock 없음, producer INSERT 를 막지 않음)
+     */
+    @Query(value = """
+        SELECT * FROM lc_event_outbox
+        WHERE status = 'PENDING'
+          AND id > :afterId
+          AND (next_retry_at IS NULL OR next_retry_at <= :now)
+        ORDER BY id ASC
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<LcEventOutbox> claimRelayTargets(@Param("afterId") long afterId,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        UPDATE LcEventOutbox o
+        SET o.status = com.soyunju.logcollector.domain.lc.LcEventOutboxStatus.DONE,
+            o.processedAt = :now
+        WHERE o.id IN :ids
+    """)
+    int markDone(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        UPDATE LcEventOutbox o
+        SET o.status = :status,
+            o.attemptCount = :attemptCount,
+            o.nextRetryAt = :nextRetryAt,
+            o.lastError = :lastError
+        WHERE o.id = :id
+    """)
+    int updateState(
+            @Param("id") Long id,
+            @Param("status") LcEventOutboxStatus status,
+            @Param("attemptCount") int attemptCount,
+            @Param("nextRetryAt") LocalDateTime nextRetryAt,
+            @Param("lastError") String lastError
+    );
+
+    /**
+     * maxId 이하 DONE 행 삭제 (id 순 최대 limit 건, (status, id) 인덱스 range)
+     * - 한 번에 큰 범위를 지우지 않도록 호출측에서 limit 단위로 반복
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM lc_event_outbox
+        WHERE status = 'DONE'
+          AND id <= :maxId
+        ORDER BY id ASC
+        LIMIT :limit
+    """, nativeQuery = true)
+    int purgeDone(@Param("maxId") long maxId, @Param("limit") int limit);
+}
@@ -0,0 +1,20 @@
+package com.soyunju.logcollector.repository.lc;
+
+import com.soyunju.logcollector.domain.lc.LcEventOutbox;
+import com.soyunju.logcollector.repository.lc.batch.OutboxRetryWait;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface LcEventOutboxRepositoryCustom {
+
+    // multi-row INSERT (호출측 LC 트랜잭션에 참여, id 는 채우지 않음)
+    int bulkInsert(List<LcEventOutbox> rows);
+
+    // 지금 처리 가능한(재시도 시각 도래 / 신규) PENDING 행 중 최소 id (없으면 null)
+    Long findFirstDueId(LocalDateTime now);
+
+    // logHashes 중 재시도 대기(next_retry_at > now) PENDING 행이 있는 logHash 별 가장 앞선 id / 가장 늦은 재시도 시각
+    List<OutboxRetryWait> findRetryWaits(Collection<String> logHashes, LocalDateTime now);
+}
@@ -0,0 +1,98 @@
+package com.soyunju.logcollector.repository.lc;
+
+import com.soyunju.logcollector.domain.lc.LcEventOutbox;
+import com.soyunju.logcollector.repository.lc.batch.OutboxRetryWait;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.soyunju.logcollector.repository.lc.batch.NativeRows.*;
+
+public class LcEventOutboxRepositoryImpl implements LcEventOutboxRepositoryCustom {
+
+    private static final int COLUMNS_PER_ROW = 5;
+
+    @PersistenceContext(unitName = "lc")
+    private EntityManager em;
+
+    @Override
+    public int bulkInsert(List<LcEventOutbox> rows) {
+        if (rows == null || rows.isEmpty()) return 0;
+
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO lc_event_outbox (
+                    event_type, log_hash, payload, status, attempt_count, created_at
+                ) VALUES
+                """);
+        for (int i = 0; i < rows.size(); i++) {
+            int p = i * COLUMNS_PER_ROW;
+            if (i > 0) sql.append(",\n");
+            sql.append("(?").append(p + 1)
+                    .append(", ?").append(p + 2)
+                    .append(", ?").append(p + 3)
+                    .append(", ?").append(p + 4)
+                    .append(", 0, ?").append(p + 5)
+                    .append(")");
+        }
+
+        Query query = em.createNativeQuery(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            LcEventOutbox row = rows.get(i);
+            int p = i * COLUMNS_PER_ROW;
+            query.setParameter(p + 1, row.getEventType().name());
+            query.setParameter(p + 2, row.getLogHash());
+            query.setParameter(p + 3, row.getPayload());
+            query.setParameter(p + 4, row.getStatus().name());
+            query.setParameter(p + 5, row.getCreatedAt());
+        }
+        return query.executeUpdate();
+    }
+
+    // (status, id) 인덱스를 id 순으로 훑다가 처음 만나는 처리 가능 행에서 멈춤
+    @Override
+    public Long findFirstDueId(LocalDateTime now) {
+        List<?> rows = em.createNativeQuery("""
+                        SELECT id FROM lc_event_outbox
+                         WHERE status = 'PENDING'
+                           AND (next_retry_at IS NULL OR next_retry_at <= :now)
+                         ORDER BY id ASC
+                         LIMIT 1
+                        """)
+                .setParameter("now", now)
+                .getResultList();
+        return rows.isEmpty() ? null : toLong(rows.get(0));
+    }
+
+    @Override
+    public List<OutboxRetryWait> findRetryWaits(Collection<String> logHashes, LocalDateTime now) {
+        if (logHashes == null || logHashes.isEmpty()) return List.of();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery("""
+                        SELECT log_hash, MIN(id), MAX(next_retry_at)
+                          FROM lc_event_outbox
+                         WHERE status = 'PENDING'
+                           AND next_retry_at > :now
+                           AND log_hash IN (:logHashes)
+                         GROUP BY log_hash
+                        """)
+                .setParameter("now", now)
+                .setParameter("logHashes", logHashes)
+                .getResultList();
+
+        List<OutboxRetryWait> result = new ArrayList<>(rows.size());
+        for (Object[] r : rows) {
+            result.add(OutboxRetryWait.builder()
+                    .logHash(toStr(r[0]))
+                    .firstId(toLong(r[1]))
+                    .retryAt(toLocalDateTime(r[2]))
+                    .build());
+        }
+        return result;
+    }
+}
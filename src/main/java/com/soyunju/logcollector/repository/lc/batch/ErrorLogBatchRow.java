@@ -0,0 +1,27 @@
+package com.soyunju.logcollector.repository.lc.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * error_logs multi-row upsert 입력 (consumer 배치를 log_hash 기준으로 합친 1행)
+ */
+@Getter
+@Builder
+public class ErrorLogBatchRow {
+    private final String logHash;
+    private final String serviceName;
+    private final String hostName;
+    private final String logLevel;
+    private final String message;
+    private final String stackTrace;
+    private final String errorCode;
+    private final String summary;
+    private final LocalDateTime firstOccurredTime;
+    private final LocalDateTime lastOccurredTime;
+    private final int count;
+    // 이번 배치 host upsert 에서 새로 생긴 host 행 수 (host_count 증가분)
+    private final int newHosts;
+}
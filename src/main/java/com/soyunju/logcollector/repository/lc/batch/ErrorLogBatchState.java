@@ -0,0 +1,27 @@
+package com.soyunju.logcollector.repository.lc.batch;
+
+import com.soyunju.logcollector.domain.lc.ErrorStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * upsert 직후 알림/이벤트 판단용 상태 (stack_trace/message 제외)
+ */
+@Getter
+@Builder
+public class ErrorLogBatchState {
+    private final Long id;
+    private final String logHash;
+    private final String serviceName;
+    private final String hostName;
+    private final String logLevel;
+    private final String errorCode;
+    private final String summary;
+    private final ErrorStatus status;
+    private final int repeatCount;
+    private final int hostCount;
+    private final LocalDateTime firstOccurredTime;
+    private final LocalDateTime lastOccurredTime;
+}
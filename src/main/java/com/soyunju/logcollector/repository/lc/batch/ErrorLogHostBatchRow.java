@@ -0,0 +1,20 @@
+package com.soyunju.logcollector.repository.lc.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * error_log_hosts multi-row upsert 입력 (consumer 배치를 (log_hash, host_name) 기준으로 합친 1행)
+ */
+@Getter
+@Builder
+public class ErrorLogHostBatchRow {
+    private final String logHash;
+    private final String serviceName;
+    private final String hostName;
+    private final LocalDateTime firstOccurredTime;
+    private final LocalDateTime lastOccurredTime;
+    private final int count;
+}
@@ -0,0 +1,32 @@
+package com.soyunju.logcollector.repository.lc.batch;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * native query 결과 컬럼 변환 (드라이버/Hibernate 버전에 따라 타입이 달라지는 값 보정)
+ */
+public final class NativeRows {
+
+    private NativeRows() {
+    }
+
+    public static int toInt(Object value) {
+        return (value == null) ? 0 : ((Number) value).intValue();
+    }
+
+    public static Long toLong(Object value) {
+        return (value == null) ? null : ((Number) value).longValue();
+    }
+
+    public static String toStr(Object value) {
+        return (value == null) ? null : value.toString();
+    }
+
+    public static LocalDateTime toLocalDateTime(Object value) {
+        if (value == null) return null;
+        if (value instanceof LocalDateTime ldt) return ldt;
+        if (value instanceof Timestamp ts) return ts.toLocalDateTime();
+        return LocalDateTime.parse(value.toString().replace(' ', 'T'));
+    }
+}
@@ -0,0 +1,18 @@
+package com.soyunju.logcollector.repository.lc.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * logHash 별 재시도 대기 중인 lc_event_outbox 행 (가장 앞선 id, 가장 늦은 재시도 시각)
+ * - 이 id 보다 뒤의 같은 logHash 행은 retryAt 까지 보류 (순서 유지)
+ */
+@Getter
+@Builder
+public class OutboxRetryWait {
+    private final String logHash;
+    private final long firstId;
+    private final LocalDateTime retryAt;
+}
@@ -0,0 +1,19 @@
+package com.soyunju.logcollector.repository.lc.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * write-behind flush 입력 (이미 존재하는 행에 더할 발생 수 + 마지막 발생 시각)
+ * - hostName 이 있으면 error_log_hosts (log_hash, host_name) 행, 없으면 error_logs log_hash 행
+ */
+@Getter
+@Builder
+public class RepeatCountDelta {
+    private final String logHash;
+    private final String hostName;
+    private final int count;
+    private final LocalDateTime lastOccurredTime;
+}
@@ -45,10 +45,11 @@ public class IncidentBridgeService {
             String stackTrace,
             String errorCode,
             String logLevel,
-            LocalDateTime occurredAt
+            LocalDateTime occurredAt,
+            int occurrences
     ) {
         return incidentService.recordOccurrenceKbOnly(
-                logHash, serviceName, summary, stackTrace, errorCode, logLevel, occurredAt
+                logHash, serviceName, summary, stackTrace, errorCode, logLevel, occurredAt, occurrences
         );
     }
 
@@ -5,10 +5,14 @@ import com.soyunju.logcollector.domain.kb.KbAddendum;
 import com.soyunju.logcollector.domain.kb.KbArticle;
 import com.soyunju.logcollector.domain.kb.enums.ErrorLevel;
 import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
+import com.soyunju.logcollector.dto.event.LogSavedEvent;
 import com.soyunju.logcollector.dto.kb.AiAnalysisResult;
+import com.soyunju.logcollector.repository.kb.IncidentListField;
 import com.soyunju.logcollector.repository.kb.IncidentRepository;
 import com.soyunju.logcollector.repository.kb.KbAddendumRepository;
 import com.soyunju.logcollector.repository.kb.KbArticleRepository;
+import com.soyunju.logcollector.repository.kb.batch.IncidentBatchRow;
+import com.soyunju.logcollector.repository.kb.batch.IncidentStateRow;
 import com.soyunju.logcollector.service.kb.ai.AiAnalysisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,8 +21,9 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -38,17 +43,19 @@ public class IncidentService {
     }
 
     @Transactional(readOnly = true, transactionManager = "kbTransactionManager")
-    public org.springframework.data.domain.Page<com.soyunju.logcollector.dto.kb.IncidentResponse> findAll(org.springframework.data.domain.Pageable pageable) {
+    public org.springframework.data.domain.Page<com.soyunju.logcollector.dto.kb.IncidentResponse> findAll(
+            org.springframework.data.domain.Pageable pageable, Set<IncidentListField> fields) {
         return incidentRepository
-                .findByStatusNot(IncidentStatus.CLOSED, pageable)
-                .map(com.soyunju.logcollector.dto.kb.IncidentResponse::from);
+                .findListByStatus(IncidentStatus.CLOSED, true, pageable, fields)
+                .map(row -> IncidentListField.toResponse(row, fields, null));
     }
 
     @Transactional(readOnly = true, transactionManager = "kbTransactionManager")
-    public org.springframework.data.domain.Page<com.soyunju.logcollector.dto.kb.IncidentResponse> findClosed(org.springframework.data.domain.Pageable pageable) {
+    public org.springframework.data.domain.Page<com.soyunju.logcollector.dto.kb.IncidentResponse> findClosed(
+            org.springframework.data.domain.Pageable pageable, Set<IncidentListField> fields) {
         return incidentRepository
-                .findByStatus(IncidentStatus.CLOSED, pageable)
-                .map(com.soyunju.logcollector.dto.kb.IncidentResponse::from);
+                .findListByStatus(IncidentStatus.CLOSED, false, pageable, fields)
+                .map(row -> IncidentListField.toResponse(row, fields, null));
     }
 
     @Transactional(transactionManager = "kbTransactionManager", propagation = Propagation.REQUIRES_NEW)
@@ -59,9 +66,12 @@ public class IncidentService {
             String stackTrace,
             String errorCode,
             String logLevel,
-            LocalDateTime occurredAt
+            LocalDateTime occurredAt,
+            int occurrences
     ) {
         LocalDateTime ts = (occurredAt != null) ? occurredAt : LocalDateTime.now();
+        // 이전 버전 outbox payload 에는 발생 수가 없음(0) → 1건
+        int count = Math.max(1, occurrences);
         String level = mapErrorLevel(logLevel).name();
 
         Incident existing = incidentRepository.findByLogHash(logHash).orElse(null);
@@ -78,7 +88,7 @@ public class IncidentService {
         String incidentTitle = generateIncidentTitle(serviceName, errorCode, logHash, summary);
 
         incidentRepository.upsertIncident(
-                logHash, serviceName, incidentTitle, summary, stackTrace, errorCode, level, ts
+                logHash, serviceName, incidentTitle, summary, stackTrace, errorCode, level, ts, count
         );
 
         Incident saved = incidentRepository.findByLogHash(logHash)
@@ -91,6 +101,55 @@ public class IncidentService {
         return saved;
     }
 
+    /**
+     * 여러 logHash 의 발생분을 한 트랜잭션에서 반영 (KbIncidentWriter flush 단위, logHash 당 1건으로 합쳐진 event)
+     * - 이전 상태를 IN 조회 1회로 확인 ((logHash, id, status) 만 SELECT) → IGNORED 는 last_occurred_at 만 갱신
+     * - 나머지는 multi-row upsert 1회 (repeat_count + n), upsert 후 재조회 없음
+     * - RESOLVED/CLOSED 였던 건은 재발생 → KB recurrence 기록
+     */
+    @Transactional(transactionManager = "kbTransactionManager", propagation = Propagation.REQUIRES_NEW)
+    public void recordOccurrencesKbOnly(Collection<LogSavedEvent> events) {
+        if (events == null || events.isEmpty()) return;
+
+        Set<String> hashes = events.stream().map(LogSavedEvent::getLogHash).collect(Collectors.toSet());
+        Map<String, IncidentStateRow> existing = incidentRepository.findStatesByLogHashIn(hashes).stream()
+                .collect(Collectors.toMap(IncidentStateRow::getLogHash, Function.identity(), (a, b) -> a));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<IncidentBatchRow> rows = new ArrayList<>(events.size());
+        List<Long> recurred = new ArrayList<>();
+        for (LogSavedEvent event : events) {
+            LocalDateTime ts = (event.getOccurredTime() != null) ? event.getOccurredTime() : now;
+            IncidentStateRow prev = existing.get(event.getLogHash());
+            IncidentStatus prevStatus = (prev != null) ? prev.getStatus() : null;
+
+            if (prevStatus == IncidentStatus.IGNORED) {
+                incidentRepository.touchLastOccurredIfIgnored(event.getLogHash(), ts);
+                continue;
+            }
+            if (prevStatus == IncidentStatus.RESOLVED || prevStatus == IncidentStatus.CLOSED) {
+                recurred.add(prev.getId());
+            }
+
+            rows.add(IncidentBatchRow.builder()
+                    .logHash(event.getLogHash())
+                    .serviceName(event.getServiceName())
+                    .incidentTitle(generateIncidentTitle(event.getServiceName(), event.getErrorCode(), event.getLogHash(), event.getSummary()))
+                    .summary(event.getSummary())
+                    .stackTrace(event.getStackTrace())
+                    .errorCode(event.getErrorCode())
+                    .errorLevel(mapErrorLevel(event.getEffectiveLevel()).name())
+                    .occurredAt(ts)
+                    .count(Math.max(1, event.getOccurrenceCount()))
+                    .build());
+        }
+
+        // log_hash 순 고정 → 동시 flush 간 deadlock 방지
+        rows.sort(Comparator.comparing(IncidentBatchRow::getLogHash));
+        incidentRepository.bulkUpsertIncidents(rows);
+        recurred.forEach(id -> kbArticleRepository.markRecurByIncidentId(id, now));
+    }
+
     @Transactional(transactionManager = "kbTransactionManager")
     public void updateStatusKbOnly(String logHash, IncidentStatus status) {
         if (status == null) {
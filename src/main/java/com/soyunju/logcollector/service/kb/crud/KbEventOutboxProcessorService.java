@@ -98,7 +98,8 @@ public class KbEventOutboxProcessorService {
                     event.getStackTrace(),
                     event.getErrorCode(),
                     event.getEffectiveLevel(),
-                    event.getOccurredTime()
+                    event.getOccurredTime(),
+                    event.getOccurrenceCount()
             );
 
         } else if (outbox.getEventType() == KbEventType.LOG_RESOLVED) {
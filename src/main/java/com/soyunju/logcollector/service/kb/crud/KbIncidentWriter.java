@@ -0,0 +1,408 @@
+package com.soyunju.logcollector.service.kb.crud;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soyunju.logcollector.config.LogCollectorKbWriterProperties;
+import com.soyunju.logcollector.domain.kb.KbEventOutbox;
+import com.soyunju.logcollector.domain.kb.enums.DraftReason;
+import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
+import com.soyunju.logcollector.domain.kb.enums.KbEventOutboxStatus;
+import com.soyunju.logcollector.domain.kb.enums.KbEventType;
+import com.soyunju.logcollector.dto.event.LogResolvedEvent;
+import com.soyunju.logcollector.dto.event.LogSavedEvent;
+import com.soyunju.logcollector.dto.logfixer.LogFixerIncidentPayload;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.repository.kb.KbEventOutboxRepository;
+import com.soyunju.logcollector.service.logfixer.LogFixerWebhookService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * [Flow: KB Ingest - Incident writer]
+ * LC 커밋 후 LogSavedEvent 를 logHash 별로 모아 flush 주기마다 incident 에 반영 (logcollector.kb-writer.enabled)
+ * - 같은 logHash 는 1행으로 합침: 발생 수 합산(repeat_count + n), 발생 시각은 마지막, 나머지는 마지막 event 기준
+ * - flush 1회 = KB 트랜잭션 1개 + multi-row upsert 1회 (maxBatchRows 단위로 나눔)
+ * - 배치 실패 시 건별 재시도, 그래도 실패한 건은 KB outbox 에 적재 (스케줄러 재시도)
+ * - 버퍼가 가득 차면 제출 측(consumer 스레드)이 공간이 날 때까지 대기 → 큐 소비가 느려질 뿐 이벤트는 버리지 않음
+ *   대기 시간 초과 시에도 outbox 로 보냄
+ * - Draft 생성 / LogFixer webhook 은 반영 성공 후 logHash 당 1회, kbEventExecutor 에서 실행
+ * - lc_event_outbox relay 는 버퍼를 거치지 않고 apply / applyResolved 로 동기 반영
+ */
+@Slf4j
+@Component
+public class KbIncidentWriter {
+
+    private final LogCollectorKbWriterProperties properties;
+    private final IncidentService incidentService;
+    private final IncidentBridgeService incidentBridgeService;
+    private final KbDraftService kbDraftService;
+    private final LogFixerWebhookService logFixerWebhookService;
+    private final KbEventOutboxRepository kbEventOutboxRepository;
+    private final ObjectMapper objectMapper;
+    private final Executor kbEventExecutor;
+    private final LcMetrics lcMetrics;
+
+    private final ConcurrentHashMap<String, Pending> buffer = new ConcurrentHashMap<>();
+    // 버퍼 + 반영 중인 logHash 수 (반영이 끝나야 줄어듦 → KB 가 느리면 제출 측도 느려짐)
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object space = new Object();
+
+    public KbIncidentWriter(LogCollectorKbWriterProperties properties,
+                            IncidentService incidentService,
+                            IncidentBridgeService incidentBridgeService,
+                            KbDraftService kbDraftService,
+                            LogFixerWebhookService logFixerWebhookService,
+                            KbEventOutboxRepository kbEventOutboxRepository,
+                            ObjectMapper objectMapper,
+                            @Qualifier("kbEventExecutor") Executor kbEventExecutor,
+                            LcMetrics lcMetrics) {
+        this.properties = properties;
+        this.incidentService = incidentService;
+        this.incidentBridgeService = incidentBridgeService;
+        this.kbDraftService = kbDraftService;
+        this.logFixerWebhookService = logFixerWebhookService;
+        this.kbEventOutboxRepository = kbEventOutboxRepository;
+        this.objectMapper = objectMapper;
+        this.kbEventExecutor = kbEventExecutor;
+        this.lcMetrics = lcMetrics;
+    }
+
+    @PostConstruct
+    void init() {
+        lcMetrics.bindKbWriterPending(pending::get);
+    }
+
+    public void submit(LogSavedEvent event) {
+        if (!properties.isEnabled() || event.getLogHash() == null) {
+            writeOrPark(List.of(new Pending(event)));
+            return;
+        }
+
+        // 이미 버퍼에 있는 logHash 는 자리를 차지하지 않음
+        if (buffer.computeIfPresent(event.getLogHash(), (k, p) -> p.fold(event)) != null) {
+            lcMetrics.incKbWriterCoalesced();
+            return;
+        }
+
+        if (!reserve()) {
+            lcMetrics.incKbWriterRejected("timeout");
+            saveToOutbox(List.of(event), "KB writer 버퍼 대기 시간 초과");
+            return;
+        }
+
+        boolean[] created = {false};
+        buffer.compute(event.getLogHash(), (k, p) -> {
+            if (p != null) return p.fold(event);
+            created[0] = true;
+            return new Pending(event);
+        });
+        if (!created[0]) {
+            lcMetrics.incKbWriterCoalesced();
+            release(1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${logcollector.kb-writer.flush-interval-ms:200}")
+    public void flush() {
+        if (buffer.isEmpty()) return;
+
+        List<Pending> drained = new ArrayList<>();
+        for (String key : buffer.keySet()) {
+            buffer.computeIfPresent(key, (k, p) -> {
+                drained.add(p);
+                return null;
+            });
+        }
+        if (drained.isEmpty()) return;
+
+        drained.sort(Comparator.comparing(p -> p.latest.getLogHash()));
+        int size = Math.max(1, properties.getMaxBatchRows());
+        try {
+            for (int from = 0; from < drained.size(); from += size) {
+                writeOrPark(drained.subList(from, Math.min(from + size, drained.size())));
+            }
+        } finally {
+            release(drained.size());
+        }
+    }
+
+    // 종료 시 남은 버퍼 반영
+    @PreDestroy
+    void flushAll() {
+        flush();
+    }
+
+    /**
+     * lc_event_outbox relay 용 동기 반영 (버퍼 / 대기 없음)
+     * - 같은 logHash 는 1행으로 합쳐 maxBatchRows 단위 multi-row upsert
+     * - 실패한 logHash 반환: KB outbox 에 적재하지 않음 (relay 가 LC outbox 행으로 재시도)
+     */
+    public Set<String> apply(List<LogSavedEvent> events) {
+        Map<String, Pending> merged = new TreeMap<>();
+        for (LogSavedEvent event : events) {
+            merged.compute(event.getLogHash(), (k, p) -> (p == null) ? new Pending(event) : p.fold(event));
+        }
+
+        List<Pending> rows = new ArrayList<>(merged.values());
+        int size = Math.max(1, properties.getMaxBatchRows());
+        Set<String> failed = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += size) {
+            write(rows.subList(from, Math.min(from + size, rows.size())))
+                    .forEach(event -> failed.add(event.getLogHash()));
+        }
+        if (!failed.isEmpty()) lcMetrics.incKbWriterRows("retry", failed.size());
+        return failed;
+    }
+
+    /**
+     * LogResolvedEvent 반영: markResolved → RESOLVED 전이 → Draft
+     * - markResolved 실패 시 false (재시도 경로는 호출측이 결정), 이후 단계 실패는 로그만 남김
+     */
+    public boolean applyResolved(LogResolvedEvent event) {
+        try {
+            incidentBridgeService.markResolved(event.getLogHash(), event.getResolvedAt());
+        } catch (Exception e) {
+            log.warn("[KB][RESOLVED][SKIP] markResolved failed. logHash={}, err={}",
+                    event.getLogHash(), e.toString());
+            return false;
+        }
+
+        // RESOLVED 상태 전이
+        try {
+            incidentBridgeService.updateStatus(event.getLogHash(), IncidentStatus.RESOLVED);
+        } catch (Exception e) {
+            log.warn("[KB][RESOLVED][SKIP] updateStatus failed. logHash={}, err={}",
+                    event.getLogHash(), e.toString());
+        }
+
+        // Draft 생성
+        if (event.getIncidentId() != null) {
+            try {
+                kbDraftService.createSystemDraft(event.getIncidentId());
+            } catch (Exception e) {
+                log.warn("[KB][DRAFT][SKIP] createSystemDraft on RESOLVED failed. incidentId={}, logHash={}, err={}",
+                        event.getIncidentId(), event.getLogHash(), e.toString());
+            }
+        }
+        return true;
+    }
+
+    private boolean reserve() {
+        int limit = Math.max(1, properties.getMaxPendingLogHashes());
+        if (tryReserve(limit)) return true;
+
+        lcMetrics.incKbWriterBackpressure();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getOfferTimeoutMs());
+        synchronized (space) {
+            while (!tryReserve(limit)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return false;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(space, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private boolean tryReserve(int limit) {
+        if (pending.incrementAndGet() <= limit) return true;
+        pending.decrementAndGet();
+        return false;
+    }
+
+    private void release(int count) {
+        pending.addAndGet(-count);
+        synchronized (space) {
+            space.notifyAll();
+        }
+    }
+
+    // chunk 반영, 건별 재시도 후에도 실패한 행(합쳐진 event) 반환
+    private List<LogSavedEvent> write(List<Pending> chunk) {
+        List<LogSavedEvent> merged = chunk.stream().map(Pending::toEvent).toList();
+        List<Pending> applied = new ArrayList<>(chunk.size());
+        List<LogSavedEvent> failed = new ArrayList<>();
+        try {
+            incidentService.recordOccurrencesKbOnly(merged);
+            applied.addAll(chunk);
+            lcMetrics.incKbWriterRows("batch", chunk.size());
+        } catch (Exception e) {
+            log.warn("[KB][INCIDENT][BATCH] upsert 실패. rows={}, err={}", chunk.size(), e.toString());
+            // 1행뿐이면 바로 실패 처리, 아니면 건별 재시도 (한 행 때문에 배치 전체가 밀리지 않도록)
+            if (chunk.size() == 1) failed.addAll(merged);
+            for (int i = 0; i < chunk.size() && chunk.size() > 1; i++) {
+                try {
+                    incidentService.recordOccurrencesKbOnly(List.of(merged.get(i)));
+                    applied.add(chunk.get(i));
+                    lcMetrics.incKbWriterRows("single", 1);
+                } catch (Exception ex) {
+                    log.warn("[KB][INCIDENT][SKIP] recordOccurrence failed. logHash={}, err={}",
+                            merged.get(i).getLogHash(), ex.toString());
+                    failed.add(merged.get(i));
+                }
+            }
+        }
+
+        if (!applied.isEmpty()) {
+            long now = System.nanoTime();
+            applied.forEach(p -> lcMetrics.recordKbWriterLag(Duration.ofNanos(now - p.submittedAt)));
+            afterApplied(applied);
+        }
+        return failed;
+    }
+
+    // 버퍼 경로 실패분은 KB outbox 로 (스케줄러 재시도)
+    private void writeOrPark(List<Pending> chunk) {
+        List<LogSavedEvent> failed = write(chunk);
+        if (failed.isEmpty()) return;
+        lcMetrics.incKbWriterRows("outbox", failed.size());
+        saveToOutbox(failed, "KB incident 반영 실패");
+    }
+
+    // Incident 반영 성공분만 Draft / webhook (실패분은 outbox 재처리 시 incident 만 반영)
+    private void afterApplied(List<Pending> applied) {
+        List<Pending> targets = List.copyOf(applied);
+        Runnable task = () -> targets.forEach(this::notifyApplied);
+        try {
+            kbEventExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    private void notifyApplied(Pending p) {
+        LogSavedEvent draft = p.draft;
+        if (draft != null) {
+            try {
+                DraftReason reason = "HOST_SPREAD".equals(draft.getDraftReason())
+                        ? DraftReason.HOST_SPREAD
+                        : DraftReason.HIGH_RECUR;
+                kbDraftService.createSystemDraft(
+                        draft.getIncidentId(),
+                        draft.getImpactedHostCount(),
+                        draft.getRepeatCount(),
+                        reason
+                );
+            } catch (Exception e) {
+                log.warn("[KB][DRAFT][SKIP] createSystemDraft failed. incidentId={}, logHash={}, err={}",
+                        draft.getIncidentId(), draft.getLogHash(), e.toString());
+            }
+        }
+
+        LogSavedEvent event = p.latest;
+        try {
+            logFixerWebhookService.sendIncident(
+                    LogFixerIncidentPayload.builder()
+                            .logHash(event.getLogHash())
+                            .serviceName(event.getServiceName())
+                            .summary(event.getSummary())
+                            .stackTrace(event.getStackTrace())
+                            .errorCode(event.getErrorCode())
+                            .logLevel(event.getEffectiveLevel())
+                            .occurredTime(p.lastOccurredTime)
+                            .impactedHostCount(event.getImpactedHostCount())
+                            .repeatCount(event.getRepeatCount())
+                            .build()
+            );
+        } catch (Exception e) {
+            log.warn("[LogFixer][WEBHOOK][SKIP] 발송 중 예외. logHash={}, err={}", event.getLogHash(), e.getMessage());
+        }
+    }
+
+    // 반영 실패분 outbox 적재 (합쳐진 발생 수 그대로 → 재처리 시 repeat_count + n)
+    private void saveToOutbox(List<LogSavedEvent> events, String cause) {
+        List<KbEventOutbox> rows = new ArrayList<>(events.size());
+        for (LogSavedEvent event : events) {
+            try {
+                rows.add(KbEventOutbox.builder()
+                        .logHash(event.getLogHash())
+                        .eventType(KbEventType.LOG_SAVED)
+                        .payload(objectMapper.writeValueAsString(event))
+                        .status(KbEventOutboxStatus.PENDING)
+                        .attemptCount(0)
+                        .lastError(cause)
+                        .build());
+            } catch (Exception e) {
+                log.error("[KB][OUTBOX] payload 직렬화 실패 (이벤트 유실). logHash={}, err={}", event.getLogHash(), e.getMessage());
+            }
+        }
+        try {
+            kbEventOutboxRepository.saveAll(rows);
+            log.info("[KB][OUTBOX] 이벤트 저장 완료. count={}, type={}", rows.size(), KbEventType.LOG_SAVED);
+        } catch (Exception e) {
+            log.error("[KB][OUTBOX] 저장 실패 (이벤트 유실 가능). count={}, err={}", rows.size(), e.getMessage());
+        }
+    }
+
+    // compute 안에서만 변경 (ConcurrentHashMap bin lock)
+    private static final class Pending {
+        private final long submittedAt;
+        private LogSavedEvent latest;
+        private LogSavedEvent draft;
+        private LocalDateTime lastOccurredTime;
+        private int count;
+
+        private Pending(LogSavedEvent event) {
+            this.submittedAt = System.nanoTime();
+            this.latest = event;
+            this.draft = draftOf(event);
+            this.lastOccurredTime = event.getOccurredTime();
+            this.count = occurrencesOf(event);
+        }
+
+        private Pending fold(LogSavedEvent event) {
+            latest = event;
+            LogSavedEvent eventDraft = draftOf(event);
+            if (eventDraft != null) draft = eventDraft;
+            if (lastOccurredTime == null
+                    || (event.getOccurredTime() != null && event.getOccurredTime().isAfter(lastOccurredTime))) {
+                lastOccurredTime = event.getOccurredTime();
+            }
+            count += occurrencesOf(event);
+            return this;
+        }
+
+        private LogSavedEvent toEvent() {
+            return new LogSavedEvent(
+                    latest.getLogHash(),
+                    latest.getServiceName(),
+                    latest.getSummary(),
+                    latest.getStackTrace(),
+                    latest.getErrorCode(),
+                    latest.getEffectiveLevel(),
+                    lastOccurredTime,
+                    count,
+                    latest.getImpactedHostCount(),
+                    latest.getRepeatCount(),
+                    latest.getIncidentId(),
+                    draft != null,
+                    (draft != null) ? draft.getDraftReason() : null
+            );
+        }
+
+        private static LogSavedEvent draftOf(LogSavedEvent event) {
+            return (event.isDraftNeeded() && event.getIncidentId() != null) ? event : null;
+        }
+
+        // 이전 버전 이벤트에는 발생 수가 없음(0) → 1건
+        private static int occurrencesOf(LogSavedEvent event) {
+            return Math.max(1, event.getOccurrenceCount());
+        }
+    }
+}
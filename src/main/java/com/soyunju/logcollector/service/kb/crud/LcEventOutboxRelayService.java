@@ -0,0 +1,297 @@
+package com.soyunju.logcollector.service.kb.crud;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soyunju.logcollector.config.LogCollectorLcOutboxProperties;
+import com.soyunju.logcollector.domain.lc.LcEventOutbox;
+import com.soyunju.logcollector.domain.lc.LcEventOutboxStatus;
+import com.soyunju.logcollector.domain.lc.LcEventType;
+import com.soyunju.logcollector.dto.event.LogResolvedEvent;
+import com.soyunju.logcollector.dto.event.LogSavedEvent;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.repository.lc.LcEventOutboxRepository;
+import com.soyunju.logcollector.repository.lc.batch.OutboxRetryWait;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * [Flow: LC → KB 전파 - relay]
+ * lc_event_outbox 를 id 순으로 읽어 KB 에 반영 (at-least-once)
+ * - keyset: 실행마다 처리 가능한 최소 id(재시도 시각 도래 / 늦게 커밋된 행 포함)부터 시작해 마지막으로 읽은 id 이후만 선점(SKIP LOCKED)
+ * - logHash 순서 유지: 같은 logHash 의 앞선 행이 재시도 대기 중이면 뒤 행은 그 재시도 시각까지 보류
+ *   (LOG_RESOLVED 가 재시도 중인 LOG_SAVED 보다 먼저 반영되지 않도록)
+ * - LOG_SAVED 연속 구간은 KbIncidentWriter.apply 로 logHash 별 합쳐 multi-row upsert, LOG_RESOLVED 는 그 사이에 순서대로
+ * - 성공분은 DONE 일괄 UPDATE, 실패분은 건별 attempt 증가 + 지수 backoff(OutboxRetryBackoff), maxAttempts 도달 시 FAILED
+ * - DONE 은 보관 기간 후 id 범위 단위로 삭제
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LcEventOutboxRelayService {
+
+    // purge 경계 기록 간격 (이 간격 안의 배치는 한 checkpoint 로 합침)
+    private static final long CHECKPOINT_INTERVAL_SECONDS = 10L;
+
+    private final LcEventOutboxRepository outboxRepository;
+    private final KbIncidentWriter kbIncidentWriter;
+    private final LogCollectorLcOutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    private final LcMetrics lcMetrics;
+
+    private final PlatformTransactionManager lcTransactionManager;
+    private TransactionTemplate relayTxTemplate;
+    private TransactionTemplate purgeTxTemplate;
+
+    // keyset 위치 (스케줄러에서만 변경, 실행마다 처리 가능한 최소 id 로 재설정)
+    private volatile long cursor;
+    // (처리 시각, 그때까지 DONE 처리한 최대 id) → 보관 기간이 지난 경계 id 계산용
+    private final Deque<Checkpoint> checkpoints = new ArrayDeque<>();
+
+    @PostConstruct
+    void initTxTemplate() {
+        this.relayTxTemplate = new TransactionTemplate(lcTransactionManager);
+        // 선점 SELECT 가 gap lock 을 잡지 않도록 (producer INSERT 와 경합 방지)
+        this.relayTxTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.purgeTxTemplate = new TransactionTemplate(lcTransactionManager);
+    }
+
+    /**
+     * 밀린 만큼 연속 처리 (최대 maxBatchesPerRun 배치)
+     * 반환: 처리한 행 수
+     */
+    public int relay(LocalDateTime now) {
+        // 이전 실행의 cursor 보다 앞에 있는 행(재시도 시각 도래 / 늦게 커밋된 id)이 밀리지 않도록 매 실행 최소 id 부터
+        Long firstDue;
+        try {
+            firstDue = outboxRepository.findFirstDueId(now);
+        } catch (Exception e) {
+            log.warn("[LC][EVENT_OUTBOX][RELAY] 시작 위치 조회 실패. err={}", e.toString());
+            return 0;
+        }
+        if (firstDue == null) return 0;
+        cursor = firstDue - 1;
+
+        int total = 0;
+        for (int i = 0; i < Math.max(1, properties.getMaxBatchesPerRun()); i++) {
+            int claimed;
+            try {
+                claimed = relayTxTemplate.execute(tx -> relayBatch(now));
+            } catch (Exception e) {
+                // 롤백된 행은 PENDING 그대로 → 다음 실행에서 다시 읽음
+                log.warn("[LC][EVENT_OUTBOX][RELAY] 배치 처리 실패. err={}", e.toString());
+                break;
+            }
+            total += claimed;
+            if (claimed < properties.getBatchSize()) break;
+        }
+        return total;
+    }
+
+    private int relayBatch(LocalDateTime now) {
+        List<LcEventOutbox> rows = outboxRepository.claimRelayTargets(cursor, now, properties.getBatchSize());
+        if (rows.isEmpty()) return 0;
+
+        Outcome outcome = new Outcome();
+        // 이전 배치에서 재시도로 넘어간 logHash (이번 배치 안에서 실패한 logHash 는 apply 시 추가)
+        Set<String> hashes = new HashSet<>();
+        rows.forEach(row -> hashes.add(row.getLogHash()));
+        for (OutboxRetryWait wait : outboxRepository.findRetryWaits(hashes, now)) {
+            outcome.waits.put(wait.getLogHash(), new Wait(wait.getFirstId(), wait.getRetryAt()));
+        }
+
+        List<LcEventOutbox> savedRun = new ArrayList<>();
+        for (LcEventOutbox row : rows) {
+            if (row.getEventType() == LcEventType.LOG_RESOLVED) {
+                // 순서 유지: 앞선 LOG_SAVED 구간 먼저 반영 (그 결과 재시도가 생기면 이 행은 보류)
+                applySaved(savedRun, outcome, now);
+                savedRun.clear();
+                if (!holdIfWaiting(row, outcome)) {
+                    applyResolved(row, outcome, now);
+                }
+            } else if (!holdIfWaiting(row, outcome)) {
+                savedRun.add(row);
+            }
+        }
+        applySaved(savedRun, outcome, now);
+
+        if (!outcome.done.isEmpty()) {
+            outboxRepository.markDone(outcome.done.stream().map(LcEventOutbox::getId).toList(), now);
+            lcMetrics.incLcOutboxRelay("done", outcome.done.size());
+            LocalDateTime appliedAt = LocalDateTime.now();
+            for (LcEventOutbox row : outcome.done) {
+                lcMetrics.recordLcOutboxLag(Duration.between(row.getCreatedAt(), appliedAt));
+            }
+            checkpoint(now, outcome.done.stream().mapToLong(LcEventOutbox::getId).max().orElse(0));
+        }
+        outcome.retry.forEach((row, error) -> scheduleRetry(row, now, error));
+        outcome.held.forEach((row, until) -> outboxRepository.updateState(
+                row.getId(), LcEventOutboxStatus.PENDING, row.getAttemptCount(), until,
+                "선행 이벤트 재시도 대기 (logHash 순서 유지)"));
+        if (!outcome.held.isEmpty()) lcMetrics.incLcOutboxRelay("held", outcome.held.size());
+
+        cursor = rows.get(rows.size() - 1).getId();
+        return rows.size();
+    }
+
+    // 같은 logHash 의 앞선 행이 재시도 대기 중이면 그 재시도 시각까지 보류
+    private boolean holdIfWaiting(LcEventOutbox row, Outcome outcome) {
+        Wait wait = outcome.waits.get(row.getLogHash());
+        if (wait == null || row.getId() <= wait.firstId) return false;
+        outcome.held.put(row, wait.retryAt);
+        return true;
+    }
+
+    // 재시도로 넘김 + 이후 같은 logHash 행 보류 (최대 시도 도달로 FAILED 가 될 행은 막지 않음)
+    private void retryLater(LcEventOutbox row, String error, Outcome outcome, LocalDateTime now) {
+        outcome.retry.put(row, error);
+        int nextAttempt = row.getAttemptCount() + 1;
+        if (nextAttempt < properties.getMaxAttempts()) {
+            outcome.waits.putIfAbsent(row.getLogHash(),
+                    new Wait(row.getId(), OutboxRetryBackoff.nextRetryAt(now, nextAttempt)));
+        }
+    }
+
+    private void applySaved(List<LcEventOutbox> rows, Outcome outcome, LocalDateTime now) {
+        if (rows.isEmpty()) return;
+
+        List<LogSavedEvent> events = new ArrayList<>(rows.size());
+        List<LcEventOutbox> parsed = new ArrayList<>(rows.size());
+        for (LcEventOutbox row : rows) {
+            try {
+                events.add(objectMapper.readValue(row.getPayload(), LogSavedEvent.class));
+                parsed.add(row);
+            } catch (Exception e) {
+                markFailed(row, "payload 역직렬화 실패: " + e.getMessage());
+            }
+        }
+        if (events.isEmpty()) return;
+
+        Set<String> failed;
+        try {
+            failed = kbIncidentWriter.apply(events);
+        } catch (Exception e) {
+            parsed.forEach(row -> retryLater(row, e.toString(), outcome, now));
+            return;
+        }
+        for (LcEventOutbox row : parsed) {
+            if (failed.contains(row.getLogHash())) {
+                retryLater(row, "KB incident 반영 실패", outcome, now);
+            } else {
+                outcome.done.add(row);
+            }
+        }
+    }
+
+    private void applyResolved(LcEventOutbox row, Outcome outcome, LocalDateTime now) {
+        LogResolvedEvent event;
+        try {
+            event = objectMapper.readValue(row.getPayload(), LogResolvedEvent.class);
+        } catch (Exception e) {
+            markFailed(row, "payload 역직렬화 실패: " + e.getMessage());
+            return;
+        }
+        if (kbIncidentWriter.applyResolved(event)) {
+            outcome.done.add(row);
+        } else {
+            retryLater(row, "markResolved 실패", outcome, now);
+        }
+    }
+
+    private void scheduleRetry(LcEventOutbox row, LocalDateTime now, String error) {
+        int nextAttempt = row.getAttemptCount() + 1;
+
+        if (nextAttempt >= properties.getMaxAttempts()) {
+            markFailed(row, "최대 재시도 횟수 도달 (" + properties.getMaxAttempts() + "회): " + error);
+            return;
+        }
+
+        outboxRepository.updateState(
+                row.getId(),
+                LcEventOutboxStatus.PENDING,
+                nextAttempt,
+                OutboxRetryBackoff.nextRetryAt(now, nextAttempt),
+                error
+        );
+        lcMetrics.incLcOutboxRelay("retry", 1);
+    }
+
+    private void markFailed(LcEventOutbox row, String error) {
+        outboxRepository.updateState(row.getId(), LcEventOutboxStatus.FAILED, row.getAttemptCount() + 1, null, error);
+        lcMetrics.incLcOutboxRelay("failed", 1);
+        log.error("[LC][EVENT_OUTBOX][FAIL] outboxId={}, logHash={}, type={}, err={}",
+                row.getId(), row.getLogHash(), row.getEventType(), error);
+    }
+
+    /**
+     * 보관 기간이 지난 DONE 행 삭제
+     * - 경계 id 는 relay checkpoint 로 계산 (processed_at 스캔 없음) → (status, id) 범위를 purgeBatchSize 씩 삭제
+     * - 재시작 직후에는 checkpoint 가 보관 기간만큼 쌓인 뒤부터 삭제
+     */
+    public int purge(LocalDateTime now) {
+        long boundary = purgeBoundary(now.minusMinutes(properties.getRetentionMinutes()));
+        if (boundary <= 0) return 0;
+
+        int limit = Math.max(1, properties.getPurgeBatchSize());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = Objects.requireNonNullElse(
+                    purgeTxTemplate.execute(tx -> outboxRepository.purgeDone(boundary, limit)), 0);
+            total += deleted;
+        } while (deleted >= limit);
+
+        if (total > 0) {
+            lcMetrics.incLcOutboxPurged(total);
+            log.info("[LC][EVENT_OUTBOX][PURGE] deleted={}, upToId={}", total, boundary);
+        }
+        return total;
+    }
+
+    private synchronized void checkpoint(LocalDateTime at, long maxId) {
+        Checkpoint last = checkpoints.peekLast();
+        if (last != null && Duration.between(last.at, at).getSeconds() < CHECKPOINT_INTERVAL_SECONDS) {
+            last.maxId = Math.max(last.maxId, maxId);
+            return;
+        }
+        checkpoints.addLast(new Checkpoint(at, maxId));
+    }
+
+    // cutoff 이전 checkpoint 를 정리하고 그중 최대 id 반환 (없으면 0)
+    private synchronized long purgeBoundary(LocalDateTime cutoff) {
+        long boundary = 0;
+        while (!checkpoints.isEmpty() && checkpoints.peekFirst().at.isBefore(cutoff)) {
+            boundary = Math.max(boundary, checkpoints.pollFirst().maxId);
+        }
+        return boundary;
+    }
+
+    private static final class Outcome {
+        private final List<LcEventOutbox> done = new ArrayList<>();
+        private final Map<LcEventOutbox, String> retry = new LinkedHashMap<>();
+        // 보류 행 → 다시 읽을 시각
+        private final Map<LcEventOutbox, LocalDateTime> held = new LinkedHashMap<>();
+        // logHash → 재시도 대기 중인 가장 앞선 행
+        private final Map<String, Wait> waits = new HashMap<>();
+    }
+
+    private record Wait(long firstId, LocalDateTime retryAt) {
+    }
+
+    private static final class Checkpoint {
+        private final LocalDateTime at;
+        private long maxId;
+
+        private Checkpoint(LocalDateTime at, long maxId) {
+            this.at = at;
+            this.maxId = maxId;
+        }
+    }
+}
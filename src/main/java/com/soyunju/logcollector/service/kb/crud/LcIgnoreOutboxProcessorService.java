@@ -1,21 +1,140 @@
 package com.soyunju.logcollector.service.kb.crud;
 
+import com.soyunju.logcollector.config.LogCollectorIgnoreOutboxProperties;
+import com.soyunju.logcollector.domain.kb.LcIgnoreOutbox;
+import com.soyunju.logcollector.domain.kb.enums.LcIgnoreOutboxAction;
+import com.soyunju.logcollector.domain.kb.enums.LcIgnoreOutboxStatus;
+import com.soyunju.logcollector.monitornig.LcMetrics;
 import com.soyunju.logcollector.repository.kb.LcIgnoreOutboxRepository;
+import com.soyunju.logcollector.repository.lc.batch.OutboxRetryWait;
 import com.soyunju.logcollector.service.lc.ignore.LcIgnoreApplyService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class LcIgnoreOutboxProcessorService {
 
     private final LcIgnoreOutboxRepository outboxRepository;
     private final LcIgnoreApplyService lcIgnoreApplyService;
+    private final LogCollectorIgnoreOutboxProperties properties;
+    private final LcMetrics lcMetrics;
 
+    /**
+     * PENDING outbox 를 최대 batchSize 건 선점(SKIP LOCKED)해 LC 에 일괄 반영
+     * - logHash 순서 유지: 선점 밖에 같은 logHash 의 앞선 PENDING 행이 있으면 그보다 뒤 행은 반영하지 않음
+     *   (재시도 대기 중이면 그 재시도 시각까지 보류, 다른 인스턴스가 선점 중이면 그대로 두고 다음 실행에서 다시 확인)
+     * - 같은 logHash 가 여러 건이면 마지막(id 최대) action 만 반영 (앞선 행이 모두 이번 배치에 있으므로 순서와 동일)
+     * - LC 반영: error_logs UPDATE (action 별 1회) + Redis pipeline 1 round trip
+     * - 성공: SUCCESS 일괄 UPDATE / 실패: 건별 attempt 증가 + 지수 backoff(OutboxRetryBackoff), maxAttempts 도달 시 FAILED
+     */
     @Transactional(transactionManager = "kbTransactionManager")
     public void process(LocalDateTime now) {
+        List<LcIgnoreOutbox> claimed = outboxRepository.claimProcessTargets(now, Math.max(1, properties.getBatchSize()));
+        if (claimed.isEmpty()) return;
+
+        List<LcIgnoreOutbox> targets = holdBehindEarlierPending(claimed, now);
+        if (targets.isEmpty()) return;
+
+        // id 순으로 덮어써서 logHash 별 마지막 action 만 남김
+        Map<String, LcIgnoreOutboxAction> latest = new LinkedHashMap<>();
+        for (LcIgnoreOutbox outbox : targets) {
+            latest.put(outbox.getLogHash(), outbox.getAction());
+        }
+        List<String> ignoreHashes = new ArrayList<>();
+        List<String> unignoreHashes = new ArrayList<>();
+        latest.forEach((logHash, action) ->
+                (action == LcIgnoreOutboxAction.IGNORE ? ignoreHashes : unignoreHashes).add(logHash));
+
+        try {
+            lcIgnoreApplyService.applyBatch(ignoreHashes, unignoreHashes);
+        } catch (Exception e) {
+            log.warn("[LC][IGNORE_OUTBOX][RETRY] 일괄 반영 실패. size={}, err={}", targets.size(), e.getMessage());
+            lcMetrics.incIgnoreSync("failure", targets.size());
+            targets.forEach(outbox -> scheduleRetry(outbox, now, e));
+            return;
+        }
+
+        outboxRepository.markSucceeded(targets.stream().map(LcIgnoreOutbox::getId).toList(), now);
+        lcMetrics.incIgnoreSync("success", targets.size());
+
+        // 요청(outbox 생성) → LC 반영 완료
+        LocalDateTime appliedAt = LocalDateTime.now();
+        for (LcIgnoreOutbox outbox : targets) {
+            if (outbox.getCreatedAt() != null) {
+                lcMetrics.recordIgnoreSyncLag(Duration.between(outbox.getCreatedAt(), appliedAt));
+            }
+        }
+        log.info("[LC][IGNORE_OUTBOX][SUCCESS] rows={}, ignore={}, unignore={}",
+                targets.size(), ignoreHashes.size(), unignoreHashes.size());
+    }
+
+    // 선점 밖의 앞선 같은 logHash 행보다 뒤인 행을 빼고 반환
+    private List<LcIgnoreOutbox> holdBehindEarlierPending(List<LcIgnoreOutbox> claimed, LocalDateTime now) {
+        Set<String> hashes = new LinkedHashSet<>();
+        List<Long> ids = new ArrayList<>(claimed.size());
+        for (LcIgnoreOutbox outbox : claimed) {
+            hashes.add(outbox.getLogHash());
+            ids.add(outbox.getId());
+        }
+        Map<String, OutboxRetryWait> earlier = new HashMap<>();
+        for (OutboxRetryWait wait : outboxRepository.findEarlierPending(hashes, ids)) {
+            earlier.put(wait.getLogHash(), wait);
+        }
+        if (earlier.isEmpty()) return claimed;
+
+        List<LcIgnoreOutbox> targets = new ArrayList<>(claimed.size());
+        int held = 0;
+        for (LcIgnoreOutbox outbox : claimed) {
+            OutboxRetryWait wait = earlier.get(outbox.getLogHash());
+            if (wait == null || outbox.getId() < wait.getFirstId()) {
+                targets.add(outbox);
+                continue;
+            }
+            held++;
+            if (wait.getRetryAt() != null && wait.getRetryAt().isAfter(now)) {
+                outboxRepository.updateState(outbox.getId(), LcIgnoreOutboxStatus.PENDING, outbox.getAttemptCount(),
+                        wait.getRetryAt(), "선행 요청 재시도 대기 (logHash 순서 유지)");
+            }
+        }
+        if (held > 0) lcMetrics.incIgnoreSync("held", held);
+        return targets;
+    }
+
+    private void scheduleRetry(LcIgnoreOutbox outbox, LocalDateTime now, Exception e) {
+        int nextAttempt = outbox.getAttemptCount() + 1;
+
+        if (nextAttempt >= properties.getMaxAttempts()) {
+            outboxRepository.updateState(
+                    outbox.getId(),
+                    LcIgnoreOutboxStatus.FAILED,
+                    nextAttempt,
+                    null,
+                    "최대 재시도 횟수 도달 (" + properties.getMaxAttempts() + "회): " + e.getMessage()
+            );
+            log.error("[LC][IGNORE_OUTBOX][FAIL] 최대 재시도 도달. outboxId={}, logHash={}", outbox.getId(), outbox.getLogHash());
+            return;
+        }
+
+        outboxRepository.updateState(
+                outbox.getId(),
+                LcIgnoreOutboxStatus.PENDING,
+                nextAttempt,
+                OutboxRetryBackoff.nextRetryAt(now, nextAttempt),
+                e.getMessage()
+        );
     }
 }
@@ -0,0 +1,25 @@
+package com.soyunju.logcollector.service.kb.crud;
+
+import java.time.LocalDateTime;
+
+/**
+ * outbox 재시도 간격 (LC event outbox relay / LC ignore outbox 공용)
+ * - 1초 * 2^(시도 횟수 - 1), 최대 5분
+ */
+final class OutboxRetryBackoff {
+
+    private static final long BASE_SECONDS = 1L;
+    private static final long MAX_SECONDS = 300L;
+
+    private OutboxRetryBackoff() {
+    }
+
+    // attempt: 이번 실패로 증가한 시도 횟수 (1부터)
+    static LocalDateTime nextRetryAt(LocalDateTime now, int attempt) {
+        return now.plusSeconds(delaySeconds(attempt));
+    }
+
+    static long delaySeconds(int attempt) {
+        return Math.min(MAX_SECONDS, BASE_SECONDS << Math.min(Math.max(attempt, 1) - 1, 20));
+    }
+}
@@ -1,11 +1,13 @@
 package com.soyunju.logcollector.service.kb.search;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.soyunju.logcollector.domain.kb.Incident;
 import com.soyunju.logcollector.domain.kb.QIncident;
 import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
 import com.soyunju.logcollector.dto.kb.IncidentRankResponse;
 import com.soyunju.logcollector.dto.kb.IncidentResponse;
+import com.soyunju.logcollector.repository.kb.IncidentListField;
 import com.soyunju.logcollector.repository.kb.IncidentRepository;
 import com.soyunju.logcollector.repository.lc.ErrorLogHostRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -36,19 +38,29 @@ public class IncidentSearchService {
         this.incidentRepository = incidentRepository;
     }
 
-    // Querydsl 리포지토리를 호출하여 인시던트를 검색하고, LC DB에서 호스트 발생 수를 가져와 DTO로 결합함 (In-Memory Join)
+    // Querydsl 리포지토리로 목록 컬럼만 조회하고, hostCount 를 요청한 경우 LC DB에서 호스트 발생 수를 가져와 DTO로 결합함 (In-Memory Join)
     public Page<IncidentResponse> searchIncidents(
             com.soyunju.logcollector.dto.kb.IncidentSearch search,
-            Pageable pageable) {
+            Pageable pageable,
+            Set<IncidentListField> fields) {
 
-        Page<Incident> page = incidentRepository.search(search, pageable);
-        List<String> hashes = page.getContent().stream().map(Incident::getLogHash).toList();
+        if (!fields.contains(IncidentListField.HOST_COUNT)) {
+            return incidentRepository.searchList(search, pageable, fields)
+                    .map(row -> IncidentListField.toResponse(row, fields, null));
+        }
+
+        // hostCount 결합용 logHash 는 fields 와 무관하게 조회
+        Set<IncidentListField> columns = EnumSet.copyOf(fields);
+        columns.add(IncidentListField.LOG_HASH);
+        Page<Tuple> page = incidentRepository.searchList(search, pageable, columns);
+        List<String> hashes = page.getContent().stream().map(row -> row.get(incident.logHash)).toList();
 
         // 1. LC DB에서 호스트 통계 맵 획득 (HostAgg 타입 사용)
         Map<String, Long> hostCountMap = fetchHostCountMap(hashes);
 
         // 2. 결과 매핑
-        return page.map(i -> IncidentResponse.from(i, hostCountMap.getOrDefault(i.getLogHash(), 0L)));
+        return page.map(row -> IncidentListField.toResponse(
+                row, fields, hostCountMap.getOrDefault(row.get(incident.logHash), 0L)));
     }
 
 
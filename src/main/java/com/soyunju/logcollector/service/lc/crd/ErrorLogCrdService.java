@@ -9,14 +9,18 @@ import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
 import com.soyunju.logcollector.exception.InvalidStatusTransitionException;
 import com.soyunju.logcollector.monitornig.LcMetrics;
 import com.soyunju.logcollector.repository.lc.ErrorLogHostRepository;
+import com.soyunju.logcollector.repository.lc.ErrorLogHostRepositoryCustom;
 import com.soyunju.logcollector.repository.lc.ErrorLogRepository;
+import com.soyunju.logcollector.repository.lc.batch.ErrorLogBatchRow;
+import com.soyunju.logcollector.repository.lc.batch.ErrorLogBatchState;
+import com.soyunju.logcollector.repository.lc.batch.ErrorLogHostBatchRow;
+import com.soyunju.logcollector.repository.lc.batch.RepeatCountDelta;
 import com.soyunju.logcollector.service.audit.AuditLogService;
-import com.soyunju.logcollector.service.lc.processor.LogNormalization;
+import com.soyunju.logcollector.service.lc.outbox.LcEventPublisher;
 import com.soyunju.logcollector.service.lc.processor.LogProcessor;
 import com.soyunju.logcollector.service.lc.redis.IgnoredLogHashStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -25,8 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Slf4j
 @Service
@@ -50,7 +53,8 @@ public class ErrorLogCrdService {
     private final IncidentBridgeService incidentBridgeService;
     private final IncidentRepository incidentRepository; */
 
-    private final ApplicationEventPublisher eventPublisher;
+    // KB 연동 이벤트: lc_event_outbox (같은 LC 트랜잭션) 또는 커밋 후 ApplicationEvent
+    private final LcEventPublisher lcEventPublisher;
 
     private final AuditLogService auditLogService;
     private final LcMetrics lcMetrics;
@@ -77,19 +81,14 @@ public class ErrorLogCrdService {
     public ErrorLogResponse saveLog(ErrorLogRequest dto) {
         LocalDateTime occurredTime =
                 (dto.getOccurredTime() != null) ? dto.getOccurredTime() : LocalDateTime.now();
+        // ingest 사전 집계 entry 는 n건 발생 (first ~ occurredTime)
+        int occurrences = dto.occurrences();
+        LocalDateTime firstOccurredTime =
+                (dto.getFirstOccurredTime() != null) ? dto.getFirstOccurredTime() : occurredTime;
 
-        // 1. 로그 레벨 확정 (CRITICAL/FATAL 우선 적용)
-        String inferred = logProcessor.inferLogLevel(dto.getMessage());
-        String effectiveLevel;
-        if (!StringUtils.hasText(dto.getLogLevel())) {
-            effectiveLevel = inferred;
-        } else {
-            if (inferred.equals("CRITICAL") || inferred.equals("FATAL")) {
-                effectiveLevel = inferred;
-            } else {
-                effectiveLevel = dto.getLogLevel();
-            }
-        }
+        // 1. fingerprint (ingest 에서 계산된 값 재사용, 없을 때만 계산)
+        logProcessor.ensureFingerprint(dto);
+        String effectiveLevel = dto.getEffectiveLevel();
 
         // 2. 수집 대상 여부 (Level 필터링)
         if (!logProcessor.isTargetLevel(effectiveLevel)) {
@@ -99,8 +98,8 @@ public class ErrorLogCrdService {
             return null;
         }
 
-        // 3. 해시 생성
-        String logHash = logProcessor.generateIncidentHash(dto.getServiceName(), dto.getMessage(), dto.getStackTrace());
+        // 3. 해시
+        String logHash = dto.getLogHash();
 
         // 3-1. IGNORED 상태 확인
         if (ignoredLogHashStore.isIgnored(logHash)) {
@@ -109,56 +108,271 @@ public class ErrorLogCrdService {
 
         // 4. Host 집계 Upsert
         String hostName = (dto.getHostName() == null || dto.getHostName().isBlank()) ? "UNKNOWN_HOST" : dto.getHostName();
-        int hostUpsertResult = errorLogHostRepository.upsertHostCounter(logHash, dto.getServiceName(), hostName, null, occurredTime);
+        int hostUpsertResult = errorLogHostRepository.upsertHostCounter(
+                logHash, dto.getServiceName(), hostName, null, firstOccurredTime, occurredTime, occurrences);
         boolean isNewHost = (hostUpsertResult == 1);
 
-        // 5. ErrorLog Upsert
-        String errorCode = LogNormalization.generateErrorCode(dto.getMessage(), dto.getStackTrace());
-        String summary = logProcessor.extractSummary(dto.getMessage());
+        // 5. ErrorLog Upsert (새 host 면 host_count + 1)
+        String errorCode = dto.getErrorCode();
+        String summary = logProcessor.summaryOf(dto);
 
         int logUpsertResult = errorLogRepository.upsertErrorLog(
                 dto.getServiceName(), hostName, effectiveLevel.toUpperCase(),
-                dto.getMessage(), dto.getStackTrace(), occurredTime,
-                errorCode, summary, logHash
+                dto.getMessage(), dto.getStackTrace(), occurredTime, firstOccurredTime,
+                errorCode, summary, logHash, occurrences, isNewHost ? 1 : 0
         );
         // insert=1, update=2 return
         boolean isNewIncident = (logUpsertResult == 1);
 
-        ErrorLog targetLog = errorLogRepository.findByLogHash(logHash)
+        // 결과 조회: 필요한 컬럼만 (stack_trace / message 미포함, host 수는 host_count 컬럼)
+        ErrorLogBatchState state = errorLogRepository.findBatchStates(List.of(logHash)).stream()
+                .findFirst()
                 .orElseThrow(() -> new IllegalStateException("Log not found after upsert"));
 
-        // 영향 host agg
-        int impactedHostCount = errorLogHostRepository.countHostsByLogHash(logHash);
-
         // 6. Incident 연동을 위해 이벤트 발행
-        int repeatCount = (targetLog.getRepeatCount() == null) ? 1 : targetLog.getRepeatCount();
+        int impactedHostCount = state.getHostCount();
+        int repeatCount = state.getRepeatCount();
         boolean draftNeeded = (impactedHostCount >= hostSpreadThreshold) || (repeatCount >= highRecurThreshold);
         String draftReason = (impactedHostCount >= hostSpreadThreshold) ? "HOST_SPREAD" : "HIGH_RECUR";
 
-        eventPublisher.publishEvent(new LogSavedEvent(
+        lcEventPublisher.publishSaved(List.of(new LogSavedEvent(
                 logHash,
                 dto.getServiceName(),
-                targetLog.getSummary(),
+                state.getSummary(),
                 dto.getStackTrace(),
                 errorCode,
                 effectiveLevel,
                 occurredTime,
+                occurrences,
                 impactedHostCount,
                 repeatCount,
                 null,       // incidentId: Listener에서 recordOccurrence 후 Draft 생성
                 draftNeeded,
                 draftReason
-        ));
+        )));
 
         // 7. Metrics 처리
-        try {
-            ErrorLogResponse response = logProcessor.convertToResponse(targetLog, impactedHostCount, isNewIncident, isNewHost);
+        lcMetrics.incSaveLog("success");
+        return toResponse(state, occurredTime, occurrences, isNewIncident, isNewHost);
+    }
+
+    /**
+     * consumer 배치 저장 (saveLog 의 배치 버전)
+     * - 배치를 (logHash, host) 기준으로 합산 → 테이블당 multi-row upsert 1회 (repeat_count + n)
+     * - ingest 사전 집계 entry 는 occurrenceCount 만큼 합산 (firstOccurredTime ~ occurredTime)
+     * - 행은 key 순으로 정렬하여 upsert (동시 배치 간 lock 순서 고정 → deadlock 방지)
+     * - 알림/이벤트 판단용 결과는 set-based 조회로 한 번에 가져옴
+     * 반환: logHash 당 1건 (batchCount = 이번 배치에서 합산된 발생 수)
+     */
+    @Retryable(
+            retryFor = {ConcurrencyFailureException.class},
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100)
+    )
+    @Transactional(transactionManager = "lcTransactionManager")
+    public List<ErrorLogResponse> saveLogs(List<ErrorLogRequest> dtos) {
+        // 1. fingerprint(ingest 계산값 재사용) + logHash 기준 합산
+        Map<String, LogGroup> groups = new TreeMap<>();
+        for (ErrorLogRequest dto : dtos) {
+            logProcessor.ensureFingerprint(dto);
+            String effectiveLevel = dto.getEffectiveLevel();
+            if (!logProcessor.isTargetLevel(effectiveLevel)) {
+                continue;
+            }
+
+            String logHash = dto.getLogHash();
+            LocalDateTime occurredTime = (dto.getOccurredTime() != null) ? dto.getOccurredTime() : LocalDateTime.now();
+            String hostName = (dto.getHostName() == null || dto.getHostName().isBlank()) ? "UNKNOWN_HOST" : dto.getHostName();
+
+            groups.computeIfAbsent(logHash, h -> new LogGroup(h, dto, effectiveLevel))
+                    .add(dto, hostName, occurredTime);
+        }
+
+        // 2. IGNORED 제외
+        groups.keySet().removeIf(ignoredLogHashStore::isIgnored);
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+
+        // 3. Host 집계 multi-row upsert ((logHash, host) 순)
+        List<ErrorLogHostBatchRow> hostRows = new ArrayList<>();
+        Set<String> hostNames = new HashSet<>();
+        for (LogGroup group : groups.values()) {
+            for (HostGroup host : group.hosts.values()) {
+                hostNames.add(host.hostName);
+                hostRows.add(ErrorLogHostBatchRow.builder()
+                        .logHash(group.logHash)
+                        .serviceName(group.first.getServiceName())
+                        .hostName(host.hostName)
+                        .firstOccurredTime(host.firstOccurredTime)
+                        .lastOccurredTime(host.lastOccurredTime)
+                        .count(host.count)
+                        .build());
+            }
+        }
+        errorLogHostRepository.bulkUpsertHosts(hostRows);
+
+        // 3-1. 새 host 판단: 같은 트랜잭션 내 row lock 보유 상태이므로, 누적값 == 이번 배치 합산값 이면 이번에 insert 된 행
+        Map<String, Integer> hostRepeatCounts = errorLogHostRepository.findHostRepeatCounts(groups.keySet(), hostNames);
+        for (LogGroup group : groups.values()) {
+            for (HostGroup host : group.hosts.values()) {
+                if (Objects.equals(hostRepeatCounts.get(ErrorLogHostRepositoryCustom.hostKey(group.logHash, host.hostName)), host.count)) {
+                    group.newHosts++;
+                }
+            }
+        }
+
+        // 4. ErrorLog multi-row upsert (logHash 순, 대표 payload 1건 + 발생 수 n + 새 host 수)
+        List<ErrorLogBatchRow> logRows = new ArrayList<>(groups.size());
+        for (LogGroup group : groups.values()) {
+            ErrorLogRequest first = group.first;
+            group.errorCode = first.getErrorCode();
+            group.summary = logProcessor.summaryOf(first);
+
+            logRows.add(ErrorLogBatchRow.builder()
+                    .logHash(group.logHash)
+                    .serviceName(first.getServiceName())
+                    .hostName(group.firstHostName)
+                    .logLevel(group.effectiveLevel.toUpperCase())
+                    .message(first.getMessage())
+                    .stackTrace(first.getStackTrace())
+                    .errorCode(group.errorCode)
+                    .summary(group.summary)
+                    .firstOccurredTime(group.firstOccurredTime)
+                    .lastOccurredTime(group.lastOccurredTime)
+                    .count(group.count)
+                    .newHosts(group.newHosts)
+                    .build());
+        }
+        errorLogRepository.bulkUpsertErrorLogs(logRows);
+
+        // 5. 결과 set-based 조회 (stack_trace 미포함)
+        Map<String, ErrorLogBatchState> states = new HashMap<>();
+        for (ErrorLogBatchState state : errorLogRepository.findBatchStates(groups.keySet())) {
+            states.put(state.getLogHash(), state);
+        }
+
+        // 6. 신규 여부 판단 + 이벤트 발행
+        List<ErrorLogResponse> responses = new ArrayList<>(groups.size());
+        List<LogSavedEvent> events = new ArrayList<>(groups.size());
+        for (LogGroup group : groups.values()) {
+            ErrorLogBatchState state = states.get(group.logHash);
+            if (state == null) {
+                lcMetrics.incSaveLog("failure");
+                throw new IllegalStateException("Log not found after upsert");
+            }
+
+            // 같은 트랜잭션 내 row lock 보유 상태이므로, 누적값 == 이번 배치 합산값 이면 이번에 insert 된 행
+            boolean isNewIncident = (state.getRepeatCount() == group.count);
+            boolean isNewHost = group.newHosts > 0;
+
+            int impactedHostCount = state.getHostCount();
+            int repeatCount = state.getRepeatCount();
+            boolean draftNeeded = (impactedHostCount >= hostSpreadThreshold) || (repeatCount >= highRecurThreshold);
+            String draftReason = (impactedHostCount >= hostSpreadThreshold) ? "HOST_SPREAD" : "HIGH_RECUR";
+
+            // KB 연동 이벤트는 logHash 당 1건, 발생 수는 배치 합산값 (KB incident repeat_count + n)
+            events.add(new LogSavedEvent(
+                    group.logHash,
+                    group.first.getServiceName(),
+                    state.getSummary(),
+                    group.first.getStackTrace(),
+                    group.errorCode,
+                    group.effectiveLevel,
+                    group.lastOccurredTime,
+                    group.count,
+                    impactedHostCount,
+                    repeatCount,
+                    null,
+                    draftNeeded,
+                    draftReason
+            ));
+
+            responses.add(toResponse(state, group.lastOccurredTime, group.count, isNewIncident, isNewHost));
             lcMetrics.incSaveLog("success");
-            return response;
-        } catch (RuntimeException e) {
-            lcMetrics.incSaveLog("failure");
-            throw e;
         }
+        lcEventPublisher.publishSaved(events);
+        return responses;
+    }
+
+    /**
+     * write-behind flush (이미 저장된 (logHash, host) 의 누적 발생 수 반영)
+     * - host 행 / error_logs 행 모두 UPDATE ... CASE 로 행당 delta 1회 (chunk 단위 문장, 전체는 한 트랜잭션)
+     * - 정렬 순서는 saveLogs 와 동일 ((logHash, host) → logHash) → 동시 배치와 lock 순서 고정
+     * - 그 사이 삭제된 logHash 는 반영되지 않음 (반환 결과에서 빠짐)
+     * 반환: logHash 당 1건 (batchCount = 이번 flush 에서 더한 발생 수)
+     */
+    @Retryable(
+            retryFor = {ConcurrencyFailureException.class},
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100)
+    )
+    @Transactional(transactionManager = "lcTransactionManager")
+    public List<ErrorLogResponse> applyRepeatDeltas(List<RepeatCountDelta> hostDeltas, int maxBatchRows) {
+        if (hostDeltas.isEmpty()) return List.of();
+
+        // 1. (logHash, host) 순 정렬 + logHash 합산
+        List<RepeatCountDelta> sortedHosts = new ArrayList<>(hostDeltas);
+        sortedHosts.sort(Comparator.comparing(RepeatCountDelta::getLogHash).thenComparing(RepeatCountDelta::getHostName));
+        Map<String, RepeatCountDelta> logDeltas = new TreeMap<>();
+        for (RepeatCountDelta delta : sortedHosts) {
+            logDeltas.merge(delta.getLogHash(),
+                    RepeatCountDelta.builder()
+                            .logHash(delta.getLogHash())
+                            .count(delta.getCount())
+                            .lastOccurredTime(delta.getLastOccurredTime())
+                            .build(),
+                    (a, b) -> RepeatCountDelta.builder()
+                            .logHash(a.getLogHash())
+                            .count(a.getCount() + b.getCount())
+                            .lastOccurredTime(a.getLastOccurredTime().isAfter(b.getLastOccurredTime())
+                                    ? a.getLastOccurredTime() : b.getLastOccurredTime())
+                            .build());
+        }
+
+        // 2. host 행 → error_logs 행 delta UPDATE
+        int chunk = Math.max(1, maxBatchRows);
+        for (int i = 0; i < sortedHosts.size(); i += chunk) {
+            errorLogHostRepository.applyRepeatDeltas(sortedHosts.subList(i, Math.min(sortedHosts.size(), i + chunk)));
+        }
+        List<RepeatCountDelta> sortedLogs = new ArrayList<>(logDeltas.values());
+        for (int i = 0; i < sortedLogs.size(); i += chunk) {
+            errorLogRepository.applyRepeatDeltas(sortedLogs.subList(i, Math.min(sortedLogs.size(), i + chunk)));
+        }
+
+        // 3. 결과 set-based 조회 + 이벤트 발행 (KB incident repeat_count + delta)
+        List<ErrorLogResponse> responses = new ArrayList<>(logDeltas.size());
+        List<LogSavedEvent> events = new ArrayList<>(logDeltas.size());
+        for (ErrorLogBatchState state : errorLogRepository.findBatchStates(logDeltas.keySet())) {
+            RepeatCountDelta delta = logDeltas.get(state.getLogHash());
+            if (delta == null) continue;
+
+            int impactedHostCount = state.getHostCount();
+            int repeatCount = state.getRepeatCount();
+            boolean draftNeeded = (impactedHostCount >= hostSpreadThreshold) || (repeatCount >= highRecurThreshold);
+            String draftReason = (impactedHostCount >= hostSpreadThreshold) ? "HOST_SPREAD" : "HIGH_RECUR";
+
+            // stack trace 는 최초 저장 시 KB 에 이미 반영됨
+            events.add(new LogSavedEvent(
+                    state.getLogHash(),
+                    state.getServiceName(),
+                    state.getSummary(),
+                    null,
+                    state.getErrorCode(),
+                    state.getLogLevel(),
+                    delta.getLastOccurredTime(),
+                    delta.getCount(),
+                    impactedHostCount,
+                    repeatCount,
+                    null,
+                    draftNeeded,
+                    draftReason
+            ));
+
+            responses.add(toResponse(state, delta.getLastOccurredTime(), delta.getCount(), false, false));
+        }
+        lcEventPublisher.publishSaved(events);
+        return responses;
     }
 
     @Transactional(transactionManager = "lcTransactionManager")
@@ -186,7 +400,7 @@ public class ErrorLogCrdService {
                 LocalDateTime now = LocalDateTime.now();
                 errorLog.setResolvedAt(now);
                 //  이벤트 발행
-                eventPublisher.publishEvent(new LogResolvedEvent(
+                lcEventPublisher.publishResolved(new LogResolvedEvent(
                         errorLog.getLogHash(),
                         null,   // incidentId: Listener에서 markResolved 후 조회
                         now
@@ -195,7 +409,7 @@ public class ErrorLogCrdService {
             case NEW -> {
                 errorLog.setResolvedAt(null);
                 // 이벤트 발행 (OPEN 전이)
-                eventPublisher.publishEvent(new LogResolvedEvent(
+                lcEventPublisher.publishResolved(new LogResolvedEvent(
                         errorLog.getLogHash(),
                         null,
                         null    // resolvedAt null = OPEN 전이 신호
@@ -221,6 +435,78 @@ public class ErrorLogCrdService {
         errorLogRepository.deleteAllByIdInBatch(logIds);
     }
 
+    // 저장 결과 (알림 판단용, message / stack_trace 미포함)
+    private ErrorLogResponse toResponse(ErrorLogBatchState state, LocalDateTime occurredTime, int batchCount,
+                                        boolean isNew, boolean isNewHost) {
+        return ErrorLogResponse.builder()
+                .logId(state.getId())
+                .serviceName(state.getServiceName())
+                .summary(state.getSummary())
+                .errorCode(state.getErrorCode())
+                .hostInfo(state.getHostName())
+                .logLevel(state.getLogLevel())
+                .logHash(state.getLogHash())
+                .status(state.getStatus())
+                .occurredTime(occurredTime)
+                .firstOccurredTime(state.getFirstOccurredTime())
+                .lastOccurredTime(state.getLastOccurredTime())
+                .repeatCount(state.getRepeatCount())
+                .batchCount(batchCount)
+                .impactedHostCount((long) state.getHostCount())
+                .isNew(isNew)
+                .isNewHost(isNewHost)
+                .build();
+    }
+
+    // saveLogs: logHash 단위 합산
+    private static class LogGroup {
+        private final String logHash;
+        private final ErrorLogRequest first;
+        private final String effectiveLevel;
+        private final Map<String, HostGroup> hosts = new TreeMap<>();
+        private String firstHostName;
+        private LocalDateTime firstOccurredTime;
+        private LocalDateTime lastOccurredTime;
+        private int count;
+        private int newHosts;
+        private String errorCode;
+        private String summary;
+
+        private LogGroup(String logHash, ErrorLogRequest first, String effectiveLevel) {
+            this.logHash = logHash;
+            this.first = first;
+            this.effectiveLevel = effectiveLevel;
+        }
+
+        private void add(ErrorLogRequest dto, String hostName, LocalDateTime occurredTime) {
+            LocalDateTime first = (dto.getFirstOccurredTime() != null) ? dto.getFirstOccurredTime() : occurredTime;
+            int n = dto.occurrences();
+            if (firstHostName == null) firstHostName = hostName;
+            if (firstOccurredTime == null || first.isBefore(firstOccurredTime)) firstOccurredTime = first;
+            if (lastOccurredTime == null || occurredTime.isAfter(lastOccurredTime)) lastOccurredTime = occurredTime;
+            count += n;
+            hosts.computeIfAbsent(hostName, HostGroup::new).add(first, occurredTime, n);
+        }
+    }
+
+    // saveLogs: (logHash, host) 단위 합산
+    private static class HostGroup {
+        private final String hostName;
+        private LocalDateTime firstOccurredTime;
+        private LocalDateTime lastOccurredTime;
+        private int count;
+
+        private HostGroup(String hostName) {
+            this.hostName = hostName;
+        }
+
+        private void add(LocalDateTime first, LocalDateTime last, int n) {
+            if (firstOccurredTime == null || first.isBefore(firstOccurredTime)) firstOccurredTime = first;
+            if (lastOccurredTime == null || last.isAfter(lastOccurredTime)) lastOccurredTime = last;
+            count += n;
+        }
+    }
+
     private boolean isAllowedTransition(ErrorStatus from, ErrorStatus to) {
         if (from == null || to == null) return false;
         if (from == to) return true;
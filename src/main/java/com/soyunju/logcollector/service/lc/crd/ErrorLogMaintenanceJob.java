@@ -1,19 +1,44 @@
 package com.soyunju.logcollector.service.lc.crd;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class ErrorLogMaintenanceJob {
 
+    // host_count 보정 1회(UPDATE) 당 id 구간 크기
+    private static final long HOST_COUNT_CHUNK = 5_000;
+
     @PersistenceContext
     private EntityManager em;
 
+    // 기동 시 host_count backfill 여부 (운영은 DDL 마이그레이션에서 1회 backfill 하므로 false)
+    @Value("${logcollector.maintenance.host-count-boot-backfill:true}")
+    private boolean hostCountBootBackfill;
+
+    private final PlatformTransactionManager lcTransactionManager;
+    private TransactionTemplate txTemplate;
+
+    @PostConstruct
+    void initTxTemplate() {
+        this.txTemplate = new TransactionTemplate(lcTransactionManager);
+    }
+
     // 매일 03:00 실행
     @Transactional
     @Scheduled(cron = "0 0 3 * * *")
@@ -29,4 +54,51 @@ public class ErrorLogMaintenanceJob {
             log.info("cleanupOrphanHostRows deleted={}", deleted);
         }
     }
+
+    // 기동 시: host_count 컬럼 도입 전 행(0) backfill (ddl-auto=update 로 컬럼이 추가되는 local / dev 용)
+    // 모든 행은 host 1개 이상 → backfill 이 끝난 뒤에는 0 인 행이 없으므로 전체 구간을 돌지 않음
+    // host_count 에 index 가 없어 확인 쿼리도 full scan 이므로, 운영은 마이그레이션에서 backfill 하고 이 단계를 끔
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillHostCounts() {
+        if (!hostCountBootBackfill) return;
+        try {
+            boolean pending = !em.createNativeQuery("SELECT 1 FROM error_logs WHERE host_count = 0 LIMIT 1")
+                    .getResultList().isEmpty();
+            if (!pending) return;
+        } catch (Exception e) {
+            log.warn("backfillHostCounts 확인 실패 → 03:30 보정에 맡김. msg={}", e.getMessage());
+            return;
+        }
+        reconcileHostCounts(true);
+    }
+
+    // 매일 03:30: 수동 삭제 / 고아 행 정리 등으로 어긋난 host_count 를 error_log_hosts 기준으로 보정
+    @Scheduled(cron = "0 30 3 * * *")
+    public void reconcileHostCounts() {
+        reconcileHostCounts(false);
+    }
+
+    // id 구간 단위로 나눠 갱신 (긴 트랜잭션 / 대량 row lock 방지)
+    private void reconcileHostCounts(boolean zeroOnly) {
+        try {
+            Number maxId = (Number) em.createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM error_logs").getSingleResult();
+            long total = 0;
+            for (long from = 0; from < maxId.longValue(); from += HOST_COUNT_CHUNK) {
+                long lo = from;
+                total += Objects.requireNonNullElse(txTemplate.execute(tx -> em.createNativeQuery("""
+                            UPDATE error_logs e
+                               SET e.host_count = (SELECT COUNT(*) FROM error_log_hosts h WHERE h.log_hash = e.log_hash)
+                             WHERE e.id > :lo AND e.id <= :hi
+                        """ + (zeroOnly ? " AND e.host_count = 0" : ""))
+                        .setParameter("lo", lo)
+                        .setParameter("hi", lo + HOST_COUNT_CHUNK)
+                        .executeUpdate()), 0);
+            }
+            if (total > 0) {
+                log.info("reconcileHostCounts updated={} zeroOnly={}", total, zeroOnly);
+            }
+        } catch (Exception e) {
+            log.warn("reconcileHostCounts 실패 → 다음 주기에 재시도. zeroOnly={} msg={}", zeroOnly, e.getMessage());
+        }
+    }
 }
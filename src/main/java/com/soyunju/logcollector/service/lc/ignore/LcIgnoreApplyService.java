@@ -1,6 +1,11 @@
 package com.soyunju.logcollector.service.lc.ignore;
 
+import java.util.Collection;
+
 public interface LcIgnoreApplyService {
     void applyIgnore(String logHash);
     void applyUnignore(String logHash);
+
+    // 여러 logHash 를 한 번에 반영 (error_logs 상태 UPDATE + Redis ignored 집합)
+    void applyBatch(Collection<String> ignoreHashes, Collection<String> unignoreHashes);
 }
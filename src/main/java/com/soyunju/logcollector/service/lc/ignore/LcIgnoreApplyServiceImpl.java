@@ -1,14 +1,19 @@
 package com.soyunju.logcollector.service.lc.ignore;
 
+import com.soyunju.logcollector.repository.lc.ErrorLogRepository;
 import com.soyunju.logcollector.service.lc.redis.IgnoredLogHashStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 
 @Service
 @RequiredArgsConstructor
 public class LcIgnoreApplyServiceImpl implements LcIgnoreApplyService {
 
     private final IgnoredLogHashStore ignoredLogHashStore;
+    private final ErrorLogRepository errorLogRepository;
 
     @Override
     public void applyIgnore(String logHash) {
@@ -19,4 +24,16 @@ public class LcIgnoreApplyServiceImpl implements LcIgnoreApplyService {
     public void applyUnignore(String logHash) {
         ignoredLogHashStore.unignore(logHash);
     }
+
+    /**
+     * error_logs 상태는 action 별 UPDATE 1회, Redis 는 pipeline 1 round trip
+     * - Redis 반영이 실패하면 UPDATE 도 롤백 → 호출 측에서 통째로 재시도 (모두 멱등)
+     */
+    @Override
+    @Transactional(transactionManager = "lcTransactionManager")
+    public void applyBatch(Collection<String> ignoreHashes, Collection<String> unignoreHashes) {
+        if (!ignoreHashes.isEmpty()) errorLogRepository.markIgnoredByLogHashes(ignoreHashes);
+        if (!unignoreHashes.isEmpty()) errorLogRepository.unmarkIgnoredByLogHashes(unignoreHashes);
+        ignoredLogHashStore.applyAll(ignoreHashes, unignoreHashes);
+    }
 }
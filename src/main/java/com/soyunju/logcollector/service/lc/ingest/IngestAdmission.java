@@ -0,0 +1,124 @@
+package com.soyunju.logcollector.service.lc.ingest;
+
+import com.soyunju.logcollector.config.LogCollectorAdmissionProperties;
+import com.soyunju.logcollector.exception.ErrorCode;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.service.lc.redis.queue.QueueLanes;
+import com.soyunju.logcollector.service.lc.redis.spool.LogSpool;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [Flow: Log Ingest - Admission]
+ * 큐 적재 전 수집 허용 여부 판단
+ * - 전역: backlog(큐 길이 + spool 미처리분)가 high-watermark 이상이면 거절 → 큐가 무한히 쌓이지 않음
+ * - 서비스별: serviceName 단위 token bucket → 한 서비스의 폭주가 다른 서비스 수집을 밀어내지 않음
+ * - 큐 길이는 QueueLanes 가 주기적으로 조회한 값 사용 (요청 경로에서 Redis round trip 없음)
+ */
+@Component
+@RequiredArgsConstructor
+public class IngestAdmission {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LogCollectorAdmissionProperties properties;
+    private final QueueLanes queueLanes;
+    private final LogSpool logSpool;
+    private final LcMetrics lcMetrics;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        lcMetrics.bindAdmissionGauges(this::backlog, buckets::size);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long idleNanos = TimeUnit.SECONDS.toNanos(Math.max(1, properties.getIdleBucketExpireSeconds()));
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> now - bucket.lastUsed > idleNanos);
+    }
+
+    // 전 lane 큐 길이(마지막 관측값, Redis 장애 중에는 유지) + spool 미처리분
+    public long backlog() {
+        return queueLanes.depth() + logSpool.pendingRecords();
+    }
+
+    /**
+     * backlog 상한만 확인 (batch/stream 은 본문 처리 전에 빠르게 거절)
+     */
+    public Decision checkBacklog() {
+        if (!properties.isEnabled() || backlog() < properties.getQueueHighWatermark()) {
+            return Decision.ADMITTED;
+        }
+        lcMetrics.incAdmission("queue_full");
+        return Decision.rejected(ErrorCode.INGEST_QUEUE_FULL, properties.getQueueFullRetryAfterSeconds());
+    }
+
+    /**
+     * 1건 수집 허용 여부 (backlog 상한 → 서비스 token 1개 차감)
+     */
+    public Decision tryAcquire(String serviceName) {
+        if (!properties.isEnabled()) return Decision.ADMITTED;
+
+        Decision backlogDecision = checkBacklog();
+        if (!backlogDecision.admitted()) return backlogDecision;
+
+        String key = (serviceName == null) ? "" : serviceName;
+        double rate = properties.getServiceRates().getOrDefault(key, properties.getRatePerSecond());
+        if (rate <= 0) return Decision.ADMITTED; // 0 이하 = 서비스별 제한 없음
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(key,
+                k -> new TokenBucket(rate, Math.max(1, properties.getBurst()), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos == 0) return Decision.ADMITTED;
+
+        lcMetrics.incAdmission("rate_limited");
+        int retryAfter = (int) Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        return Decision.rejected(ErrorCode.INGEST_RATE_LIMITED, retryAfter);
+    }
+
+    public record Decision(boolean admitted, ErrorCode errorCode, int retryAfterSeconds) {
+
+        static final Decision ADMITTED = new Decision(true, null, 0);
+
+        static Decision rejected(ErrorCode errorCode, int retryAfterSeconds) {
+            return new Decision(false, errorCode, Math.max(1, retryAfterSeconds));
+        }
+    }
+
+    private static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+        private volatile long lastUsed;
+
+        private TokenBucket(double ratePerSecond, double capacity, long now) {
+            this.tokensPerNano = ratePerSecond / NANOS_PER_SECOND;
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefill = now;
+            this.lastUsed = now;
+        }
+
+        // 0 = 통과, 그 외 = token 1개가 찰 때까지 남은 nanos
+        private synchronized long tryAcquire(long now) {
+            lastUsed = now;
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
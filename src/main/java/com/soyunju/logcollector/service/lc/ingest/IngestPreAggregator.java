@@ -0,0 +1,145 @@
+package com.soyunju.logcollector.service.lc.ingest;
+
+import com.soyunju.logcollector.config.LogCollectorPreAggregationProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.service.lc.redis.LogToRedis;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [Flow: Log Ingest - Pre-aggregation]
+ * 같은 (logHash, host) 로그를 window 동안 1건으로 합쳐 큐에 적재 (logcollector.pre-aggregation.enabled)
+ * - 대표 payload 는 window 의 첫 로그, occurrenceCount / firstOccurredTime / occurredTime(마지막) 만 갱신
+ * - window 는 첫 발생 기준으로 닫힘 → 계속 발생하는 에러도 window 주기마다 큐에 반영
+ * - 1건뿐인 window 는 원본 그대로 적재 (집계 필드 없음)
+ * - 열린 window 수가 maxWindows 이상이면 새 key 는 합치지 않고 바로 적재
+ */
+@Component
+@RequiredArgsConstructor
+public class IngestPreAggregator {
+
+    private final LogCollectorPreAggregationProperties properties;
+    private final LogToRedis logToRedis;
+    private final LcMetrics lcMetrics;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        lcMetrics.bindPreAggregationGauge(windows::size);
+    }
+
+    /**
+     * 큐 적재 (사전 집계 비활성이면 그대로 push)
+     * - 수락 시각(acceptedAt) 기록: window / spool 대기까지 lane 지연에 포함
+     */
+    public void enqueue(List<ErrorLogRequest> dtos) {
+        if (dtos == null || dtos.isEmpty()) return;
+        long acceptedAt = System.currentTimeMillis();
+        dtos.forEach(dto -> dto.setAcceptedAt(acceptedAt));
+        if (!properties.isEnabled()) {
+            logToRedis.pushAll(dtos);
+            return;
+        }
+
+        List<ErrorLogRequest> passThrough = new ArrayList<>();
+        long now = System.nanoTime();
+        int folded = 0;
+        for (ErrorLogRequest dto : dtos) {
+            if (dto.getLogHash() == null) {
+                passThrough.add(dto);
+                continue;
+            }
+            // 발생 시각이 없으면 수신 시각으로 확정 (합친 뒤에는 consumer 처리 시각과 구분 불가)
+            if (dto.getOccurredTime() == null) {
+                dto.setOccurredTime(LocalDateTime.now());
+            }
+
+            String key = dto.getLogHash() + '|' + dto.getHostName();
+            Window existing = windows.get(key);
+            if (existing == null && windows.size() >= properties.getMaxWindows()) {
+                passThrough.add(dto);
+                continue;
+            }
+
+            Window window = windows.compute(key, (k, w) -> (w == null) ? new Window(dto, now) : w.fold(dto));
+            if (window.representative != dto) folded++;
+        }
+
+        if (folded > 0) lcMetrics.incPreAggregationFolded(folded);
+        logToRedis.pushAll(passThrough);
+    }
+
+    @Scheduled(fixedDelayString = "${logcollector.pre-aggregation.flush-interval-ms:200}")
+    public void flushExpired() {
+        if (windows.isEmpty()) return;
+        flush(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs()));
+    }
+
+    // 종료 시 열린 window 모두 적재
+    @PreDestroy
+    void flushAll() {
+        if (windows.isEmpty()) return;
+        flush(Long.MAX_VALUE);
+    }
+
+    private void flush(long openedBefore) {
+        List<ErrorLogRequest> ready = new ArrayList<>();
+        for (String key : windows.keySet()) {
+            windows.computeIfPresent(key, (k, window) -> {
+                if (openedBefore != Long.MAX_VALUE && window.openedAt - openedBefore > 0) return window;
+                ready.add(window.toRequest());
+                return null;
+            });
+        }
+        logToRedis.pushAll(ready);
+    }
+
+    // compute 안에서만 변경 (ConcurrentHashMap bin lock)
+    private static final class Window {
+        private final ErrorLogRequest representative;
+        private final long openedAt;
+        private LocalDateTime first;
+        private LocalDateTime last;
+        private int count;
+
+        private Window(ErrorLogRequest dto, long openedAt) {
+            this.representative = dto;
+            this.openedAt = openedAt;
+            this.first = firstOf(dto);
+            this.last = dto.getOccurredTime();
+            this.count = dto.occurrences();
+        }
+
+        private Window fold(ErrorLogRequest dto) {
+            LocalDateTime dtoFirst = firstOf(dto);
+            if (dtoFirst.isBefore(first)) first = dtoFirst;
+            if (dto.getOccurredTime().isAfter(last)) last = dto.getOccurredTime();
+            count += dto.occurrences();
+            return this;
+        }
+
+        private ErrorLogRequest toRequest() {
+            if (count > 1) {
+                representative.setOccurrenceCount(count);
+                representative.setFirstOccurredTime(first);
+                representative.setOccurredTime(last);
+            }
+            return representative;
+        }
+
+        private static LocalDateTime firstOf(ErrorLogRequest dto) {
+            return (dto.getFirstOccurredTime() != null) ? dto.getFirstOccurredTime() : dto.getOccurredTime();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.soyunju.logcollector.service.lc.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.soyunju.logcollector.config.LogCollectorIngestProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogBatchResponse;
+import com.soyunju.logcollector.dto.lc.ErrorLogBatchResponse.ItemResult;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.exception.ErrorCode;
+import com.soyunju.logcollector.service.lc.processor.LogFingerprint;
+import com.soyunju.logcollector.service.lc.processor.LogProcessor;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * [Flow: Log Ingest - Batch]
+ * 여러 건의 로그를 건별 검증 후, 유효한 건만 모아 Redis 큐에 한 번에 적재
+ * - 검증 기준은 단건 수집(POST /api/logs)과 동일 (Bean Validation + 레벨 필터 + 수집 제한)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogIngestService {
+
+    private final LogProcessor logProcessor;
+    private final IngestPreAggregator ingestPreAggregator;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final LogCollectorIngestProperties ingestProperties;
+    private final IngestAdmission ingestAdmission;
+
+    public ErrorLogBatchResponse ingestBatch(List<ErrorLogRequest> requests) {
+        List<ItemResult> results = new ArrayList<>(requests.size());
+        List<ErrorLogRequest> acceptedLogs = new ArrayList<>(requests.size());
+        Integer retryAfter = null;
+
+        for (int i = 0; i < requests.size(); i++) {
+            ErrorLogRequest request = requests.get(i);
+            ItemResult result = validate(i, request);
+            if (result.isAccepted()) {
+                acceptedLogs.add(request);
+            }
+            retryAfter = maxRetryAfter(retryAfter, result);
+            results.add(result);
+        }
+
+        // 유효한 로그만 1회 pipeline 으로 push
+        ingestPreAggregator.enqueue(acceptedLogs);
+
+        log.info("로그 일괄 수집 - total={}, accepted={}", requests.size(), acceptedLogs.size());
+        return ErrorLogBatchResponse.builder()
+                .total(requests.size())
+                .accepted(acceptedLogs.size())
+                .rejected(requests.size() - acceptedLogs.size())
+                .results(results)
+                .retryAfterSeconds(retryAfter)
+                .build();
+    }
+
+    /**
+     * NDJSON(1줄 1 JSON) 스트리밍 수집
+     * - Jackson streaming parser 로 1건씩 읽고, chunk 단위로 Redis 에 push
+     * - 전체 payload 를 List 로 바인딩하지 않으므로 heap 사용량은 chunk 크기에 비례
+     * - 응답 results 에는 reject 건만 최대 streamMaxReportedRejects 건 포함
+     */
+    public ErrorLogBatchResponse ingestStream(InputStream in) throws IOException {
+        int chunkSize = Math.max(1, ingestProperties.getStreamChunkSize());
+        int maxReported = ingestProperties.getStreamMaxReportedRejects();
+
+        List<ErrorLogRequest> chunk = new ArrayList<>(chunkSize);
+        List<ItemResult> rejects = new ArrayList<>();
+        int total = 0;
+        int accepted = 0;
+        Integer retryAfter = null;
+
+        ObjectReader reader = objectMapper.readerFor(ErrorLogRequest.class);
+        try (MappingIterator<ErrorLogRequest> it = reader.readValues(in)) {
+            while (true) {
+                try {
+                    if (!it.hasNextValue()) break;
+                } catch (JsonProcessingException e) {
+                    // 토큰 단위로 깨진 본문은 재동기화가 불가 → 이후 레코드는 읽지 않음
+                    log.warn("NDJSON 파싱 중단. index={} msg={}", total, e.getOriginalMessage());
+                    if (rejects.size() < maxReported) {
+                        rejects.add(ItemResult.rejected(total, null,
+                                ErrorCode.INVALID_LOG_REQUEST.getCode(), e.getOriginalMessage()));
+                    }
+                    total++;
+                    break;
+                }
+
+                ItemResult result;
+                ErrorLogRequest request = null;
+                try {
+                    request = it.nextValue();
+                    result = validate(total, request);
+                } catch (JsonProcessingException e) {
+                    // 깨진 레코드는 reject 처리 후 다음 레코드로 재동기화
+                    result = ItemResult.rejected(total, null,
+                            ErrorCode.INVALID_LOG_REQUEST.getCode(), ErrorCode.INVALID_LOG_REQUEST.getMessage());
+                }
+                total++;
+                retryAfter = maxRetryAfter(retryAfter, result);
+
+                if (result.isAccepted()) {
+                    chunk.add(request);
+                    accepted++;
+                    if (chunk.size() >= chunkSize) {
+                        ingestPreAggregator.enqueue(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                } else if (rejects.size() < maxReported) {
+                    rejects.add(result);
+                }
+            }
+        }
+        ingestPreAggregator.enqueue(chunk);
+
+        log.info("로그 스트리밍 수집 - total={}, accepted={}", total, accepted);
+        return ErrorLogBatchResponse.builder()
+                .total(total)
+                .accepted(accepted)
+                .rejected(total - accepted)
+                .results(rejects)
+                .retryAfterSeconds(retryAfter)
+                .build();
+    }
+
+    /**
+     * 1건 검증. 통과 시 logLevel 을 확정값(대문자)으로 세팅 + fingerprint 계산
+     */
+    ItemResult validate(int index, ErrorLogRequest request) {
+        if (request == null) {
+            return ItemResult.rejected(index, null,
+                    ErrorCode.INVALID_LOG_REQUEST.getCode(), ErrorCode.INVALID_LOG_REQUEST.getMessage());
+        }
+
+        Set<ConstraintViolation<ErrorLogRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String reason = violations.iterator().next().getMessage();
+            return ItemResult.rejected(index, request.getLogLevel(), ErrorCode.INVALID_LOG_REQUEST.getCode(), reason);
+        }
+        return admit(index, request);
+    }
+
+    /**
+     * 레벨 필터 + 수집 제한 + fingerprint (Bean Validation 통과 건 대상)
+     * - 명시 레벨이 대상이 아니면 fingerprint 계산 없이 reject
+     * - 수집 제한(backlog 상한 / 서비스별 token bucket)은 fingerprint 계산 전에 확인 → 폭주 시 CPU 사용 최소화
+     *   (레벨 미지정 건은 추론 레벨로 reject 되더라도 token 1개를 사용)
+     * - 통과 시 logLevel(대문자) / effectiveLevel / logHash / errorCode 세팅
+     */
+    public ItemResult admit(int index, ErrorLogRequest request) {
+        String requested = request.getLogLevel();
+        if (StringUtils.hasText(requested) && !logProcessor.isTargetLevel(requested)) {
+            return ItemResult.rejected(index, requested,
+                    ErrorCode.INVALID_LOG_LEVEL.getCode(), ErrorCode.INVALID_LOG_LEVEL.getMessage());
+        }
+
+        IngestAdmission.Decision decision = ingestAdmission.tryAcquire(request.getServiceName());
+        if (!decision.admitted()) {
+            return ItemResult.throttled(index, requested, decision.errorCode(), decision.retryAfterSeconds());
+        }
+
+        //  로그 레벨 (입력값 우선, 없으면 메시지에서 추론 - 추론값도 fingerprint 캐시 재사용)
+        LogFingerprint fingerprint = logProcessor.fingerprint(
+                request.getServiceName(), request.getMessage(), request.getStackTrace());
+        String level = StringUtils.hasText(requested) ? requested : fingerprint.getInferredLevel();
+
+        if (!logProcessor.isTargetLevel(level)) {
+            return ItemResult.rejected(index, level,
+                    ErrorCode.INVALID_LOG_LEVEL.getCode(), ErrorCode.INVALID_LOG_LEVEL.getMessage());
+        }
+        request.setLogLevel(level.toUpperCase());
+        logProcessor.applyFingerprint(request, fingerprint);
+        // 사전 집계 필드는 ingest 에서만 설정
+        request.setOccurrenceCount(null);
+        request.setFirstOccurredTime(null);
+        return ItemResult.accepted(index, request.getLogLevel());
+    }
+
+    private static Integer maxRetryAfter(Integer current, ItemResult result) {
+        Integer retryAfter = result.getRetryAfterSeconds();
+        if (retryAfter == null) return current;
+        return (current == null) ? retryAfter : Math.max(current, retryAfter);
+    }
+}
@@ -0,0 +1,54 @@
+package com.soyunju.logcollector.service.lc.notification;
+
+import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장 결과 기준 Slack 알림 판단 (consumer 저장 / write-behind flush 공용)
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorLogNotifier {
+
+    private final SlackService slackService;
+    private final LcMetrics lcMetrics;
+
+    // 신규 / 신규 host / 누적 10회 도달 시 Slack 알림
+    public void notifyIfNeeded(ErrorLogResponse response) {
+        // 배치 저장 / write-behind flush 는 repeatCount 가 n 씩 증가하므로 "== 10" 대신 10 을 넘어서는 시점으로 판단
+        long added = Math.max(1, response.getBatchCount());
+        long before = response.getRepeatCount() - added;
+        boolean reachedTen = before < 10 && response.getRepeatCount() >= 10;
+
+        boolean shouldNotify =
+                response.isNew() ||
+                        response.isNewHost() ||
+                        reachedTen;
+
+        if (shouldNotify) {
+            lcMetrics.incSlackNotify("sent");
+
+            String title = determineTitle(response);
+            String summaryWithCount = String.format(
+                    "%s\n(현재 누적 발생: %d회)",
+                    response.getSummary(),
+                    response.getRepeatCount()
+            );
+
+            slackService.sendErrorNotification(
+                    title,
+                    response.getServiceName(),
+                    summaryWithCount,
+                    response.getImpactedHostCount()
+            );
+        }
+    }
+
+    private String determineTitle(ErrorLogResponse response) {
+        if (response.isNew()) return "🚨 *[신규 에러 발생]*";
+        if (response.isNewHost()) return "⚠️ *[에러 확산 감지]*";
+        return "🔥 *[다건 발생 경고]*";
+    }
+}
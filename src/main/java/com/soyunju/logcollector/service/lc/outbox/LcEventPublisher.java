@@ -0,0 +1,78 @@
+package com.soyunju.logcollector.service.lc.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soyunju.logcollector.config.LogCollectorLcOutboxProperties;
+import com.soyunju.logcollector.domain.lc.LcEventOutbox;
+import com.soyunju.logcollector.domain.lc.LcEventOutboxStatus;
+import com.soyunju.logcollector.domain.lc.LcEventType;
+import com.soyunju.logcollector.dto.event.LogResolvedEvent;
+import com.soyunju.logcollector.dto.event.LogSavedEvent;
+import com.soyunju.logcollector.repository.lc.LcEventOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [Flow: LC → KB 전파]
+ * LC 트랜잭션 안에서 KB 연동 이벤트 기록 (logcollector.lc-outbox.enabled)
+ * - 활성: lc_event_outbox 에 multi-row INSERT → error_logs upsert 와 함께 커밋/롤백, relay 가 KB 에 반영
+ *   (재시작 / executor 포화로 유실되지 않음)
+ * - 비활성: 기존처럼 ApplicationEvent 발행 → 커밋 후 KbEventListener
+ */
+@Component
+@RequiredArgsConstructor
+public class LcEventPublisher {
+
+    private final LogCollectorLcOutboxProperties properties;
+    private final LcEventOutboxRepository lcEventOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(transactionManager = "lcTransactionManager", propagation = Propagation.MANDATORY)
+    public void publishSaved(List<LogSavedEvent> events) {
+        if (events.isEmpty()) return;
+        if (!properties.isEnabled()) {
+            events.forEach(eventPublisher::publishEvent);
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LcEventOutbox> rows = new ArrayList<>(events.size());
+        for (LogSavedEvent event : events) {
+            rows.add(row(LcEventType.LOG_SAVED, event.getLogHash(), event, now));
+        }
+        lcEventOutboxRepository.bulkInsert(rows);
+    }
+
+    @Transactional(transactionManager = "lcTransactionManager", propagation = Propagation.MANDATORY)
+    public void publishResolved(LogResolvedEvent event) {
+        if (!properties.isEnabled()) {
+            eventPublisher.publishEvent(event);
+            return;
+        }
+        lcEventOutboxRepository.bulkInsert(List.of(
+                row(LcEventType.LOG_RESOLVED, event.getLogHash(), event, LocalDateTime.now())));
+    }
+
+    // 직렬화 실패 시 예외 전파 → LC 트랜잭션 롤백 (이벤트만 빠진 채 커밋되지 않도록)
+    private LcEventOutbox row(LcEventType type, String logHash, Object event, LocalDateTime now) {
+        try {
+            return LcEventOutbox.builder()
+                    .eventType(type)
+                    .logHash(logHash)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .status(LcEventOutboxStatus.PENDING)
+                    .createdAt(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("lc_event_outbox payload 직렬화 실패. logHash=" + logHash, e);
+        }
+    }
+}
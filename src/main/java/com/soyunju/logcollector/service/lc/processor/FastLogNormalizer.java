@@ -0,0 +1,661 @@
+package com.soyunju.logcollector.service.lc.processor;
+
+import java.util.regex.Pattern;
+
+/**
+ * LogNormalization 정규식 cascade(약 20회 replaceAll)를 대체하는 단일 패스 정규화기
+ * - 숫자 토큰 / 연결어+숫자 / 단위 숫자 / <NUM> 병합 / 공백 정리를 1회 스캔으로 처리
+ * - UUID, IPv4[:port], ISO TS, URL, 경로, ID key=value 는 공백으로 구분된 단어 전체가 형식과 일치하면
+ *   토큰 단위 스캔으로 placeholder 치환 (정규식 cascade 가 같은 단어에 내는 결과와 동일한 경우만 인정)
+ * - 그 밖에 정규식이 매칭될 수 있는 입력(IPv6, MAC, EMAIL, 형식이 어긋난 토큰 등)은 사전 검사에서 걸러
+ *   정규식 구현으로 위임 → 어떤 입력이든 정규식 결과와 byte 단위로 동일
+ * - 출력 버퍼는 스레드별로 재사용 (중간 String 생성 없음)
+ * 검증: LogNormalizationDifferentialTest
+ */
+final class FastLogNormalizer {
+
+    private FastLogNormalizer() {
+    }
+
+    private static final String NUM = "<NUM>";
+    private static final String LINE = "<LINE>";
+    private static final String JAVA_LINE_PREFIX = ".java:";
+    private static final String STACK_DELIMITER = " / ";
+
+    // 재사용 버퍼가 이 크기를 넘으면 버린다 (대형 stackTrace 1건이 스레드에 메모리를 붙잡지 않도록)
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    // PATTERN_CONNECTORS_WITH_NUM / PATTERN_NUM_WITH_UNIT 의 대안(순서 동일)
+    private static final String[] CONNECTORS = {"at", "on", "near", "value", "id", "is"};
+    private static final String[] UNITS = {"ms", "s", "sec", "secs", "seconds"};
+
+    // 이 키워드 뒤에 [:=] 가 오면 정규식 경로 (KV_ID / BRACKET_KV_ID / POOL_CONN / HTTP status)
+    private static final String[] KV_KEYS =
+            {"traceid", "spanid", "requestid", "correlationid", "txid", "transactionid", "sessionid", "rid"};
+    private static final String[] SEP_KEYS =
+            {"traceid", "spanid", "requestid", "correlationid", "txid", "transactionid", "sessionid", "rid",
+                    "pool", "connid", "connectionid", "status"};
+    // PATTERN_POOL_CONN 키 (KV_ID 보다 먼저 적용, 값 길이 제한 없음)
+    private static final String[] POOL_KEYS = {"pool", "connid", "connectionid"};
+
+    // URL / 경로 끝의 단어 문자열 바로 앞에 이 문자가 오면 앞선 치환(<TS>, <IP>, <UUID> 등)이 끝 문자를 바꿀 수 없음
+    private static final String SAFE_TAIL_SEPARATORS = "/\\?&=#";
+
+    // JDK 19+ 에서 \b 가 ASCII 단어 문자 기준으로 바뀌었으므로, 실행 중인 JDK 의 동작을 그대로 따른다
+    private static final boolean UNICODE_WORD_BOUNDARY = Pattern.compile("\\b").matcher("가").find();
+
+    private static final ThreadLocal<StringBuilder> OUT_BUF = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final ThreadLocal<StringBuilder> LINE_BUF = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final ThreadLocal<StringBuilder> STACK_BUF = ThreadLocal.withInitial(() -> new StringBuilder(512));
+    private static final ThreadLocal<StringBuilder> TOKEN_BUF = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final ThreadLocal<StringBuilder> PLACEHOLDER_BUF = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    static String normalizeMessage(String message) {
+        if (message == null) return "";
+        CharSequence tokens = rewriteTokens(message, borrow(TOKEN_BUF));
+        if (tokens == null) return LogNormalization.normalizeMessageRegex(message);
+
+        StringBuilder out = borrow(OUT_BUF);
+        emit(tokens, out);
+        int start = trimStart(out, 0);
+        return out.substring(start, trimEnd(out, start));
+    }
+
+    static String normalizeStackTop(String stackTrace, int maxLines) {
+        if (stackTrace == null || stackTrace.isBlank() || maxLines <= 0) return "";
+
+        StringBuilder joined = borrow(STACK_BUF);
+        StringBuilder line = borrow(LINE_BUF);
+        StringBuilder out = borrow(OUT_BUF);
+
+        int n = stackTrace.length();
+        int added = 0;
+        int pos = 0;
+        while (pos < n && added < maxLines) {
+            int end = pos;
+            while (end < n && !isLineBreak(stackTrace.charAt(end))) end++;
+
+            // String.trim() 과 동일한 경계
+            int a = pos;
+            int b = end;
+            while (a < b && stackTrace.charAt(a) <= ' ') a++;
+            while (b > a && stackTrace.charAt(b - 1) <= ' ') b--;
+            pos = end + 1;
+
+            if (isBlank(stackTrace, a, b)) continue;
+
+            applyJavaLine(stackTrace, a, b, line);
+            CharSequence tokens = rewriteTokens(line, borrow(TOKEN_BUF));
+            if (tokens != null) {
+                out.setLength(0);
+                emit(tokens, out);
+                int s = trimStart(out, 0);
+                int e = trimEnd(out, s);
+                if (isBlank(out, s, e)) continue;
+                if (added++ > 0) joined.append(STACK_DELIMITER);
+                joined.append(out, s, e);
+            } else {
+                String l = LogNormalization.normalizeStackLineRegex(stackTrace.substring(a, b));
+                if (l.isBlank()) continue;
+                if (added++ > 0) joined.append(STACK_DELIMITER);
+                joined.append(l);
+            }
+        }
+        return joined.toString();
+    }
+
+    // =========================
+    // 사전 검사 + 구조 토큰 치환: 단일 패스로 처리 가능한 입력인지
+    // =========================
+
+    /**
+     * 정규식 1~15번(숫자/공백 규칙 이전 단계)을 적용한 결과를 반환, 단일 패스로 보장할 수 없으면 null
+     * - 단어(공백 구분) 전체가 구조 토큰 형식이면 placeholder 로 치환 (matchToken)
+     * - 토큰 밖 문자는 정규식이 하나라도 매칭될 "가능성"을 보수적으로 판단 (null 이어도 결과는 정규식 경로가 보장)
+     * - 치환한 토큰이 없으면 입력을 그대로 반환 (복사 없음)
+     */
+    static CharSequence rewriteTokens(CharSequence s, StringBuilder buf) {
+        StringBuilder placeholder = PLACEHOLDER_BUF.get();
+        int n = s.length();
+        int copied = 0;       // s[0, copied) 는 buf 에 반영됨 (토큰이 하나도 없으면 0)
+        int digitRun = 0;     // 연속 숫자 길이 (TS: yyyy-)
+        int hexRun = 0;       // 연속 hex 길이 (UUID: 8hex-)
+        int ipDots = 0;       // [0-9.] 구간 내 "숫자." 개수 (IPv4)
+        int colons = 0;       // [0-9a-fA-F:-] 구간 내 ':' 개수 (IPv6)
+        int seps = 0;         // [0-9a-fA-F:-] 구간 내 ':' / '-' 개수 (MAC)
+
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+
+            if (!isSpace(c) && (i == 0 || isSpace(s.charAt(i - 1)))) {
+                placeholder.setLength(0);
+                int end = matchToken(s, i, placeholder);
+                if (end > 0) {
+                    buf.append(s, copied, i).append(placeholder);
+                    copied = end;
+                    // 토큰 뒤는 공백 또는 입력 끝 → 구간 카운터는 공백에서 어차피 초기화
+                    i = end - 1;
+                    continue;
+                }
+            }
+
+            if (Character.isSurrogate(c) || Character.getType(c) == Character.NON_SPACING_MARK) return null;
+
+            boolean digit = isDigit(c);
+            boolean hex = isHex(c);
+
+            if (c == '-' && (digitRun >= 4 || hexRun >= 8)) return null;
+
+            if (c == '.') {
+                if (i > 0 && isDigit(s.charAt(i - 1)) && ++ipDots >= 3) return null;
+            } else if (!digit) {
+                ipDots = 0;
+            }
+
+            if (c == ':') {
+                if (++colons >= 2 || ++seps >= 5) return null;
+            } else if (c == '-') {
+                if (++seps >= 5) return null;
+            } else if (!hex) {
+                colons = 0;
+                seps = 0;
+            }
+
+            digitRun = digit ? digitRun + 1 : 0;
+            hexRun = hex ? hexRun + 1 : 0;
+
+            switch (c) {
+                case '/':
+                    // PATH_UNIX, URL
+                    if (i + 1 < n && !isSpace(s.charAt(i + 1))) return null;
+                    break;
+                case '\\':
+                    // PATH_WIN
+                    if (i > 0 && s.charAt(i - 1) == ':') return null;
+                    break;
+                case '@':
+                    // EMAIL
+                    if (hasDomainAfter(s, i + 1)) return null;
+                    break;
+                case '[':
+                    // BRACKET_KV_ID
+                    if (startsWithAny(s, i + 1, KV_KEYS)) return null;
+                    break;
+                case '<':
+                    // 입력에 이미 있는 <NUM> 은 MULTI_NUM 병합 대상
+                    if (s.length() - i >= NUM.length() && regionMatches(s, i, NUM)) return null;
+                    break;
+                default:
+                    break;
+            }
+
+            if (isAsciiLetter(c) && (i == 0 || !isWord(s.charAt(i - 1))) && hasKeywordAt(s, i)) return null;
+        }
+
+        if (copied == 0) return s;
+        return buf.append(s, copied, n);
+    }
+
+    // 테스트용: 정규식 경로로 위임되지 않는 입력인지
+    static boolean takesFastPath(CharSequence s) {
+        return rewriteTokens(s, new StringBuilder()) != null;
+    }
+
+    // 단어 시작 위치의 KV / POOL / status / HTTP / ERRNO / SQLSTATE 키워드
+    private static boolean hasKeywordAt(CharSequence s, int i) {
+        for (String key : SEP_KEYS) {
+            if (startsWithIgnoreCase(s, i, key) && nextNonSpaceIn(s, i + key.length(), ":=")) return true;
+        }
+        if (startsWithIgnoreCase(s, i, "errno") || startsWithIgnoreCase(s, i, "sqlstate")) return true;
+        if (startsWithIgnoreCase(s, i, "http")) {
+            int j = skipSpaces(s, i + 4);
+            return j < s.length() && isDigit(s.charAt(j));
+        }
+        return false;
+    }
+
+    private static boolean hasDomainAfter(CharSequence s, int from) {
+        for (int j = from; j < s.length(); j++) {
+            char c = s.charAt(j);
+            if (c == '.') return true;
+            if (!(isAsciiLetter(c) || isDigit(c) || c == '-')) return false;
+        }
+        return false;
+    }
+
+    // =========================
+    // 구조 토큰: 공백으로 구분된 단어 전체가 형식과 일치할 때만 치환
+    // - 앞뒤 단어와 정규식이 엮이는 경우(키워드 + 구분자, 공백 건너는 TS 등)는 토큰 밖 사전 검사가 걸러냄
+    // - 반환값은 토큰 끝 위치 (공백 또는 입력 끝), 형식이 어긋나면 -1
+    // =========================
+
+    private static int matchToken(CharSequence s, int from, StringBuilder placeholder) {
+        char c = s.charAt(from);
+        if (c == '[') return matchBracketId(s, from, placeholder);
+        if (c == '/') return matchUnixPath(s, from, placeholder);
+
+        int end;
+        if (isDigit(c)) {
+            if ((end = matchTimestamp(s, from)) > 0) {
+                placeholder.append("<TS>");
+                return end;
+            }
+            if ((end = matchIpv4(s, from, placeholder)) > 0) return end;
+        }
+        if (isHex(c) && (end = matchUuid(s, from)) > 0) {
+            placeholder.append("<UUID>");
+            return end;
+        }
+        if (isAsciiLetter(c)) {
+            if ((end = matchUrl(s, from, placeholder)) > 0) return end;
+            if ((end = matchWinPath(s, from, placeholder)) > 0) return end;
+            return matchKeyValue(s, from, placeholder);
+        }
+        return -1;
+    }
+
+    // PATTERN_TS_ISO: 공백 구분은 "날짜 단어 + ' ' + 시각 단어" 두 단어를 하나의 토큰으로
+    private static int matchTimestamp(CharSequence s, int from) {
+        int i = digits(s, from, 4);
+        i = digits(s, expect(s, i, '-'), 2);
+        i = digits(s, expect(s, i, '-'), 2);
+        if (i < 0 || i >= s.length() || (s.charAt(i) != 'T' && s.charAt(i) != ' ')) return -1;
+        i = digits(s, i + 1, 2);
+        i = digits(s, expect(s, i, ':'), 2);
+        i = digits(s, expect(s, i, ':'), 2);
+        if (i < 0) return -1;
+
+        int n = s.length();
+        if (i + 1 < n && (s.charAt(i) == '.' || s.charAt(i) == ',') && isDigit(s.charAt(i + 1))) {
+            i++;
+            while (i < n && isDigit(s.charAt(i))) i++;
+        }
+        if (i < n && s.charAt(i) == 'Z') {
+            i++;
+        } else if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            i = digits(s, expect(s, digits(s, i + 1, 2), ':'), 2);
+        }
+        return isWordEnd(s, i) ? i : -1;
+    }
+
+    // PATTERN_UUID
+    private static int matchUuid(CharSequence s, int from) {
+        int end = from + 36;
+        if (from < 0 || end > s.length() || !isWordEnd(s, end)) return -1;
+        for (int i = from; i < end; i++) {
+            int k = i - from;
+            boolean dash = k == 8 || k == 13 || k == 18 || k == 23;
+            if (dash ? s.charAt(i) != '-' : !isHex(s.charAt(i))) return -1;
+        }
+        return end;
+    }
+
+    // PATTERN_IPV4 (+ ":port", port 숫자는 이후 NUM 규칙 대상이라 그대로 둔다)
+    private static int matchIpv4(CharSequence s, int from, StringBuilder placeholder) {
+        int n = s.length();
+        int i = from;
+        for (int octet = 0; octet < 4; octet++) {
+            if (octet > 0) i = expect(s, i, '.');
+            if (i < 0) return -1;
+            int d = i;
+            while (i < n && i - d < 3 && isDigit(s.charAt(i))) i++;
+            if (i == d) return -1;
+        }
+        int ip = i;
+        if (i < n && s.charAt(i) == ':') {
+            int d = ++i;
+            while (i < n && isDigit(s.charAt(i))) i++;
+            if (i == d) return -1;
+        }
+        if (!isWordEnd(s, i)) return -1;
+        placeholder.append("<IP>").append(s, ip, i);
+        return i;
+    }
+
+    // PATTERN_URL: 끝 문자가 앞선 치환에 바뀌지 않는 경우만 (그렇지 않으면 "<URL>>" 처럼 꼬리가 남음)
+    private static int matchUrl(CharSequence s, int from, StringBuilder placeholder) {
+        int scheme = startsWithIgnoreCase(s, from, "https://") ? 8 : startsWithIgnoreCase(s, from, "http://") ? 7 : -1;
+        if (scheme < 0) return -1;
+        int to = wordEnd(s, from);
+        if (!isReplaceableWord(s, from, to) || indexOf(s, from, to, "@") >= 0 || !hasSafeTail(s, from + scheme, to)) {
+            return -1;
+        }
+        placeholder.append("<URL>");
+        return to;
+    }
+
+    // PATTERN_PATH_WIN
+    private static int matchWinPath(CharSequence s, int from, StringBuilder placeholder) {
+        if (!regionMatches(s, from + 1, ":\\")) return -1;
+        int to = wordEnd(s, from);
+        if (!isReplaceableWord(s, from, to) || indexOf(s, from, to, "@") >= 0 || indexOf(s, from, to, "://") >= 0
+                || !hasSafeTail(s, from + 3, to)) {
+            return -1;
+        }
+        placeholder.append("<PATH>");
+        return to;
+    }
+
+    // PATTERN_PATH_UNIX: '/' 로 시작하는 단어는 앞선 치환과 무관하게 단어 전체가 <PATH>
+    private static int matchUnixPath(CharSequence s, int from, StringBuilder placeholder) {
+        int to = wordEnd(s, from);
+        if (to - from < 2 || !isReplaceableWord(s, from, to)) return -1;
+        placeholder.append("<PATH>");
+        return to;
+    }
+
+    // PATTERN_BRACKET_KV_ID: [traceId=...] (정규식 cascade 첫 단계라 값 내용과 무관)
+    private static int matchBracketId(CharSequence s, int from, StringBuilder placeholder) {
+        int k = keyEnd(s, from + 1, KV_KEYS);
+        if (k < 0) return -1;
+        int n = s.length();
+        int close = k + 1;
+        while (close < n && s.charAt(close) != ']' && !isSpace(s.charAt(close))) close++;
+        if (close == k + 1 || close >= n || s.charAt(close) != ']' || !isWordEnd(s, close + 1)) return -1;
+        placeholder.append('[').append(s, from + 1, k).append("=<ID>]");
+        return close + 1;
+    }
+
+    // PATTERN_POOL_CONN / PATTERN_KV_ID
+    private static int matchKeyValue(CharSequence s, int from, StringBuilder placeholder) {
+        int n = s.length();
+        int k = keyEnd(s, from, POOL_KEYS);
+        if (k > 0) {
+            int end = k + 1;
+            while (end < n && isIdChar(s.charAt(end))) end++;
+            if (end == k + 1 || !isWordEnd(s, end) || !isAsciiWord(s.charAt(end - 1))) return -1;
+            placeholder.append(s, from, k).append("=<ID>");
+            return end;
+        }
+
+        k = keyEnd(s, from, KV_KEYS);
+        if (k < 0) return -1;
+        // UUID 가 먼저 치환되어 KV_ID 는 매칭되지 않음 (구분자 유지)
+        if (matchUuid(s, k + 1) > 0) {
+            placeholder.append(s, from, k + 1).append("<UUID>");
+            return k + 37;
+        }
+        // '.' / '-' 가 섞인 값은 IPv4, TS 등과 엮일 수 있어 정규식 경로
+        int end = k + 1;
+        while (end < n && isAsciiWord(s.charAt(end))) end++;
+        if (end - (k + 1) < 6 || !isWordEnd(s, end) || hasKeywordAt(s, k + 1)) return -1;
+        placeholder.append(s, from, k).append("=<ID>");
+        return end;
+    }
+
+    // 키 바로 뒤에 [:=] 가 오면 구분자 위치, 아니면 -1
+    private static int keyEnd(CharSequence s, int at, String[] keys) {
+        for (String key : keys) {
+            int k = at + key.length();
+            if (startsWithIgnoreCase(s, at, key) && k < s.length() && (s.charAt(k) == '=' || s.charAt(k) == ':')) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    // URL / 경로 단어 안에 공백 너머까지 이어질 수 있는 정규식(키워드 + 구분자, [traceId ...])이 없어야 함
+    private static boolean isReplaceableWord(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (Character.isSurrogate(c) || Character.getType(c) == Character.NON_SPACING_MARK) return false;
+            if (c == '[' && startsWithAny(s, i + 1, KV_KEYS)) return false;
+            if (isAsciiLetter(c) && (i == 0 || !isWord(s.charAt(i - 1))) && hasKeywordAt(s, i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 단어 끝이 ASCII 단어 문자열이고 그 앞 구분자가 SAFE_TAIL_SEPARATORS (또는 '.' + 영문자만) 이면 true
+     * - <TS> / <UUID> / <IP> / <IP6> / <MAC> 치환은 끝이 숫자·hex 이고 앞이 '-', ':', '.', ',' 인 경우에만 단어 끝을 먹음
+     * - EMAIL, KV 는 호출측에서 '@' / 키워드로 제외
+     */
+    private static boolean hasSafeTail(CharSequence s, int start, int to) {
+        int w = to;
+        boolean digits = false;
+        while (w > start && isAsciiWord(s.charAt(w - 1))) {
+            digits |= isDigit(s.charAt(w - 1));
+            w--;
+        }
+        if (w == to) return false;
+        char sep = s.charAt(w - 1);
+        return SAFE_TAIL_SEPARATORS.indexOf(sep) >= 0 || (sep == '.' && !digits);
+    }
+
+    private static int digits(CharSequence s, int from, int count) {
+        if (from < 0 || s.length() - from < count) return -1;
+        for (int i = from; i < from + count; i++) {
+            if (!isDigit(s.charAt(i))) return -1;
+        }
+        return from + count;
+    }
+
+    private static int expect(CharSequence s, int at, char c) {
+        return (at >= 0 && at < s.length() && s.charAt(at) == c) ? at + 1 : -1;
+    }
+
+    private static int wordEnd(CharSequence s, int from) {
+        int i = from;
+        while (i < s.length() && !isSpace(s.charAt(i))) i++;
+        return i;
+    }
+
+    private static boolean isWordEnd(CharSequence s, int at) {
+        return at >= 0 && (at == s.length() || (at < s.length() && isSpace(s.charAt(at))));
+    }
+
+    private static int indexOf(CharSequence s, int from, int to, String token) {
+        for (int i = from; i <= to - token.length(); i++) {
+            if (regionMatches(s, i, token)) return i;
+        }
+        return -1;
+    }
+
+    // =========================
+    // 출력: CONNECTORS_WITH_NUM → NUM_WITH_UNIT → NUM_TOKEN → MULTI_NUM → WS 를 1회 스캔으로
+    // =========================
+
+    private static void emit(CharSequence s, StringBuilder out) {
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+
+            if (isSpace(c)) {
+                int j = i + 1;
+                while (j < n && isSpace(s.charAt(j))) j++;
+                // "\s+(at|on|...)\s+\d+" 는 공백 1칸으로 치환
+                int connectorEnd = connectorEnd(s, j);
+                appendSpace(out);
+                i = (connectorEnd < 0) ? j : connectorEnd;
+                continue;
+            }
+
+            if (isDigit(c)) {
+                int j = i + 1;
+                while (j < n && isDigit(s.charAt(j))) j++;
+                if (j - i >= 2 && (hasUnitAt(s, j) || isBoundary(s, i - 1) && isBoundary(s, j))) {
+                    appendNum(out);
+                } else {
+                    out.append(s, i, j);
+                }
+                i = j;
+                continue;
+            }
+
+            out.append(c);
+            i++;
+        }
+    }
+
+    private static int connectorEnd(CharSequence s, int at) {
+        int n = s.length();
+        for (String connector : CONNECTORS) {
+            if (!startsWithIgnoreCase(s, at, connector)) continue;
+            int j = at + connector.length();
+            if (j >= n || !isSpace(s.charAt(j))) return -1;
+            j = skipSpaces(s, j);
+            if (j >= n || !isDigit(s.charAt(j))) return -1;
+            while (j < n && isDigit(s.charAt(j))) j++;
+            return j;
+        }
+        return -1;
+    }
+
+    private static boolean hasUnitAt(CharSequence s, int at) {
+        for (String unit : UNITS) {
+            if (startsWithIgnoreCase(s, at, unit) && isBoundary(s, at + unit.length())) return true;
+        }
+        return false;
+    }
+
+    private static void appendSpace(StringBuilder out) {
+        int len = out.length();
+        if (len == 0 || out.charAt(len - 1) != ' ') out.append(' ');
+    }
+
+    // "<NUM> <NUM>" → "<NUM>" (PATTERN_MULTI_NUM)
+    private static void appendNum(StringBuilder out) {
+        int len = out.length();
+        if (len > NUM.length() && out.charAt(len - 1) == ' ' && regionMatches(out, len - 1 - NUM.length(), NUM)) {
+            out.setLength(len - 1);
+            return;
+        }
+        out.append(NUM);
+    }
+
+    // (\.java:)(\d+)\b → $1<LINE>
+    private static void applyJavaLine(CharSequence s, int from, int to, StringBuilder line) {
+        line.setLength(0);
+        int i = from;
+        while (i < to) {
+            if (s.charAt(i) == '.' && to - i > JAVA_LINE_PREFIX.length()
+                    && regionMatches(s, i, JAVA_LINE_PREFIX)) {
+                int d = i + JAVA_LINE_PREFIX.length();
+                int e = d;
+                while (e < to && isDigit(s.charAt(e))) e++;
+                if (e > d && (e == to || !isWord(s.charAt(e)))) {
+                    line.append(JAVA_LINE_PREFIX).append(LINE);
+                    i = e;
+                    continue;
+                }
+            }
+            line.append(s.charAt(i++));
+        }
+    }
+
+    // =========================
+    // 문자 분류 (java.util.regex 기본 플래그 기준)
+    // =========================
+
+    // \s
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // \d
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isHex(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    // [A-Za-z0-9_]
+    private static boolean isAsciiWord(char c) {
+        return c == '_' || isDigit(c) || isAsciiLetter(c);
+    }
+
+    // PATTERN_POOL_CONN 값 [A-Za-z0-9._\-]
+    private static boolean isIdChar(char c) {
+        return c == '.' || c == '-' || isAsciiWord(c);
+    }
+
+    // \b 판정용 단어 문자
+    private static boolean isWord(char c) {
+        if (c < 128) return c == '_' || isDigit(c) || isAsciiLetter(c);
+        return UNICODE_WORD_BOUNDARY && Character.isLetterOrDigit(c);
+    }
+
+    // idx 위치 문자가 단어 문자가 아니면 true (범위 밖 포함)
+    private static boolean isBoundary(CharSequence s, int idx) {
+        return idx < 0 || idx >= s.length() || !isWord(s.charAt(idx));
+    }
+
+    // \R 구분 문자
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u000B' || c == '\f' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isBlank(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isWhitespace(s.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static int skipSpaces(CharSequence s, int from) {
+        int j = from;
+        while (j < s.length() && isSpace(s.charAt(j))) j++;
+        return j;
+    }
+
+    private static boolean nextNonSpaceIn(CharSequence s, int from, String chars) {
+        int j = skipSpaces(s, from);
+        return j < s.length() && chars.indexOf(s.charAt(j)) >= 0;
+    }
+
+    private static boolean startsWithAny(CharSequence s, int at, String[] keys) {
+        for (String key : keys) {
+            if (startsWithIgnoreCase(s, at, key)) return true;
+        }
+        return false;
+    }
+
+    // CASE_INSENSITIVE (UNICODE_CASE 없음) = ASCII 대소문자만 무시
+    private static boolean startsWithIgnoreCase(CharSequence s, int at, String lowerKey) {
+        if (at < 0 || s.length() - at < lowerKey.length()) return false;
+        for (int k = 0; k < lowerKey.length(); k++) {
+            char c = s.charAt(at + k);
+            if (c >= 'A' && c <= 'Z') c = (char) (c + ('a' - 'A'));
+            if (c != lowerKey.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    private static boolean regionMatches(CharSequence s, int at, String token) {
+        if (at < 0 || s.length() - at < token.length()) return false;
+        for (int k = 0; k < token.length(); k++) {
+            if (s.charAt(at + k) != token.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    // String.trim() 경계
+    private static int trimStart(CharSequence s, int from) {
+        int i = from;
+        while (i < s.length() && s.charAt(i) <= ' ') i++;
+        return i;
+    }
+
+    private static int trimEnd(CharSequence s, int start) {
+        int e = s.length();
+        while (e > start && s.charAt(e - 1) <= ' ') e--;
+        return e;
+    }
+
+    private static StringBuilder borrow(ThreadLocal<StringBuilder> holder) {
+        StringBuilder sb = holder.get();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            sb = new StringBuilder(256);
+            holder.set(sb);
+        }
+        sb.setLength(0);
+        return sb;
+    }
+}
@@ -0,0 +1,162 @@
+package com.soyunju.logcollector.service.lc.processor;
+
+import com.soyunju.logcollector.config.LogCollectorFingerprintCacheProperties;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 반복 에러용 fingerprint 캐시
+ * - (서비스명, 메시지, stackTrace) → LogFingerprint (logHash / errorCode / summary / 추론 레벨)
+ * - key: 입력 문자열 1회 스캔으로 만든 64-bit 해시 (정규화 + SHA-256 대비 훨씬 저렴)
+ *   값에는 독립적인 검증용 64-bit 해시를 같이 보관 → key 충돌 시 hit 로 취급하지 않음
+ * - errorCode 는 stackTrace 전체를 보므로 key 도 stackTrace 전체를 해시 (스택 상단만 쓰면 오매핑 가능)
+ * - segment 별 LinkedHashMap + lock: 크기 제한, lru/fifo 제거, 선택적 TTL
+ */
+@Component
+@RequiredArgsConstructor
+public class FingerprintCache {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long CHECK_SEED = 0x9E3779B97F4A7C15L;
+    private static final long CHECK_MULT = 0xC6A4A7935BD1E995L;
+
+    private final LogCollectorFingerprintCacheProperties properties;
+    private final LcMetrics lcMetrics;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private Segment[] segments;
+    private int segmentMask;
+    private long ttlNanos;
+
+    @PostConstruct
+    void init() {
+        int segmentCount = Integer.highestOneBit(Math.max(1, properties.getSegments()));
+        int perSegment = Math.max(1, properties.getMaxSize() / segmentCount);
+        boolean accessOrder = !"fifo".equalsIgnoreCase(properties.getEviction());
+
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment, accessOrder, evictions);
+        }
+        segmentMask = segmentCount - 1;
+        ttlNanos = Math.max(0, properties.getTtlSeconds()) * 1_000_000_000L;
+
+        lcMetrics.bindFingerprintCache(this::size, hits, misses, evictions);
+    }
+
+    /**
+     * 캐시 조회, miss 면 loader 로 계산 후 적재
+     * - loader 는 lock 밖에서 실행 (같은 key 동시 miss 시 중복 계산될 수 있으나 결과는 동일)
+     */
+    public LogFingerprint get(String serviceName, String message, String stackTrace, Supplier<LogFingerprint> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        long key = FNV_OFFSET;
+        long check = CHECK_SEED;
+        for (int part = 0; part < 3; part++) {
+            String s = (part == 0) ? serviceName : (part == 1) ? message : stackTrace;
+            if (s == null) s = "";
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                key = (key ^ c) * FNV_PRIME;
+                check = (Long.rotateLeft(check, 5) ^ c) * CHECK_MULT;
+            }
+            // 필드 경계 구분 ("ab"+"c" 와 "a"+"bc" 가 같은 key 가 되지 않도록)
+            key = (key ^ s.length()) * FNV_PRIME;
+            check = (Long.rotateLeft(check, 5) ^ s.length()) * CHECK_MULT;
+        }
+        key = mix(key);
+        check = mix(check);
+
+        Segment segment = segments[(int) (key ^ (key >>> 32)) & segmentMask];
+        long now = (ttlNanos > 0) ? System.nanoTime() : 0L;
+
+        Cached entry = segment.find(key);
+        if (entry != null && entry.check == check && (ttlNanos == 0 || now - entry.createdAt < ttlNanos)) {
+            hits.increment();
+            return entry.value;
+        }
+
+        misses.increment();
+        LogFingerprint value = loader.get();
+        segment.store(key, new Cached(check, value, now));
+        return value;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.count();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.reset();
+        }
+    }
+
+    // murmur3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private record Cached(long check, LogFingerprint value, long createdAt) {
+    }
+
+    // accessOrder=true → LRU, false → FIFO
+    private static final class Segment extends LinkedHashMap<Long, Cached> {
+        private final int capacity;
+        private final LongAdder evictions;
+
+        private Segment(int capacity, boolean accessOrder, LongAdder evictions) {
+            super(Math.min(capacity, 1024), 0.75f, accessOrder);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        private synchronized Cached find(long key) {
+            return get(key);
+        }
+
+        private synchronized void store(long key, Cached entry) {
+            put(key, entry);
+        }
+
+        private synchronized int count() {
+            return size();
+        }
+
+        private synchronized void reset() {
+            super.clear();
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.soyunju.logcollector.service.lc.processor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * (서비스명, 메시지, stackTrace) 로부터 계산되는 값 묶음
+ * - 입력이 같으면 항상 같은 값 → FingerprintCache 로 재사용
+ */
+@Getter
+@RequiredArgsConstructor
+public class LogFingerprint {
+
+    private final String inferredLevel;   // inferLogLevel(message)
+    private final String logHash;         // generateIncidentHash
+    private final String errorCode;       // LogNormalization.generateErrorCode
+    private final String summary;         // extractSummary(message)
+}
@@ -10,6 +10,17 @@ public final class LogNormalization {
     private LogNormalization() {
     }
 
+    // true 면 기존 정규식 cascade 사용 (logcollector.normalizer.mode=regex)
+    private static volatile boolean regexMode = false;
+
+    public static void useRegex(boolean enabled) {
+        regexMode = enabled;
+    }
+
+    public static boolean isRegexMode() {
+        return regexMode;
+    }
+
     // =========================
     // 정규화 패턴
     // =========================
@@ -80,7 +91,20 @@ public final class LogNormalization {
             Pattern.compile("\\b(?i)(pool|connid|connectionid)\\s*[:=]\\s*([A-Za-z0-9._\\-]+)\\b");
 
 
+    /**
+     * 메시지 정규화
+     * - 기본: FastLogNormalizer (단일 패스, 정규식 결과와 byte 단위 동일)
+     * - regex 모드: 아래 normalizeMessageRegex
+     */
     public static String normalizeMessage(String message) {
+        return regexMode ? normalizeMessageRegex(message) : FastLogNormalizer.normalizeMessage(message);
+    }
+
+    public static String normalizeStackTop(String stackTrace, int maxLines) {
+        return regexMode ? normalizeStackTopRegex(stackTrace, maxLines) : FastLogNormalizer.normalizeStackTop(stackTrace, maxLines);
+    }
+
+    public static String normalizeMessageRegex(String message) {
         if (message == null) return "";
 
         String s = message;
@@ -124,7 +148,7 @@ public final class LogNormalization {
     }
 
 
-    public static String normalizeStackTop(String stackTrace, int maxLines) {
+    public static String normalizeStackTopRegex(String stackTrace, int maxLines) {
         if (stackTrace == null || stackTrace.isBlank() || maxLines <= 0) return "";
 
         String[] lines = stackTrace.split("\\R");
@@ -136,14 +160,19 @@ public final class LogNormalization {
             String l = line.trim();
             if (l.isBlank()) continue;
 
-            l = PATTERN_JAVA_LINE.matcher(l).replaceAll("$1<LINE>");
-            l = normalizeMessage(l);
+            l = normalizeStackLineRegex(l);
 
             if (!l.isBlank()) top.add(l);
         }
         return String.join(" / ", top);
     }
 
+    // trim 된 스택 1줄 정규화 (FastLogNormalizer fallback 에서도 사용)
+    static String normalizeStackLineRegex(String line) {
+        String l = PATTERN_JAVA_LINE.matcher(line).replaceAll("$1<LINE>");
+        return normalizeMessageRegex(l);
+    }
+
     public static String normalizeSignature(String signature) {
         if (signature == null) return "";
         String s = signature.toLowerCase();
@@ -1,16 +1,33 @@
 package com.soyunju.logcollector.service.lc.processor;
 
 import com.soyunju.logcollector.domain.lc.ErrorLog;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
 import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
 @Component
+@RequiredArgsConstructor
 public class LogProcessor {
 
+    private final FingerprintCache fingerprintCache;
+
+    // fast: 단일 패스 정규화(기본) / regex: 기존 정규식 cascade (fallback)
+    @Value("${logcollector.normalizer.mode:fast}")
+    private String normalizerMode;
+
+    @PostConstruct
+    void applyNormalizerMode() {
+        LogNormalization.useRegex("regex".equalsIgnoreCase(normalizerMode));
+    }
+
     public String extractSummary(String content) {
         if (content == null || content.isEmpty()) return "No content available";
 
@@ -58,6 +75,51 @@ public class LogProcessor {
         return "INFO";
     }
 
+    /**
+     * (서비스명, 메시지, stackTrace) 의 fingerprint
+     * - 반복 에러는 FingerprintCache hit → 레벨 추론 / 정규화 / SHA-256 / errorCode 계산 생략
+     */
+    public LogFingerprint fingerprint(String serviceName, String message, String stackTrace) {
+        return fingerprintCache.get(serviceName, message, stackTrace, () -> new LogFingerprint(
+                inferLogLevel(message),
+                generateIncidentHash(serviceName, message, stackTrace),
+                LogNormalization.generateErrorCode(message, stackTrace),
+                extractSummary(message)
+        ));
+    }
+
+    /**
+     * ingest 시 1회 계산한 fingerprint 를 요청 DTO 에 기록 (effectiveLevel / logHash / errorCode)
+     * - 큐 → consumer → LogSavedEvent 까지 그대로 전달 (재계산 없음)
+     */
+    public void applyFingerprint(ErrorLogRequest dto, LogFingerprint fingerprint) {
+        dto.setEffectiveLevel(resolveEffectiveLevel(dto.getLogLevel(), fingerprint.getInferredLevel()));
+        dto.setLogHash(fingerprint.getLogHash());
+        dto.setErrorCode(fingerprint.getErrorCode());
+    }
+
+    // fingerprint 없이 적재된 항목(이전 버전 큐 잔여분, 테스트 등) 보정
+    public void ensureFingerprint(ErrorLogRequest dto) {
+        if (dto.getLogHash() != null && dto.getErrorCode() != null && dto.getEffectiveLevel() != null) return;
+        applyFingerprint(dto, fingerprint(dto.getServiceName(), dto.getMessage(), dto.getStackTrace()));
+    }
+
+    // summary 도 fingerprint 캐시에서 (메시지 split 반복 생략)
+    public String summaryOf(ErrorLogRequest dto) {
+        return fingerprint(dto.getServiceName(), dto.getMessage(), dto.getStackTrace()).getSummary();
+    }
+
+    // 로그 레벨 확정 (입력값 우선, 단 메시지상 CRITICAL/FATAL 은 우선 적용)
+    public String resolveEffectiveLevel(String requestedLevel, String inferredLevel) {
+        if (!StringUtils.hasText(requestedLevel)) {
+            return inferredLevel;
+        }
+        if (inferredLevel.equals("CRITICAL") || inferredLevel.equals("FATAL")) {
+            return inferredLevel;
+        }
+        return requestedLevel;
+    }
+
     /**
      * incident hash: "서비스명 + 정규화된 메시지 + (스택 상단 일부)"
      * - host/ip는 넣지 않음(영향도는 error_log_hosts에서 관리)
@@ -76,7 +138,8 @@ public class LogProcessor {
         return sha256Hex(svc + ":" + signature);
     }
 
-    private String sha256Hex(String input) {
+    // package-private: JMH 벤치마크(src/jmh)에서 단독 측정
+    String sha256Hex(String input) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
@@ -1,28 +1,218 @@
 package com.soyunju.logcollector.service.lc.redis;
 
+import com.soyunju.logcollector.config.LogCollectorIgnoreCacheProperties;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ignored logHash 집합 (Redis SET 이 원본)
+ * - 조회는 프로세스 내 near-cache: Bloom filter 로 대부분의 negative 를 바로 판정, positive 는 로컬 집합으로 확인
+ *   → consumer 의 건별 SISMEMBER round trip 제거 (집합은 하루 몇 번만 바뀜)
+ * - ignore / unignore / applyAll 은 Redis 반영 후 pub/sub 으로 변경분 전파 → 각 인스턴스가 로컬 캐시에 적용
+ * - 주기적 전체 재동기화(SMEMBERS)로 pub/sub 유실 / 재연결 구간 보정, Bloom filter 도 이때 재생성(삭제분 정리)
+ * - 첫 동기화 전 / 비활성 시에는 Redis SISMEMBER 로 조회
+ */
+@Slf4j
 @Component
-public class IgnoredLogHashStore {
+public class IgnoredLogHashStore implements MessageListener {
 
     private static final String KEY = "lc:ignored:log_hash";
+    private static final String CHANNEL = "lc:ignored:log_hash:changed";
+    private static final char ADDED = '+';
+    private static final char REMOVED = '-';
+    private static final int MIN_BLOOM_ITEMS = 1024;
+
     private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final LogCollectorIgnoreCacheProperties properties;
+    private final LcMetrics lcMetrics;
+
+    // 재동기화 때 통째로 교체. 변경분은 현재 snapshot 에 바로 적용
+    private volatile Snapshot snapshot;
+    // 변경분 적용 횟수 (재동기화 도중 들어온 변경 감지용)
+    private final AtomicLong changeSeq = new AtomicLong();
+
+    private final LongAdder bloomNegatives = new LongAdder();
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
 
-    public IgnoredLogHashStore(StringRedisTemplate redisTemplate) {
+    public IgnoredLogHashStore(StringRedisTemplate redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               LogCollectorIgnoreCacheProperties properties,
+                               LcMetrics lcMetrics) {
         this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.properties = properties;
+        this.lcMetrics = lcMetrics;
+    }
+
+    @PostConstruct
+    void init() {
+        lcMetrics.bindIgnoreCache(() -> {
+            Snapshot current = snapshot;
+            return current == null ? 0 : current.members.size();
+        }, bloomNegatives, localHits, localMisses);
+        if (!properties.isEnabled()) return;
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        resync();
     }
 
     public boolean isIgnored(String logHash) {
-        Boolean member = redisTemplate.opsForSet().isMember(KEY, logHash);
-        return Boolean.TRUE.equals(member);
+        if (logHash == null) return false;
+        Snapshot current = snapshot;
+        if (current == null || !properties.isEnabled()) {
+            Boolean member = redisTemplate.opsForSet().isMember(KEY, logHash);
+            return Boolean.TRUE.equals(member);
+        }
+
+        if (!current.bloom.mightContain(logHash)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        boolean ignored = current.members.contains(logHash);
+        (ignored ? localHits : localMisses).increment();
+        return ignored;
     }
 
     public void ignore(String logHash) {
         redisTemplate.opsForSet().add(KEY, logHash);
+        publish(ADDED, logHash);
     }
 
     public void unignore(String logHash) {
         redisTemplate.opsForSet().remove(KEY, logHash);
+        publish(REMOVED, logHash);
+    }
+
+    /**
+     * 여러 건을 pipeline 1 round trip 으로 반영 (SADD / SREM multi-member + 변경분 PUBLISH 1건)
+     * - 실패 시 예외 전파 (호출 측 재시도, 모두 멱등)
+     */
+    public void applyAll(Collection<String> ignoreHashes, Collection<String> unignoreHashes) {
+        if (ignoreHashes.isEmpty() && unignoreHashes.isEmpty()) return;
+
+        StringBuilder body = new StringBuilder();
+        ignoreHashes.forEach(h -> body.append(ADDED).append(h).append('\n'));
+        unignoreHashes.forEach(h -> body.append(REMOVED).append(h).append('\n'));
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                if (!ignoreHashes.isEmpty()) ops.opsForSet().add(KEY, ignoreHashes.toArray(String[]::new));
+                if (!unignoreHashes.isEmpty()) ops.opsForSet().remove(KEY, unignoreHashes.toArray());
+                ops.convertAndSend(CHANNEL, body.toString());
+                return null;
+            }
+        });
+
+        ignoreHashes.forEach(h -> apply(ADDED, h));
+        unignoreHashes.forEach(h -> apply(REMOVED, h));
+    }
+
+    // 로컬 즉시 반영 + 다른 인스턴스에 전파 (전파 실패는 재동기화로 보정)
+    private void publish(char op, String logHash) {
+        apply(op, logHash);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, op + logHash);
+        } catch (Exception e) {
+            log.warn("ignored logHash 변경 전파 실패 → 다음 재동기화에서 반영. logHash={} msg={}", logHash, e.getMessage());
+        }
+    }
+
+    // 메시지 1건 = 변경분 1줄 이상 ("+hash" / "-hash")
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String line : body.split("\n")) {
+            if (line.length() < 2) continue;
+            apply(line.charAt(0), line.substring(1));
+        }
+    }
+
+    private void apply(char op, String logHash) {
+        Snapshot current = snapshot;
+        changeSeq.incrementAndGet();
+        if (current == null) return;
+
+        if (op == ADDED) {
+            current.bloom.put(logHash);
+            current.members.add(logHash);
+        } else if (op == REMOVED) {
+            // Bloom filter 는 삭제 불가 → 로컬 집합에서만 제거 (재동기화 때 재생성)
+            current.members.remove(logHash);
+        }
+    }
+
+    /**
+     * Redis 원본으로 로컬 캐시 재구성
+     * - SMEMBERS 도중 변경분이 들어오면 새 snapshot 에 빠질 수 있으므로 한 번 더 수행
+     */
+    @Scheduled(fixedDelayString = "${logcollector.ignore-cache.resync-ms:60000}")
+    public void resync() {
+        if (!properties.isEnabled()) return;
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long seq = changeSeq.get();
+            Set<String> members;
+            try {
+                members = redisTemplate.opsForSet().members(KEY);
+            } catch (Exception e) {
+                log.warn("ignored logHash 재동기화 실패 → 기존 캐시 유지. msg={}", e.getMessage());
+                lcMetrics.incIgnoreCacheResync("failure");
+                return;
+            }
+
+            Snapshot rebuilt = Snapshot.of(members, properties.getBloomFpp());
+            snapshot = rebuilt;
+            if (changeSeq.get() == seq) {
+                lcMetrics.incIgnoreCacheResync("success");
+                return;
+            }
+        }
+        lcMetrics.incIgnoreCacheResync("retry_exhausted");
+    }
+
+    private static final class Snapshot {
+        private final HashBloomFilter bloom;
+        private final Set<String> members;
+
+        private Snapshot(HashBloomFilter bloom, Set<String> members) {
+            this.bloom = bloom;
+            this.members = members;
+        }
+
+        // 이후 추가분을 위해 여유를 두고 생성
+        private static Snapshot of(Set<String> source, double fpp) {
+            int size = (source == null) ? 0 : source.size();
+            HashBloomFilter bloom = HashBloomFilter.create(Math.max(MIN_BLOOM_ITEMS, size * 2), fpp);
+            Set<String> members = ConcurrentHashMap.newKeySet(Math.max(16, size));
+            if (source != null) {
+                for (String hash : source) {
+                    bloom.put(hash);
+                    members.add(hash);
+                }
+            }
+            return new Snapshot(bloom, members);
+        }
     }
 }
@@ -1,45 +1,72 @@
 package com.soyunju.logcollector.service.lc.redis;
 
-import com.soyunju.logcollector.config.LogCollectorRedisProperties;
 import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
 import com.soyunju.logcollector.monitornig.LcMetrics;
 import com.soyunju.logcollector.service.lc.crd.ErrorLogCrdService;
+import com.soyunju.logcollector.service.lc.redis.queue.QueueLanes;
+import com.soyunju.logcollector.service.lc.redis.spool.LogSpool;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.RedisConnectionFailureException;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LogToRedis {
 
-    private final RedisTemplate<String, ErrorLogRequest> redisTemplate;
-    private final LogCollectorRedisProperties redisProperties;
-    // Redis 장애 시 로그 유실 방지용(폴백)
+    private final QueueLanes queueLanes;
+    // Redis 장애 시 로그 유실 방지용(폴백): spool 우선, spool 불가 시 DB
+    private final LogSpool logSpool;
     private final ErrorLogCrdService errorLogCrdService;
     private final LcMetrics lcMetrics;
 
     /**
      * 로그를 Redis 큐에 적재
-     * - Redis 정상: 큐 적재 + TTL 갱신
-     * - Redis 장애: DB로 바로 저장(유실 방지)
+     * - Redis 정상: 큐 적재 (list 모드는 TTL 갱신)
+     * - Redis 장애: 로컬 spool 에 기록 후 복구 시 재적재 (spool 불가 시 DB 로 바로 저장)
      */
     public void push(ErrorLogRequest dto) {
+        pushAll(List.of(dto));
+    }
+
+    /**
+     * 여러 건을 한 번에 Redis 큐에 적재
+     * - effectiveLevel 기준 lane 별 key 로 나눠 pipeline 1 round trip (list: RPUSH multi-value, stream: XADD * n)
+     * - spool 에 미처리분이 남아 있으면(장애 중 / 복구 직후) Redis 를 거치지 않고 spool 에 이어서 기록
+     *   (요청마다 Redis timeout 을 기다리지 않고, drain 전 신규 로그가 먼저 큐에 들어가는 역전도 줄임)
+     * - Redis 장애: spool 기록, spool 이 가득 찼거나 비활성이면 건별 DB fallback
+     */
+    public void pushAll(List<ErrorLogRequest> dtos) {
+        if (dtos == null || dtos.isEmpty()) return;
+
+        if (logSpool.hasBacklog()) {
+            spoolOrFallbackToDb(dtos);
+            return;
+        }
+
         try {
-            lcMetrics.incRedisEnqueueSuccess();
-            redisTemplate.opsForList().rightPush(redisProperties.getQueueKey(), dto);
-            redisTemplate.expire(redisProperties.getQueueKey(), redisProperties.queueTtl());
+            queueLanes.push(dtos);
+            lcMetrics.incRedisEnqueueSuccess(dtos.size());
         } catch (RedisConnectionFailureException e) {
-            log.warn("Redis 연결 실패 → DB direct fallback. msg={}", e.getMessage());
+            log.warn("Redis 연결 실패 → spool fallback. size={} msg={}", dtos.size(), e.getMessage());
             lcMetrics.incRedisEnqueueFailure("redis_connection");
-            safeFallbackToDb(dto);
+            spoolOrFallbackToDb(dtos);
 
         } catch (Exception e) {
-            log.warn("Redis push 실패 → DB direct fallback. msg={}", e.getMessage());
+            log.warn("Redis batch push 실패 → spool fallback. size={} msg={}", dtos.size(), e.getMessage());
             lcMetrics.incRedisEnqueueFailure("exception");
-            safeFallbackToDb(dto);
+            spoolOrFallbackToDb(dtos);
+        }
+    }
+
+    private void spoolOrFallbackToDb(List<ErrorLogRequest> dtos) {
+        int spooled = logSpool.append(dtos);
+        if (spooled < dtos.size()) {
+            log.warn("spool 기록 불가 → DB direct fallback. size={}", dtos.size() - spooled);
+            dtos.subList(spooled, dtos.size()).forEach(this::safeFallbackToDb);
         }
     }
 
@@ -1,21 +1,21 @@
 package com.soyunju.logcollector.service.lc.redis;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
 import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
 import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
 import com.soyunju.logcollector.monitornig.LcMetrics;
 import com.soyunju.logcollector.service.lc.crd.ErrorLogCrdService;
-import com.soyunju.logcollector.service.lc.notification.SlackService;
+import com.soyunju.logcollector.service.lc.notification.ErrorLogNotifier;
 import com.soyunju.logcollector.service.lc.processor.LogProcessor;
+import com.soyunju.logcollector.service.lc.redis.queue.QueueLanes;
+import com.soyunju.logcollector.service.lc.redis.queue.QueuedLog;
+import com.soyunju.logcollector.service.lc.writebehind.RepeatCountWriteBehind;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -26,76 +26,120 @@ public class RedisToDB {
     private final ErrorLogCrdService errorLogCrdService;
     private final RedisTemplate<String, ErrorLogRequest> errorLogRequestRedisTemplate;
     private final LogProcessor logProcessor;
-    private final SlackService slackService;
+    private final ErrorLogNotifier errorLogNotifier;
     private final LcMetrics lcMetrics;
-    private final ObjectMapper objectMapper;
+    private final QueueLanes queueLanes;
+    private final StripedConsumerExecutor stripedConsumerExecutor;
+    private final LogCollectorRedisProperties redisProperties;
+    private final RepeatCountWriteBehind repeatCountWriteBehind;
 
-    @Value("${logcollector.redis.queue-key:errorlog:queue}")
-    private String queueKey;
-
-    @Value("${logcollector.redis.dlq-key:errorlog:dlq}")
-    private String dlqKey;
-
-    @Value("${logcollector.redis.dlq-ttl-seconds:86400}")
-    private long dlqTtlSeconds;
-
-    @Value("${logcollector.redis.batch-size:50}")
-    private int batchSize;
-
-    @Value("${logcollector.redis.pop-timeout-seconds:2}")
-    private long popTimeoutSeconds;
+    // 현재 배치 크기: 큐가 밀리면 키우고(최대 maxBatchSize), 한가하면 줄임(최소 batchSize)
+    private volatile int currentBatchSize;
 
     @Scheduled(fixedDelayString = "${logcollector.redis.consumer-fixed-delay-ms:200}")
     public void pollAndProcess() {
-        List<ErrorLogRequest> batch = popBatch(batchSize);
+        List<QueuedLog> batch = popBatch(nextBatchSize());
         if (batch.isEmpty()) return;
 
-        for (ErrorLogRequest dto : batch) {
-            handleOne(dto);
+        // logHash 기준 stripe 병렬 처리 (같은 incident 는 같은 stripe 에서 순서대로, stripe 별 완료 시 ack)
+        stripedConsumerExecutor.submitPartitioned(batch, this::stripeKey, this::handleBatch, this::complete);
+    }
+
+    // stripe 처리 완료(성공 또는 DLQ 적재) 후 ack → ack 전 장애 시 stream 모드는 다른 consumer 가 회수
+    private void complete(List<QueuedLog> entries) {
+        queueLanes.recordLatency(entries);
+        try {
+            queueLanes.ack(entries);
+        } catch (Exception e) {
+            log.error("Redis ack failed. size={}", entries.size(), e);
         }
     }
 
-    private List<ErrorLogRequest> popBatch(int batchSize) {
-        List<ErrorLogRequest> batch = new ArrayList<>(batchSize);
-
-        for (int i = 0; i < batchSize; i++) {
-            try {
-                // 1. Redis에서 객체 가져오기 (List Operation)
-                Object rawEntry = errorLogRequestRedisTemplate.opsForList().leftPop(queueKey);
-
-                if (rawEntry == null) break; // 큐가 비었으면 중단
-
-                ErrorLogRequest request = null;
-
-                // 2. 타입 변환 (LinkedHashMap -> DTO)
-                if (rawEntry instanceof java.util.LinkedHashMap) {
-                    request = objectMapper.convertValue(rawEntry, ErrorLogRequest.class);
-                } else if (rawEntry instanceof ErrorLogRequest) {
-                    request = (ErrorLogRequest) rawEntry;
-                } else {
-                    log.warn("Unknown type in Redis: {}", rawEntry.getClass());
-                    continue;
-                }
-
-                if (request != null) {
-                    batch.add(request);
-                }
-            } catch (Exception e) {
-                log.error("Redis pop failed", e);
-            }
+    /**
+     * 배치 pop (round trip 최소화)
+     * - 1차: 대기 없이 lane 가중치대로 최대 batchSize 건 (list: LPOP key count / stream: XREADGROUP COUNT)
+     * - 모든 lane 이 비었으면: pop-timeout 동안 blocking 대기 (list: BLPOP / stream: XREADGROUP BLOCK)
+     *   (idle 상태에서 fixed-delay 마다 빈 폴링을 반복하지 않음)
+     */
+    private List<QueuedLog> popBatch(int batchSize) {
+        List<QueuedLog> batch = List.of();
+        try {
+            batch = queueLanes.pop(batchSize, redisProperties.popTimeout());
+        } catch (Exception e) {
+            log.error("Redis pop failed", e);
         }
+
+        adaptBatchSize(batchSize, batch.size());
         return batch;
     }
 
+    private int nextBatchSize() {
+        if (currentBatchSize <= 0) {
+            currentBatchSize = Math.max(1, redisProperties.getBatchSize());
+        }
+        return currentBatchSize;
+    }
+
+    // 꽉 찬 배치 → backlog 로 판단하여 2배, 절반 미만 → 1/2 (min/max 범위 내)
+    private void adaptBatchSize(int requested, int received) {
+        int min = Math.max(1, redisProperties.getBatchSize());
+        int max = Math.max(min, redisProperties.getMaxBatchSize());
+
+        if (received >= requested) {
+            currentBatchSize = Math.min(max, requested * 2);
+        } else if (received < requested / 2) {
+            currentBatchSize = Math.max(min, requested / 2);
+        }
+    }
+
+    // ingest 에서 계산된 logHash 재사용 (없으면 여기서 1회 계산 → saveLog 도 같은 값 사용)
+    private String stripeKey(QueuedLog entry) {
+        ErrorLogRequest request = entry.getRequest();
+        logProcessor.ensureFingerprint(request);
+        return request.getLogHash();
+    }
+
+    /**
+     * stripe 1개 분량 처리
+     * - write-behind 활성: 저장 확인된 (logHash, host) 의 발생은 journal 에 누적하고 나머지만 저장
+     * - batch-persist 활성: saveLogs 로 multi-row upsert 1회 → 실패 시 건별 처리로 재시도(건별 실패는 DLQ)
+     * - 비활성 또는 1건: 건별 saveLog
+     */
+    private void handleBatch(List<QueuedLog> entries) {
+        List<ErrorLogRequest> requests = repeatCountWriteBehind.absorb(
+                entries.stream().map(QueuedLog::getRequest).toList());
+        if (requests.isEmpty()) {
+            lcMetrics.incConsumeProcessed(entries.size());
+            return;
+        }
+        if (requests.size() < entries.size()) {
+            lcMetrics.incConsumeProcessed(entries.size() - requests.size());
+        }
+
+        if (!redisProperties.isBatchPersist() || requests.size() == 1) {
+            requests.forEach(this::handleOne);
+            return;
+        }
+
+        var lagSample = lcMetrics.startPersistLagTimer();
+        try {
+            List<ErrorLogResponse> responses = errorLogCrdService.saveLogs(requests);
+            lcMetrics.incConsumeProcessed(requests.size());
+            lcMetrics.recordPersistLagSeconds(lagSample, "success");
+            repeatCountWriteBehind.remember(requests);
+            responses.forEach(errorLogNotifier::notifyIfNeeded);
+        } catch (Exception e) {
+            log.warn("배치 저장 실패 → 건별 처리로 재시도. size={} msg={}", requests.size(), e.getMessage());
+            lcMetrics.recordPersistLagSeconds(lagSample, "failure");
+            requests.forEach(this::handleOne);
+        }
+    }
+
     // 1건 처리. 실패시 DLQ로
     private void handleOne(ErrorLogRequest request) {
         var lagSample = lcMetrics.startPersistLagTimer();
 
         try {
-            String logHash = logProcessor.generateIncidentHash(
-                    request.getServiceName(), request.getMessage(), request.getStackTrace()
-            );
-
             ErrorLogResponse response = errorLogCrdService.saveLog(request);
             if (response == null) {
                 lcMetrics.recordPersistLagSeconds(lagSample, "skipped");
@@ -104,29 +148,8 @@ public class RedisToDB {
 
             lcMetrics.incConsumeProcessed();
             lcMetrics.recordPersistLagSeconds(lagSample, "success");
-
-            boolean shouldNotify =
-                    response.isNew() ||
-                            response.isNewHost() ||
-                            response.getRepeatCount() == 10;
-
-            if (shouldNotify) {
-                lcMetrics.incSlackNotify("sent");
-
-                String title = determineTitle(response);
-                String summaryWithCount = String.format(
-                        "%s\n(현재 누적 발생: %d회)",
-                        response.getSummary(),
-                        response.getRepeatCount()
-                );
-
-                slackService.sendErrorNotification(
-                        title,
-                        response.getServiceName(),
-                        summaryWithCount,
-                        response.getImpactedHostCount()
-                );
-            }
+            repeatCountWriteBehind.remember(List.of(request));
+            errorLogNotifier.notifyIfNeeded(response);
 
         } catch (Exception e) {
             log.error("로그 처리 실패 → DLQ 적재. serviceName={} msg={}",
@@ -139,19 +162,13 @@ public class RedisToDB {
     // DLQ 적재 + TTL 갱신
     private void pushToDlq(ErrorLogRequest request) {
         try {
-            errorLogRequestRedisTemplate.opsForList().rightPush(dlqKey, request);
-            errorLogRequestRedisTemplate.expire(dlqKey, Duration.ofSeconds(dlqTtlSeconds));
+            errorLogRequestRedisTemplate.opsForList().rightPush(redisProperties.getDlqKey(), request);
+            errorLogRequestRedisTemplate.expire(redisProperties.getDlqKey(), redisProperties.dlqTtl());
         } catch (Exception e) {
             log.error("DLQ 적재 실패(로그 유실 가능). msg={}", e.getMessage(), e);
         }
     }
 
-    private String determineTitle(ErrorLogResponse response) {
-        if (response.isNew()) return "🚨 *[신규 에러 발생]*";
-        if (response.isNewHost()) return "⚠️ *[에러 확산 감지]*";
-        return "🔥 *[다건 발생 경고]*";
-    }
-
     private String safe(String s) {
         return (s == null) ? "null" : s;
     }
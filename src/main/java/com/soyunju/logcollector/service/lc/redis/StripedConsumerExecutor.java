@@ -0,0 +1,176 @@
+package com.soyunju.logcollector.service.lc.redis;
+
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * consumer 배치 병렬 처리기
+ * - 배치를 key(logHash) 기준으로 N 개 stripe 로 분할, stripe 마다 단일 스레드에서 순서대로 처리
+ *   → 같은 incident 의 갱신 순서는 유지, 서로 다른 incident 는 병렬 진행
+ * - stripe 마다 대기 배치 수 상한(consumer-stripe-queue-capacity)이 있는 자체 큐를 가지고 처리 완료분을 각자 ack
+ *   → 느린 stripe 가 있어도 poll 은 계속되고 나머지 stripe 는 자기 큐를 처리, 느린 stripe 의 큐가 가득 찰 때만 poll 대기
+ * - stripe 수 1 이면 호출 스레드에서 그대로 처리 (기존 동작)
+ * - list 모드는 pop 시점에 큐에서 제거되어 미처리분이 메모리에만 있음 → 배치의 모든 stripe 처리가 끝날 때까지 반환하지 않음
+ *   (장애 시 유실 범위를 배치 1개로 유지, stripe 간 병렬 처리는 그대로)
+ */
+@Slf4j
+@Component
+public class StripedConsumerExecutor {
+
+    private final int stripeCount;
+    private final ExecutorService[] executors;
+    private final AtomicInteger[] depths;
+    // stripe 별 대기 + 처리 중 배치 수 상한
+    private final Semaphore[] slots;
+    // true 면 submitPartitioned 가 배치 처리 완료까지 대기 (list 모드)
+    private final boolean awaitBatch;
+    private final LcMetrics lcMetrics;
+
+    public StripedConsumerExecutor(LogCollectorRedisProperties redisProperties, LcMetrics lcMetrics) {
+        this.stripeCount = Math.max(1, redisProperties.getConsumerStripes());
+        this.executors = new ExecutorService[stripeCount];
+        this.depths = new AtomicInteger[stripeCount];
+        this.slots = new Semaphore[stripeCount];
+        this.awaitBatch = !"stream".equalsIgnoreCase(redisProperties.getQueueMode());
+        this.lcMetrics = lcMetrics;
+
+        int capacity = Math.max(1, redisProperties.getConsumerStripeQueueCapacity());
+        for (int i = 0; i < stripeCount; i++) {
+            depths[i] = new AtomicInteger();
+            slots[i] = new Semaphore(capacity);
+            if (stripeCount > 1) {
+                executors[i] = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("lc-stripe-" + i + "-"));
+            }
+        }
+        lcMetrics.bindConsumerStripeGauges(stripeCount, i -> depths[i].get());
+    }
+
+    public int getStripeCount() {
+        return stripeCount;
+    }
+
+    /**
+     * items 를 stripe 별로 나눠 각 stripe 큐에 넣고 반환 (stream 모드는 처리 완료를 기다리지 않음, list 모드는 대기)
+     * - stripe 마다 handler(부분 리스트) → onDone(같은 부분 리스트) 순서로 실행 (ack 는 onDone 에서 stripe 단위로)
+     * - 해당 stripe 큐가 가득 차 있으면 자리가 날 때까지 대기
+     * - 실패 처리는 handler 내부 책임 (handler 가 예외를 던져도 onDone 은 실행)
+     */
+    public <T> void submitPartitioned(List<T> items,
+                                      Function<T, String> keyFn,
+                                      Consumer<List<T>> handler,
+                                      Consumer<List<T>> onDone) {
+        if (items.isEmpty()) return;
+
+        List<List<T>> parts = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            parts.get(stripeOf(keyFn.apply(item))).add(item);
+        }
+
+        if (stripeCount == 1) {
+            runStripe(0, parts.get(0), handler, onDone);
+            return;
+        }
+
+        CountDownLatch done = new CountDownLatch((int) parts.stream().filter(p -> !p.isEmpty()).count());
+        for (int i = 0; i < stripeCount; i++) {
+            List<T> part = parts.get(i);
+            if (part.isEmpty()) continue;
+
+            int stripe = i;
+            slots[stripe].acquireUninterruptibly();
+            depths[stripe].addAndGet(part.size());
+            try {
+                executors[stripe].execute(() -> {
+                    try {
+                        runStripe(stripe, part, handler, onDone);
+                    } finally {
+                        depths[stripe].addAndGet(-part.size());
+                        slots[stripe].release();
+                        done.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료 중: 호출 스레드에서 마저 처리 (pop 한 entry 를 버리지 않도록)
+                depths[stripe].addAndGet(-part.size());
+                slots[stripe].release();
+                runStripe(stripe, part, handler, onDone);
+                done.countDown();
+            }
+        }
+        if (awaitBatch) {
+            awaitUninterruptibly(done);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private <T> void runStripe(int stripe, List<T> part, Consumer<List<T>> handler, Consumer<List<T>> onDone) {
+        if (part.isEmpty()) return;
+
+        long start = System.nanoTime();
+        try {
+            handler.accept(part);
+        } catch (Exception e) {
+            log.error("[CONSUMER][STRIPE-{}] 처리 실패", stripe, e);
+        } finally {
+            lcMetrics.recordStripeBusy(stripe, System.nanoTime() - start);
+        }
+
+        try {
+            onDone.accept(part);
+        } catch (Exception e) {
+            log.error("[CONSUMER][STRIPE-{}] 완료 처리 실패. size={}", stripe, part.size(), e);
+        }
+    }
+
+    private int stripeOf(String key) {
+        return (key == null) ? 0 : Math.floorMod(key.hashCode(), stripeCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService executor : executors) {
+            if (executor == null) continue;
+            executor.shutdown();
+            try {
+                // 큐에 남은 배치까지 처리 후 ack
+                if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
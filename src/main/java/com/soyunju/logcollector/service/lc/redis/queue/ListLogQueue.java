@@ -0,0 +1,110 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis List 기반 큐 (기본값)
+ * - pop 시점에 큐에서 제거됨 → pop 후 commit 전 장애 시 유실 가능 (유실 방지가 필요하면 stream 모드)
+ * - 큐 key 에 TTL 을 두지 않음: 적체가 통째로 만료되지 않도록 길이 상한은 ingest admission(high-watermark)으로 관리
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "logcollector.redis", name = "queue-mode", havingValue = "list", matchIfMissing = true)
+public class ListLogQueue implements LogQueue {
+
+    private final RedisTemplate<String, ErrorLogRequest> errorLogRequestRedisTemplate;
+    private final QueueEntryConverter converter;
+
+    // 이전 버전이 남긴 큐 key TTL 제거 여부 (프로세스당 1회 PERSIST)
+    private final Set<String> persistedKeys = ConcurrentHashMap.newKeySet();
+
+    // key 별 RPUSH(multi-value) 를 pipeline 으로 묶어 1 round trip (key 당 최초 1회만 PERSIST 포함)
+    @Override
+    public void push(Map<String, List<ErrorLogRequest>> entriesByKey) {
+        Map<String, List<ErrorLogRequest>> targets = new LinkedHashMap<>();
+        entriesByKey.forEach((key, entries) -> {
+            if (entries != null && !entries.isEmpty()) targets.put(key, entries);
+        });
+        if (targets.isEmpty()) return;
+
+        List<String> persistKeys = targets.keySet().stream().filter(k -> !persistedKeys.contains(k)).toList();
+        errorLogRequestRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, ErrorLogRequest> ops = (RedisOperations<String, ErrorLogRequest>) operations;
+                targets.forEach((key, entries) -> ops.opsForList().rightPushAll(key, entries));
+                persistKeys.forEach(ops::persist);
+                return null;
+            }
+        });
+        persistedKeys.addAll(persistKeys);
+    }
+
+    // LPOP key count (1 round trip)
+    @Override
+    public List<QueuedLog> pop(String key, int max) {
+        List<QueuedLog> result = new ArrayList<>(max);
+        addAll(result, key, errorLogRequestRedisTemplate.opsForList().leftPop(key, max));
+        return result;
+    }
+
+    // BLPOP key1 key2 ... 으로 대기 (앞쪽 key 우선) → 깨어난 key 의 나머지는 LPOP key count 로 이어서
+    @Override
+    public List<QueuedLog> popBlocking(List<String> keys, int max, Duration timeout) {
+        List<QueuedLog> result = new ArrayList<>(max);
+        byte[][] rawKeys = keys.stream().map(RedisSerializer.string()::serialize).toArray(byte[][]::new);
+        int timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        List<byte[]> popped = errorLogRequestRedisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.listCommands().bLPop(timeoutSeconds, rawKeys));
+        if (popped == null || popped.size() < 2) return result;
+
+        String key = RedisSerializer.string().deserialize(popped.get(0));
+        add(result, key, errorLogRequestRedisTemplate.getValueSerializer().deserialize(popped.get(1)));
+        if (max > 1) {
+            addAll(result, key, errorLogRequestRedisTemplate.opsForList().leftPop(key, max - 1));
+        }
+        return result;
+    }
+
+    @Override
+    public void ack(String key, List<QueuedLog> entries) {
+        // list 모드는 pop 시 제거 완료
+    }
+
+    @Override
+    public long size(String key) {
+        Long size = errorLogRequestRedisTemplate.opsForList().size(key);
+        return size == null ? 0L : size;
+    }
+
+    private void addAll(List<QueuedLog> result, String key, List<?> rawEntries) {
+        if (rawEntries == null) return;
+        for (Object rawEntry : rawEntries) {
+            add(result, key, rawEntry);
+        }
+    }
+
+    private void add(List<QueuedLog> result, String key, Object rawEntry) {
+        ErrorLogRequest request = converter.convert(rawEntry);
+        if (request != null) {
+            result.add(new QueuedLog(key, null, request));
+        }
+    }
+}
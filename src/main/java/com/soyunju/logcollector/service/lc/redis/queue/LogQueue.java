@@ -0,0 +1,35 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로그 큐 백엔드 (logcollector.redis.queue-mode)
+ * - list  : Redis List (RPUSH / LPOP count / BLPOP)
+ * - stream: Redis Streams consumer group (XADD / XREADGROUP / XACK, pending reclaim)
+ *
+ * push 실패는 예외로 전파 → 호출측(LogToRedis)에서 fallback 처리
+ */
+public interface LogQueue {
+
+    default void push(String key, List<ErrorLogRequest> entries) {
+        push(Map.of(key, entries));
+    }
+
+    // 여러 key(lane) 적재를 1 round trip 으로 (일부 key 만 적재된 채 실패 → spool 중복 적재를 줄임)
+    void push(Map<String, List<ErrorLogRequest>> entriesByKey);
+
+    // 대기 없이 최대 max 건
+    List<QueuedLog> pop(String key, int max);
+
+    // 모든 key 가 비었으면 timeout 까지 대기 후 최대 max 건 (앞쪽 key 우선, 결과는 한 key 분량일 수 있음)
+    List<QueuedLog> popBlocking(List<String> keys, int max, Duration timeout);
+
+    // 처리 완료(성공/DLQ 적재) 확정. list 모드는 pop 시점에 이미 제거되므로 no-op
+    void ack(String key, List<QueuedLog> entries);
+
+    long size(String key);
+}
@@ -0,0 +1,364 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 큐 entry(ErrorLogRequest) 전용 binary codec
+ * - 레이아웃: [magic 1B][version 1B][flags 1B] + 고정 순서 필드
+ *   문자열: varint(byte 길이 + 1, 0 = null) + UTF-8 / 시각: marker(0 = null) + zigzag varint(epoch sec, UTC) + varint(nano)
+ *   정수: marker(0 = null) + zigzag varint
+ * - 필드명을 싣지 않음 → JSON 대비 entry 크기 감소, Map 경유 없이 역직렬화 1회로 DTO 생성
+ * - stackTrace 가 임계값 이상이면 deflate (압축 효과가 있을 때만, flags 로 표시)
+ * - magic 이 아니면 이전 형식(JSON)으로 보고 legacy serializer 로 해석 → 배포 전 적재된 entry 도 처리
+ * - 필드 추가 시 version 을 올리고 이전 version 해석 분기 유지 (v2: acceptedAt 추가)
+ * - 해석할 수 없는 entry 는 null 반환 (pop 한 batch 전체가 실패하지 않도록, 호출 측에서 건너뜀)
+ * - 읽기는 항상 JSON / v1 / v2 모두 지원, 쓰기 형식은 WriteFormat 으로 선택
+ *   이전 버전 consumer 가 남아 있는 동안에는 그 버전이 읽을 수 있는 형식으로 기록 (롤링 배포 중 해석 불가 entry 방지)
+ */
+@Slf4j
+public class QueueEntryCodec implements RedisSerializer<ErrorLogRequest> {
+
+    static final byte MAGIC = (byte) 0xB7;
+    static final byte VERSION_1 = 1;
+    static final byte VERSION_2 = 2;
+
+    private static final int FLAG_STACK_DEFLATED = 1;
+    // 압축 해제 크기 상한 (손상 entry 로 인한 과도한 할당 방지)
+    private static final int MAX_INFLATED_BYTES = 64 * 1024 * 1024;
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+    private static final ThreadLocal<Inflater> INFLATER =
+            ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final RedisSerializer<Object> legacySerializer;
+    private final ObjectMapper objectMapper;
+    private final int compressThreshold;
+    private final WriteFormat writeFormat;
+
+    public QueueEntryCodec(RedisSerializer<Object> legacySerializer, ObjectMapper objectMapper, int compressThreshold) {
+        this(legacySerializer, objectMapper, compressThreshold, WriteFormat.BINARY_V2);
+    }
+
+    public QueueEntryCodec(RedisSerializer<Object> legacySerializer, ObjectMapper objectMapper, int compressThreshold,
+                           WriteFormat writeFormat) {
+        this.legacySerializer = legacySerializer;
+        this.objectMapper = objectMapper;
+        this.compressThreshold = compressThreshold;
+        this.writeFormat = writeFormat;
+    }
+
+    /**
+     * 큐 entry 기록 형식 (logcollector.redis.queue-entry-write-format)
+     * - JSON: codec 도입 이전 버전 consumer 도 해석 가능 (acceptedAt 미기록)
+     * - BINARY_V1: v1 까지만 읽는 버전 consumer 도 해석 가능 (acceptedAt 미기록 → lane 지연 metric 제외)
+     * - BINARY_V2: 현재 형식 (전 인스턴스 교체 후 명시적으로 설정할 때만)
+     * 설정이 비어 있으면 JSON (롤아웃 전 기본값 배포로 이전 버전 consumer 가 읽지 못하는 entry 가 생기지 않도록)
+     */
+    public enum WriteFormat {
+        JSON, BINARY_V1, BINARY_V2;
+
+        // "json" / "binary-v1" / "binary-v2"
+        public static WriteFormat from(String value) {
+            if (value == null || value.isBlank()) return JSON;
+            try {
+                return valueOf(value.trim().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("지원하지 않는 queue-entry-write-format 입니다: " + value
+                        + " (가능: json, binary-v1, binary-v2)");
+            }
+        }
+    }
+
+    @Override
+    public byte[] serialize(ErrorLogRequest value) throws SerializationException {
+        if (value == null) return new byte[0];
+        if (writeFormat == WriteFormat.JSON) return legacySerializer.serialize(value);
+
+        byte[] stack = utf8(value.getStackTrace());
+        byte[] deflated = (stack != null && compressThreshold > 0 && stack.length >= compressThreshold)
+                ? deflate(stack) : null;
+
+        Output out = new Output(128 + (stack == null ? 0 : (deflated != null ? deflated.length : stack.length)));
+        out.write(MAGIC);
+        out.write(writeFormat == WriteFormat.BINARY_V1 ? VERSION_1 : VERSION_2);
+        out.write(deflated != null ? FLAG_STACK_DEFLATED : 0);
+
+        out.writeBytes(utf8(value.getServiceName()));
+        out.writeBytes(utf8(value.getHostName()));
+        out.writeBytes(utf8(value.getLogLevel()));
+        out.writeBytes(utf8(value.getMessage()));
+        if (deflated != null) {
+            // 원본 길이 + 압축 bytes
+            out.writeVarint(stack.length);
+            out.writeBytes(deflated);
+        } else {
+            out.writeBytes(stack);
+        }
+        out.writeTime(value.getOccurredTime());
+        out.writeBytes(utf8(value.getLogHash()));
+        out.writeBytes(utf8(value.getErrorCode()));
+        out.writeBytes(utf8(value.getEffectiveLevel()));
+        out.writeInt(value.getOccurrenceCount());
+        out.writeTime(value.getFirstOccurredTime());
+        if (writeFormat != WriteFormat.BINARY_V1) {
+            out.writeLong(value.getAcceptedAt());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public ErrorLogRequest deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) return null;
+        try {
+            return (bytes[0] == MAGIC) ? decode(bytes) : decodeLegacy(bytes);
+        } catch (RuntimeException e) {
+            log.error("Queue entry decode failed. size={} msg={}", bytes.length, e.getMessage());
+            return null;
+        }
+    }
+
+    private ErrorLogRequest decode(byte[] bytes) {
+        Input in = new Input(bytes);
+        in.read(); // magic
+        int version = in.read();
+        if (version != VERSION_1 && version != VERSION_2) {
+            throw new SerializationException("Unsupported queue entry version: " + version);
+        }
+        int flags = in.read();
+
+        ErrorLogRequest request = new ErrorLogRequest();
+        request.setServiceName(in.readString());
+        request.setHostName(in.readString());
+        request.setLogLevel(in.readString());
+        request.setMessage(in.readString());
+        if ((flags & FLAG_STACK_DEFLATED) != 0) {
+            int rawLength = (int) in.readVarint();
+            byte[] compressed = in.readBytes();
+            request.setStackTrace(new String(inflate(compressed, rawLength), StandardCharsets.UTF_8));
+        } else {
+            request.setStackTrace(in.readString());
+        }
+        request.setOccurredTime(in.readTime());
+        request.setLogHash(in.readString());
+        request.setErrorCode(in.readString());
+        request.setEffectiveLevel(in.readString());
+        request.setOccurrenceCount(in.readInt());
+        request.setFirstOccurredTime(in.readTime());
+        if (version >= VERSION_2) {
+            request.setAcceptedAt(in.readLong());
+        }
+        return request;
+    }
+
+    // 이 codec 형식으로 기록된 bytes 인지 (이전 형식과 구분)
+    public static boolean isEncoded(byte[] bytes) {
+        return bytes != null && bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    private ErrorLogRequest decodeLegacy(byte[] bytes) {
+        Object value = legacySerializer.deserialize(bytes);
+        if (value == null || value instanceof ErrorLogRequest) {
+            return (ErrorLogRequest) value;
+        }
+        if (value instanceof Map) {
+            return objectMapper.convertValue(value, ErrorLogRequest.class);
+        }
+        throw new SerializationException("Unknown legacy queue entry type: " + value.getClass());
+    }
+
+    private static byte[] utf8(String s) {
+        return (s == null) ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 압축 결과가 원본보다 작을 때만 반환, 아니면 null
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+
+        byte[] buf = new byte[raw.length];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == buf.length) return null;
+            length += deflater.deflate(buf, length, buf.length - length);
+        }
+        return Arrays.copyOf(buf, length);
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) {
+        if (rawLength < 0 || rawLength > MAX_INFLATED_BYTES) {
+            throw new SerializationException("Invalid inflated length: " + rawLength);
+        }
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(compressed);
+
+        byte[] raw = new byte[rawLength];
+        int length = 0;
+        try {
+            while (length < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, length, rawLength - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                length += n;
+            }
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupted stackTrace block", e);
+        }
+        if (length != rawLength) {
+            throw new SerializationException("Truncated stackTrace block: " + length + "/" + rawLength);
+        }
+        return raw;
+    }
+
+    private static final class Output {
+        private byte[] buf;
+        private int pos;
+
+        private Output(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        private void write(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        private void writeVarint(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        // null = 0, 그 외 길이 + 1
+        private void writeBytes(byte[] bytes) {
+            if (bytes == null) {
+                writeVarint(0);
+                return;
+            }
+            writeVarint(bytes.length + 1L);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        private void writeTime(LocalDateTime time) {
+            if (time == null) {
+                write(0);
+                return;
+            }
+            write(1);
+            writeVarint(zigzag(time.toEpochSecond(ZoneOffset.UTC)));
+            writeVarint(time.getNano());
+        }
+
+        private void writeInt(Integer value) {
+            writeLong(value == null ? null : value.longValue());
+        }
+
+        private void writeLong(Long value) {
+            if (value == null) {
+                write(0);
+                return;
+            }
+            write(1);
+            writeVarint(zigzag(value));
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return (pos == buf.length) ? buf : Arrays.copyOf(buf, pos);
+        }
+
+        private static long zigzag(long v) {
+            return (v << 1) ^ (v >> 63);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] buf;
+        private int pos;
+
+        private Input(byte[] buf) {
+            this.buf = buf;
+        }
+
+        private int read() {
+            if (pos >= buf.length) throw new SerializationException("Truncated queue entry");
+            return buf[pos++] & 0xFF;
+        }
+
+        private long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw new SerializationException("Malformed varint");
+        }
+
+        private byte[] readBytes() {
+            long prefix = readVarint();
+            if (prefix == 0) return null;
+            long length = prefix - 1;
+            if (length > buf.length - pos) throw new SerializationException("Truncated queue entry");
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + (int) length);
+            pos += (int) length;
+            return bytes;
+        }
+
+        private String readString() {
+            long prefix = readVarint();
+            if (prefix == 0) return null;
+            long length = prefix - 1;
+            if (length > buf.length - pos) throw new SerializationException("Truncated queue entry");
+            String s = new String(buf, pos, (int) length, StandardCharsets.UTF_8);
+            pos += (int) length;
+            return s;
+        }
+
+        private LocalDateTime readTime() {
+            if (read() == 0) return null;
+            long epochSecond = unzigzag(readVarint());
+            int nano = (int) readVarint();
+            return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        }
+
+        private Integer readInt() {
+            Long value = readLong();
+            return (value == null) ? null : value.intValue();
+        }
+
+        private Long readLong() {
+            if (read() == 0) return null;
+            return unzigzag(readVarint());
+        }
+
+        private static long unzigzag(long v) {
+            return (v >>> 1) ^ -(v & 1);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class QueueEntryConverter {
+
+    // Redis 역직렬화 결과 → DTO (QueueEntryCodec 이 DTO 로 바로 해석, 해석 불가 entry 는 null)
+    public ErrorLogRequest convert(Object rawEntry) {
+        if (rawEntry == null) return null;
+        if (rawEntry instanceof ErrorLogRequest request) {
+            return request;
+        }
+        log.warn("Unknown type in Redis: {}", rawEntry.getClass());
+        return null;
+    }
+}
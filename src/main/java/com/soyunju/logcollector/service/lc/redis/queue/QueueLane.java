@@ -0,0 +1,22 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+/**
+ * 큐 우선순위 lane (effectiveLevel 기준). 선언 순서 = dequeue 우선순위
+ * - HIGH  : FATAL / CRITICAL
+ * - NORMAL: 그 외 (ERROR, fingerprint 없는 이전 버전 entry 포함)
+ */
+public enum QueueLane {
+    HIGH,
+    NORMAL;
+
+    public static QueueLane of(String effectiveLevel) {
+        if (effectiveLevel == null) return NORMAL;
+        String upper = effectiveLevel.toUpperCase();
+        return (upper.equals("FATAL") || upper.equals("CRITICAL")) ? HIGH : NORMAL;
+    }
+
+    // metric tag
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,171 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.soyunju.logcollector.config.LogCollectorLaneProperties;
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * [Flow: Queue - Priority lanes]
+ * effectiveLevel 기준으로 lane 별 큐 key 에 나눠 적재하고, consumer 는 가중치에 따라 꺼냄
+ * - normal lane 은 기존 queueKey 그대로 (배포 전 적재분 / lane 비활성 시에도 같은 key)
+ * - pop: lane 별 가중치 몫을 먼저 꺼내고(우선순위 순), 남은 자리는 high 부터 채움
+ *   → ERROR 적체가 있어도 FATAL 은 다음 배치에서 처리, FATAL 폭주 중에도 ERROR 는 최소 몫 보장
+ * - lane 안에서는 서비스별 하위 큐 + deficit round-robin (ServiceQueues, logcollector.fair-queue.enabled)
+ * - 모든 lane 이 비었으면 전 lane key(하위 큐 포함)에 blocking 대기 (high 우선)
+ * - lane 별 큐 길이는 주기적으로만 조회 (gauge / ingest admission backlog 가 공유)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueLanes {
+
+    private static final String HIGH_SUFFIX = ":high";
+    private static final QueueLane[] LANES = QueueLane.values();
+
+    private final LogQueue logQueue;
+    private final ServiceQueues serviceQueues;
+    private final LogCollectorRedisProperties redisProperties;
+    private final LogCollectorLaneProperties properties;
+    private final LcMetrics lcMetrics;
+
+    // 마지막으로 관측한 lane 별 큐 길이 (Redis 장애 중에는 마지막 값 유지)
+    private final AtomicLongArray depths = new AtomicLongArray(LANES.length);
+
+    @PostConstruct
+    void init() {
+        for (QueueLane lane : LANES) {
+            lcMetrics.bindQueueLaneDepth(lane.tag(), () -> depths.get(lane.ordinal()));
+        }
+    }
+
+    public String keyOf(QueueLane lane) {
+        String queueKey = redisProperties.getQueueKey();
+        return (lane == QueueLane.HIGH) ? queueKey + HIGH_SUFFIX : queueKey;
+    }
+
+    // lane key 또는 그 하위 큐 key → lane
+    public QueueLane laneOf(String key) {
+        return key.startsWith(keyOf(QueueLane.HIGH)) ? QueueLane.HIGH : QueueLane.NORMAL;
+    }
+
+    // 우선순위 순 key 목록 (lane key + 서비스 하위 큐)
+    public List<String> keys() {
+        List<String> keys = new ArrayList<>();
+        for (QueueLane lane : LANES) {
+            String laneKey = keyOf(lane);
+            keys.add(laneKey);
+            keys.addAll(serviceQueues.keysOf(laneKey));
+        }
+        return keys;
+    }
+
+    /**
+     * lane(+ 서비스 하위 큐) 별로 나눠 1 round trip 으로 적재 (실패 시 예외 전파 → 호출 측 spool fallback)
+     * - acceptedAt 이 없으면 지금 시각으로 기록
+     */
+    public void push(List<ErrorLogRequest> dtos) {
+        if (dtos == null || dtos.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        Map<String, List<ErrorLogRequest>> byKey = new LinkedHashMap<>();
+        for (ErrorLogRequest dto : dtos) {
+            if (dto.getAcceptedAt() == null) dto.setAcceptedAt(now);
+            QueueLane lane = properties.isEnabled() ? QueueLane.of(dto.getEffectiveLevel()) : QueueLane.NORMAL;
+            String key = serviceQueues.keyOf(keyOf(lane), dto.getServiceName());
+            byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(dto);
+        }
+        serviceQueues.register(byKey.keySet());
+        logQueue.push(byKey);
+    }
+
+    /**
+     * 가중치 dequeue (최대 max 건, lane 안에서는 ServiceQueues 의 서비스별 round-robin)
+     * 1차: lane 별 몫 = max * weight / 전체 weight (최소 1)
+     * 2차: 1차에서 몫을 다 채운 lane 만 대상으로, 남은 자리를 우선순위 순으로 채움
+     * 모두 비었으면 timeout 까지 blocking 대기
+     */
+    public List<QueuedLog> pop(int max, Duration timeout) {
+        List<QueuedLog> batch = new ArrayList<>(max);
+        int totalWeight = Arrays.stream(LANES).mapToInt(this::weightOf).sum();
+        boolean[] hasMore = new boolean[LANES.length];
+
+        for (QueueLane lane : LANES) {
+            int quota = Math.min(Math.max(1, max * weightOf(lane) / totalWeight), max - batch.size());
+            if (quota <= 0) {
+                hasMore[lane.ordinal()] = true;
+                continue;
+            }
+            List<QueuedLog> popped = serviceQueues.pop(keyOf(lane), quota);
+            hasMore[lane.ordinal()] = popped.size() >= quota;
+            batch.addAll(popped);
+        }
+
+        for (QueueLane lane : LANES) {
+            int remaining = max - batch.size();
+            if (remaining <= 0) break;
+            if (!hasMore[lane.ordinal()]) continue;
+            batch.addAll(serviceQueues.pop(keyOf(lane), remaining));
+        }
+
+        if (batch.isEmpty()) {
+            return logQueue.popBlocking(keys(), max, timeout);
+        }
+        return batch;
+    }
+
+    // 처리 완료 확정 (entry 가 꺼내진 key 별로)
+    public void ack(List<QueuedLog> batch) {
+        batch.stream()
+                .collect(Collectors.groupingBy(QueuedLog::getKey, LinkedHashMap::new, Collectors.toList()))
+                .forEach(logQueue::ack);
+    }
+
+    // lane / 서비스별 수락 → 처리 완료 지연 기록 (acceptedAt 없는 이전 형식 entry 는 제외)
+    public void recordLatency(List<QueuedLog> batch) {
+        long now = System.currentTimeMillis();
+        for (QueuedLog entry : batch) {
+            ErrorLogRequest request = entry.getRequest();
+            if (request.getAcceptedAt() == null) continue;
+            long latencyMs = Math.max(0, now - request.getAcceptedAt());
+            lcMetrics.recordQueueLaneLatency(laneOf(entry.getKey()).tag(), latencyMs);
+            lcMetrics.recordServiceQueueLatency(String.valueOf(request.getServiceName()), latencyMs);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${logcollector.lanes.depth-refresh-ms:500}")
+    public void refreshDepths() {
+        for (QueueLane lane : LANES) {
+            try {
+                String laneKey = keyOf(lane);
+                depths.set(lane.ordinal(), logQueue.size(laneKey) + serviceQueues.depthOf(laneKey));
+            } catch (Exception e) {
+                log.debug("lane 큐 길이 조회 실패 → 마지막 값 유지. lane={} msg={}", lane, e.getMessage());
+            }
+        }
+    }
+
+    // 전 lane 큐 길이 합 (마지막 관측값)
+    public long depth() {
+        long total = 0;
+        for (int i = 0; i < depths.length(); i++) {
+            total += depths.get(i);
+        }
+        return total;
+    }
+
+    private int weightOf(QueueLane lane) {
+        int weight = (lane == QueueLane.HIGH) ? properties.getHighWeight() : properties.getNormalWeight();
+        return Math.max(1, weight);
+    }
+}
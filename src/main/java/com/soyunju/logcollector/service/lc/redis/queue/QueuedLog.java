@@ -0,0 +1,18 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 큐에서 꺼낸 1건
+ * - id: stream 모드의 RecordId (ack 용). list 모드는 null
+ */
+@Getter
+@RequiredArgsConstructor
+public class QueuedLog {
+
+    private final String key;
+    private final String id;
+    private final ErrorLogRequest request;
+}
@@ -0,0 +1,243 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.soyunju.logcollector.config.LogCollectorFairQueueProperties;
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * [Flow: Queue - Per-service fair queuing]
+ * lane 안에서 서비스별 하위 큐("{laneKey}:svc:{serviceName}")로 나눠 적재하고 deficit round-robin 으로 꺼냄
+ * (logcollector.fair-queue.enabled)
+ * - 한 서비스가 폭주해도 그 서비스 하위 큐만 길어짐 → 다른 서비스는 매 round 자기 몫(quantum * weight)을 처리
+ * - 하위 큐 key 는 registry(ZSET, score = 마지막 등록 시각)로 관리: producer 는 적재 전에 등록
+ *   → registry 에 없는 비어 있지 않은 하위 큐가 생기지 않음
+ * - consumer 는 registry / 길이를 주기적으로 갱신 (pop 마다 조회하지 않음)
+ * - 오래 등록이 없고 비어 있는 하위 큐는 registry 에서 제거 (제거 직후 재확인해 적재분이 있으면 복구)
+ * - lane key 자체에 남은 entry(비활성 시 / 도입 전 적재분)도 함께 비움
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServiceQueues {
+
+    private static final String SERVICE_INFIX = ":svc:";
+    private static final String REGISTRY_SUFFIX = ":services";
+
+    private final LogQueue logQueue;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LogCollectorRedisProperties redisProperties;
+    private final LogCollectorFairQueueProperties properties;
+    private final LcMetrics lcMetrics;
+
+    // producer: 이 프로세스가 registry 에 마지막으로 등록한 시각 (key → epoch ms)
+    private final ConcurrentHashMap<String, Long> registeredAt = new ConcurrentHashMap<>();
+
+    // consumer: lane key → 하위 큐 (key 순 정렬, refresh 가 통째로 교체)
+    private volatile Map<String, List<SubQueue>> subQueues = Map.of();
+    // 하위 큐 상태 (refresh 사이에도 deficit 유지)
+    private final ConcurrentHashMap<String, SubQueue> states = new ConcurrentHashMap<>();
+    // lane key → round-robin 위치 (pop 은 consumer 스레드 1개에서만 호출)
+    private final Map<String, Cursor> cursors = new HashMap<>();
+    // service → 전 lane 하위 큐 길이 합 (gauge)
+    private final ConcurrentHashMap<String, AtomicLong> serviceDepths = new ConcurrentHashMap<>();
+
+    public String keyOf(String laneKey, String serviceName) {
+        if (!properties.isEnabled()) return laneKey;
+        return laneKey + SERVICE_INFIX + (serviceName == null ? "" : serviceName);
+    }
+
+    /**
+     * 하위 큐 key 를 registry 에 등록 (적재 전에 호출, 실패 시 예외 전파 → 호출 측 spool fallback)
+     * - key 당 registration-refresh-seconds 에 1회만 ZADD (그 사이 적재는 round trip 추가 없음)
+     */
+    public void register(Collection<String> keys) {
+        long now = System.currentTimeMillis();
+        long refreshMs = properties.getRegistrationRefreshSeconds() * 1000;
+        List<String> due = keys.stream()
+                .filter(k -> k.contains(SERVICE_INFIX))
+                .filter(k -> {
+                    Long at = registeredAt.get(k);
+                    return at == null || now - at >= refreshMs;
+                })
+                .toList();
+        if (due.isEmpty()) return;
+
+        Set<ZSetOperations.TypedTuple<String>> tuples = due.stream()
+                .map(k -> (ZSetOperations.TypedTuple<String>) new DefaultTypedTuple<>(k, (double) now))
+                .collect(Collectors.toSet());
+        stringRedisTemplate.opsForZSet().add(registryKey(), tuples);
+        due.forEach(k -> registeredAt.put(k, now));
+    }
+
+    // lane 의 하위 큐 key 목록 (blocking 대기 대상)
+    public List<String> keysOf(String laneKey) {
+        List<SubQueue> queues = subQueues.get(laneKey);
+        return (queues == null) ? List.of() : queues.stream().map(q -> q.key).toList();
+    }
+
+    // lane 의 하위 큐 길이 합 (마지막 관측값)
+    public long depthOf(String laneKey) {
+        List<SubQueue> queues = subQueues.get(laneKey);
+        return (queues == null) ? 0 : queues.stream().mapToLong(q -> q.depth).sum();
+    }
+
+    /**
+     * lane 에서 최대 max 건
+     * - 하위 큐가 없으면 lane key 에서 바로
+     * - 있으면 lane key 잔여분 → 하위 큐 deficit round-robin
+     *   방문 시 deficit += quantum * weight, deficit 만큼 꺼내고 차감. 비었으면 deficit 0 + 다음 refresh 까지 건너뜀
+     *   배치가 차서 중간에 멈추면 다음 pop 은 같은 하위 큐부터 (남은 deficit 이어서, quantum 재지급 없음)
+     */
+    public List<QueuedLog> pop(String laneKey, int max) {
+        List<SubQueue> queues = subQueues.get(laneKey);
+        if (queues == null || queues.isEmpty()) return logQueue.pop(laneKey, max);
+
+        List<QueuedLog> result = new ArrayList<>(logQueue.pop(laneKey, max));
+        int n = queues.size();
+        Cursor cursor = cursors.computeIfAbsent(laneKey, k -> new Cursor());
+        int index = cursor.index % n;
+        boolean resume = cursor.resume;
+        int idlePasses = 0;
+
+        while (result.size() < max && idlePasses < n) {
+            SubQueue queue = queues.get(index);
+            if (queue.empty) {
+                idlePasses++;
+                index = (index + 1) % n;
+                resume = false;
+                continue;
+            }
+            idlePasses = 0;
+
+            if (!resume) queue.deficit += (long) Math.max(1, properties.getQuantum()) * weightOf(queue.service);
+            resume = false;
+
+            int take = (int) Math.min(queue.deficit, max - result.size());
+            List<QueuedLog> popped = logQueue.pop(queue.key, take);
+            result.addAll(popped);
+            queue.deficit -= popped.size();
+
+            if (popped.size() < take) {
+                queue.empty = true;
+                queue.deficit = 0;
+            } else if (queue.deficit > 0) {
+                // 배치가 찼고 몫이 남음 → 다음 pop 에서 이어서
+                resume = true;
+                break;
+            }
+            index = (index + 1) % n;
+        }
+
+        cursor.index = index;
+        cursor.resume = resume;
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${logcollector.fair-queue.refresh-ms:1000}")
+    public void refresh() {
+        Set<String> keys;
+        try {
+            keys = stringRedisTemplate.opsForZSet().range(registryKey(), 0, -1);
+        } catch (Exception e) {
+            log.debug("하위 큐 registry 조회 실패 → 이전 목록 유지. msg={}", e.getMessage());
+            return;
+        }
+        if (keys == null) keys = Set.of();
+
+        Map<String, List<SubQueue>> byLane = new HashMap<>();
+        Map<String, Long> depthByService = new HashMap<>();
+        for (String key : new TreeSet<>(keys)) {
+            SubQueue queue = states.computeIfAbsent(key, SubQueue::new);
+            try {
+                queue.depth = logQueue.size(key);
+                if (queue.depth > 0) queue.empty = false;
+            } catch (Exception e) {
+                log.debug("하위 큐 길이 조회 실패 → 마지막 값 유지. key={} msg={}", key, e.getMessage());
+            }
+            byLane.computeIfAbsent(queue.laneKey, k -> new ArrayList<>()).add(queue);
+            depthByService.merge(queue.service, queue.depth, Long::sum);
+        }
+        states.keySet().retainAll(keys);
+        subQueues = byLane;
+
+        depthByService.forEach((service, depth) -> serviceDepth(service).set(depth));
+        serviceDepths.forEach((service, depth) -> {
+            if (!depthByService.containsKey(service)) depth.set(0);
+        });
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        long cutoff = now - properties.getIdleExpireSeconds() * 1000;
+        try {
+            Set<String> idle = stringRedisTemplate.opsForZSet().rangeByScore(registryKey(), 0, cutoff);
+            if (idle == null) return;
+            for (String key : idle) {
+                if (logQueue.size(key) > 0) continue;
+                stringRedisTemplate.opsForZSet().remove(registryKey(), key);
+                // 제거와 적재가 겹친 경우 복구
+                if (logQueue.size(key) > 0) {
+                    stringRedisTemplate.opsForZSet().add(registryKey(), key, now);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("하위 큐 registry 정리 실패. msg={}", e.getMessage());
+        }
+    }
+
+    // 하위 큐 key 면 serviceName, 아니면 null
+    public static String serviceOf(String key) {
+        int i = key.indexOf(SERVICE_INFIX);
+        return (i < 0) ? null : key.substring(i + SERVICE_INFIX.length());
+    }
+
+    private AtomicLong serviceDepth(String service) {
+        return serviceDepths.computeIfAbsent(service, s -> {
+            AtomicLong depth = new AtomicLong();
+            lcMetrics.bindServiceQueueDepth(s, depth::get);
+            return depth;
+        });
+    }
+
+    private int weightOf(String service) {
+        return Math.max(1, properties.getServiceWeights().getOrDefault(service, properties.getDefaultWeight()));
+    }
+
+    private String registryKey() {
+        return redisProperties.getQueueKey() + REGISTRY_SUFFIX;
+    }
+
+    private static final class SubQueue {
+        private final String key;
+        private final String laneKey;
+        private final String service;
+        private long deficit;
+        private volatile long depth;
+        // 마지막 pop 에서 비어 있었음 (refresh 에서 길이가 보이면 해제)
+        private volatile boolean empty;
+
+        private SubQueue(String key) {
+            this.key = key;
+            this.laneKey = key.substring(0, key.indexOf(SERVICE_INFIX));
+            this.service = serviceOf(key);
+        }
+    }
+
+    private static final class Cursor {
+        private int index;
+        private boolean resume;
+    }
+}
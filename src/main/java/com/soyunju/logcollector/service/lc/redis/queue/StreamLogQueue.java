@@ -0,0 +1,383 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis Streams consumer group 기반 큐
+ * - XADD 로 적재, XREADGROUP 으로 인스턴스별 분배 (같은 entry 를 두 consumer 가 받지 않음)
+ * - 처리 완료 후 XACK + XDEL (pipeline 1 round trip) → ack 전 장애 시 entry 는 pending 으로 남음
+ * - 죽은 consumer 의 pending entry 는 min-idle 경과 후 다른 consumer 가 XPENDING + XCLAIM 으로 회수
+ *   (Spring Data Redis 에 XAUTOCLAIM 바인딩이 없어 동일 동작을 XPENDING 페이지 순회 + XCLAIM 으로 구현)
+ * - stream-max-deliveries 번 전달돼도 ack 되지 않은 entry 는 {key}:dead 로 이동
+ * - 해석할 수 없는 entry 도 ack 하지 않음 (신규 형식을 읽는 consumer 가 회수하거나 결국 {key}:dead 로 이동)
+ * - 읽었지만 아직 ack 하지 않은 자기 entry(stripe 큐 대기 / 처리 중)는 회수하지 않고, idle 을 주기적으로 초기화
+ *   → 처리가 느려 stripe 큐 대기가 min-idle 을 넘어도 자신 / 다른 consumer 가 다시 처리하지 않음 (중복 반영, 전달 횟수 증가 방지)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "logcollector.redis", name = "queue-mode", havingValue = "stream")
+public class StreamLogQueue implements LogQueue {
+
+    private static final String PAYLOAD_FIELD = "payload";
+    // 최대 전달 횟수를 넘긴 entry 보관 stream
+    private static final String DEAD_SUFFIX = ":dead";
+
+    private final RedisTemplate<String, ErrorLogRequest> errorLogRequestRedisTemplate;
+    private final LogCollectorRedisProperties redisProperties;
+    private final QueueEntryConverter converter;
+    private final LcMetrics lcMetrics;
+    private final String consumerName;
+
+    private final Set<String> initializedKeys = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastReclaimAt = new ConcurrentHashMap<>();
+    // key 별 XPENDING 이어보기 위치 (null = 처음부터)
+    private final Map<String, String> reclaimCursor = new ConcurrentHashMap<>();
+    // key 별 읽었지만 아직 ack 하지 않은 entry id (이 인스턴스 메모리에 있는 것)
+    private final Map<String, Set<String>> held = new ConcurrentHashMap<>();
+    private volatile long lastHeldRefreshAt;
+
+    public StreamLogQueue(RedisTemplate<String, ErrorLogRequest> errorLogRequestRedisTemplate,
+                          LogCollectorRedisProperties redisProperties,
+                          QueueEntryConverter converter,
+                          LcMetrics lcMetrics) {
+        this.errorLogRequestRedisTemplate = errorLogRequestRedisTemplate;
+        this.redisProperties = redisProperties;
+        this.converter = converter;
+        this.lcMetrics = lcMetrics;
+        this.consumerName = resolveConsumerName(redisProperties.getStreamConsumerName());
+        log.info("[QUEUE][STREAM] consumer group={}, consumer={}", redisProperties.getStreamGroup(), consumerName);
+    }
+
+    // key 별 XADD 를 pipeline 으로 묶어 1 round trip
+    @Override
+    public void push(Map<String, List<ErrorLogRequest>> entriesByKey) {
+        if (entriesByKey.values().stream().allMatch(e -> e == null || e.isEmpty())) return;
+
+        errorLogRequestRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                StreamOperations<String, Object, Object> ops =
+                        ((RedisOperations<String, ErrorLogRequest>) operations).opsForStream();
+                entriesByKey.forEach((key, entries) -> {
+                    if (entries == null) return;
+                    for (ErrorLogRequest entry : entries) {
+                        ops.add(StreamRecords.newRecord()
+                                .in(key)
+                                .ofMap(Collections.<Object, Object>singletonMap(PAYLOAD_FIELD, entry)));
+                    }
+                });
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public List<QueuedLog> pop(String key, int max) {
+        ensureGroup(key);
+
+        List<QueuedLog> result = new ArrayList<>(max);
+        reclaimIfDue(key, max, result);
+        if (result.size() >= max) return result;
+
+        read(key, StreamReadOptions.empty().count(max - result.size()), result);
+        return result;
+    }
+
+    // XREADGROUP BLOCK ... STREAMS key1 key2 ... (COUNT 는 stream 별 적용)
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<QueuedLog> popBlocking(List<String> keys, int max, Duration timeout) {
+        keys.forEach(this::ensureGroup);
+
+        StreamOffset<String>[] offsets = keys.stream()
+                .map(k -> StreamOffset.create(k, ReadOffset.lastConsumed()))
+                .toArray(StreamOffset[]::new);
+        List<MapRecord<String, Object, Object>> records = errorLogRequestRedisTemplate.opsForStream().read(
+                Consumer.from(redisProperties.getStreamGroup(), consumerName),
+                StreamReadOptions.empty().count(max).block(timeout),
+                offsets
+        );
+
+        List<QueuedLog> result = new ArrayList<>(max);
+        if (records == null) return result;
+        for (MapRecord<String, Object, Object> record : records) {
+            addAll(result, record.getStream(), List.of(record));
+        }
+        return result;
+    }
+
+    // XACK + XDEL 을 pipeline 으로 묶어 배치당 1 round trip
+    @Override
+    public void ack(String key, List<QueuedLog> entries) {
+        if (entries == null || entries.isEmpty()) return;
+
+        RecordId[] ids = entries.stream()
+                .map(QueuedLog::getId)
+                .filter(Objects::nonNull)
+                .map(RecordId::of)
+                .toArray(RecordId[]::new);
+        if (ids.length == 0) return;
+
+        // ack 실패여도 더 이상 이 인스턴스가 처리하지 않으므로 회수 대상으로 돌려놓음
+        Set<String> heldIds = held.get(key);
+        if (heldIds != null) {
+            for (RecordId id : ids) heldIds.remove(id.getValue());
+        }
+
+        String group = redisProperties.getStreamGroup();
+        errorLogRequestRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                StreamOperations<String, Object, Object> ops =
+                        ((RedisOperations<String, ErrorLogRequest>) operations).opsForStream();
+                ops.acknowledge(key, group, ids);
+                ops.delete(key, ids);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public long size(String key) {
+        Long size = errorLogRequestRedisTemplate.opsForStream().size(key);
+        return size == null ? 0L : size;
+    }
+
+    private void read(String key, StreamReadOptions options, List<QueuedLog> result) {
+        StreamOperations<String, Object, Object> ops = errorLogRequestRedisTemplate.opsForStream();
+        List<MapRecord<String, Object, Object>> records = ops.read(
+                Consumer.from(redisProperties.getStreamGroup(), consumerName),
+                options,
+                StreamOffset.create(key, ReadOffset.lastConsumed())
+        );
+        addAll(result, key, records);
+    }
+
+    /**
+     * 죽은 consumer 의 pending entry 회수 (reclaim-interval 마다)
+     * - XPENDING 을 마지막으로 본 id 부터 페이지 단위로 이어서 조회 → 처리 중인 앞쪽 entry 뒤에 있는 idle entry 도 회수
+     * - min-idle 이상 ack 되지 않은 entry 만 XCLAIM → 살아있는 consumer 의 처리 중 entry 는 건드리지 않음
+     * - 전달 횟수가 stream-max-deliveries 이상이면 회수 대신 {key}:dead 로 이동 (poison entry 가 무한히 회수되지 않도록)
+     * - pending 이 없는 오래된 idle consumer 는 group 에서 삭제
+     */
+    private void reclaimIfDue(String key, int max, List<QueuedLog> result) {
+        long now = System.currentTimeMillis();
+        long intervalMs = Duration.ofSeconds(redisProperties.getStreamReclaimIntervalSeconds()).toMillis();
+        Long last = lastReclaimAt.get(key);
+        if (last != null && now - last < intervalMs) return;
+        lastReclaimAt.put(key, now);
+
+        String group = redisProperties.getStreamGroup();
+        Duration minIdle = Duration.ofSeconds(redisProperties.getStreamClaimMinIdleSeconds());
+        StreamOperations<String, Object, Object> ops = errorLogRequestRedisTemplate.opsForStream();
+
+        // id → XPENDING 시점 전달 횟수
+        Map<RecordId, Long> idle = new LinkedHashMap<>();
+        // 시작 id 는 inclusive 로 조회되므로 페이지 크기 2 이상 (이전 페이지 마지막 entry 1건은 건너뜀)
+        int pageSize = Math.max(2, max);
+        String from = reclaimCursor.get(key);
+        for (int page = 0; page < Math.max(1, redisProperties.getStreamReclaimScanPages()) && idle.size() < max; page++) {
+            Range<String> range = (from == null)
+                    ? Range.unbounded()
+                    : Range.of(Range.Bound.inclusive(from), Range.Bound.unbounded());
+            PendingMessages pending = ops.pending(key, group, range, pageSize);
+            for (PendingMessage p : pending) {
+                if (p.getIdAsString().equals(from)) continue;
+                // 이 인스턴스가 아직 처리 중인 entry 는 회수하지 않음
+                if (isHeld(key, p.getIdAsString())) continue;
+                if (p.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                    idle.put(p.getId(), p.getTotalDeliveryCount());
+                }
+            }
+            if (pending.size() < pageSize) {
+                // 끝까지 봤으면 다음 회수는 처음부터
+                from = null;
+                break;
+            }
+            from = pending.get(pending.size() - 1).getIdAsString();
+        }
+        if (from == null) {
+            reclaimCursor.remove(key);
+        } else {
+            reclaimCursor.put(key, from);
+        }
+
+        if (!idle.isEmpty()) {
+            List<MapRecord<String, Object, Object>> claimed =
+                    ops.claim(key, group, consumerName, minIdle, idle.keySet().toArray(RecordId[]::new));
+            List<MapRecord<String, Object, Object>> live = new ArrayList<>();
+            List<RecordId> dead = new ArrayList<>();
+            if (claimed != null) {
+                for (MapRecord<String, Object, Object> record : claimed) {
+                    if (idle.getOrDefault(record.getId(), 0L) >= redisProperties.getStreamMaxDeliveries()) {
+                        dead.add(record.getId());
+                    } else {
+                        live.add(record);
+                    }
+                }
+            }
+            if (!dead.isEmpty()) {
+                deadLetter(key, group, dead);
+                lcMetrics.incStreamReclaim("dead_letter", dead.size());
+                log.error("[QUEUE][STREAM][DEAD] key={}, moved={}, maxDeliveries={}",
+                        key, dead.size(), redisProperties.getStreamMaxDeliveries());
+            }
+            if (!live.isEmpty()) {
+                lcMetrics.incStreamReclaim("claimed", live.size());
+                log.warn("[QUEUE][STREAM][RECLAIM] key={}, claimed={}", key, live.size());
+                addAll(result, key, live);
+            }
+        }
+
+        deleteIdleConsumers(key, group);
+    }
+
+    /**
+     * 처리 대기 중인 자기 entry 의 idle 초기화 (stream-claim-min-idle 의 1/3 주기)
+     * - XCLAIM JUSTID (자신에게, min-idle 0) 는 전달 횟수를 올리지 않고 idle 만 0 으로 되돌림
+     * - 결과에 없는 id 는 이미 ack / 삭제된 entry → 목록에서 제거
+     */
+    @Scheduled(fixedDelay = 1_000)
+    public void refreshHeld() {
+        long now = System.currentTimeMillis();
+        long intervalMs = Duration.ofSeconds(redisProperties.getStreamClaimMinIdleSeconds()).toMillis() / 3;
+        if (now - lastHeldRefreshAt < intervalMs) return;
+        lastHeldRefreshAt = now;
+
+        String group = redisProperties.getStreamGroup();
+        held.forEach((key, ids) -> {
+            if (ids.isEmpty()) return;
+            try {
+                refreshHeld(key, group, ids);
+            } catch (Exception e) {
+                log.warn("[QUEUE][STREAM] 처리 대기 entry idle 갱신 실패. key={}, size={}, err={}", key, ids.size(), e.toString());
+            }
+        });
+    }
+
+    private void refreshHeld(String key, String group, Set<String> ids) {
+        List<String> snapshot = List.copyOf(ids);
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        RecordId[] idArray = snapshot.stream().map(RecordId::of).toArray(RecordId[]::new);
+
+        List<RecordId> refreshed = errorLogRequestRedisTemplate.execute((RedisCallback<List<RecordId>>) connection ->
+                connection.streamCommands().xClaimJustId(rawKey, group, consumerName,
+                        RedisStreamCommands.XClaimOptions.minIdle(Duration.ZERO).ids(idArray)));
+
+        Set<String> alive = new HashSet<>();
+        if (refreshed != null) refreshed.forEach(id -> alive.add(id.getValue()));
+        for (String id : snapshot) {
+            if (!alive.contains(id)) ids.remove(id);
+        }
+    }
+
+    private boolean isHeld(String key, String id) {
+        Set<String> ids = held.get(key);
+        return ids != null && ids.contains(id);
+    }
+
+    // 원본 bytes 를 그대로 {key}:dead 로 복사 후 XACK + XDEL (해석 불가 / 다른 version entry 도 보존)
+    private void deadLetter(String key, String group, List<RecordId> ids) {
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        byte[] deadKey = (key + DEAD_SUFFIX).getBytes(StandardCharsets.UTF_8);
+        RecordId[] idArray = ids.toArray(RecordId[]::new);
+
+        errorLogRequestRedisTemplate.execute((RedisCallback<Void>) connection -> {
+            RedisStreamCommands streams = connection.streamCommands();
+            for (RecordId id : idArray) {
+                List<ByteRecord> records = streams.xRange(rawKey, Range.closed(id.getValue(), id.getValue()));
+                if (records == null) continue;
+                for (ByteRecord record : records) {
+                    streams.xAdd(StreamRecords.rawBytes(record.getValue()).withStreamKey(deadKey));
+                }
+            }
+            streams.xAck(rawKey, group, idArray);
+            streams.xDel(rawKey, idArray);
+            connection.keyCommands().expire(deadKey, redisProperties.dlqTtl().getSeconds());
+            return null;
+        });
+    }
+
+    // pending 이 없고 오래 idle 인 consumer 삭제 (pod 교체로 남은 이름 정리, pending 이 있으면 회수된 뒤 삭제)
+    private void deleteIdleConsumers(String key, String group) {
+        long idleMs = Duration.ofSeconds(redisProperties.getStreamConsumerIdleDeleteSeconds()).toMillis();
+        if (idleMs <= 0) return;
+
+        try {
+            StreamOperations<String, Object, Object> ops = errorLogRequestRedisTemplate.opsForStream();
+            StreamInfo.XInfoConsumers consumers = ops.consumers(key, group);
+            int deleted = 0;
+            for (StreamInfo.XInfoConsumer c : consumers.stream().toList()) {
+                if (consumerName.equals(c.consumerName())) continue;
+                if (c.pendingCount() > 0 || c.idleTimeMs() < idleMs) continue;
+                ops.deleteConsumer(key, Consumer.from(group, c.consumerName()));
+                deleted++;
+            }
+            if (deleted > 0) {
+                lcMetrics.incStreamReclaim("consumer_deleted", deleted);
+                log.info("[QUEUE][STREAM][CONSUMER] key={}, deletedIdleConsumers={}", key, deleted);
+            }
+        } catch (Exception e) {
+            log.warn("[QUEUE][STREAM][CONSUMER] idle consumer 정리 실패. key={}, err={}", key, e.toString());
+        }
+    }
+
+    private void addAll(List<QueuedLog> result, String key, List<MapRecord<String, Object, Object>> records) {
+        if (records == null) return;
+        for (MapRecord<String, Object, Object> record : records) {
+            ErrorLogRequest request = converter.convert(record.getValue().get(PAYLOAD_FIELD));
+            if (request != null) {
+                result.add(new QueuedLog(key, record.getId().getValue(), request));
+                held.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(record.getId().getValue());
+            } else {
+                // 변환 불가 entry 는 ack 하지 않고 pending 에 남김
+                // → min-idle 후 다른 consumer(신규 형식을 읽는 버전)가 회수, stream-max-deliveries 도달 시 {key}:dead 로 이동
+                log.warn("[QUEUE][STREAM] 해석 불가 entry 는 pending 유지. key={}, id={}", key, record.getId().getValue());
+            }
+        }
+    }
+
+    // consumer group 생성 (MKSTREAM). 이미 있으면 BUSYGROUP → 무시
+    private void ensureGroup(String key) {
+        if (initializedKeys.contains(key)) return;
+        try {
+            errorLogRequestRedisTemplate.opsForStream()
+                    .createGroup(key, ReadOffset.from("0"), redisProperties.getStreamGroup());
+        } catch (Exception e) {
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    && (e.getCause() == null || !String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                throw e;
+            }
+        }
+        initializedKeys.add(key);
+    }
+
+    private static String resolveConsumerName(String configured) {
+        if (StringUtils.hasText(configured)) return configured;
+        String hostname = System.getenv("HOSTNAME"); // k8s pod name
+        if (StringUtils.hasText(hostname)) return hostname;
+        return "lc-" + UUID.randomUUID();
+    }
+}
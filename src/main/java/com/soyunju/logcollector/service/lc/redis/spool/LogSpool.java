@@ -0,0 +1,261 @@
+package com.soyunju.logcollector.service.lc.redis.spool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soyunju.logcollector.config.LogCollectorSpoolProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.service.lc.redis.queue.QueueEntryCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Redis 장애 시 로그를 임시 보관하는 로컬 append-only spool
+ * - memory-mapped segment 파일에 순차 기록 (요청 스레드는 page cache 쓰기만 수행 → DB 동기 저장 대비 수 µs)
+ * - 가장 오래된 segment 부터 LogSpoolDrainer 가 Redis 큐로 재적재, 다 비운 segment 는 삭제
+ * - 미처리 레코드가 남아 있는 동안(hasBacklog)은 신규 로그도 spool 로 보내 Redis timeout 대기를 반복하지 않음
+ * - 용량(maxSegments) 초과 / 비활성 / 초기화 실패 시 append 결과가 0 → 호출 측에서 DB fallback
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogSpool {
+
+    private static final String SEGMENT_PREFIX = "spool-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final LogCollectorSpoolProperties properties;
+    private final QueueEntryCodec queueEntryCodec;
+    private final ObjectMapper objectMapper;
+    private final LcMetrics lcMetrics;
+
+    // 오래된 순. 마지막 segment 가 쓰기 대상
+    private final Deque<SpoolSegment> segments = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+
+    private Path dir;
+    private int segmentSize;
+    private long nextSequence;
+    private volatile boolean ready;
+
+    // lock 없이 읽는 값 (hasBacklog / gauge)
+    private volatile long pendingRecords;
+    private volatile long pendingBytes;
+    private volatile int segmentCount;
+
+    @PostConstruct
+    void init() {
+        lcMetrics.bindSpoolGauges(() -> pendingRecords, () -> pendingBytes, () -> segmentCount);
+        if (!properties.isEnabled()) return;
+
+        long size = (long) Math.max(1, properties.getSegmentSizeMb()) * 1024 * 1024;
+        segmentSize = (int) Math.min(size, Integer.MAX_VALUE - 8);
+        dir = Paths.get(properties.getDir()).toAbsolutePath();
+        try {
+            Files.createDirectories(dir);
+            recover();
+            ready = true;
+            if (pendingRecords > 0) {
+                log.info("spool 복구 - dir={} segments={} pendingRecords={}", dir, segmentCount, pendingRecords);
+            }
+        } catch (IOException e) {
+            log.error("spool 초기화 실패 → Redis 장애 시 DB fallback 사용. dir={}", dir, e);
+        }
+    }
+
+    private synchronized void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> sequenceOf(p) >= 0)
+                    .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                    .toList();
+        }
+
+        for (Path file : files) {
+            long sequence = sequenceOf(file);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            try {
+                SpoolSegment segment = SpoolSegment.open(file, sequence);
+                if (segment.isDrained()) {
+                    segment.delete();
+                } else {
+                    segments.addLast(segment);
+                }
+            } catch (IOException e) {
+                // 읽을 수 없는 segment 는 삭제하지 않고 보존 (수동 확인용)
+                log.error("spool segment 복구 실패 → 건너뜀. file={} msg={}", file, e.getMessage());
+            }
+        }
+        refreshStats();
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        for (SpoolSegment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+        ready = false;
+    }
+
+    /**
+     * 앞에서부터 순서대로 기록
+     * @return 기록된 건수 (앞쪽 n건). 나머지는 호출 측에서 다른 경로로 처리
+     */
+    public int append(List<ErrorLogRequest> dtos) {
+        if (!ready || dtos == null || dtos.isEmpty()) return 0;
+
+        // 직렬화는 lock 밖에서 (큐 entry 와 같은 binary codec)
+        List<byte[]> payloads = new ArrayList<>(dtos.size());
+        for (ErrorLogRequest dto : dtos) {
+            try {
+                payloads.add(queueEntryCodec.serialize(dto));
+            } catch (RuntimeException e) {
+                log.warn("spool 직렬화 실패. msg={}", e.getMessage());
+                break;
+            }
+        }
+
+        int appended = 0;
+        synchronized (this) {
+            if (!ready) return 0;
+            for (byte[] payload : payloads) {
+                if (!appendOne(payload)) break;
+                appended++;
+            }
+            refreshStats();
+        }
+
+        if (appended > 0) lcMetrics.incSpoolAppend("success", appended);
+        if (appended < dtos.size()) lcMetrics.incSpoolAppend("rejected", dtos.size() - appended);
+        return appended;
+    }
+
+    private boolean appendOne(byte[] payload) {
+        SpoolSegment tail = segments.peekLast();
+        if (tail != null && tail.append(payload, crc)) return true;
+
+        if (payload.length > segmentSize - SpoolSegment.HEADER_SIZE - SpoolSegment.RECORD_OVERHEAD) return false;
+        if (segments.size() >= Math.max(1, properties.getMaxSegments())) return false;
+
+        try {
+            if (tail != null) tail.force();
+            long sequence = nextSequence++;
+            SpoolSegment segment = SpoolSegment.create(dir.resolve(fileName(sequence)), sequence, segmentSize);
+            segments.addLast(segment);
+            return segment.append(payload, crc);
+        } catch (IOException e) {
+            log.error("spool segment 생성 실패. dir={} msg={}", dir, e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean hasBacklog() {
+        return pendingRecords > 0;
+    }
+
+    public long pendingRecords() {
+        return pendingRecords;
+    }
+
+    /**
+     * 가장 오래된 segment 에서 최대 max 건을 읽음 (commit 전까지 다시 읽힘)
+     * - 한 batch 는 한 segment 범위 안에서만 구성
+     */
+    synchronized SpoolBatch peek(int max) {
+        while (true) {
+            SpoolSegment head = segments.peekFirst();
+            if (head == null) return SpoolBatch.EMPTY;
+
+            if (head.isDrained()) {
+                // 쓰기 대상 segment 는 유지, 이미 다 비운 이전 segment 만 정리
+                if (segments.size() == 1) return SpoolBatch.EMPTY;
+                segments.pollFirst().delete();
+                refreshStats();
+                continue;
+            }
+
+            List<byte[]> payloads = new ArrayList<>(Math.min(max, head.pendingRecords()));
+            int endOffset = head.read(max, payloads);
+            return new SpoolBatch(head, endOffset, payloads);
+        }
+    }
+
+    /**
+     * batch 의 레코드를 역직렬화. 깨진 레코드는 건너뜀 (CRC 는 기록 시점 검증 완료)
+     * - codec 도입 전 JSON 으로 기록된 레코드도 해석
+     */
+    List<ErrorLogRequest> decode(SpoolBatch batch) {
+        List<ErrorLogRequest> requests = new ArrayList<>(batch.size());
+        for (byte[] payload : batch.payloads()) {
+            ErrorLogRequest request = null;
+            try {
+                request = QueueEntryCodec.isEncoded(payload)
+                        ? queueEntryCodec.deserialize(payload)
+                        : objectMapper.readValue(payload, ErrorLogRequest.class);
+            } catch (IOException e) {
+                log.warn("spool 레코드 역직렬화 실패. segment={} msg={}", batch.segment().path(), e.getMessage());
+            }
+            if (request == null) {
+                lcMetrics.incSpoolCorrupt();
+                continue;
+            }
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    /**
+     * Redis 재적재 성공 후 호출: readOffset 전진, 다 비운 이전 segment 삭제
+     */
+    synchronized void commit(SpoolBatch batch) {
+        SpoolSegment segment = batch.segment();
+        if (!segments.contains(segment)) return;
+
+        segment.commitRead(batch.endOffset(), batch.size());
+        if (segment.isDrained() && segments.peekLast() != segment) {
+            segments.remove(segment);
+            segment.delete();
+        }
+        refreshStats();
+    }
+
+    private void refreshStats() {
+        long records = 0;
+        long bytes = 0;
+        for (SpoolSegment segment : segments) {
+            records += segment.pendingRecords();
+            bytes += segment.pendingBytes();
+        }
+        pendingRecords = records;
+        pendingBytes = bytes;
+        segmentCount = segments.size();
+    }
+
+    private static String fileName(long sequence) {
+        return SEGMENT_PREFIX + String.format("%020d", sequence) + SEGMENT_SUFFIX;
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) return -1;
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.soyunju.logcollector.service.lc.redis.spool;
+
+import com.soyunju.logcollector.config.LogCollectorSpoolProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.service.lc.redis.queue.QueueLanes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * spool → Redis 큐 재적재
+ * - Redis push 성공 후에만 spool commit → push 실패 시 다음 주기에 같은 레코드부터 재시도
+ *   (push 성공 직후 commit 전에 종료되면 재기동 후 해당 batch 가 다시 적재될 수 있음: at-least-once)
+ * - 1회 실행당 drainMaxPerRun 건까지만 처리해 복구 직후 consumer 로 몰리는 양을 제한
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogSpoolDrainer {
+
+    private final LogSpool logSpool;
+    private final QueueLanes queueLanes;
+    private final LogCollectorSpoolProperties spoolProperties;
+    private final LcMetrics lcMetrics;
+
+    @Scheduled(fixedDelayString = "${logcollector.spool.drain-fixed-delay-ms:1000}")
+    public void drain() {
+        if (!logSpool.hasBacklog()) return;
+
+        int batchSize = Math.max(1, spoolProperties.getDrainBatchSize());
+        int maxPerRun = Math.max(batchSize, spoolProperties.getDrainMaxPerRun());
+        int drained = 0;
+
+        while (drained < maxPerRun) {
+            SpoolBatch batch = logSpool.peek(Math.min(batchSize, maxPerRun - drained));
+            if (batch.isEmpty()) break;
+
+            List<ErrorLogRequest> requests = logSpool.decode(batch);
+            if (!requests.isEmpty()) {
+                try {
+                    queueLanes.push(requests);
+                } catch (Exception e) {
+                    // Redis 미복구 → 다음 주기에 재시도
+                    log.debug("spool drain 보류(Redis push 실패). msg={}", e.getMessage());
+                    break;
+                }
+                lcMetrics.incRedisEnqueueSuccess(requests.size());
+                lcMetrics.incSpoolDrained(requests.size());
+            }
+            logSpool.commit(batch);
+            drained += batch.size();
+        }
+
+        if (drained > 0) {
+            log.info("spool drain - drained={} remainingBacklog={}", drained, logSpool.hasBacklog());
+        }
+    }
+}
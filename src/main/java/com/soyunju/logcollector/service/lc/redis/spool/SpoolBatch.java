@@ -0,0 +1,20 @@
+package com.soyunju.logcollector.service.lc.redis.spool;
+
+import java.util.List;
+
+/**
+ * spool 에서 읽은 레코드 묶음 (한 segment 범위)
+ * - endOffset: 마지막 레코드 다음 위치. Redis 재적재 성공 후 commit 으로 segment readOffset 에 반영
+ */
+record SpoolBatch(SpoolSegment segment, int endOffset, List<byte[]> payloads) {
+
+    static final SpoolBatch EMPTY = new SpoolBatch(null, 0, List.of());
+
+    boolean isEmpty() {
+        return payloads.isEmpty();
+    }
+
+    int size() {
+        return payloads.size();
+    }
+}
@@ -0,0 +1,210 @@
+package com.soyunju.logcollector.service.lc.redis.spool;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * spool segment 1개 (고정 크기 memory-mapped 파일)
+ * - 레이아웃: [header 16B: magic | version | readOffset | reserved] [record]*
+ * - record : [length 4B][crc32 4B][payload]
+ * - payload → crc → length 순으로 기록: 기록 도중 프로세스가 죽으면 length=0 으로 남아 끝으로 인식
+ * - readOffset 은 drain 커밋 시점마다 header 에 기록 → 재기동 후 이어서 drain
+ * - 스레드 안전하지 않음 (LogSpool 의 lock 안에서만 사용)
+ */
+@Slf4j
+final class SpoolSegment {
+
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_OVERHEAD = 8;
+
+    private static final int MAGIC = 0x4C435350; // "LCSP"
+    private static final int VERSION = 1;
+    private static final int MAGIC_POS = 0;
+    private static final int VERSION_POS = 4;
+    private static final int READ_OFFSET_POS = 8;
+
+    private final long sequence;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private int writeOffset = HEADER_SIZE;
+    private int readOffset = HEADER_SIZE;
+    // readOffset 이후 미처리 레코드 수
+    private int pendingRecords;
+
+    private SpoolSegment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+    }
+
+    static SpoolSegment create(Path path, long sequence, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        SpoolSegment segment = new SpoolSegment(sequence, path, channel, buffer);
+        buffer.putInt(VERSION_POS, VERSION);
+        buffer.putInt(READ_OFFSET_POS, HEADER_SIZE);
+        buffer.putInt(MAGIC_POS, MAGIC);
+        return segment;
+    }
+
+    /**
+     * 기존 segment 복구
+     * - header 의 readOffset 부터 CRC 가 맞는 레코드까지를 유효 범위로 인식
+     * - 깨진 레코드(기록 중 종료 / 손상)는 length 를 0 으로 지워 이후 append 위치로 사용
+     */
+    static SpoolSegment open(Path path, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("invalid spool segment size: " + path + " (" + size + ")");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (buffer.getInt(MAGIC_POS) != MAGIC || buffer.getInt(VERSION_POS) != VERSION) {
+            channel.close();
+            throw new IOException("unknown spool segment format: " + path);
+        }
+
+        SpoolSegment segment = new SpoolSegment(sequence, path, channel, buffer);
+        segment.recover();
+        return segment;
+    }
+
+    private void recover() {
+        int committedRead = buffer.getInt(READ_OFFSET_POS);
+        CRC32 crc = new CRC32();
+
+        int pos = HEADER_SIZE;
+        int pending = 0;
+        while (true) {
+            int length = validRecordLength(pos, crc);
+            if (length < 0) break;
+            if (pos >= committedRead) pending++;
+            pos += RECORD_OVERHEAD + length;
+        }
+
+        if (pos + RECORD_OVERHEAD <= capacity && buffer.getInt(pos) != 0) {
+            log.warn("spool segment 손상/미완료 레코드 발견 → 이후 데이터 폐기. file={} offset={}", path, pos);
+            buffer.putInt(pos, 0);
+        }
+
+        this.writeOffset = pos;
+        this.readOffset = Math.max(HEADER_SIZE, Math.min(committedRead, pos));
+        this.pendingRecords = pending;
+    }
+
+    // pos 위치 레코드가 유효하면 payload 길이, 아니면 -1
+    private int validRecordLength(int pos, CRC32 crc) {
+        if (pos + RECORD_OVERHEAD > capacity) return -1;
+        int length = buffer.getInt(pos);
+        if (length <= 0 || length > capacity - pos - RECORD_OVERHEAD) return -1;
+
+        byte[] payload = new byte[length];
+        buffer.get(pos + RECORD_OVERHEAD, payload);
+        crc.reset();
+        crc.update(payload);
+        return ((int) crc.getValue() == buffer.getInt(pos + 4)) ? length : -1;
+    }
+
+    /**
+     * 레코드 1건 기록. 남은 공간이 부족하면 false
+     */
+    boolean append(byte[] payload, CRC32 crc) {
+        int needed = RECORD_OVERHEAD + payload.length;
+        if (payload.length == 0 || needed > capacity - writeOffset) return false;
+
+        crc.reset();
+        crc.update(payload);
+        buffer.put(writeOffset + RECORD_OVERHEAD, payload);
+        buffer.putInt(writeOffset + 4, (int) crc.getValue());
+        buffer.putInt(writeOffset, payload.length);
+
+        writeOffset += needed;
+        pendingRecords++;
+        return true;
+    }
+
+    /**
+     * readOffset 부터 최대 max 건 payload 복사 (readOffset 은 commit 전까지 그대로)
+     * @return 읽은 마지막 레코드 다음 offset
+     */
+    int read(int max, List<byte[]> out) {
+        int pos = readOffset;
+        int count = 0;
+        while (count < max && pos < writeOffset) {
+            int length = buffer.getInt(pos);
+            byte[] payload = new byte[length];
+            buffer.get(pos + RECORD_OVERHEAD, payload);
+            out.add(payload);
+            pos += RECORD_OVERHEAD + length;
+            count++;
+        }
+        return pos;
+    }
+
+    void commitRead(int offset, int records) {
+        readOffset = offset;
+        pendingRecords -= records;
+        buffer.putInt(READ_OFFSET_POS, offset);
+    }
+
+    boolean isDrained() {
+        return readOffset >= writeOffset;
+    }
+
+    int pendingRecords() {
+        return pendingRecords;
+    }
+
+    long pendingBytes() {
+        return writeOffset - readOffset;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * 채널 종료 후 파일 삭제
+     * - mapping 은 GC 시점에 해제되며 Linux 에서는 매핑 중에도 unlink 가능
+     */
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("spool segment 삭제 실패. file={} msg={}", path, e.getMessage());
+        }
+    }
+
+    void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            log.warn("spool segment close 실패. file={} msg={}", path, e.getMessage());
+        }
+    }
+}
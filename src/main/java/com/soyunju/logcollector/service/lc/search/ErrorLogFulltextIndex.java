@@ -0,0 +1,55 @@
+package com.soyunju.logcollector.service.lc.search;
+
+import com.soyunju.logcollector.config.LogCollectorLogSearchProperties;
+import com.soyunju.logcollector.repository.lc.ErrorLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * error_logs FULLTEXT(summary, message) index 상태
+ * - 기동 시 존재 여부 확인, 없고 fulltext-auto-create 면 생성 (동시 기동한 다른 인스턴스가 먼저 만들면 재확인)
+ * - index 가 준비되기 전 / 비활성 시에는 available() = false → 검색은 LIKE 로 처리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ErrorLogFulltextIndex {
+
+    private final ErrorLogRepository errorLogRepository;
+    private final LogCollectorLogSearchProperties properties;
+    private final PlatformTransactionManager lcTransactionManager;
+
+    private volatile boolean available;
+
+    public boolean available() {
+        return available && properties.isFulltextEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndex() {
+        if (!properties.isFulltextEnabled()) return;
+
+        TransactionTemplate tx = new TransactionTemplate(lcTransactionManager);
+        try {
+            if (!Boolean.TRUE.equals(tx.execute(s -> errorLogRepository.hasFulltextIndex()))
+                    && properties.isFulltextAutoCreate()) {
+                log.info("error_logs FULLTEXT index 생성 시작");
+                try {
+                    tx.executeWithoutResult(s -> errorLogRepository.createFulltextIndex());
+                } catch (Exception e) {
+                    log.warn("error_logs FULLTEXT index 생성 실패 → 재확인. msg={}", e.getMessage());
+                }
+            }
+            available = Boolean.TRUE.equals(tx.execute(s -> errorLogRepository.hasFulltextIndex()));
+        } catch (Exception e) {
+            log.warn("error_logs FULLTEXT index 확인 실패 → keyword 검색은 LIKE 사용. msg={}", e.getMessage());
+            available = false;
+        }
+        log.info("error_logs FULLTEXT index available={}", available);
+    }
+}
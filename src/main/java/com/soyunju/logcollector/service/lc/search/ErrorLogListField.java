@@ -0,0 +1,100 @@
+package com.soyunju.logcollector.service.lc.search;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.soyunju.logcollector.domain.lc.ErrorStatus;
+import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import static com.soyunju.logcollector.domain.lc.QErrorLog.errorLog;
+
+/**
+ * 목록 조회 시 SELECT 하는 컬럼 (fields= 파라미터 이름 = ErrorLogResponse 프로퍼티명)
+ * - message(TEXT) / stackTrace(LONGTEXT) 는 목록에서 제외 → 상세 조회(GET /api/logs/{logId}) 로만 제공
+ * - logId 는 fields 와 무관하게 항상 포함
+ */
+public enum ErrorLogListField {
+
+    LOG_ID("logId", errorLog.id, (b, v) -> b.logId((Long) v)),
+    SERVICE_NAME("serviceName", errorLog.serviceName, (b, v) -> b.serviceName((String) v)),
+    HOST_INFO("hostInfo", errorLog.hostName, (b, v) -> b.hostInfo((String) v)),
+    LOG_LEVEL("logLevel", errorLog.logLevel, (b, v) -> b.logLevel((String) v)),
+    ERROR_CODE("errorCode", errorLog.errorCode, (b, v) -> b.errorCode((String) v)),
+    SUMMARY("summary", errorLog.summary, (b, v) -> b.summary((String) v)),
+    LOG_HASH("logHash", errorLog.logHash, (b, v) -> b.logHash((String) v)),
+    STATUS("status", errorLog.status, (b, v) -> b.status((ErrorStatus) v)),
+    REPEAT_COUNT("repeatCount", errorLog.repeatCount, (b, v) -> b.repeatCount(v == null ? 1 : ((Number) v).longValue())),
+    IMPACTED_HOST_COUNT("impactedHostCount", errorLog.hostCount, (b, v) -> b.impactedHostCount(v == null ? null : ((Number) v).longValue())),
+    OCCURRED_TIME("occurredTime", errorLog.occurredTime, (b, v) -> b.occurredTime((LocalDateTime) v)),
+    FIRST_OCCURRED_TIME("firstOccurredTime", errorLog.firstOccurredTime, (b, v) -> b.firstOccurredTime((LocalDateTime) v)),
+    LAST_OCCURRED_TIME("lastOccurredTime", errorLog.lastOccurredTime, (b, v) -> b.lastOccurredTime((LocalDateTime) v));
+
+    private final String property;
+    private final Expression<?> expression;
+    private final BiConsumer<ErrorLogResponse.ErrorLogResponseBuilder, Object> setter;
+
+    ErrorLogListField(String property,
+                      Expression<?> expression,
+                      BiConsumer<ErrorLogResponse.ErrorLogResponseBuilder, Object> setter) {
+        this.property = property;
+        this.expression = expression;
+        this.setter = setter;
+    }
+
+    private Expression<?> expression() {
+        return expression;
+    }
+
+    private void apply(ErrorLogResponse.ErrorLogResponseBuilder builder, Object value) {
+        setter.accept(builder, value);
+    }
+
+    /**
+     * "serviceName,summary,status" → 해당 컬럼 + logId
+     * - 비어 있으면 목록 컬럼 전체
+     * - 알 수 없는 이름 / message, stackTrace → IllegalArgumentException (400)
+     */
+    public static Set<ErrorLogListField> parse(String fields) {
+        if (!StringUtils.hasText(fields)) return EnumSet.allOf(ErrorLogListField.class);
+
+        Set<ErrorLogListField> selected = EnumSet.of(LOG_ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) continue;
+            selected.add(Arrays.stream(values())
+                    .filter(f -> f.property.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "목록 조회에서 지원하지 않는 fields 입니다: " + trimmed
+                                    + " (가능: " + names() + ", message/stackTrace 는 상세 조회 사용)")));
+        }
+        return selected;
+    }
+
+    // SELECT 절
+    public static Expression<?>[] columns(Set<ErrorLogListField> fields) {
+        return fields.stream()
+                .map(ErrorLogListField::expression)
+                .toArray(Expression<?>[]::new);
+    }
+
+    // 요청한 fields 만 채움 (조회하지 않은 프로퍼티는 null, repeatCount 등 primitive 는 기본값)
+    public static ErrorLogResponse toResponse(Tuple row, Set<ErrorLogListField> fields) {
+        ErrorLogResponse.ErrorLogResponseBuilder builder = ErrorLogResponse.builder();
+        for (ErrorLogListField field : fields) {
+            field.apply(builder, row.get(field.expression));
+        }
+        return builder.build();
+    }
+
+    private static String names() {
+        return Arrays.stream(values()).map(f -> f.property).collect(Collectors.joining(","));
+    }
+}
@@ -1,24 +1,36 @@
 package com.soyunju.logcollector.service.lc.search;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import com.soyunju.logcollector.domain.lc.ErrorLog;
+import com.soyunju.logcollector.config.LogCollectorLogSearchProperties;
 import com.soyunju.logcollector.domain.lc.ErrorStatus;
 import com.soyunju.logcollector.domain.lc.QErrorLog;
+import com.soyunju.logcollector.dto.lc.ErrorLogCursorPage;
 import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
 import com.soyunju.logcollector.repository.lc.ErrorLogRepository;
 import com.soyunju.logcollector.service.lc.processor.LogProcessor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Service
 @Transactional(readOnly = true)
@@ -27,18 +39,37 @@ public class ErrorLogSearchService {
     private final JPAQueryFactory queryFactory;
     private static final QErrorLog errorLog = QErrorLog.errorLog;
 
+    // logHash: SHA-256 hex
+    private static final Pattern LOG_HASH = Pattern.compile("^[0-9a-fA-F]{64}$");
+    // logHash 앞부분: 8 ~ 63자 hex, 숫자와 a-f 를 모두 포함 (날짜 / 숫자나 "deadbeef" 같은 단어는 본문 검색으로)
+    private static final Pattern LOG_HASH_PREFIX =
+            Pattern.compile("^(?=[0-9a-fA-F]*[0-9])(?=[0-9a-fA-F]*[a-fA-F])[0-9a-fA-F]{8,63}$");
+    // errorCode(앞부분): LogNormalization.generateErrorCode 형식 (ORA_xxx, HTTP_500, EX_NullPointerException, DB_ERR ...), "ORA_" 처럼 접두만도 허용
+    private static final Pattern ERROR_CODE = Pattern.compile("^[A-Z]+_[\\w.$]*$");
+    // FULLTEXT 토큰 구분 (InnoDB parser 와 같이 문자/숫자/_ 외에는 구분자, boolean mode 연산자도 여기서 제거됨)
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}_]+");
+
     public ErrorLogSearchService(
             @Qualifier("lcQueryFactory") JPAQueryFactory queryFactory,
             ErrorLogRepository errorLogRepository,
-            LogProcessor logProcessor
+            LogProcessor logProcessor,
+            LogCollectorLogSearchProperties properties,
+            ErrorLogFulltextIndex fulltextIndex
     ) {
         this.queryFactory = queryFactory;
         this.errorLogRepository = errorLogRepository;
         this.logProcessor = logProcessor;
+        this.properties = properties;
+        this.fulltextIndex = fulltextIndex;
     }
 
     private final ErrorLogRepository errorLogRepository;
     private final LogProcessor logProcessor;
+    private final LogCollectorLogSearchProperties properties;
+    private final ErrorLogFulltextIndex fulltextIndex;
+
+    // 필터 없는 목록의 total (totalCacheSeconds 동안 재사용)
+    private volatile CachedTotal cachedTotal;
 
 
     public Page<ErrorLogResponse> findLogs(
@@ -46,16 +77,73 @@ public class ErrorLogSearchService {
             String keyword,
             ErrorStatus status,
             boolean isToday,
+            Set<ErrorLogListField> fields,
             Pageable pageable
     ) {
         BooleanBuilder builder = buildCommonCondition(serviceName, keyword, status, isToday);
-        return fetchPage(builder, pageable, errorLog.occurredTime.desc());
+        return fetchPage(builder, fields, pageable, errorLog.occurredTime.desc());
+    }
+
+    // 상세 조회 (message / stackTrace 포함)
+    public Optional<ErrorLogResponse> getLog(Long logId) {
+        return errorLogRepository.findById(logId)
+                .map(log -> logProcessor.convertToResponse(
+                        log, log.getHostCount() == null ? 0L : log.getHostCount(), false, false));
+    }
+
+    /**
+     * seek 페이지 (lastOccurredTime DESC, id DESC)
+     * - cursor 이후 행만 index range scan → 깊은 페이지도 첫 페이지와 같은 비용, count 쿼리 없음
+     * - size + 1 건 조회로 다음 페이지 여부 판단
+     */
+    public ErrorLogCursorPage findLogsByCursor(
+            String serviceName,
+            String keyword,
+            ErrorStatus status,
+            boolean isToday,
+            String cursor,
+            int size,
+            Set<ErrorLogListField> fields
+    ) {
+        int limit = Math.max(1, Math.min(size, properties.getMaxCursorPageSize()));
+        BooleanBuilder builder = buildCommonCondition(serviceName, keyword, status, isToday);
+
+        if (org.springframework.util.StringUtils.hasText(cursor)) {
+            Cursor after = Cursor.decode(cursor);
+            builder.and(errorLog.lastOccurredTime.lt(after.lastOccurredTime)
+                    .or(errorLog.lastOccurredTime.eq(after.lastOccurredTime).and(errorLog.id.lt(after.id))));
+        }
+
+        // nextCursor 계산용 컬럼은 fields 와 무관하게 조회
+        Set<ErrorLogListField> columns = EnumSet.copyOf(fields);
+        columns.add(ErrorLogListField.LAST_OCCURRED_TIME);
+
+        List<Tuple> rows = selectList(columns)
+                .where(builder)
+                .orderBy(errorLog.lastOccurredTime.desc(), errorLog.id.desc())
+                .limit(limit + 1L)
+                .fetch();
+
+        boolean hasNext = rows.size() > limit;
+        List<Tuple> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Tuple last = page.get(page.size() - 1);
+            nextCursor = new Cursor(last.get(errorLog.lastOccurredTime), last.get(errorLog.id)).encode();
+        }
+
+        return ErrorLogCursorPage.builder()
+                .content(page.stream().map(row -> ErrorLogListField.toResponse(row, fields)).toList())
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     public Page<ErrorLogResponse> getLogsByStatus(ErrorStatus status, Pageable pageable) {
-        return errorLogRepository
-                .findByStatus(status, pageable)
-                .map(logProcessor::convertToResponse);
+        BooleanBuilder builder = new BooleanBuilder(errorLog.status.eq(status));
+        return fetchPage(builder, EnumSet.allOf(ErrorLogListField.class), pageable,
+                errorLog.lastOccurredTime.desc(), errorLog.id.desc());
     }
 
     public Page<ErrorLogResponse> getSortedLogs(String direction, Pageable pageable) {
@@ -64,7 +152,7 @@ public class ErrorLogSearchService {
                         ? errorLog.occurredTime.desc()
                         : errorLog.occurredTime.asc();
 
-        return fetchPage(null, pageable, timeOrder, errorLog.serviceName.desc());
+        return fetchPage(null, EnumSet.allOf(ErrorLogListField.class), pageable, timeOrder, errorLog.serviceName.desc());
     }
 
 
@@ -82,13 +170,7 @@ public class ErrorLogSearchService {
         }
 
         if (org.springframework.util.StringUtils.hasText(keyword)) {
-            String k = keyword.trim();
-            builder.and(
-                    errorLog.message.containsIgnoreCase(k)
-                            .or(errorLog.summary.containsIgnoreCase(k))
-                            .or(errorLog.errorCode.containsIgnoreCase(k))
-                            .or(errorLog.logHash.containsIgnoreCase(k))
-            );
+            builder.and(keywordCondition(keyword.trim()));
         }
 
         // serviceName이 있을 때만 eq 조건 추가 (index.html의 filterService 대응)
@@ -104,40 +186,131 @@ public class ErrorLogSearchService {
         return builder;
     }
 
+    /**
+     * keyword 조건 (형식별로 index 를 타는 조건 하나만 사용, 존재 확인 쿼리 없음)
+     * - logHash 형식 → log_hash 완전 일치 (unique index)
+     * - logHash 앞부분(hex) → log_hash LIKE 'k%' (unique index range)
+     * - errorCode 형식 → error_code LIKE 'k%' (index range, 완전 일치 포함)
+     * - 그 외 → FULLTEXT(summary, message) boolean mode (토큰별 필수 + 접두 일치)
+     * - FULLTEXT index 가 없거나 유효 토큰이 없으면 기존 LIKE 검색
+     * FULLTEXT 와 다른 조건을 OR 로 묶으면 FULLTEXT index 를 못 타므로 섞지 않음
+     */
+    Predicate keywordCondition(String k) {
+        if (LOG_HASH.matcher(k).matches()) {
+            return errorLog.logHash.eq(k.toLowerCase());
+        }
+        if (LOG_HASH_PREFIX.matcher(k).matches()) {
+            return errorLog.logHash.startsWith(k.toLowerCase());
+        }
+        if (ERROR_CODE.matcher(k).matches()) {
+            return errorLog.errorCode.startsWith(k);
+        }
+
+        if (fulltextIndex.available()) {
+            String query = fulltextQuery(k);
+            if (query != null) {
+                return Expressions.numberTemplate(Double.class,
+                        "function('match_against', {0}, {1}, {2})",
+                        errorLog.summary, errorLog.message, Expressions.constant(query)).gt(0);
+            }
+        }
+
+        return errorLog.message.containsIgnoreCase(k)
+                .or(errorLog.summary.containsIgnoreCase(k))
+                .or(errorLog.errorCode.containsIgnoreCase(k))
+                .or(errorLog.logHash.containsIgnoreCase(k));
+    }
+
+    // "connection refused" → "+connection* +refused*" (짧은 토큰은 FULLTEXT 가 무시하므로 제외, 남는 토큰이 없으면 null)
+    private String fulltextQuery(String keyword) {
+        StringBuilder query = new StringBuilder();
+        for (String token : NON_WORD.split(keyword)) {
+            if (token.length() < properties.getFulltextMinTokenLength()) continue;
+            if (!query.isEmpty()) query.append(' ');
+            query.append('+').append(token).append('*');
+        }
+        return query.isEmpty() ? null : query.toString();
+    }
+
+    /**
+     * offset 페이지
+     * - 마지막(덜 찬) 페이지면 total 을 offset + 건수로 계산 (count 쿼리 생략, PageableExecutionUtils)
+     * - 필터 없는 목록은 캐시된 total 사용 (테이블이 크면 통계 추정치)
+     * - 목록 컬럼(fields)만 SELECT
+     */
     private Page<ErrorLogResponse> fetchPage(
             BooleanBuilder condition,
+            Set<ErrorLogListField> fields,
             Pageable pageable,
             OrderSpecifier<?>... orderSpecifiers
     ) {
-        // QueryDSL의 where는 null이나 empty builder를 안전하게 처리하지만, 명시적으로 처리
-        var query = queryFactory
-                .selectFrom(errorLog)
+        boolean filtered = (condition != null) && condition.hasValue();
+
+        var query = selectList(fields)
                 .orderBy(orderSpecifiers)
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize());
 
-        if (condition.hasValue()) { // 조건이 있을 때만 where 추가
+        if (filtered) { // 조건이 있을 때만 where 추가
             query.where(condition);
         }
 
-        List<ErrorLog> results = query.fetch();
+        List<ErrorLogResponse> content = query.fetch().stream()
+                .map(row -> ErrorLogListField.toResponse(row, fields))
+                .toList();
 
-        var countQuery = queryFactory
-                .select(errorLog.count())
-                .from(errorLog);
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            if (!filtered) return unfilteredTotal();
+
+            Long total = queryFactory
+                    .select(errorLog.count())
+                    .from(errorLog)
+                    .where(condition)
+                    .fetchOne();
+            return total != null ? total : 0L;
+        });
+    }
 
-        if (condition.hasValue()) {
-            countQuery.where(condition);
+    private JPAQuery<Tuple> selectList(Set<ErrorLogListField> fields) {
+        return queryFactory.select(ErrorLogListField.columns(fields)).from(errorLog);
+    }
+
+    // 통계 추정치가 작으면 정확한 COUNT(*), 크면 추정치 (둘 다 totalCacheSeconds 동안 캐시)
+    private long unfilteredTotal() {
+        CachedTotal cached = cachedTotal;
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.at < properties.getTotalCacheSeconds() * 1000) {
+            return cached.total;
         }
 
-        Long total = countQuery.fetchOne();
+        long total = errorLogRepository.estimateRowCount();
+        if (total < properties.getExactCountThreshold()) {
+            Long exact = queryFactory.select(errorLog.count()).from(errorLog).fetchOne();
+            total = (exact != null) ? exact : 0L;
+        }
+        cachedTotal = new CachedTotal(total, now);
+        return total;
+    }
+
+    private record CachedTotal(long total, long at) {
+    }
+
+    // cursor = base64url("lastOccurredTime|id") (클라이언트에는 불투명 문자열)
+    record Cursor(LocalDateTime lastOccurredTime, long id) {
 
-        return new PageImpl<>(
-                results.stream()
-                        .map(logProcessor::convertToResponse)
-                        .toList(),
-                pageable,
-                total != null ? total : 0L
-        );
+        String encode() {
+            String raw = lastOccurredTime + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("잘못된 cursor 입니다: " + cursor);
+            }
+        }
     }
 }
@@ -0,0 +1,341 @@
+package com.soyunju.logcollector.service.lc.writebehind;
+
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.config.LogCollectorWriteBehindProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.repository.lc.batch.RepeatCountDelta;
+import com.soyunju.logcollector.service.lc.crd.ErrorLogCrdService;
+import com.soyunju.logcollector.service.lc.notification.ErrorLogNotifier;
+import com.soyunju.logcollector.service.lc.processor.LogProcessor;
+import com.soyunju.logcollector.service.lc.redis.IgnoredLogHashStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [Flow: Consumer - repeat_count write-behind] (logcollector.write-behind.enabled)
+ * 폭주 중인 같은 logHash 가 매 배치 같은 error_logs / error_log_hosts 행을 upsert → row lock 경합으로 consumer 가 직렬화되는 문제 완화
+ * - 이미 저장이 확인된 (logHash, host) 의 반복 발생은 DB 대신 Redis journal(HASH) 에 누적 (HINCRBY + 마지막 발생 시각 max)
+ *   → journal 은 큐와 같은 Redis 에 있으므로 consumer / 인스턴스 장애로 누적분이 유실되지 않음
+ * - shard(logHash 기준) 별로 flush: lock → 누적 HASH 를 inflight 로 RENAME → 행당 delta UPDATE 1회 (한 트랜잭션) → inflight 삭제
+ *   flush 실패 / 장애 시 inflight 가 남아 다음 flush 에서 다시 반영 (at-least-once)
+ * - lock 값은 flush 마다 다른 token, flush 중에는 TTL 의 1/3 주기로 연장
+ *   DB 반영 직전 / inflight 삭제 / lock 해제는 모두 "token 이 아직 내 것일 때만" (Lua 로 비교와 변경을 원자적으로)
+ *   → 느린 flush 의 lock 이 만료되어 다른 인스턴스가 같은 inflight 를 잡아도, 만료된 쪽이 남의 lock / inflight 를 지우지 않음
+ * - 처음 보는 (logHash, host), IGNORED, 수집 대상이 아닌 레벨, Redis 장애 시에는 기존 upsert 경로로 처리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RepeatCountWriteBehind {
+
+    private static final String KEY_INFIX = ":wb:";
+    private static final String INFLIGHT_SUFFIX = ":inflight";
+    private static final String LOCK_SUFFIX = ":lock";
+    private static final String COUNT_PREFIX = "c:";
+    private static final String TIME_PREFIX = "t:";
+    private static final char SEPARATOR = '|';
+
+    // ARGV = (member, delta, epochMs) 반복. 발생 수는 더하고 마지막 발생 시각은 큰 값 유지
+    private static final RedisScript<Long> ACCUMULATE = new DefaultRedisScript<>("""
+            for i = 1, #ARGV, 3 do
+              redis.call('HINCRBY', KEYS[1], 'c:' .. ARGV[i], ARGV[i + 1])
+              local f = 't:' .. ARGV[i]
+              local cur = tonumber(redis.call('HGET', KEYS[1], f) or '0')
+              if tonumber(ARGV[i + 2]) > cur then redis.call('HSET', KEYS[1], f, ARGV[i + 2]) end
+            end
+            return #ARGV / 3
+            """, Long.class);
+
+    // KEYS[1] = lock, ARGV = (token, ttlMs). token 이 같을 때만 만료 연장
+    static final RedisScript<Long> RENEW_LOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS = (lock, inflight), ARGV = (token). lock 을 아직 가진 경우에만 inflight 삭제
+    static final RedisScript<Long> DELETE_INFLIGHT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              redis.call('DEL', KEYS[2])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS[1] = lock, ARGV = (token). compare-and-delete
+    static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ErrorLogCrdService errorLogCrdService;
+    private final LogProcessor logProcessor;
+    private final IgnoredLogHashStore ignoredLogHashStore;
+    private final ErrorLogNotifier errorLogNotifier;
+    private final LogCollectorRedisProperties redisProperties;
+    private final LogCollectorWriteBehindProperties properties;
+    private final LcMetrics lcMetrics;
+
+    // 저장 확인된 "logHash|host" → 만료 시각(epoch ms)
+    private final ConcurrentHashMap<String, Long> known = new ConcurrentHashMap<>();
+    private final String owner = UUID.randomUUID().toString();
+    private final AtomicLong lockSequence = new AtomicLong();
+    private final ScheduledExecutorService lockRenewer =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("lc-wb-lock-"));
+
+    @PostConstruct
+    void init() {
+        lcMetrics.bindWriteBehindKnownRows(known::size);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lockRenewer.shutdownNow();
+    }
+
+    /**
+     * 저장 확인된 (logHash, host) 의 발생은 journal 에 누적
+     * 반환: 누적하지 않은 요청 (호출 측이 기존 저장 경로로 처리)
+     */
+    public List<ErrorLogRequest> absorb(List<ErrorLogRequest> requests) {
+        if (!properties.isEnabled() || known.isEmpty()) return requests;
+
+        long now = System.currentTimeMillis();
+        List<ErrorLogRequest> rest = new ArrayList<>();
+        Map<Integer, ShardBatch> byShard = new TreeMap<>();
+        for (ErrorLogRequest request : requests) {
+            logProcessor.ensureFingerprint(request);
+            String member = member(request.getLogHash(), hostOf(request));
+            Long expiresAt = known.get(member);
+            if (expiresAt == null || expiresAt < now
+                    || !logProcessor.isTargetLevel(request.getEffectiveLevel())
+                    || ignoredLogHashStore.isIgnored(request.getLogHash())) {
+                rest.add(request);
+                continue;
+            }
+            byShard.computeIfAbsent(shardOf(request.getLogHash()), s -> new ShardBatch()).add(member, request);
+        }
+        if (byShard.isEmpty()) return requests;
+
+        // shard 당 script 1회, 실패한 shard 의 요청만 기존 경로로 (script 단위 원자적 → 중복 누적 없음)
+        int absorbed = 0;
+        for (Map.Entry<Integer, ShardBatch> entry : byShard.entrySet()) {
+            ShardBatch batch = entry.getValue();
+            try {
+                stringRedisTemplate.execute(ACCUMULATE, List.of(accumulatorKey(entry.getKey())), batch.args());
+                absorbed += batch.requests.size();
+            } catch (Exception e) {
+                log.warn("write-behind journal 누적 실패 → 기존 저장 경로로 처리. size={} msg={}",
+                        batch.requests.size(), e.getMessage());
+                lcMetrics.incWriteBehind("fallback", batch.requests.size());
+                rest.addAll(batch.requests);
+            }
+        }
+        lcMetrics.incWriteBehind("absorbed", absorbed);
+        return rest;
+    }
+
+    // 기존 저장 경로로 저장된 (logHash, host) 기억 (IGNORED / 레벨은 absorb 시점에 다시 확인)
+    public void remember(List<ErrorLogRequest> requests) {
+        if (!properties.isEnabled()) return;
+
+        long expiresAt = System.currentTimeMillis() + properties.getKnownTtlSeconds() * 1000;
+        for (ErrorLogRequest request : requests) {
+            if (request.getLogHash() == null) continue;
+            String member = member(request.getLogHash(), hostOf(request));
+            if (known.size() >= properties.getMaxKnownRows() && !known.containsKey(member)) continue;
+            known.put(member, expiresAt);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${logcollector.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        if (!properties.isEnabled()) return;
+
+        long now = System.currentTimeMillis();
+        known.values().removeIf(expiresAt -> expiresAt < now);
+        for (int shard = 0; shard < Math.max(1, properties.getShards()); shard++) {
+            try {
+                flushShard(shard);
+            } catch (Exception e) {
+                lcMetrics.incWriteBehindFlush("failure");
+                log.warn("write-behind flush 실패 → 다음 주기에 재시도. shard={} msg={}", shard, e.getMessage());
+            }
+        }
+    }
+
+    private void flushShard(int shard) {
+        String accumulatorKey = accumulatorKey(shard);
+        String inflightKey = accumulatorKey + INFLIGHT_SUFFIX;
+        String lockKey = accumulatorKey + LOCK_SUFFIX;
+        String token = owner + ':' + lockSequence.incrementAndGet();
+        long ttlMs = Math.max(1, properties.getLockTtlSeconds()) * 1000;
+
+        Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(ttlMs));
+        if (!Boolean.TRUE.equals(locked)) return;
+
+        ScheduledFuture<?> renewal = lockRenewer.scheduleAtFixedRate(
+                () -> renewQuietly(lockKey, token, ttlMs), ttlMs / 3, ttlMs / 3, TimeUnit.MILLISECONDS);
+        try {
+            // 이전 flush 가 남긴 inflight 가 있으면 그것부터 (새 누적분은 다음 주기)
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(inflightKey))) {
+                if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(accumulatorKey))) return;
+                stringRedisTemplate.rename(accumulatorKey, inflightKey);
+            }
+
+            List<RepeatCountDelta> deltas = parse(stringRedisTemplate.<String, String>opsForHash().entries(inflightKey));
+            // DB 반영 직전 lock 확인 (이미 다른 인스턴스가 같은 inflight 를 잡았으면 중복 반영하지 않음)
+            if (!deltas.isEmpty() && !renew(lockKey, token, ttlMs)) {
+                lcMetrics.incWriteBehindFlush("lock_lost");
+                log.warn("write-behind flush lock 만료 → 반영하지 않고 다음 주기에 재시도. shard={}", shard);
+                return;
+            }
+            List<ErrorLogResponse> responses = deltas.isEmpty()
+                    ? List.of()
+                    : errorLogCrdService.applyRepeatDeltas(deltas, properties.getMaxBatchRows());
+            Long deleted = stringRedisTemplate.execute(DELETE_INFLIGHT, List.of(lockKey, inflightKey), token);
+            if (!Long.valueOf(1L).equals(deleted)) {
+                // 반영 중 lock 이 만료 → inflight 는 다음 owner 가 다시 반영 (at-least-once, 중복 가능)
+                lcMetrics.incWriteBehindFlush("lock_lost");
+                log.warn("write-behind flush 중 lock 만료 → inflight 유지. shard={} rows={}", shard, deltas.size());
+            }
+
+            forgetMissing(deltas, responses);
+            lcMetrics.incWriteBehind("flushed", deltas.stream().mapToInt(RepeatCountDelta::getCount).sum());
+            lcMetrics.incWriteBehindFlush("success");
+            responses.forEach(errorLogNotifier::notifyIfNeeded);
+        } finally {
+            renewal.cancel(false);
+            stringRedisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+        }
+    }
+
+    private boolean renew(String lockKey, String token, long ttlMs) {
+        Long renewed = stringRedisTemplate.execute(RENEW_LOCK, List.of(lockKey), token, Long.toString(ttlMs));
+        return Long.valueOf(1L).equals(renewed);
+    }
+
+    // 연장 실패는 다음 주기 / DB 반영 직전 확인에서 다시 판단 (예외로 주기 작업이 멈추지 않도록)
+    private void renewQuietly(String lockKey, String token, long ttlMs) {
+        try {
+            renew(lockKey, token, ttlMs);
+        } catch (Exception e) {
+            log.warn("write-behind flush lock 연장 실패. key={} msg={}", lockKey, e.getMessage());
+        }
+    }
+
+    // flush 사이 삭제된 logHash: 더한 발생 수는 버려짐 → 다음 발생부터 upsert 경로로 재생성
+    private void forgetMissing(List<RepeatCountDelta> deltas, List<ErrorLogResponse> responses) {
+        Set<String> applied = new HashSet<>();
+        responses.forEach(r -> applied.add(r.getLogHash()));
+        int dropped = 0;
+        for (RepeatCountDelta delta : deltas) {
+            if (applied.contains(delta.getLogHash())) continue;
+            known.remove(member(delta.getLogHash(), delta.getHostName()));
+            dropped += delta.getCount();
+        }
+        if (dropped > 0) {
+            lcMetrics.incWriteBehind("dropped", dropped);
+            log.warn("write-behind flush 대상 행 없음(삭제됨) → 누적분 버림. occurrences={}", dropped);
+        }
+    }
+
+    private List<RepeatCountDelta> parse(Map<String, String> fields) {
+        List<RepeatCountDelta> deltas = new ArrayList<>();
+        fields.forEach((field, value) -> {
+            if (!field.startsWith(COUNT_PREFIX)) return;
+            String member = field.substring(COUNT_PREFIX.length());
+            int sep = member.indexOf(SEPARATOR);
+            int count = Integer.parseInt(value);
+            if (sep < 0 || count <= 0) return;
+
+            String time = fields.get(TIME_PREFIX + member);
+            LocalDateTime last = (time == null) ? LocalDateTime.now() : toLocalDateTime(Long.parseLong(time));
+            deltas.add(RepeatCountDelta.builder()
+                    .logHash(member.substring(0, sep))
+                    .hostName(member.substring(sep + 1))
+                    .count(count)
+                    .lastOccurredTime(last)
+                    .build());
+        });
+        return deltas;
+    }
+
+    // 같은 logHash 의 host 들은 같은 shard → error_logs 행 1개를 두 flush 가 동시에 갱신하지 않음
+    private int shardOf(String logHash) {
+        return Math.floorMod(logHash.hashCode(), Math.max(1, properties.getShards()));
+    }
+
+    private String accumulatorKey(int shard) {
+        return redisProperties.getQueueKey() + KEY_INFIX + shard;
+    }
+
+    // saveLog / saveLogs 와 같은 host 정규화
+    private static String hostOf(ErrorLogRequest request) {
+        String hostName = request.getHostName();
+        return (hostName == null || hostName.isBlank()) ? "UNKNOWN_HOST" : hostName;
+    }
+
+    // logHash 는 hex 이므로 첫 구분자로 분리 가능
+    private static String member(String logHash, String hostName) {
+        return logHash + SEPARATOR + hostName;
+    }
+
+    private static long toEpochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+
+    // shard 1개 분량 누적 (member → [발생 수, 마지막 발생 epochMs])
+    private static final class ShardBatch {
+        private final Map<String, long[]> members = new HashMap<>();
+        private final List<ErrorLogRequest> requests = new ArrayList<>();
+
+        private void add(String member, ErrorLogRequest request) {
+            LocalDateTime occurredTime = (request.getOccurredTime() != null) ? request.getOccurredTime() : LocalDateTime.now();
+            long[] acc = members.computeIfAbsent(member, m -> new long[2]);
+            acc[0] += request.occurrences();
+            acc[1] = Math.max(acc[1], toEpochMs(occurredTime));
+            requests.add(request);
+        }
+
+        private Object[] args() {
+            List<String> args = new ArrayList<>(members.size() * 3);
+            members.forEach((member, acc) -> {
+                args.add(member);
+                args.add(Long.toString(acc[0]));
+                args.add(Long.toString(acc[1]));
+            });
+            return args.toArray();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.soyunju.logcollector.es.KbArticleEsService;
 import com.soyunju.logcollector.service.kb.crud.IncidentService;
 import com.soyunju.logcollector.service.kb.crud.KbDraftService;
 import com.soyunju.logcollector.service.kb.crud.KbEventOutboxProcessorService;
+import com.soyunju.logcollector.service.kb.crud.LcEventOutboxRelayService;
 import com.soyunju.logcollector.service.kb.crud.LcIgnoreOutboxProcessorService;
 import com.soyunju.logcollector.service.lc.ignore.LcIgnoreApplyService;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ public class KbScheduler {
     private final IncidentService incidentService;
     private final LcIgnoreOutboxProcessorService lcIgnoreOutboxProcessorService;
     private final KbEventOutboxProcessorService kbEventOutboxProcessorService;
+    private final LcEventOutboxRelayService lcEventOutboxRelayService;
     private final KbArticleEsService kbArticleEsService;
 
     @Scheduled(cron = "0 0 3 * * *")
@@ -42,6 +44,21 @@ public class KbScheduler {
         kbEventOutboxProcessorService.process(LocalDateTime.now());
     }
 
+    // ===== LC event outbox relay (LC → KB, 비활성 시에도 남은 행은 계속 반영) =====
+    @Scheduled(fixedDelayString = "${logcollector.lc-outbox.relay-interval-ms:200}")
+    public void relayLcEventOutbox() {
+        lcEventOutboxRelayService.relay(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeLcEventOutbox() {
+        try {
+            lcEventOutboxRelayService.purge(LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("[SCHED][LC_OUTBOX_PURGE][FAIL]", e);
+        }
+    }
+
     // Incident Close
     @Scheduled(cron = "0 */1 * * * *")
     @Transactional(transactionManager = "kbTransactionManager")
@@ -6,6 +6,7 @@ import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
 import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
 import com.soyunju.logcollector.es.KbArticleEsRepository;
 import com.soyunju.logcollector.es.KbArticleEsService;
+import com.soyunju.logcollector.repository.lc.ErrorLogHostRepository;
 import com.soyunju.logcollector.repository.lc.ErrorLogRepository;
 import com.soyunju.logcollector.service.kb.crud.KbEventOutboxProcessorService;
 import com.soyunju.logcollector.service.lc.crd.ErrorLogCrdService;
@@ -26,6 +27,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -77,6 +79,7 @@ class ErrorLogIntegrationTest {
 
     @Autowired private ErrorLogCrdService errorLogCrdService;
     @Autowired private ErrorLogRepository errorLogRepository;
+    @Autowired private ErrorLogHostRepository errorLogHostRepository;
 
     // 테스트마다 동일한 로그를 사용하기 위한 고정 payload
     private static final String SERVICE = "test-service";
@@ -94,9 +97,10 @@ class ErrorLogIntegrationTest {
     @AfterEach
     void tearDown() {
         // 테스트 격리: 사용한 logHash 기준으로만 삭제
-        errorLogRepository.findAll().forEach(log ->
-                errorLogRepository.deleteByLogHash(log.getLogHash())
-        );
+        errorLogRepository.findAll().forEach(log -> {
+            errorLogHostRepository.deleteByLogHash(log.getLogHash());
+            errorLogRepository.deleteByLogHash(log.getLogHash());
+        });
         System.out.println("-".repeat(60));
         System.out.println("[TEST END] " + LocalDateTime.now());
         System.out.println("=".repeat(60) + "\n");
@@ -212,9 +216,129 @@ class ErrorLogIntegrationTest {
                 .hasMessageContaining("수집 대상 로그 레벨이 아닙니다");
     }
 
+    // ──────────────────────────────────────────────
+    // Scenario 7. 배치 저장(multi-row upsert) 최초 → logHash 별 isNew / 새 host / 합산 수
+    // ──────────────────────────────────────────────
+    @Test
+    @DisplayName("saveLogs 최초 배치는 logHash 별로 isNew=true, 배치 합산 수와 host 수가 반영된다")
+    void scenario7_saveLogs_detectsInsertedRows() {
+        String alpha = "Batch upsert alpha failure";
+        String bravo = "Batch upsert bravo failure";
+
+        List<ErrorLogResponse> result = errorLogCrdService.saveLogs(List.of(
+                buildRequest(SERVICE, alpha, HOST_1, "ERROR"),
+                buildRequest(SERVICE, alpha, HOST_1, "ERROR"),
+                buildRequest(SERVICE, alpha, HOST_2, "ERROR"),
+                buildRequest(SERVICE, bravo, HOST_1, "ERROR")
+        ));
+
+        ErrorLogResponse a = find(result, "alpha");
+        assertThat(a.isNew()).isTrue();
+        assertThat(a.isNewHost()).isTrue();
+        assertThat(a.getRepeatCount()).isEqualTo(3);
+        assertThat(a.getBatchCount()).isEqualTo(3);
+        assertThat(a.getImpactedHostCount()).isEqualTo(2);
+
+        ErrorLogResponse b = find(result, "bravo");
+        assertThat(b.isNew()).isTrue();
+        assertThat(b.getRepeatCount()).isEqualTo(1);
+        assertThat(b.getImpactedHostCount()).isEqualTo(1);
+    }
+
+    // ──────────────────────────────────────────────
+    // Scenario 8. 이미 있는 행에 배치 저장 → isNew=false, 새 host 만 isNewHost
+    // ──────────────────────────────────────────────
+    @Test
+    @DisplayName("기존 행에 대한 saveLogs 는 isNew=false, 처음 보는 host 가 있을 때만 isNewHost=true")
+    void scenario8_saveLogs_updatesExistingRows() {
+        String alpha = "Batch upsert alpha failure";
+        String bravo = "Batch upsert bravo failure";
+        errorLogCrdService.saveLog(buildRequest(SERVICE, alpha, HOST_1, "ERROR"));
+        errorLogCrdService.saveLog(buildRequest(SERVICE, bravo, HOST_1, "ERROR"));
+
+        List<ErrorLogResponse> result = errorLogCrdService.saveLogs(List.of(
+                buildRequest(SERVICE, alpha, HOST_1, "ERROR"),
+                buildRequest(SERVICE, alpha, HOST_2, "ERROR"),
+                buildRequest(SERVICE, bravo, HOST_1, "ERROR")
+        ));
+
+        ErrorLogResponse a = find(result, "alpha");
+        assertThat(a.isNew()).isFalse();
+        assertThat(a.isNewHost()).isTrue();
+        assertThat(a.getRepeatCount()).isEqualTo(3);
+        assertThat(a.getBatchCount()).isEqualTo(2);
+        assertThat(a.getImpactedHostCount()).isEqualTo(2);
+
+        ErrorLogResponse b = find(result, "bravo");
+        assertThat(b.isNew()).isFalse();
+        assertThat(b.isNewHost()).isFalse();
+        assertThat(b.getRepeatCount()).isEqualTo(2);
+        assertThat(b.getImpactedHostCount()).isEqualTo(1);
+    }
+
+    // ──────────────────────────────────────────────
+    // Scenario 9. 사전 집계 entry(occurrenceCount=n) 단건 저장 → repeatCount + n, batchCount = n
+    // ──────────────────────────────────────────────
+    @Test
+    @DisplayName("사전 집계 entry 단건 저장 시 repeatCount 와 batchCount 에 occurrenceCount 가 반영된다")
+    void scenario9_saveLog_preAggregatedEntry() {
+        errorLogCrdService.saveLog(buildRequest(SERVICE, MESSAGE, HOST_1, "ERROR"));
+
+        ErrorLogRequest folded = buildRequest(SERVICE, MESSAGE, HOST_1, "ERROR");
+        folded.setOccurrenceCount(11);
+        folded.setFirstOccurredTime(LocalDateTime.now().minusSeconds(1));
+        ErrorLogResponse response = errorLogCrdService.saveLog(folded);
+
+        assertThat(response.getRepeatCount()).isEqualTo(12);
+        assertThat(response.getBatchCount()).isEqualTo(11); // Notifier: 1 → 12 로 10회 도달 판단
+    }
+
+    // ──────────────────────────────────────────────
+    // Scenario 10. 단건 / 배치 upsert 의 재발 · 발생 시각 규칙 동일
+    // ──────────────────────────────────────────────
+    @Test
+    @DisplayName("RESOLVED 재발 시 saveLog / saveLogs 모두 resolvedAt 을 지우고, 늦게 도착한 과거 발생은 lastOccurredTime 을 되돌리지 않는다")
+    void scenario10_upsertPathsShareReopenAndTimeRules() {
+        String alpha = "Upsert rule alpha failure occurred";
+        String bravo = "Upsert rule bravo failure occurred";
+        ErrorLogResponse a = errorLogCrdService.saveLog(buildRequest(SERVICE, alpha, HOST_1, "ERROR"));
+        ErrorLogResponse b = errorLogCrdService.saveLog(buildRequest(SERVICE, bravo, HOST_1, "ERROR"));
+        errorLogCrdService.updateStatus(a.getLogId(), ErrorStatus.RESOLVED);
+        errorLogCrdService.updateStatus(b.getLogId(), ErrorStatus.RESOLVED);
+        LocalDateTime latestA = errorLogRepository.findById(a.getLogId()).orElseThrow().getLastOccurredTime();
+        LocalDateTime latestB = errorLogRepository.findById(b.getLogId()).orElseThrow().getLastOccurredTime();
+
+        // 단건 경로 (과거 시각)
+        ErrorLogRequest lateSingle = buildRequest(SERVICE, alpha, HOST_1, "ERROR");
+        lateSingle.setOccurredTime(latestA.minusHours(1));
+        errorLogCrdService.saveLog(lateSingle);
+        // 배치 경로 (2건 이상이어야 multi-row upsert)
+        ErrorLogRequest lateBatch = buildRequest(SERVICE, bravo, HOST_1, "ERROR");
+        lateBatch.setOccurredTime(latestB.minusHours(1));
+        errorLogCrdService.saveLogs(List.of(lateBatch, buildRequest(SERVICE, MESSAGE, HOST_1, "ERROR")));
+
+        ErrorLog reopenedA = errorLogRepository.findById(a.getLogId()).orElseThrow();
+        ErrorLog reopenedB = errorLogRepository.findById(b.getLogId()).orElseThrow();
+        assertThat(List.of(reopenedA, reopenedB)).allSatisfy(log -> {
+            assertThat(log.getStatus()).isEqualTo(ErrorStatus.NEW);
+            assertThat(log.getResolvedAt()).isNull();
+        });
+        assertThat(reopenedA.getLastOccurredTime()).isEqualTo(latestA);
+        assertThat(reopenedB.getLastOccurredTime()).isEqualTo(latestB);
+    }
+
     // ──────────────────────────────────────────────
     // Helper
     // ──────────────────────────────────────────────
+    // 배치 결과에서 summary 에 구분어(alpha / bravo)가 포함된 logHash 의 결과
+    private ErrorLogResponse find(List<ErrorLogResponse> responses, String keyword) {
+        List<ErrorLogResponse> matched = responses.stream()
+                .filter(r -> r.getSummary() != null && r.getSummary().toLowerCase().contains(keyword))
+                .toList();
+        assertThat(matched).hasSize(1);
+        return matched.get(0);
+    }
+
     private ErrorLogRequest buildRequest(String service, String message, String host, String level) {
         return ErrorLogRequest.builder()
                 .serviceName(service)
@@ -0,0 +1,92 @@
+package com.soyunju.logcollector.service.kb.crud;
+
+import com.soyunju.logcollector.domain.kb.enums.IncidentStatus;
+import com.soyunju.logcollector.dto.event.LogSavedEvent;
+import com.soyunju.logcollector.repository.kb.IncidentRepository;
+import com.soyunju.logcollector.repository.kb.KbAddendumRepository;
+import com.soyunju.logcollector.repository.kb.KbArticleRepository;
+import com.soyunju.logcollector.repository.kb.batch.IncidentBatchRow;
+import com.soyunju.logcollector.repository.kb.batch.IncidentStateRow;
+import com.soyunju.logcollector.service.kb.ai.AiAnalysisService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IncidentServiceTest {
+
+    private static final LocalDateTime TS = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private final IncidentRepository incidentRepository = mock(IncidentRepository.class);
+    private final KbArticleRepository kbArticleRepository = mock(KbArticleRepository.class);
+    private final IncidentService incidentService = new IncidentService(
+            incidentRepository,
+            mock(AiAnalysisService.class),
+            kbArticleRepository,
+            mock(KbDraftService.class),
+            mock(KbAddendumRepository.class));
+
+    @Test
+    @DisplayName("이전 상태는 (logHash, id, status) projection 으로만 조회하고 엔티티 전체를 읽지 않는다")
+    void usesStateProjection() {
+        when(incidentRepository.findStatesByLogHashIn(anyCollection())).thenReturn(List.of());
+
+        incidentService.recordOccurrencesKbOnly(List.of(event("h-new", 1)));
+
+        verify(incidentRepository).findStatesByLogHashIn(anyCollection());
+        verify(incidentRepository, never()).findAllByLogHashIn(anySet());
+        verify(incidentRepository, never()).findByLogHash(any());
+    }
+
+    @Test
+    @DisplayName("IGNORED 는 last_occurred_at 만 갱신, RESOLVED/CLOSED 는 upsert + 재발생 기록, 신규는 발생 수만큼 upsert")
+    @SuppressWarnings("unchecked")
+    void appliesByPreviousStatus() {
+        when(incidentRepository.findStatesByLogHashIn(anyCollection())).thenReturn(List.of(
+                state(1L, "h-ignored", IncidentStatus.IGNORED),
+                state(2L, "h-resolved", IncidentStatus.RESOLVED),
+                state(3L, "h-closed", IncidentStatus.CLOSED),
+                state(4L, "h-open", IncidentStatus.OPEN)));
+
+        incidentService.recordOccurrencesKbOnly(List.of(
+                event("h-open", 1),
+                event("h-ignored", 3),
+                event("h-resolved", 1),
+                event("h-new", 5),
+                event("h-closed", 1)));
+
+        verify(incidentRepository).touchLastOccurredIfIgnored("h-ignored", TS);
+
+        ArgumentCaptor<List<IncidentBatchRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(incidentRepository).bulkUpsertIncidents(rows.capture());
+        assertThat(rows.getValue()).extracting(IncidentBatchRow::getLogHash)
+                .containsExactly("h-closed", "h-new", "h-open", "h-resolved");
+        assertThat(rows.getValue()).filteredOn(r -> r.getLogHash().equals("h-new"))
+                .extracting(IncidentBatchRow::getCount).containsExactly(5);
+
+        verify(kbArticleRepository).markRecurByIncidentId(eq(2L), any());
+        verify(kbArticleRepository).markRecurByIncidentId(eq(3L), any());
+        verify(kbArticleRepository, never()).markRecurByIncidentId(eq(4L), any());
+    }
+
+    private static IncidentStateRow state(Long id, String logHash, IncidentStatus status) {
+        return IncidentStateRow.builder().id(id).logHash(logHash).status(status).build();
+    }
+
+    private static LogSavedEvent event(String logHash, int occurrences) {
+        return new LogSavedEvent(logHash, "svc", "summary", "stack", "E500", "ERROR", TS,
+                occurrences, 1, occurrences, null, false, null);
+    }
+}
@@ -0,0 +1,172 @@
+package com.soyunju.logcollector.service.kb.crud;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soyunju.logcollector.config.LogCollectorLcOutboxProperties;
+import com.soyunju.logcollector.domain.lc.LcEventOutbox;
+import com.soyunju.logcollector.domain.lc.LcEventOutboxStatus;
+import com.soyunju.logcollector.domain.lc.LcEventType;
+import com.soyunju.logcollector.dto.event.LogResolvedEvent;
+import com.soyunju.logcollector.dto.event.LogSavedEvent;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.repository.lc.LcEventOutboxRepository;
+import com.soyunju.logcollector.repository.lc.batch.OutboxRetryWait;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LcEventOutboxRelayServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final LcEventOutboxRepository outboxRepository = mock(LcEventOutboxRepository.class);
+    private final KbIncidentWriter kbIncidentWriter = mock(KbIncidentWriter.class);
+    private final ObjectMapper objectMapper = mock(ObjectMapper.class);
+    private final LogCollectorLcOutboxProperties properties = new LogCollectorLcOutboxProperties();
+    private LcEventOutboxRelayService relayService;
+
+    // KB 반영이 실패하는 logHash
+    private Set<String> failingHashes = Set.of();
+    // apply 로 반영된 logHash (호출 순서대로)
+    private final List<String> applied = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        relayService = new LcEventOutboxRelayService(outboxRepository, kbIncidentWriter, properties,
+                objectMapper, new LcMetrics(new SimpleMeterRegistry()), mock(PlatformTransactionManager.class));
+        relayService.initTxTemplate();
+
+        // payload = logHash
+        when(objectMapper.readValue(anyString(), eq(LogSavedEvent.class))).thenAnswer(inv -> savedEvent(inv.getArgument(0)));
+        when(objectMapper.readValue(anyString(), eq(LogResolvedEvent.class)))
+                .thenAnswer(inv -> new LogResolvedEvent(inv.getArgument(0), null, NOW));
+        when(kbIncidentWriter.apply(anyList())).thenAnswer(inv -> {
+            List<LogSavedEvent> events = inv.getArgument(0);
+            events.forEach(e -> applied.add(e.getLogHash()));
+            return events.stream().map(LogSavedEvent::getLogHash).filter(failingHashes::contains).collect(Collectors.toSet());
+        });
+        when(kbIncidentWriter.applyResolved(any())).thenReturn(true);
+        when(outboxRepository.findFirstDueId(any())).thenReturn(1L);
+        when(outboxRepository.findRetryWaits(anyCollection(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("LOG_SAVED 가 재시도로 넘어가면 같은 logHash 의 뒤 LOG_RESOLVED 는 반영하지 않고 같은 재시도 시각까지 보류")
+    void holdsResolvedBehindRetriedSaved() {
+        failingHashes = Set.of("h1");
+        claim(row(1, LcEventType.LOG_SAVED, "h1", 0),
+                row(2, LcEventType.LOG_RESOLVED, "h1", 0),
+                row(3, LcEventType.LOG_SAVED, "h2", 0));
+
+        relayService.relay(NOW);
+
+        verify(kbIncidentWriter, never()).applyResolved(any());
+        LocalDateTime retryAt = NOW.plusSeconds(OutboxRetryBackoff.delaySeconds(1));
+        verify(outboxRepository).updateState(eq(1L), eq(LcEventOutboxStatus.PENDING), eq(1), eq(retryAt), anyString());
+        verify(outboxRepository).updateState(eq(2L), eq(LcEventOutboxStatus.PENDING), eq(0), eq(retryAt), anyString());
+        assertThat(doneIds()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("이전 배치에서 재시도 대기 중인 logHash 는 그 행보다 뒤 id 만 보류, 앞 id 와 다른 logHash 는 반영")
+    void holdsRowsBehindEarlierRetryWait() {
+        LocalDateTime retryAt = NOW.plusSeconds(30);
+        when(outboxRepository.findRetryWaits(anyCollection(), any())).thenReturn(List.of(
+                OutboxRetryWait.builder().logHash("h1").firstId(5).retryAt(retryAt).build()));
+        claim(row(4, LcEventType.LOG_SAVED, "h1", 0),
+                row(6, LcEventType.LOG_RESOLVED, "h1", 0),
+                row(7, LcEventType.LOG_SAVED, "h2", 0));
+
+        relayService.relay(NOW);
+
+        assertThat(applied).containsExactly("h1", "h2");
+        verify(kbIncidentWriter, never()).applyResolved(any());
+        verify(outboxRepository).updateState(eq(6L), eq(LcEventOutboxStatus.PENDING), eq(0), eq(retryAt), anyString());
+        assertThat(doneIds()).containsExactly(4L, 7L);
+    }
+
+    @Test
+    @DisplayName("최대 시도에 도달해 FAILED 가 되는 행은 뒤 행을 막지 않는다")
+    void failedRowDoesNotHold() {
+        failingHashes = Set.of("h1");
+        properties.setMaxAttempts(3);
+        claim(row(1, LcEventType.LOG_SAVED, "h1", 2),
+                row(2, LcEventType.LOG_RESOLVED, "h1", 0));
+
+        relayService.relay(NOW);
+
+        verify(outboxRepository).updateState(eq(1L), eq(LcEventOutboxStatus.FAILED), eq(3), any(), anyString());
+        verify(kbIncidentWriter).applyResolved(any());
+        assertThat(doneIds()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("실행마다 처리 가능한 최소 id 부터 다시 읽고, 배치가 가득 차면 마지막 id 이후를 이어서 읽는다")
+    void rescansFromFirstDueIdEveryRun() {
+        properties.setBatchSize(2);
+        when(outboxRepository.findFirstDueId(any())).thenReturn(10L, 3L, null);
+        when(outboxRepository.claimRelayTargets(anyLong(), any(), anyInt()))
+                .thenReturn(List.of(row(10, LcEventType.LOG_SAVED, "a", 0), row(11, LcEventType.LOG_SAVED, "b", 0)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(row(3, LcEventType.LOG_SAVED, "c", 0)));
+
+        relayService.relay(NOW);
+        relayService.relay(NOW);
+        relayService.relay(NOW);
+
+        ArgumentCaptor<Long> after = ArgumentCaptor.forClass(Long.class);
+        verify(outboxRepository, times(3)).claimRelayTargets(after.capture(), any(), anyInt());
+        // 1회차: 9 → (가득 참) 11, 2회차: 늦게 커밋 / 재시도 도래한 3 부터, 3회차: 처리할 행 없음
+        assertThat(after.getAllValues()).containsExactly(9L, 11L, 2L);
+    }
+
+    private void claim(LcEventOutbox... rows) {
+        when(outboxRepository.claimRelayTargets(anyLong(), any(), anyInt())).thenReturn(List.of(rows));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> doneIds() {
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).markDone(ids.capture(), eq(NOW));
+        return ids.getValue();
+    }
+
+    private static LcEventOutbox row(long id, LcEventType type, String logHash, int attemptCount) {
+        return LcEventOutbox.builder()
+                .id(id)
+                .eventType(type)
+                .logHash(logHash)
+                .payload(logHash)
+                .status(LcEventOutboxStatus.PENDING)
+                .attemptCount(attemptCount)
+                .createdAt(NOW.minusSeconds(1))
+                .build();
+    }
+
+    private static LogSavedEvent savedEvent(String logHash) {
+        return new LogSavedEvent(logHash, "svc", "summary", null, null, "ERROR", NOW,
+                1, 1, 1, null, false, null);
+    }
+}
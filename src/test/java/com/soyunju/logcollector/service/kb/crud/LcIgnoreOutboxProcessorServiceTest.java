@@ -0,0 +1,144 @@
+package com.soyunju.logcollector.service.kb.crud;
+
+import com.soyunju.logcollector.config.LogCollectorIgnoreOutboxProperties;
+import com.soyunju.logcollector.domain.kb.LcIgnoreOutbox;
+import com.soyunju.logcollector.domain.kb.enums.LcIgnoreOutboxAction;
+import com.soyunju.logcollector.domain.kb.enums.LcIgnoreOutboxStatus;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.repository.kb.LcIgnoreOutboxRepository;
+import com.soyunju.logcollector.repository.lc.batch.OutboxRetryWait;
+import com.soyunju.logcollector.service.lc.ignore.LcIgnoreApplyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LcIgnoreOutboxProcessorServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final LcIgnoreOutboxRepository outboxRepository = mock(LcIgnoreOutboxRepository.class);
+    private final LcIgnoreApplyService lcIgnoreApplyService = mock(LcIgnoreApplyService.class);
+    private final LogCollectorIgnoreOutboxProperties properties = new LogCollectorIgnoreOutboxProperties();
+    private LcIgnoreOutboxProcessorService processorService;
+
+    @BeforeEach
+    void setUp() {
+        processorService = new LcIgnoreOutboxProcessorService(outboxRepository, lcIgnoreApplyService,
+                properties, new LcMetrics(new SimpleMeterRegistry()));
+        when(outboxRepository.findEarlierPending(anyCollection(), anyCollection())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("같은 logHash 가 한 배치에 여러 건이면 마지막(id 최대) action 만 반영하고 전부 SUCCESS")
+    void coalescesToLastActionPerLogHash() {
+        claim(outbox(1L, "h1", LcIgnoreOutboxAction.IGNORE),
+                outbox(2L, "h2", LcIgnoreOutboxAction.IGNORE),
+                outbox(3L, "h1", LcIgnoreOutboxAction.UNIGNORE));
+
+        processorService.process(NOW);
+
+        verify(lcIgnoreApplyService).applyBatch(List.of("h2"), List.of("h1"));
+        verify(outboxRepository).markSucceeded(List.of(1L, 2L, 3L), NOW);
+    }
+
+    @Test
+    @DisplayName("반영 실패 시 배치 전체를 backoff 재시도로, maxAttempts 도달 행은 FAILED 로")
+    void schedulesRetryOnFailure() {
+        properties.setMaxAttempts(3);
+        claim(outbox(1L, "h1", LcIgnoreOutboxAction.IGNORE, 0),
+                outbox(2L, "h2", LcIgnoreOutboxAction.IGNORE, 2));
+        doThrow(new IllegalStateException("lc down")).when(lcIgnoreApplyService).applyBatch(anyCollection(), anyCollection());
+
+        processorService.process(NOW);
+
+        verify(outboxRepository).updateState(1L, LcIgnoreOutboxStatus.PENDING, 1,
+                OutboxRetryBackoff.nextRetryAt(NOW, 1), "lc down");
+        verify(outboxRepository).updateState(eq(2L), eq(LcIgnoreOutboxStatus.FAILED), eq(3), isNull(), anyString());
+        verify(outboxRepository, never()).markSucceeded(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("앞선 같은 logHash 행이 재시도 대기 중이면 뒤 행은 반영하지 않고 그 재시도 시각까지 보류")
+    void holdsLaterRowBehindRetryingEarlierRow() {
+        LocalDateTime retryAt = NOW.plusMinutes(5);
+        // 실패해 재시도 대기 중인 IGNORE(id=1) 뒤에 들어온 UNIGNORE(id=5)
+        claim(outbox(5L, "h1", LcIgnoreOutboxAction.UNIGNORE),
+                outbox(6L, "h2", LcIgnoreOutboxAction.IGNORE));
+        when(outboxRepository.findEarlierPending(anyCollection(), anyCollection()))
+                .thenReturn(List.of(wait("h1", 1L, retryAt)));
+
+        processorService.process(NOW);
+
+        verify(outboxRepository).updateState(eq(5L), eq(LcIgnoreOutboxStatus.PENDING), eq(0), eq(retryAt), anyString());
+        verify(lcIgnoreApplyService).applyBatch(List.of("h2"), List.of());
+        verify(outboxRepository).markSucceeded(List.of(6L), NOW);
+    }
+
+    @Test
+    @DisplayName("앞선 같은 logHash 행을 다른 인스턴스가 선점 중이면 뒤 행은 상태를 바꾸지 않고 다음 실행으로 넘김")
+    void leavesLaterRowWhenEarlierRowIsInFlight() {
+        claim(outbox(5L, "h1", LcIgnoreOutboxAction.UNIGNORE));
+        when(outboxRepository.findEarlierPending(anyCollection(), anyCollection()))
+                .thenReturn(List.of(wait("h1", 3L, null)));
+
+        processorService.process(NOW);
+
+        verify(outboxRepository, never()).updateState(anyLong(), any(), anyInt(), any(), anyString());
+        verify(lcIgnoreApplyService, never()).applyBatch(anyCollection(), anyCollection());
+        verify(outboxRepository, never()).markSucceeded(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("선점 밖 행보다 앞선 같은 logHash 행은 그대로 반영")
+    void appliesRowsBeforeEarlierPending() {
+        claim(outbox(2L, "h1", LcIgnoreOutboxAction.IGNORE),
+                outbox(7L, "h1", LcIgnoreOutboxAction.UNIGNORE));
+        when(outboxRepository.findEarlierPending(anyCollection(), anyCollection()))
+                .thenReturn(List.of(wait("h1", 4L, null)));
+
+        processorService.process(NOW);
+
+        verify(lcIgnoreApplyService).applyBatch(List.of("h1"), List.of());
+        verify(outboxRepository).markSucceeded(List.of(2L), NOW);
+    }
+
+    private void claim(LcIgnoreOutbox... rows) {
+        when(outboxRepository.claimProcessTargets(eq(NOW), anyInt())).thenReturn(List.of(rows));
+    }
+
+    private static LcIgnoreOutbox outbox(Long id, String logHash, LcIgnoreOutboxAction action) {
+        return outbox(id, logHash, action, 0);
+    }
+
+    private static LcIgnoreOutbox outbox(Long id, String logHash, LcIgnoreOutboxAction action, int attemptCount) {
+        return LcIgnoreOutbox.builder()
+                .id(id)
+                .logHash(logHash)
+                .action(action)
+                .status(LcIgnoreOutboxStatus.PENDING)
+                .attemptCount(attemptCount)
+                .build();
+    }
+
+    private static OutboxRetryWait wait(String logHash, Long firstId, LocalDateTime retryAt) {
+        return OutboxRetryWait.builder().logHash(logHash).firstId(firstId).retryAt(retryAt).build();
+    }
+}
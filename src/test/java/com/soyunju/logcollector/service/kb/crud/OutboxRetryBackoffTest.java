@@ -0,0 +1,29 @@
+package com.soyunju.logcollector.service.kb.crud;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxRetryBackoffTest {
+
+    @Test
+    @DisplayName("재시도 간격은 1초부터 2배씩 늘고 5분에서 멈춘다")
+    void doublesUpToFiveMinutes() {
+        assertThat(OutboxRetryBackoff.delaySeconds(1)).isEqualTo(1);
+        assertThat(OutboxRetryBackoff.delaySeconds(2)).isEqualTo(2);
+        assertThat(OutboxRetryBackoff.delaySeconds(9)).isEqualTo(256);
+        assertThat(OutboxRetryBackoff.delaySeconds(10)).isEqualTo(300);
+        assertThat(OutboxRetryBackoff.delaySeconds(64)).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("다음 재시도 시각 = now + 간격")
+    void nextRetryAtAddsDelay() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        assertThat(OutboxRetryBackoff.nextRetryAt(now, 3)).isEqualTo(now.plusSeconds(4));
+    }
+}
@@ -0,0 +1,87 @@
+package com.soyunju.logcollector.service.lc.crd;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ErrorLogMaintenanceJobTest {
+
+    private final EntityManager em = mock(EntityManager.class);
+    private final Query zeroCheck = mock(Query.class);
+    private final Query maxId = mock(Query.class);
+    private final Query update = mock(Query.class);
+    private ErrorLogMaintenanceJob job;
+
+    @BeforeEach
+    void setUp() {
+        when(em.createNativeQuery(startsWith("SELECT 1 FROM error_logs"))).thenReturn(zeroCheck);
+        when(em.createNativeQuery(startsWith("SELECT COALESCE(MAX(id)"))).thenReturn(maxId);
+        when(em.createNativeQuery(contains("UPDATE error_logs"))).thenReturn(update);
+        when(update.setParameter(anyString(), any())).thenReturn(update);
+        when(maxId.getSingleResult()).thenReturn(12_000L);
+
+        job = new ErrorLogMaintenanceJob(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(job, "em", em);
+        ReflectionTestUtils.setField(job, "hostCountBootBackfill", true);
+        job.initTxTemplate();
+    }
+
+    @Test
+    @DisplayName("host_count 가 0 인 행이 없으면 (backfill 완료) 기동 시 전체 구간 UPDATE 를 하지 않는다")
+    void skipsBackfillWhenNoZeroRows() {
+        when(zeroCheck.getResultList()).thenReturn(List.of());
+
+        job.backfillHostCounts();
+
+        verify(em, never()).createNativeQuery(startsWith("SELECT COALESCE(MAX(id)"));
+        verify(em, never()).createNativeQuery(contains("UPDATE error_logs"));
+    }
+
+    @Test
+    @DisplayName("host_count 가 0 인 행이 남아 있으면 0 인 행만 id 구간 단위로 보정")
+    void backfillsZeroRowsInChunks() {
+        when(zeroCheck.getResultList()).thenReturn(List.of(1));
+
+        job.backfillHostCounts();
+
+        // MAX(id)=12000, 구간 5000 → 3회
+        verify(em, times(3)).createNativeQuery(contains("AND e.host_count = 0"));
+        verify(update, times(3)).executeUpdate();
+    }
+
+    @Test
+    @DisplayName("기동 시 backfill 을 끄면 (운영: 마이그레이션에서 backfill) host_count = 0 확인 쿼리도 실행하지 않는다")
+    void skipsZeroCheckWhenBootBackfillDisabled() {
+        ReflectionTestUtils.setField(job, "hostCountBootBackfill", false);
+
+        job.backfillHostCounts();
+
+        verify(em, never()).createNativeQuery(anyString());
+    }
+
+    @Test
+    @DisplayName("매일 보정은 0 여부와 무관하게 전체 행을 보정")
+    void dailyReconcileCoversAllRows() {
+        job.reconcileHostCounts();
+
+        verify(em, never()).createNativeQuery(startsWith("SELECT 1 FROM error_logs"));
+        verify(em, never()).createNativeQuery(contains("AND e.host_count = 0"));
+        verify(update, times(3)).executeUpdate();
+    }
+}
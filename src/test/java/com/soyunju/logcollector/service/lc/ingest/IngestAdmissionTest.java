@@ -0,0 +1,98 @@
+package com.soyunju.logcollector.service.lc.ingest;
+
+import com.soyunju.logcollector.config.LogCollectorAdmissionProperties;
+import com.soyunju.logcollector.exception.ErrorCode;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.service.lc.redis.queue.QueueLanes;
+import com.soyunju.logcollector.service.lc.redis.spool.LogSpool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IngestAdmissionTest {
+
+    private final LogCollectorAdmissionProperties properties = new LogCollectorAdmissionProperties();
+    private final QueueLanes queueLanes = mock(QueueLanes.class);
+    private final LogSpool logSpool = mock(LogSpool.class);
+    private IngestAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBurst(1);
+        properties.setQueueHighWatermark(1_000);
+        properties.setQueueFullRetryAfterSeconds(7);
+        admission = new IngestAdmission(properties, queueLanes, logSpool, new LcMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("burst 소진 후에는 token 1개가 찰 때까지의 시간(올림)을 Retry-After 로 준다")
+    void retryAfterIsTimeUntilNextToken() {
+        properties.setRatePerSecond(0.25); // 4초에 1개
+
+        assertThat(admission.tryAcquire("svc").admitted()).isTrue();
+
+        IngestAdmission.Decision rejected = admission.tryAcquire("svc");
+        assertThat(rejected.admitted()).isFalse();
+        assertThat(rejected.errorCode()).isEqualTo(ErrorCode.INGEST_RATE_LIMITED);
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("1초 미만이 남아도 Retry-After 는 최소 1초")
+    void retryAfterIsAtLeastOneSecond() {
+        properties.setRatePerSecond(100);
+
+        assertThat(admission.tryAcquire("svc").admitted()).isTrue();
+
+        IngestAdmission.Decision rejected = admission.tryAcquire("svc");
+        assertThat(rejected.admitted()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("서비스별 bucket 은 독립이고 service-rates override 가 적용된다")
+    void bucketsArePerServiceWithOverrides() {
+        properties.setRatePerSecond(0.25);
+        properties.getServiceRates().put("payment", 0.5); // 2초에 1개
+
+        assertThat(admission.tryAcquire("svc").admitted()).isTrue();
+        assertThat(admission.tryAcquire("svc").admitted()).isFalse();
+
+        assertThat(admission.tryAcquire("payment").admitted()).isTrue();
+        assertThat(admission.tryAcquire("payment").retryAfterSeconds()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("backlog 가 high-watermark 이상이면 token 과 무관하게 queue-full Retry-After 로 거절")
+    void rejectsWhenBacklogIsFull() {
+        properties.setRatePerSecond(1_000);
+        when(queueLanes.depth()).thenReturn(900L);
+        when(logSpool.pendingRecords()).thenReturn(100L);
+
+        IngestAdmission.Decision decision = admission.tryAcquire("svc");
+
+        assertThat(decision.admitted()).isFalse();
+        assertThat(decision.errorCode()).isEqualTo(ErrorCode.INGEST_QUEUE_FULL);
+        assertThat(decision.retryAfterSeconds()).isEqualTo(7);
+        assertThat(admission.checkBacklog().admitted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("rate 0 이하 서비스와 비활성 상태는 항상 허용")
+    void unlimitedWhenRateIsZeroOrDisabled() {
+        properties.setRatePerSecond(0);
+        for (int i = 0; i < 10; i++) {
+            assertThat(admission.tryAcquire("svc").admitted()).isTrue();
+        }
+
+        properties.setEnabled(false);
+        when(queueLanes.depth()).thenReturn(10_000L);
+        assertThat(admission.tryAcquire("svc").admitted()).isTrue();
+        assertThat(admission.checkBacklog().admitted()).isTrue();
+    }
+}
@@ -0,0 +1,152 @@
+package com.soyunju.logcollector.service.lc.ingest;
+
+import com.soyunju.logcollector.config.LogCollectorPreAggregationProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.service.lc.redis.LogToRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class IngestPreAggregatorTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0, 0);
+
+    private final LogCollectorPreAggregationProperties properties = new LogCollectorPreAggregationProperties();
+    private final LogToRedis logToRedis = mock(LogToRedis.class);
+    private IngestPreAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setWindowMs(60_000);
+        aggregator = new IngestPreAggregator(properties, logToRedis, new LcMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("같은 (logHash, host) 는 1건으로 합쳐지고 flush 시 발생 수 / 최초·마지막 시각이 채워진다")
+    void foldsSameKeyIntoOneEntry() {
+        List<ErrorLogRequest> batch = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            batch.add(request("hash-a", "host-1", T0.plusSeconds(i)));
+        }
+        aggregator.enqueue(batch);
+        assertThat(pushed()).isEmpty();
+
+        aggregator.flushAll();
+
+        List<ErrorLogRequest> pushed = pushed();
+        assertThat(pushed).hasSize(1);
+        ErrorLogRequest entry = pushed.get(0);
+        assertThat(entry.occurrences()).isEqualTo(12);
+        assertThat(entry.getFirstOccurredTime()).isEqualTo(T0);
+        assertThat(entry.getOccurredTime()).isEqualTo(T0.plusSeconds(11));
+    }
+
+    @Test
+    @DisplayName("host 가 다르면 별도 window, 1건뿐인 window 는 집계 필드 없이 원본 그대로 적재")
+    void singleOccurrenceWindowIsPushedUnchanged() {
+        aggregator.enqueue(List.of(
+                request("hash-a", "host-1", T0),
+                request("hash-a", "host-2", T0),
+                request("hash-a", "host-2", T0.plusSeconds(3))));
+
+        aggregator.flushAll();
+
+        List<ErrorLogRequest> pushed = pushed();
+        assertThat(pushed).hasSize(2);
+        ErrorLogRequest host1 = pushed.stream().filter(r -> r.getHostName().equals("host-1")).findFirst().orElseThrow();
+        ErrorLogRequest host2 = pushed.stream().filter(r -> r.getHostName().equals("host-2")).findFirst().orElseThrow();
+        assertThat(host1.getOccurrenceCount()).isNull();
+        assertThat(host1.getFirstOccurredTime()).isNull();
+        assertThat(host2.occurrences()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("이미 집계된 entry 를 다시 합치면 발생 수를 더하고 가장 이른 최초 시각을 유지한다")
+    void foldsPreAggregatedEntries() {
+        ErrorLogRequest first = request("hash-a", "host-1", T0.plusSeconds(10));
+        first.setOccurrenceCount(5);
+        first.setFirstOccurredTime(T0);
+        ErrorLogRequest second = request("hash-a", "host-1", T0.plusSeconds(20));
+        second.setOccurrenceCount(7);
+        second.setFirstOccurredTime(T0.plusSeconds(15));
+
+        aggregator.enqueue(List.of(first, second));
+        aggregator.flushAll();
+
+        ErrorLogRequest entry = pushed().get(0);
+        assertThat(entry.occurrences()).isEqualTo(12);
+        assertThat(entry.getFirstOccurredTime()).isEqualTo(T0);
+        assertThat(entry.getOccurredTime()).isEqualTo(T0.plusSeconds(20));
+    }
+
+    @Test
+    @DisplayName("window 가 만료되기 전에는 flush 되지 않고, 만료 후 주기 flush 에서 적재된다")
+    void flushesOnlyExpiredWindows() {
+        aggregator.enqueue(List.of(request("hash-a", "host-1", T0), request("hash-a", "host-1", T0)));
+
+        aggregator.flushExpired();
+        assertThat(pushed()).isEmpty();
+
+        properties.setWindowMs(0);
+        aggregator.flushExpired();
+        assertThat(pushed()).hasSize(1);
+        assertThat(pushed().get(0).occurrences()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("열린 window 가 max-windows 에 도달하면 새 key 는 합치지 않고 바로 적재")
+    void bypassesWhenWindowLimitReached() {
+        properties.setMaxWindows(1);
+
+        aggregator.enqueue(List.of(
+                request("hash-a", "host-1", T0),
+                request("hash-b", "host-1", T0),
+                request("hash-a", "host-1", T0)));
+
+        assertThat(pushed()).extracting(ErrorLogRequest::getLogHash).containsExactly("hash-b");
+        aggregator.flushAll();
+        assertThat(pushed()).extracting(ErrorLogRequest::getLogHash).containsExactly("hash-b", "hash-a");
+    }
+
+    @Test
+    @DisplayName("비활성이면 합치지 않고 그대로 적재")
+    void passesThroughWhenDisabled() {
+        properties.setEnabled(false);
+
+        aggregator.enqueue(List.of(request("hash-a", "host-1", T0), request("hash-a", "host-1", T0)));
+
+        assertThat(pushed()).hasSize(2);
+    }
+
+    // pushAll 로 적재된 entry 전체 (빈 호출 포함, 호출 순서대로)
+    @SuppressWarnings("unchecked")
+    private List<ErrorLogRequest> pushed() {
+        ArgumentCaptor<List<ErrorLogRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logToRedis, atLeastOnce()).pushAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private static ErrorLogRequest request(String logHash, String hostName, LocalDateTime occurredTime) {
+        return ErrorLogRequest.builder()
+                .serviceName("svc")
+                .hostName(hostName)
+                .logLevel("ERROR")
+                .message("boom")
+                .logHash(logHash)
+                .occurredTime(occurredTime)
+                .build();
+    }
+}
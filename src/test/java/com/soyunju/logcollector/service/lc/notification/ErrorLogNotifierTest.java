@@ -0,0 +1,57 @@
+package com.soyunju.logcollector.service.lc.notification;
+
+import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ErrorLogNotifierTest {
+
+    private final SlackService slackService = mock(SlackService.class);
+    private final ErrorLogNotifier notifier = new ErrorLogNotifier(slackService, new LcMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    @DisplayName("사전 집계 entry 로 5 → 12 로 한 번에 넘어가도 10회 도달 알림을 보낸다")
+    void notifiesWhenFoldedOccurrencesCrossTen() {
+        notifier.notifyIfNeeded(response(12, 7));
+
+        verify(slackService).sendErrorNotification(eq("🔥 *[다건 발생 경고]*"), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("이미 10회를 넘은 상태에서 더해지면 다시 알리지 않는다")
+    void doesNotNotifyAfterTen() {
+        notifier.notifyIfNeeded(response(19, 7));
+
+        verify(slackService, never()).sendErrorNotification(anyString(), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("1건씩 증가하면 정확히 10회째에만 알린다")
+    void notifiesOnTenthSingleOccurrence() {
+        notifier.notifyIfNeeded(response(9, 1));
+        notifier.notifyIfNeeded(response(11, 1));
+        verify(slackService, never()).sendErrorNotification(anyString(), anyString(), anyString(), anyLong());
+
+        notifier.notifyIfNeeded(response(10, 1));
+        verify(slackService).sendErrorNotification(anyString(), anyString(), anyString(), anyLong());
+    }
+
+    private static ErrorLogResponse response(long repeatCount, long batchCount) {
+        return ErrorLogResponse.builder()
+                .serviceName("svc")
+                .summary("boom")
+                .impactedHostCount(1L)
+                .repeatCount(repeatCount)
+                .batchCount(batchCount)
+                .build();
+    }
+}
@@ -0,0 +1,261 @@
+package com.soyunju.logcollector.service.lc.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FastLogNormalizer 와 정규식 구현(LogNormalization *Regex)의 출력이 byte 단위로 같은지 비교
+ * - 실제 로그 형태의 고정 corpus + 토큰 조합 / 문자 단위 / 구조 토큰 변형 랜덤 corpus (seed 고정)
+ */
+class LogNormalizationDifferentialTest {
+
+    private static final long SEED = 20240611L;
+    private static final int RANDOM_CASES = 30_000;
+
+    private static final String[] MESSAGES = {
+            "",
+            "   ",
+            "NullPointerException: userId is null",
+            "NullPointerException 발생: userId is null",
+            "Connection timeout after 3000ms to 10.0.0.12:5432",
+            "Read timed out after 30 seconds (retry 3 of 5)",
+            "Timeout 1500MS while waiting 2 sec for lock id 42",
+            "Duplicate entry '12345' for key 'PRIMARY'",
+            "Deadlock found when trying to get lock; try restarting transaction at 1024 rows",
+            "User 1001 not found on 2 attempts value 77",
+            "order 10 20 30 failed",
+            "batch 100  200\t300 / 400",
+            "HTTP 503 Service Unavailable",
+            "status=500 from upstream, status : 404",
+            "HttpClient error http 502 bad gateway",
+            "ERRNO 111 connection refused",
+            "errno=13 permission denied",
+            "SQLSTATE[23000]: Integrity constraint violation",
+            "ORA-00001: unique constraint violated",
+            "request failed [traceId=abc123def456] [spanId = 9f8e7d6c5b4a]",
+            "traceId=4bf92f3577b34da6a3ce929d0e0e4736 requestId: req-000123 rid=xyz",
+            "HikariPool-1 - Connection is not available, request timed out after 30000ms.",
+            "pool=HikariPool-1 connId=1001 connectionId : c-42",
+            "session 550e8400-e29b-41d4-a716-446655440000 expired",
+            "at 2024-06-11T10:15:30.123+09:00 job failed",
+            "at 2024-06-11 10:15:30,123 job failed",
+            "upstream fe80::1ff:fe23:4567:890a unreachable",
+            "nic 00:1A:2B:3C:4D:5E down, backup 00-1A-2B-3C-4D-5F",
+            "mail to admin@example.com bounced, obj@1a2b3c",
+            "GET https://api.example.com/v1/users/123?x=1 failed",
+            "file not found: C:\\logs\\app\\2024\\app.log",
+            "file not found: /var/log/app/2024/app.log",
+            "ratio 1/ 2 and a / b",
+            "already <NUM> replaced <NUM> <NUM>",
+            "generic List<String> at Foo.<init>(Foo.java:10)",
+            "version 1.2.3.4 and 1.2.3",
+            "elapsed=123ms, 45s, 6secs, 78seconds, 90sec, 12msx",
+            "Caused by: java.sql.SQLException: Connection refused",
+            "_12_ x12 12x 12_ (12) 12, 12.",
+            "tab\tseparated\u000Bvertical\fform\rcarriage",
+            "nbsp\u00A0123\u00A0end em\u2003456\u2003end",
+            "control\u0001 12 \u0001",
+            "가12 나 34 다56",
+            "combining e\u0301 12",
+            "emoji \uD83D\uDE00 12",
+            "fullwidth ３４ arabic ٣٤ 56",
+            "   leading and trailing 99   ",
+            "x AT 12 On 3 NEAR 45 Value 6 ID 7 Is 8 end",
+            "x at12 on  34a is\t5",
+            // 구조 토큰 (단어 전체 일치 → 단일 패스 치환)
+            "request 550e8400-e29b-41d4-a716-446655440000 timed out at 2024-06-11T10:15:30.123+09:00",
+            "upstream 10.0.0.12:5432 refused after 3000ms, fallback 192.168.0.1",
+            "GET https://api.example.com/v1/users/123 failed, see http://docs.example.com",
+            "GET https://api.example.com/v1/users?id=7 HTTP/1.1 at 2024-06-11 10:15:30",
+            "file not found: /var/log/app/2024/app.log (retry 2) in C:\\logs\\app\\app.log",
+            "[traceId=4bf92f3577b34da6] [spanId:9f8e7d6c5b4a] requestId=req000123 rid:550e8400-e29b-41d4-a716-446655440000",
+            "pool=HikariPool-1 connId=1001 connectionId:c-42 timed out",
+            // 구조 토큰과 비슷하지만 정규식 결과가 달라지는 형태 (정규식 경로)
+            "upstream 10.0.0.12, 1.2.3.4.5 and 1.2.3.4:",
+            "see https://example.com/a/550e8400-e29b-41d4-a716-446655440000 and http://10.0.0.1:8080",
+            "see https://example.com/ and http://user@example.com/x and http://x/?traceId=abcdef",
+            "path /var/log/2024-06-11 10:15:30 and /tmp/http 503 and /a/[traceId=x y]",
+            "traceId=abc requestId=req-0001 txid=ab.cdef spanId=http500x sessionId=errno12",
+            "at 2024-06-11T10:15:30+0900 and 2024-06-11T10:15:30. and 2024-06-11  10:15:30",
+            "id 10.0.0.1 value 2024-06-11T10:15:30Z on /x 12 is [rid=<NUM>] <NUM>",
+    };
+
+    private static final String[] STACKS = {
+            "java.lang.NullPointerException: userId is null\n"
+                    + "\tat com.example.UserService.find(UserService.java:42)\n"
+                    + "\tat com.example.UserController.get(UserController.java:17)\n"
+                    + "\tat java.base/jdk.internal.reflect.NativeMethodAccessorImpl.invoke0(Native Method)\n",
+            "org.springframework.dao.DataIntegrityViolationException: could not execute statement\r\n"
+                    + "    at org.hibernate.Foo$$SpringCGLIB$$0.save(<generated>)\r\n"
+                    + "    at com.example.Repo.lambda$save$0(Repo.java:88)\r\n"
+                    + "Caused by: java.sql.SQLIntegrityConstraintViolationException: Duplicate entry '7' for key 'PRIMARY'\r\n",
+            "\n\n   \n\tat a.B.c(B.java:1)\u2028\tat a.B.d(B.java:12x)\u2029at a.B.e(B.kt:33)\u0085x",
+            "at com.example.Outer$Inner.run(Outer.java:2024-06-11)",
+            "\u2003\n\u0001\n at 12 \n",
+    };
+
+    private static final String[] FRAGMENTS = {
+            "at", "on", "near", "value", "id", "is", "AT", "Is", "ms", "s", "sec", "secs", "seconds", "MS", "x",
+            "error", "Timeout", "Exception", "ERRNO", "errno", "status", "Status", "HTTP", "http", "https://",
+            "SQLSTATE", "pool", "connId", "traceId", "[traceId", "rid", "grid", "Foo.java:", ".java:", "발생", "가",
+            "<NUM>", "<NUM", "NUM>", "<LINE>", "<", ">", "[", "]", "(", ")", "_", ",", ";", "'", "\"",
+            " ", " ", " ", "  ", "\t", "\n", "\r\n", ":", "=", " = ", ": ", "-", ".", "/", "//", "\\", ":\\", "@",
+            "\u00A0", "\u2003", "\u0001", "\u0301", "\u2028", "fe80::1", "a:b", "ab-cd-ef-01-23-45", "1.2.3.4",
+            "2024-06-11", "T10:15:30", " 10:15:30", "550e8400-e29b-41d4-a716-446655440000", "deadbeef-",
+            "user@example.com", "x@y", "C:\\tmp\\a", "/var/log",
+    };
+
+    // 구조 토큰 랜덤 변형: 토큰 앞뒤에 구분/오염 문자를 붙여 경계 판정을 흔든다
+    private static final String[] TOKENS = {
+            "550e8400-e29b-41d4-a716-446655440000", "10.0.0.1", "10.0.0.1:8080", "255.255.255.255", "1.2.3",
+            "2024-06-11T10:15:30", "2024-06-11 10:15:30,123", "2024-06-11T10:15:30.5Z", "2024-06-11T10:15:30-05:00",
+            "https://api.example.com/v1/users/42", "http://example.com", "HTTP://x/a?b=c", "http://10.0.0.1:80",
+            "http://x/2024-06-11", "/var/log/app.log", "/a/b/", "/x/10.0.0.1", "C:\\tmp\\a.log", "C:\\tmp\\",
+            "[traceId=abc]", "[rid:x]", "[spanId=a b]", "traceId=abcdef012", "requestId:req", "rid=abcdef",
+            "sessionId=550e8400-e29b-41d4-a716-446655440000", "pool=HikariPool-1", "connId=7", "connectionId=c-",
+            "txid=12ab.cd", "grid=abcdef",
+    };
+    private static final String[] TOKEN_AFFIXES = {
+            "", "", "", "", ",", ".", ":", ")", "(", "x", "1", "-", "/", "@a.com", "<NUM>", "]", "=", " ", "  ",
+            "\t", "가", "\u0301",
+    };
+
+    private static final String CHAR_ALPHABET =
+            "0123456789aAfFsSmMeNUxyztoind :.-/=@<>[]_\t\n\r\u000B\f가\u0301\u00A0";
+
+    @Test
+    @DisplayName("고정 corpus: 메시지 정규화 결과가 정규식 구현과 동일")
+    void fixedMessagesMatchRegex() {
+        for (String message : MESSAGES) {
+            assertSameMessage(message);
+        }
+        assertSameMessage(null);
+    }
+
+    @Test
+    @DisplayName("고정 corpus: 스택 상단 정규화 결과가 정규식 구현과 동일")
+    void fixedStacksMatchRegex() {
+        for (String stack : STACKS) {
+            for (int maxLines = 0; maxLines <= 8; maxLines++) {
+                assertSameStack(stack, maxLines);
+            }
+        }
+        assertSameStack(null, 8);
+        assertSameStack(String.join("\n", MESSAGES), 100);
+    }
+
+    @Test
+    @DisplayName("랜덤 corpus: 토큰/문자 조합 입력에서도 정규식 구현과 동일")
+    void randomCorpusMatchesRegex() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < RANDOM_CASES; i++) {
+            String message = (i % 2 == 0) ? randomFragments(random) : randomChars(random);
+            assertSameMessage(message);
+
+            if (i % 10 == 0) {
+                List<String> lines = new ArrayList<>();
+                int lineCount = 1 + random.nextInt(10);
+                for (int l = 0; l < lineCount; l++) {
+                    lines.add(random.nextBoolean() ? randomFragments(random) : randomChars(random));
+                }
+                assertSameStack(String.join(random.nextBoolean() ? "\n" : "\r\n", lines), 1 + random.nextInt(10));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("랜덤 corpus: 구조 토큰 변형 입력에서도 정규식 구현과 동일")
+    void randomTokenCorpusMatchesRegex() {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < RANDOM_CASES; i++) {
+            StringBuilder sb = new StringBuilder();
+            int parts = 1 + random.nextInt(5);
+            for (int p = 0; p < parts; p++) {
+                if (p > 0) sb.append(random.nextInt(4) == 0 ? FRAGMENTS[random.nextInt(FRAGMENTS.length)] : " ");
+                sb.append(TOKEN_AFFIXES[random.nextInt(TOKEN_AFFIXES.length)])
+                        .append(TOKENS[random.nextInt(TOKENS.length)])
+                        .append(TOKEN_AFFIXES[random.nextInt(TOKEN_AFFIXES.length)]);
+            }
+            assertSameMessage(sb.toString());
+            if (i % 10 == 0) assertSameStack(sb + "\n\tat a.B.c(B.java:12) " + sb, 3);
+        }
+    }
+
+    @Test
+    @DisplayName("일반적인 메시지/스택 프레임과 단어 단위 구조 토큰은 정규식 경로로 위임되지 않는다")
+    void commonInputTakesFastPath() {
+        assertThat(FastLogNormalizer.takesFastPath("NullPointerException: userId is null at 3 retries")).isTrue();
+        assertThat(FastLogNormalizer.takesFastPath("Read timed out after 30000ms, attempt 3")).isTrue();
+        assertThat(FastLogNormalizer.takesFastPath("at com.example.UserService.find(UserService.java:<LINE>)")).isTrue();
+        assertThat(FastLogNormalizer.takesFastPath("결제 승인 실패: orderNo 100234 Exception")).isTrue();
+
+        assertThat(FastLogNormalizer.takesFastPath("failed at 2024-06-11T10:15:30")).isTrue();
+        assertThat(FastLogNormalizer.takesFastPath("session 550e8400-e29b-41d4-a716-446655440000 expired")).isTrue();
+        assertThat(FastLogNormalizer.takesFastPath("connect to 10.0.0.12:5432 refused")).isTrue();
+        assertThat(FastLogNormalizer.takesFastPath("GET https://api.example.com/v1/users/123 failed")).isTrue();
+        assertThat(FastLogNormalizer.takesFastPath("GET /api/users failed")).isTrue();
+        assertThat(FastLogNormalizer.takesFastPath("[traceId=4bf92f35] requestId=abc123def456 pool=HikariPool-1")).isTrue();
+
+        assertThat(FastLogNormalizer.takesFastPath("failed at 2024-06-11T10:15:30, retrying")).isFalse();
+        assertThat(FastLogNormalizer.takesFastPath("traceId = abc123def456")).isFalse();
+        assertThat(FastLogNormalizer.takesFastPath("upstream fe80::1ff:fe23:4567:890a unreachable")).isFalse();
+        assertThat(FastLogNormalizer.takesFastPath("mail to admin@example.com bounced")).isFalse();
+    }
+
+    @Test
+    @DisplayName("구조 토큰은 단어 단위로 placeholder 치환 (정규식 cascade 결과와 동일)")
+    void rewritesStructuralTokens() {
+        assertThat(FastLogNormalizer.normalizeMessage(
+                "request 550e8400-e29b-41d4-a716-446655440000 from 10.0.0.12:5432 at 2024-06-11 10:15:30,123"))
+                .isEqualTo("request <UUID> from <IP>:<NUM> at <TS>");
+        assertThat(FastLogNormalizer.normalizeMessage(
+                "GET https://api.example.com/v1/users/123 /var/log/app.log C:\\logs\\app.log"))
+                .isEqualTo("GET <URL> <PATH> <PATH>");
+        assertThat(FastLogNormalizer.normalizeMessage(
+                "[traceId=4bf92f35] requestId:abc123def456 rid=550e8400-e29b-41d4-a716-446655440000 pool=HikariPool-1"))
+                .isEqualTo("[traceId=<ID>] requestId=<ID> rid=<UUID> pool=<ID>");
+    }
+
+    private static void assertSameMessage(String message) {
+        assertThat(FastLogNormalizer.normalizeMessage(message))
+                .as("message=[%s]", message)
+                .isEqualTo(LogNormalization.normalizeMessageRegex(message));
+    }
+
+    private static void assertSameStack(String stack, int maxLines) {
+        assertThat(FastLogNormalizer.normalizeStackTop(stack, maxLines))
+                .as("stack=[%s], maxLines=%d", stack, maxLines)
+                .isEqualTo(LogNormalization.normalizeStackTopRegex(stack, maxLines));
+    }
+
+    private static String randomFragments(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int parts = 1 + random.nextInt(14);
+        for (int p = 0; p < parts; p++) {
+            int kind = random.nextInt(4);
+            if (kind == 0) {
+                int digits = 1 + random.nextInt(6);
+                for (int d = 0; d < digits; d++) sb.append((char) ('0' + random.nextInt(10)));
+            } else {
+                sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            if (random.nextInt(3) > 0) sb.append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static String randomChars(Random random) {
+        int len = random.nextInt(32);
+        StringBuilder sb = new StringBuilder(len);
+        for (int c = 0; c < len; c++) {
+            sb.append(CHAR_ALPHABET.charAt(random.nextInt(CHAR_ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.soyunju.logcollector.service.lc.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashBloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 값은 항상 positive, 넣지 않은 값의 false positive 는 목표 비율 근처")
+    void noFalseNegativesAndBoundedFalsePositives() {
+        int n = 10_000;
+        HashBloomFilter bloom = HashBloomFilter.create(n, 0.01);
+        String[] inserted = new String[n];
+        for (int i = 0; i < n; i++) {
+            inserted[i] = UUID.randomUUID().toString();
+            bloom.put(inserted[i]);
+        }
+
+        for (String value : inserted) {
+            assertThat(bloom.mightContain(value)).isTrue();
+        }
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (bloom.mightContain("absent-" + i)) falsePositives++;
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+}
@@ -0,0 +1,149 @@
+package com.soyunju.logcollector.service.lc.redis;
+
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedConsumerExecutorTest {
+
+    // "a".hashCode() % 2 = 1, "b".hashCode() % 2 = 0 → 서로 다른 stripe
+    private static final String FAST = "a";
+    private static final String SLOW = "b";
+
+    private StripedConsumerExecutor executor;
+
+    private StripedConsumerExecutor create(int stripes, int capacity) {
+        return create(stripes, capacity, "stream");
+    }
+
+    private StripedConsumerExecutor create(int stripes, int capacity, String queueMode) {
+        LogCollectorRedisProperties props = new LogCollectorRedisProperties();
+        props.setQueueMode(queueMode);
+        props.setConsumerStripes(stripes);
+        props.setConsumerStripeQueueCapacity(capacity);
+        executor = new StripedConsumerExecutor(props, new LcMetrics(new SimpleMeterRegistry()));
+        return executor;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("느린 stripe 가 처리 중이어도 submit 은 바로 반환되고 다른 stripe 는 다음 배치까지 완료·ack 된다")
+    void slowStripeDoesNotStallOthers() throws Exception {
+        StripedConsumerExecutor striped = create(2, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(2);
+        CountDownLatch slowDone = new CountDownLatch(1);
+        List<String> acked = new CopyOnWriteArrayList<>();
+
+        for (int batch = 1; batch <= 2; batch++) {
+            List<String> items = (batch == 1)
+                    ? List.of(SLOW + "#1", FAST + "#1")
+                    : List.of(FAST + "#2");
+            striped.submitPartitioned(items, StripedConsumerExecutorTest::key,
+                    part -> {
+                        if (key(part.get(0)).equals(SLOW)) await(release);
+                    },
+                    part -> {
+                        acked.addAll(part);
+                        (key(part.get(0)).equals(SLOW) ? slowDone : fastDone).countDown();
+                    });
+        }
+
+        assertThat(fastDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(acked).containsExactly(FAST + "#1", FAST + "#2");
+
+        release.countDown();
+        assertThat(slowDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(acked).contains(SLOW + "#1");
+    }
+
+    @Test
+    @DisplayName("같은 key 는 submit 순서대로 처리되고, handler 가 실패해도 ack 는 수행된다")
+    void keepsOrderPerKeyAndAcksOnFailure() throws Exception {
+        StripedConsumerExecutor striped = create(2, 1);
+        List<String> handled = new CopyOnWriteArrayList<>();
+        CountDownLatch acked = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            List<String> items = new ArrayList<>();
+            items.add(FAST + "#" + i);
+            striped.submitPartitioned(items, StripedConsumerExecutorTest::key,
+                    part -> {
+                        handled.addAll(part);
+                        if (part.get(0).endsWith("#3")) throw new IllegalStateException("boom");
+                    },
+                    part -> acked.countDown());
+        }
+
+        assertThat(acked.await(5, TimeUnit.SECONDS)).isTrue();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) expected.add(FAST + "#" + i);
+        assertThat(handled).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("stripe 1개면 호출 스레드에서 처리 후 반환한다")
+    void singleStripeRunsInline() {
+        StripedConsumerExecutor striped = create(1, 4);
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+        List<String> acked = new ArrayList<>();
+
+        striped.submitPartitioned(List.of(FAST + "#1", SLOW + "#1"), StripedConsumerExecutorTest::key,
+                part -> threads.add(Thread.currentThread()),
+                acked::addAll);
+
+        assertThat(threads).containsExactly(caller);
+        assertThat(acked).containsExactly(FAST + "#1", SLOW + "#1");
+    }
+
+    @Test
+    @DisplayName("list 모드는 배치의 모든 stripe 가 처리·ack 된 뒤에 반환한다 (메모리에만 있는 미처리분은 배치 1개)")
+    void listModeWaitsForWholeBatch() {
+        StripedConsumerExecutor striped = create(2, 4, "list");
+        List<String> acked = new CopyOnWriteArrayList<>();
+
+        striped.submitPartitioned(List.of(SLOW + "#1", FAST + "#1"), StripedConsumerExecutorTest::key,
+                part -> {
+                    if (key(part.get(0)).equals(SLOW)) sleep(200);
+                },
+                acked::addAll);
+
+        assertThat(acked).containsExactlyInAnyOrder(SLOW + "#1", FAST + "#1");
+    }
+
+    private static String key(String item) {
+        return item.substring(0, 1);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueueEntryCodecTest {
+
+    private static final int THRESHOLD = 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final GenericJackson2JsonRedisSerializer legacy = new GenericJackson2JsonRedisSerializer(objectMapper);
+    private final QueueEntryCodec codec = new QueueEntryCodec(legacy, objectMapper, THRESHOLD);
+
+    @Test
+    @DisplayName("모든 필드와 null 필드가 그대로 복원된다")
+    void roundTrip() {
+        ErrorLogRequest request = sample("java.lang.IllegalStateException: boom");
+        request.setOccurrenceCount(7);
+        request.setFirstOccurredTime(LocalDateTime.of(2024, 1, 1, 9, 59, 58, 1_000));
+        request.setAcceptedAt(1_704_070_800_123L);
+
+        ErrorLogRequest decoded = codec.deserialize(codec.serialize(request));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(request);
+
+        ErrorLogRequest empty = new ErrorLogRequest();
+        assertThat(codec.deserialize(codec.serialize(empty))).usingRecursiveComparison().isEqualTo(empty);
+    }
+
+    @Test
+    @DisplayName("임계값 이상의 stackTrace 는 압축되어 JSON 보다 작게 기록된다")
+    void compressesLargeStackTrace() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("\tat com.soyunju.logcollector.Sample.method").append(i % 10).append("(Sample.java:42)\n");
+        }
+        ErrorLogRequest request = sample(sb.toString());
+
+        byte[] encoded = codec.serialize(request);
+
+        assertThat(encoded.length).isLessThan(sb.length() / 2);
+        assertThat(encoded.length).isLessThan(objectMapper.writeValueAsBytes(request).length);
+        assertThat(codec.deserialize(encoded).getStackTrace()).isEqualTo(sb.toString());
+    }
+
+    @Test
+    @DisplayName("이전 JSON 형식 entry 도 해석된다")
+    void decodesLegacyJson() {
+        ErrorLogRequest request = sample("legacy");
+
+        ErrorLogRequest decoded = codec.deserialize(legacy.serialize(request));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(request);
+    }
+
+    @Test
+    @DisplayName("json 기록 형식은 이전 JSON serializer 가 그대로 해석할 수 있다")
+    void writesLegacyJsonWhenConfigured() {
+        QueueEntryCodec jsonCodec = new QueueEntryCodec(legacy, objectMapper, THRESHOLD, QueueEntryCodec.WriteFormat.JSON);
+        ErrorLogRequest request = sample("json");
+
+        byte[] encoded = jsonCodec.serialize(request);
+
+        assertThat(QueueEntryCodec.isEncoded(encoded)).isFalse();
+        Object legacyDecoded = legacy.deserialize(encoded);
+        assertThat(objectMapper.convertValue(legacyDecoded, ErrorLogRequest.class)).usingRecursiveComparison().isEqualTo(request);
+        assertThat(codec.deserialize(encoded)).usingRecursiveComparison().isEqualTo(request);
+    }
+
+    @Test
+    @DisplayName("binary-v1 기록 형식은 version 1 로 기록되고 acceptedAt 만 빠진다")
+    void writesVersion1WhenConfigured() {
+        QueueEntryCodec v1Codec = new QueueEntryCodec(legacy, objectMapper, THRESHOLD, QueueEntryCodec.WriteFormat.BINARY_V1);
+        ErrorLogRequest request = sample("v1");
+        request.setOccurrenceCount(3);
+        request.setAcceptedAt(1_704_070_800_123L);
+
+        byte[] encoded = v1Codec.serialize(request);
+
+        assertThat(encoded[1]).isEqualTo(QueueEntryCodec.VERSION_1);
+        ErrorLogRequest decoded = codec.deserialize(encoded);
+        assertThat(decoded).usingRecursiveComparison().ignoringFields("acceptedAt").isEqualTo(request);
+        assertThat(decoded.getAcceptedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("기록 형식 설정값은 대소문자·하이픈을 허용하고, 알 수 없는 값은 거부한다")
+    void parsesWriteFormat() {
+        assertThat(QueueEntryCodec.WriteFormat.from("binary-v1")).isEqualTo(QueueEntryCodec.WriteFormat.BINARY_V1);
+        assertThat(QueueEntryCodec.WriteFormat.from("JSON")).isEqualTo(QueueEntryCodec.WriteFormat.JSON);
+        assertThatThrownBy(() -> QueueEntryCodec.WriteFormat.from("smile"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("기록 형식 기본값은 json (롤아웃 전 기본 배포로 이전 버전 consumer 가 못 읽는 entry 를 만들지 않음)")
+    void defaultsToJsonWriteFormat() {
+        assertThat(QueueEntryCodec.WriteFormat.from(null)).isEqualTo(QueueEntryCodec.WriteFormat.JSON);
+        assertThat(QueueEntryCodec.WriteFormat.from(" ")).isEqualTo(QueueEntryCodec.WriteFormat.JSON);
+        assertThat(QueueEntryCodec.WriteFormat.from(new LogCollectorRedisProperties().getQueueEntryWriteFormat()))
+                .isEqualTo(QueueEntryCodec.WriteFormat.JSON);
+    }
+
+    @Test
+    @DisplayName("잘린 entry 는 예외 없이 null 로 반환된다")
+    void truncatedEntryReturnsNull() {
+        byte[] encoded = codec.serialize(sample("truncated"));
+
+        assertThat(codec.deserialize(Arrays.copyOf(encoded, encoded.length / 2))).isNull();
+    }
+
+    private static ErrorLogRequest sample(String stackTrace) {
+        ErrorLogRequest request = new ErrorLogRequest();
+        request.setServiceName("order-api");
+        request.setHostName("host-01");
+        request.setLogLevel("ERROR");
+        request.setMessage("주문 처리 실패");
+        request.setStackTrace(stackTrace);
+        request.setOccurredTime(LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_000_000));
+        request.setLogHash("abc123");
+        request.setErrorCode("E500");
+        request.setEffectiveLevel("ERROR");
+        return request;
+    }
+}
@@ -0,0 +1,173 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.soyunju.logcollector.config.LogCollectorFairQueueProperties;
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceQueuesTest {
+
+    private static final String LANE = "q";
+    private static final String A = LANE + ":svc:A";
+    private static final String B = LANE + ":svc:B";
+
+    private final InMemoryLogQueue logQueue = new InMemoryLogQueue();
+    private final LogCollectorFairQueueProperties properties = new LogCollectorFairQueueProperties();
+    private ServiceQueues serviceQueues;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSet);
+        when(zSet.range(anyString(), eq(0L), eq(-1L))).thenReturn(new LinkedHashSet<>(List.of(A, B)));
+
+        properties.setEnabled(true);
+        serviceQueues = new ServiceQueues(logQueue, redisTemplate, new LogCollectorRedisProperties(),
+                properties, new LcMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("배치가 차서 멈추면 남은 deficit 을 다음 pop 에서 이어 쓰고 quantum 을 다시 주지 않는다")
+    void carriesDeficitOverAcrossPops() {
+        properties.setQuantum(3);
+        logQueue.fill(A, 10);
+        logQueue.fill(B, 10);
+        serviceQueues.refresh();
+
+        assertThat(services(serviceQueues.pop(LANE, 2))).containsExactly("A", "A");
+        // A 의 남은 몫 1 → B 의 몫 3
+        assertThat(services(serviceQueues.pop(LANE, 4))).containsExactly("A", "B", "B", "B");
+        assertThat(services(serviceQueues.pop(LANE, 3))).containsExactly("A", "A", "A");
+    }
+
+    @Test
+    @DisplayName("서비스별 가중치만큼 몫이 커진다")
+    void appliesServiceWeights() {
+        properties.setQuantum(2);
+        properties.getServiceWeights().put("B", 2);
+        logQueue.fill(A, 10);
+        logQueue.fill(B, 10);
+        serviceQueues.refresh();
+
+        assertThat(services(serviceQueues.pop(LANE, 6))).containsExactly("A", "A", "B", "B", "B", "B");
+    }
+
+    @Test
+    @DisplayName("폭주한 서비스가 있어도 다른 서비스는 매 round 자기 몫을 받는다")
+    void floodDoesNotStarveOthers() {
+        properties.setQuantum(5);
+        logQueue.fill(A, 1_000);
+        logQueue.fill(B, 3);
+        serviceQueues.refresh();
+
+        List<String> first = services(serviceQueues.pop(LANE, 10));
+
+        assertThat(first).filteredOn("B"::equals).hasSize(3);
+        assertThat(first).filteredOn("A"::equals).hasSize(7);
+    }
+
+    @Test
+    @DisplayName("비어 있는 하위 큐는 deficit 이 0 으로 초기화되고 다음 refresh 전까지 건너뛴다")
+    void resetsDeficitOfEmptiedQueue() {
+        properties.setQuantum(3);
+        logQueue.fill(A, 1);
+        logQueue.fill(B, 10);
+        serviceQueues.refresh();
+
+        assertThat(services(serviceQueues.pop(LANE, 5))).containsExactly("A", "B", "B", "B", "B");
+
+        // refresh 전에 A 에 쌓인 건은 round 에 포함되지 않음
+        logQueue.fill(A, 5);
+        assertThat(services(serviceQueues.pop(LANE, 2))).containsExactly("B", "B");
+
+        serviceQueues.refresh();
+        assertThat(services(serviceQueues.pop(LANE, 4))).containsExactly("A", "A", "A", "B");
+    }
+
+    @Test
+    @DisplayName("lane key 에 남은 entry 를 하위 큐보다 먼저 비운다")
+    void drainsLaneKeyFirst() {
+        properties.setQuantum(3);
+        logQueue.fill(LANE, 2);
+        logQueue.fill(A, 5);
+        serviceQueues.refresh();
+
+        List<QueuedLog> popped = serviceQueues.pop(LANE, 4);
+
+        assertThat(popped).extracting(QueuedLog::getKey).containsExactly(LANE, LANE, A, A);
+    }
+
+    private static List<String> services(List<QueuedLog> popped) {
+        return popped.stream().map(q -> ServiceQueues.serviceOf(q.getKey())).toList();
+    }
+
+    // key 별 FIFO (list 모드와 같은 LPOP 동작)
+    private static final class InMemoryLogQueue implements LogQueue {
+
+        private final Map<String, Deque<QueuedLog>> queues = new HashMap<>();
+
+        private void fill(String key, int count) {
+            Deque<QueuedLog> queue = queues.computeIfAbsent(key, k -> new ArrayDeque<>());
+            for (int i = 0; i < count; i++) {
+                queue.add(new QueuedLog(key, null, new ErrorLogRequest()));
+            }
+        }
+
+        @Override
+        public void push(Map<String, List<ErrorLogRequest>> entriesByKey) {
+            entriesByKey.forEach((key, entries) -> fill(key, entries.size()));
+        }
+
+        @Override
+        public List<QueuedLog> pop(String key, int max) {
+            Deque<QueuedLog> queue = queues.getOrDefault(key, new ArrayDeque<>());
+            List<QueuedLog> result = new ArrayList<>();
+            while (result.size() < max && !queue.isEmpty()) {
+                result.add(queue.poll());
+            }
+            return result;
+        }
+
+        @Override
+        public List<QueuedLog> popBlocking(List<String> keys, int max, Duration timeout) {
+            for (String key : keys) {
+                List<QueuedLog> popped = pop(key, max);
+                if (!popped.isEmpty()) return popped;
+            }
+            return List.of();
+        }
+
+        @Override
+        public void ack(String key, List<QueuedLog> entries) {
+        }
+
+        @Override
+        public long size(String key) {
+            Deque<QueuedLog> queue = queues.get(key);
+            return (queue == null) ? 0 : queue.size();
+        }
+    }
+}
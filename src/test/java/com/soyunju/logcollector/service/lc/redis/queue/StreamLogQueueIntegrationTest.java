@@ -0,0 +1,267 @@
+package com.soyunju.logcollector.service.lc.redis.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogRequest;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StreamLogQueue 를 실제 Redis 에 붙여 확인 (consumer 마다 StreamLogQueue 인스턴스 1개)
+ * - min-idle 1초, reclaim 은 매 pop 마다
+ */
+@Testcontainers
+@EnabledIfEnvironmentVariable(named = "RUN_INTEGRATION_TEST", matches = "true")
+class StreamLogQueueIntegrationTest {
+
+    private static final String KEY = "it-error-log-queue";
+    private static final long IDLE_WAIT_MS = 1_200;
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, ErrorLogRequest> template;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        QueueEntryCodec codec = new QueueEntryCodec(new GenericJackson2JsonRedisSerializer(mapper), mapper, 1024);
+        template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(codec);
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setHashValueSerializer(codec);
+        template.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        template.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("XREADGROUP 으로 받은 entry 는 ack 시 XACK + XDEL 로 pending 과 stream 에서 모두 제거")
+    void readThenAck() {
+        StreamLogQueue a = queue("A", properties());
+        push(3);
+
+        List<QueuedLog> popped = a.pop(KEY, 10);
+        assertThat(popped).hasSize(3).allSatisfy(q -> assertThat(q.getId()).isNotNull());
+        assertThat(popped).extracting(q -> q.getRequest().getMessage())
+                .containsExactly("stream entry message 0", "stream entry message 1", "stream entry message 2");
+        assertThat(totalPending()).isEqualTo(3);
+
+        a.ack(KEY, popped);
+
+        assertThat(totalPending()).isZero();
+        assertThat(a.size(KEY)).isZero();
+    }
+
+    @Test
+    @DisplayName("ack 되지 않은 entry 는 min-idle 전에는 다른 consumer 가 회수하지 않고, 지난 뒤에는 회수")
+    void reclaimsAfterMinIdle() throws InterruptedException {
+        LogCollectorRedisProperties properties = properties();
+        StreamLogQueue a = queue("A", properties);
+        StreamLogQueue b = queue("B", properties);
+        push(2);
+        List<String> ids = ids(a.pop(KEY, 10));
+
+        assertThat(b.pop(KEY, 10)).isEmpty();
+
+        Thread.sleep(IDLE_WAIT_MS);
+        List<QueuedLog> reclaimed = b.pop(KEY, 10);
+
+        assertThat(ids(reclaimed)).containsExactlyElementsOf(ids);
+        assertThat(pendingOf("A")).isZero();
+        assertThat(pendingOf("B")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("처리 대기 중인 자기 entry 는 idle 을 초기화해 다른 consumer 가 회수하지 않고, 전달 횟수도 늘지 않는다")
+    void refreshesHeldEntriesSoPeersDoNotReclaim() throws InterruptedException {
+        LogCollectorRedisProperties properties = properties();
+        properties.setStreamClaimMinIdleSeconds(2);
+        StreamLogQueue a = queue("A", properties);
+        StreamLogQueue b = queue("B", properties);
+        push(2);
+        List<QueuedLog> popped = a.pop(KEY, 10);
+
+        for (int i = 0; i < 4; i++) {
+            Thread.sleep(700);
+            a.refreshHeld();
+        }
+        assertThat(a.pop(KEY, 10)).isEmpty(); // 자기 entry 도 다시 회수하지 않음
+        assertThat(b.pop(KEY, 10)).isEmpty();
+        assertThat(pendingOf("A")).isEqualTo(2);
+        assertThat(template.opsForStream().pending(KEY, Consumer.from("lc-consumers", "A")))
+                .allSatisfy(p -> assertThat(p.getTotalDeliveryCount()).isEqualTo(1));
+
+        // ack 후에는 더 이상 갱신 대상이 아님
+        a.ack(KEY, popped);
+        a.refreshHeld();
+        assertThat(totalPending()).isZero();
+    }
+
+    @Test
+    @DisplayName("전달 횟수가 stream-max-deliveries 에 도달한 entry 는 회수 대신 {key}:dead 로 원본 그대로 이동")
+    void deadLettersAtMaxDeliveries() throws InterruptedException {
+        LogCollectorRedisProperties properties = properties();
+        properties.setStreamMaxDeliveries(2);
+        StreamLogQueue a = queue("A", properties);
+        StreamLogQueue b = queue("B", properties);
+        push(1);
+
+        a.pop(KEY, 10);                 // 전달 1
+        Thread.sleep(IDLE_WAIT_MS);
+        assertThat(b.pop(KEY, 10)).hasSize(1); // 회수, 전달 2
+        Thread.sleep(IDLE_WAIT_MS);
+        assertThat(a.pop(KEY, 10)).isEmpty();  // 전달 2 ≥ max → dead
+
+        assertThat(totalPending()).isZero();
+        assertThat(a.size(KEY)).isZero();
+        List<ErrorLogRequest> dead = template.opsForStream().range(KEY + ":dead", Range.unbounded())
+                .stream().map(r -> (ErrorLogRequest) r.getValue().get("payload")).toList();
+        assertThat(dead).extracting(ErrorLogRequest::getMessage).containsExactly("stream entry message 0");
+    }
+
+    @Test
+    @DisplayName("XPENDING 은 마지막 위치부터 이어서 보고 (앞쪽 처리 중 entry 뒤의 idle entry 회수), 끝에 닿으면 처음부터 다시 본다")
+    void pendingCursorPagesAndWrapsAround() throws InterruptedException {
+        LogCollectorRedisProperties properties = properties();
+        properties.setStreamReclaimScanPages(1);
+        StreamLogQueue a = queue("A", properties);
+        StreamLogQueue b = queue("B", properties);
+        StreamLogQueue c = queue("C", properties);
+        push(4);
+        List<String> ids = ids(a.pop(KEY, 10));
+        Thread.sleep(IDLE_WAIT_MS);
+
+        // C 가 앞쪽 2건을 회수해 처리 중 (idle 초기화)
+        assertThat(ids(c.pop(KEY, 2))).containsExactly(ids.get(0), ids.get(1));
+
+        // B: 페이지 크기 2, 1회 1페이지 → 앞쪽(처리 중) 페이지 다음부터 이어서 회수
+        assertThat(b.pop(KEY, 2)).isEmpty();
+        assertThat(ids(b.pop(KEY, 2))).containsExactly(ids.get(2));
+        assertThat(ids(b.pop(KEY, 2))).containsExactly(ids.get(3));
+        assertThat(b.pop(KEY, 2)).isEmpty(); // 끝 → 다음 회수는 처음부터
+
+        // C 가 ack 하지 못하고 멈춤 → 앞쪽 2건이 다시 idle
+        Thread.sleep(IDLE_WAIT_MS);
+        assertThat(ids(b.pop(KEY, 2))).containsExactly(ids.get(0), ids.get(1));
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 entry 는 ack 하지 않고 pending 에 남긴다")
+    void keepsUndecodableEntryPending() {
+        StreamLogQueue a = queue("A", properties());
+        a.pop(KEY, 1); // group 생성
+        template.execute((RedisCallback<Void>) connection -> {
+            connection.streamCommands().xAdd(StreamRecords.rawBytes(Map.of(
+                    "payload".getBytes(StandardCharsets.UTF_8), "not-a-queue-entry".getBytes(StandardCharsets.UTF_8)))
+                    .withStreamKey(KEY.getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
+
+        assertThat(a.pop(KEY, 10)).isEmpty();
+        assertThat(pendingOf("A")).isEqualTo(1);
+        assertThat(a.size(KEY)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("pending 이 없고 오래 idle 인 다른 consumer 는 group 에서 삭제, pending 이 있으면 유지")
+    void deletesIdleConsumersWithoutPending() throws InterruptedException {
+        LogCollectorRedisProperties properties = properties();
+        properties.setStreamClaimMinIdleSeconds(60);
+        properties.setStreamConsumerIdleDeleteSeconds(1);
+        StreamLogQueue a = queue("A", properties);
+        StreamLogQueue idle = queue("IDLE", properties);
+        StreamLogQueue busy = queue("BUSY", properties);
+        idle.pop(KEY, 10); // 빈 읽기 → consumer 만 생성
+        push(1);
+        busy.pop(KEY, 10);
+        Thread.sleep(IDLE_WAIT_MS);
+
+        a.pop(KEY, 10);
+
+        assertThat(template.opsForStream().consumers(KEY, properties.getStreamGroup()).stream()
+                .map(StreamInfo.XInfoConsumer::consumerName).toList())
+                .contains("A", "BUSY")
+                .doesNotContain("IDLE");
+    }
+
+    private LogCollectorRedisProperties properties() {
+        LogCollectorRedisProperties properties = new LogCollectorRedisProperties();
+        properties.setQueueMode("stream");
+        properties.setStreamClaimMinIdleSeconds(1);
+        properties.setStreamReclaimIntervalSeconds(0);
+        return properties;
+    }
+
+    // consumer 이름은 생성 시점에 고정되므로 같은 properties 를 공유해도 됨
+    private StreamLogQueue queue(String consumerName, LogCollectorRedisProperties properties) {
+        properties.setStreamConsumerName(consumerName);
+        return new StreamLogQueue(template, properties, new QueueEntryConverter(), new LcMetrics(new SimpleMeterRegistry()));
+    }
+
+    private void push(int count) {
+        List<ErrorLogRequest> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(ErrorLogRequest.builder()
+                    .serviceName("it-service")
+                    .hostName("host-1")
+                    .logLevel("ERROR")
+                    .message("stream entry message " + i)
+                    .build());
+        }
+        queue("producer", properties()).push(KEY, entries);
+    }
+
+    private long totalPending() {
+        return template.opsForStream().pending(KEY, "lc-consumers").getTotalPendingMessages();
+    }
+
+    private long pendingOf(String consumerName) {
+        return template.opsForStream().pending(KEY, Consumer.from("lc-consumers", consumerName)).size();
+    }
+
+    private static List<String> ids(List<QueuedLog> popped) {
+        return popped.stream().map(QueuedLog::getId).toList();
+    }
+}
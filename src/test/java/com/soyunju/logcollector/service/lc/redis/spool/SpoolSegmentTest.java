@@ -0,0 +1,99 @@
+package com.soyunju.logcollector.service.lc.redis.spool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpoolSegmentTest {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path dir;
+
+    private final CRC32 crc = new CRC32();
+
+    @Test
+    @DisplayName("기록한 순서대로 읽히고, commit 한 위치는 재기동 후에도 유지된다")
+    void appendReadCommitAndReopen() throws Exception {
+        Path file = dir.resolve("spool-1.seg");
+        SpoolSegment segment = SpoolSegment.create(file, 1, CAPACITY);
+        for (int i = 0; i < 5; i++) {
+            assertThat(segment.append(bytes("log-" + i), crc)).isTrue();
+        }
+
+        List<byte[]> first = new ArrayList<>();
+        int end = segment.read(2, first);
+        assertThat(first).extracting(SpoolSegmentTest::text).containsExactly("log-0", "log-1");
+        segment.commitRead(end, first.size());
+        assertThat(segment.pendingRecords()).isEqualTo(3);
+        segment.close();
+
+        SpoolSegment reopened = SpoolSegment.open(file, 1);
+        assertThat(reopened.pendingRecords()).isEqualTo(3);
+        List<byte[]> rest = new ArrayList<>();
+        reopened.read(10, rest);
+        assertThat(rest).extracting(SpoolSegmentTest::text).containsExactly("log-2", "log-3", "log-4");
+
+        // 복구 후 이어서 기록
+        assertThat(reopened.append(bytes("log-5"), crc)).isTrue();
+        assertThat(reopened.pendingRecords()).isEqualTo(4);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("CRC 가 맞지 않는 레코드부터는 버리고 그 위치에서 이어서 기록한다")
+    void corruptRecordTruncatesOnRecovery() throws Exception {
+        Path file = dir.resolve("spool-2.seg");
+        SpoolSegment segment = SpoolSegment.create(file, 2, CAPACITY);
+        segment.append(bytes("ok-0"), crc);
+        segment.append(bytes("ok-1"), crc);
+        segment.append(bytes("broken"), crc);
+        segment.close();
+
+        // 세 번째 레코드 payload 1 byte 손상
+        long thirdPayload = SpoolSegment.HEADER_SIZE + 2L * (SpoolSegment.RECORD_OVERHEAD + 4) + SpoolSegment.RECORD_OVERHEAD;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(thirdPayload);
+            raf.write('X');
+        }
+
+        SpoolSegment reopened = SpoolSegment.open(file, 2);
+        assertThat(reopened.pendingRecords()).isEqualTo(2);
+        reopened.append(bytes("ok-2"), crc);
+        reopened.close();
+
+        SpoolSegment again = SpoolSegment.open(file, 2);
+        List<byte[]> records = new ArrayList<>();
+        again.read(10, records);
+        assertThat(records).extracting(SpoolSegmentTest::text).containsExactly("ok-0", "ok-1", "ok-2");
+        again.close();
+    }
+
+    @Test
+    @DisplayName("남은 공간보다 큰 레코드는 기록하지 않는다")
+    void appendFailsWhenFull() throws Exception {
+        SpoolSegment segment = SpoolSegment.create(dir.resolve("spool-3.seg"), 3, 64);
+        assertThat(segment.append(new byte[64 - SpoolSegment.HEADER_SIZE - SpoolSegment.RECORD_OVERHEAD], crc)).isTrue();
+        assertThat(segment.append(bytes("x"), crc)).isFalse();
+        assertThat(segment.pendingRecords()).isEqualTo(1);
+        segment.close();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] b) {
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,184 @@
+package com.soyunju.logcollector.service.lc.search;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.soyunju.logcollector.config.LogCollectorLogSearchProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogCursorPage;
+import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
+import com.soyunju.logcollector.repository.lc.ErrorLogRepository;
+import com.soyunju.logcollector.service.lc.processor.LogProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.soyunju.logcollector.domain.lc.QErrorLog.errorLog;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ErrorLogSearchServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_456_000);
+    private static final Set<ErrorLogListField> FIELDS = EnumSet.of(ErrorLogListField.LOG_ID);
+
+    private final JPAQueryFactory queryFactory = mock(JPAQueryFactory.class);
+    @SuppressWarnings("unchecked")
+    private final JPAQuery<Tuple> query = mock(JPAQuery.class, RETURNS_SELF);
+    private final LogCollectorLogSearchProperties properties = new LogCollectorLogSearchProperties();
+    private final ErrorLogFulltextIndex fulltextIndex = mock(ErrorLogFulltextIndex.class);
+    private ErrorLogSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        when(queryFactory.select(any(Expression[].class))).thenReturn(query);
+        properties.setMaxCursorPageSize(3);
+        searchService = new ErrorLogSearchService(queryFactory, mock(ErrorLogRepository.class),
+                mock(LogProcessor.class), properties, fulltextIndex);
+    }
+
+    @Test
+    @DisplayName("cursor 는 lastOccurredTime(나노초 포함) 과 id 를 그대로 복원하고 URL 안전 문자만 사용")
+    void cursorRoundTrip() {
+        ErrorLogSearchService.Cursor cursor = new ErrorLogSearchService.Cursor(BASE, 42L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(ErrorLogSearchService.Cursor.decode(encoded)).isEqualTo(cursor);
+        assertThat(ErrorLogSearchService.Cursor.decode("  " + encoded + " ")).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 cursor 는 IllegalArgumentException (400)")
+    void rejectsMalformedCursor() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2026-01-01T12:00".getBytes());
+        String badId = Base64.getUrlEncoder().encodeToString("2026-01-01T12:00|abc".getBytes());
+
+        for (String bad : List.of("!!!", noSeparator, badId)) {
+            assertThatThrownBy(() -> ErrorLogSearchService.Cursor.decode(bad))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("잘못된 cursor");
+        }
+    }
+
+    @Test
+    @DisplayName("size + 1 건이 조회되면 size 건만 반환하고 nextCursor 는 반환한 마지막 행을 가리킨다")
+    void fullPageHasNextCursorAtLastReturnedRow() {
+        List<Tuple> rows = rows(4);
+        when(query.fetch()).thenReturn(rows);
+
+        ErrorLogCursorPage page = searchService.findLogsByCursor(null, null, null, false, null, 3, FIELDS);
+
+        verify(query).limit(4L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getContent()).extracting(ErrorLogResponse::getLogId).containsExactly(100L, 99L, 98L);
+        assertThat(ErrorLogSearchService.Cursor.decode(page.getNextCursor()))
+                .isEqualTo(new ErrorLogSearchService.Cursor(BASE.minusSeconds(2), 98L));
+    }
+
+    @Test
+    @DisplayName("정확히 size 건이면 마지막 페이지 (hasNext=false, nextCursor 없음)")
+    void exactPageIsLast() {
+        List<Tuple> rows = rows(3);
+        when(query.fetch()).thenReturn(rows);
+
+        ErrorLogCursorPage page = searchService.findLogsByCursor(null, null, null, false, null, 3, FIELDS);
+
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getContent()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("size 는 1 ~ maxCursorPageSize 로 보정")
+    void clampsPageSize() {
+        when(query.fetch()).thenReturn(List.of());
+
+        assertThat(searchService.findLogsByCursor(null, null, null, false, null, 500, FIELDS).getSize()).isEqualTo(3);
+        verify(query).limit(4L);
+
+        assertThat(searchService.findLogsByCursor(null, null, null, false, null, 0, FIELDS).getSize()).isEqualTo(1);
+        verify(query).limit(2L);
+    }
+
+    @Test
+    @DisplayName("logHash 전체 / hex 앞부분은 log_hash 완전 일치 / 접두 일치 (FULLTEXT 와 무관)")
+    void logHashKeywordUsesLogHashIndex() {
+        when(fulltextIndex.available()).thenReturn(true);
+        String hash = "AB".repeat(32);
+
+        assertThat(searchService.keywordCondition(hash)).isEqualTo(errorLog.logHash.eq(hash.toLowerCase()));
+        assertThat(searchService.keywordCondition("9F3A1B2C")).isEqualTo(errorLog.logHash.startsWith("9f3a1b2c"));
+    }
+
+    @Test
+    @DisplayName("errorCode 형식은 존재 확인 쿼리 없이 error_code 접두 일치 (완전 일치 포함)")
+    void errorCodeKeywordUsesPrefixWithoutProbe() {
+        when(fulltextIndex.available()).thenReturn(true);
+
+        assertThat(searchService.keywordCondition("HTTP_500")).isEqualTo(errorLog.errorCode.startsWith("HTTP_500"));
+        assertThat(searchService.keywordCondition("ORA_")).isEqualTo(errorLog.errorCode.startsWith("ORA_"));
+        verify(queryFactory, never()).selectOne();
+    }
+
+    @Test
+    @DisplayName("숫자만 / 문자만 hex 는 logHash 로 보지 않고 FULLTEXT, 짧은 토큰과 연산자는 제외")
+    void fulltextDropsShortTokens() {
+        when(fulltextIndex.available()).thenReturn(true);
+
+        assertThat(searchService.keywordCondition("a connection-refused at +db"))
+                .isEqualTo(matchAgainst("+connection* +refused*"));
+        assertThat(searchService.keywordCondition("20260101")).isEqualTo(matchAgainst("+20260101*"));
+        assertThat(searchService.keywordCondition("deadbeef")).isEqualTo(matchAgainst("+deadbeef*"));
+    }
+
+    @Test
+    @DisplayName("유효 토큰이 없거나 FULLTEXT index 가 없으면 LIKE 검색")
+    void fallsBackToLike() {
+        when(fulltextIndex.available()).thenReturn(true);
+        assertThat(searchService.keywordCondition("a b")).isEqualTo(like("a b"));
+
+        when(fulltextIndex.available()).thenReturn(false);
+        assertThat(searchService.keywordCondition("connection refused")).isEqualTo(like("connection refused"));
+    }
+
+    private static Predicate matchAgainst(String query) {
+        return Expressions.numberTemplate(Double.class, "function('match_against', {0}, {1}, {2})",
+                errorLog.summary, errorLog.message, Expressions.constant(query)).gt(0);
+    }
+
+    private static Predicate like(String k) {
+        return errorLog.message.containsIgnoreCase(k)
+                .or(errorLog.summary.containsIgnoreCase(k))
+                .or(errorLog.errorCode.containsIgnoreCase(k))
+                .or(errorLog.logHash.containsIgnoreCase(k));
+    }
+
+    // id 100 부터 1초씩 이전 시각 (lastOccurredTime DESC, id DESC 순)
+    private static List<Tuple> rows(int count) {
+        List<Tuple> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Tuple row = mock(Tuple.class);
+            when(row.get(errorLog.id)).thenReturn(100L - i);
+            when(row.get(errorLog.lastOccurredTime)).thenReturn(BASE.minusSeconds(i));
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,168 @@
+package com.soyunju.logcollector.service.lc.writebehind;
+
+import com.soyunju.logcollector.config.LogCollectorRedisProperties;
+import com.soyunju.logcollector.config.LogCollectorWriteBehindProperties;
+import com.soyunju.logcollector.dto.lc.ErrorLogResponse;
+import com.soyunju.logcollector.monitornig.LcMetrics;
+import com.soyunju.logcollector.repository.lc.batch.RepeatCountDelta;
+import com.soyunju.logcollector.service.lc.crd.ErrorLogCrdService;
+import com.soyunju.logcollector.service.lc.notification.ErrorLogNotifier;
+import com.soyunju.logcollector.service.lc.processor.LogProcessor;
+import com.soyunju.logcollector.service.lc.redis.IgnoredLogHashStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RepeatCountWriteBehindTest {
+
+    private static final String ACCUMULATOR = "error-log-queue:wb:0";
+    private static final String INFLIGHT = ACCUMULATOR + ":inflight";
+    private static final String LOCK = ACCUMULATOR + ":lock";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+    private final ErrorLogCrdService errorLogCrdService = mock(ErrorLogCrdService.class);
+    private final LogCollectorWriteBehindProperties properties = new LogCollectorWriteBehindProperties();
+    private RepeatCountWriteBehind writeBehind;
+
+    // 가짜 Redis 상태 (key → value), inflight HASH 는 존재 여부만
+    private final Map<String, String> values = new HashMap<>();
+    private boolean inflightExists;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(redisTemplate.opsForHash()).thenReturn(hashOps);
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(inv -> values.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+        when(redisTemplate.hasKey(INFLIGHT)).thenAnswer(inv -> inflightExists);
+        when(hashOps.entries(INFLIGHT)).thenReturn(Map.of(
+                "c:h1|host-a", "3",
+                "t:h1|host-a", "1767236400000"));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(inv -> {
+            RedisScript<?> script = inv.getArgument(0);
+            List<String> keys = inv.getArgument(1);
+            boolean owned = inv.getArgument(2).equals(values.get(keys.get(0)));
+            if (!owned) return 0L;
+            if (script == RepeatCountWriteBehind.DELETE_INFLIGHT) inflightExists = false;
+            if (script == RepeatCountWriteBehind.RELEASE_LOCK) values.remove(keys.get(0));
+            return 1L;
+        });
+
+        properties.setEnabled(true);
+        properties.setShards(1);
+        writeBehind = new RepeatCountWriteBehind(redisTemplate, errorLogCrdService, mock(LogProcessor.class),
+                mock(IgnoredLogHashStore.class), mock(ErrorLogNotifier.class), new LogCollectorRedisProperties(),
+                properties, new LcMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.shutdown();
+    }
+
+    @Test
+    @DisplayName("이전 flush 가 남긴 inflight 가 있으면 새 누적분을 rename 하지 않고 inflight 부터 반영 후 삭제")
+    void replaysLeftoverInflightFirst() {
+        inflightExists = true;
+        when(errorLogCrdService.applyRepeatDeltas(anyList(), anyInt())).thenReturn(List.of(response("h1")));
+
+        writeBehind.flush();
+
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+        assertThat(appliedDeltaCalls(1).get(0).get(0))
+                .extracting(RepeatCountDelta::getLogHash, RepeatCountDelta::getHostName, RepeatCountDelta::getCount)
+                .containsExactly("h1", "host-a", 3);
+        assertThat(inflightExists).isFalse();
+        assertThat(values).doesNotContainKey(LOCK);
+    }
+
+    @Test
+    @DisplayName("DB 반영이 실패하면 inflight 를 남기고 lock 만 해제 → 다음 flush 가 같은 delta 를 다시 반영")
+    void keepsInflightOnFailureAndReplaysNextFlush() {
+        inflightExists = true;
+        when(errorLogCrdService.applyRepeatDeltas(anyList(), anyInt()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(response("h1")));
+
+        writeBehind.flush();
+        assertThat(inflightExists).isTrue();
+        assertThat(values).doesNotContainKey(LOCK);
+
+        writeBehind.flush();
+        List<List<RepeatCountDelta>> calls = appliedDeltaCalls(2);
+        assertThat(calls.get(1)).usingRecursiveComparison().isEqualTo(calls.get(0));
+        assertThat(inflightExists).isFalse();
+    }
+
+    @Test
+    @DisplayName("반영 중 lock 이 만료되어 다른 인스턴스가 잡았으면 inflight 와 남의 lock 을 지우지 않는다")
+    void doesNotTouchInflightOrLockAfterLosingLock() {
+        inflightExists = true;
+        when(errorLogCrdService.applyRepeatDeltas(anyList(), anyInt())).thenAnswer(inv -> {
+            values.put(LOCK, "other-instance:1");
+            return List.of(response("h1"));
+        });
+
+        writeBehind.flush();
+
+        assertThat(inflightExists).isTrue();
+        assertThat(values).containsEntry(LOCK, "other-instance:1");
+    }
+
+    @Test
+    @DisplayName("DB 반영 직전 lock 이 이미 만료됐으면 반영하지 않는다")
+    void skipsApplyWhenLockExpiredBeforeApply() {
+        inflightExists = true;
+        // SET NX 는 성공했지만 DB 반영 전에 만료되어 다른 인스턴스가 잡은 상황
+        doAnswer(inv -> {
+            values.put(LOCK, "other-instance:1");
+            return true;
+        }).when(valueOps).setIfAbsent(eq(LOCK), anyString(), any(Duration.class));
+
+        writeBehind.flush();
+
+        verify(errorLogCrdService, never()).applyRepeatDeltas(anyList(), anyInt());
+        assertThat(inflightExists).isTrue();
+        assertThat(values).containsEntry(LOCK, "other-instance:1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<RepeatCountDelta>> appliedDeltaCalls(int calls) {
+        ArgumentCaptor<List<RepeatCountDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(errorLogCrdService, times(calls)).applyRepeatDeltas(deltas.capture(), anyInt());
+        return deltas.getAllValues();
+    }
+
+    private static ErrorLogResponse response(String logHash) {
+        return ErrorLogResponse.builder().logHash(logHash).build();
+    }
+}